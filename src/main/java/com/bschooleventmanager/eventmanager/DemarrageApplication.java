@@ -0,0 +1,253 @@
+package com.bschooleventmanager.eventmanager;
+
+import com.bschooleventmanager.eventmanager.config.StripeConfig;
+import com.bschooleventmanager.eventmanager.dao.DatabaseConnection;
+import com.bschooleventmanager.eventmanager.service.FileAttenteService;
+import com.bschooleventmanager.eventmanager.service.HachageMotDePasseService;
+import com.bschooleventmanager.eventmanager.service.InventairePlacesService;
+import com.bschooleventmanager.eventmanager.service.JournalReservationsService;
+import com.bschooleventmanager.eventmanager.service.LimiteurConnexionService;
+import com.bschooleventmanager.eventmanager.service.StripePaymentService;
+import com.bschooleventmanager.eventmanager.util.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Orchestrateur du démarrage de l'application, avec mesure de chaque étape.
+ *
+ * <p>Le thread JavaFX ne fait que le strict nécessaire pour afficher l'écran de connexion.
+ * Une fois la fenêtre visible, les ressources utilisées par la première connexion sont
+ * préparées en parallèle sur des threads d'arrière-plan : connexion à la base, client Stripe,
+ * services partagés (hachage des mots de passe, limiteur de connexions, inventaire) et classes
+ * des vues des dashboards. La première connexion ne paie ainsi plus ces initialisations.</p>
+ *
+ * <p>Les vues des dashboards ne peuvent pas être construites avant la connexion, leurs
+ * contrôleurs lisant l'utilisateur de la session. Leur préchauffage charge donc les classes
+ * (contrôleur et composants déclarés dans le FXML), qui représentent l'essentiel du coût
+ * du premier chargement. Les vues elles-mêmes sont préchargées après la connexion par
+ * {@link com.bschooleventmanager.eventmanager.util.RegistreVues}.</p>
+ *
+ * <p>Un récapitulatif des durées est journalisé quand tous les préchauffages sont terminés.</p>
+ *
+ * <p>Paramètres (application.properties) :</p>
+ * <ul>
+ *   <li>demarrage.threads - threads de préchauffage (défaut 4)</li>
+ * </ul>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class DemarrageApplication {
+    private static final Logger logger = LoggerFactory.getLogger(DemarrageApplication.class);
+
+    /** Vues des dashboards dont les classes sont chargées pendant que l'écran de connexion est affiché */
+    private static final List<String> VUES_DASHBOARDS = List.of(
+            "/fxml/client/dashboard.fxml",
+            "/fxml/client/eventsList.fxml",
+            "/fxml/client/reservationsHistory.fxml",
+            "/fxml/organisateur/dashboard.fxml",
+            "/fxml/organisateur/dashboard_content.fxml",
+            "/fxml/organisateur/Events/eventsList.fxml",
+            "/fxml/shared/profile.fxml");
+
+    private static final Pattern IMPORT = Pattern.compile("<\\?import\\s+([\\w.]+?)(\\.\\*)?\\s*\\?>");
+    private static final Pattern CONTROLEUR = Pattern.compile("fx:controller\\s*=\\s*\"([\\w.$]+)\"");
+    private static final Pattern ELEMENT = Pattern.compile("<([A-Z][\\w]*)[\\s/>]");
+
+    /** Instant du lancement de la JVM (premier accès à cette classe depuis main) */
+    private static final long LANCEMENT = System.nanoTime();
+
+    /** Durées des étapes, dans l'ordre où elles se terminent */
+    private static final Map<String, Long> durees = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    // Constructeur privé pour empêcher l'instanciation
+    private DemarrageApplication() {
+        throw new UnsupportedOperationException("Classe utilitaire - ne peut pas être instanciée");
+    }
+
+    /**
+     * Démarre le chronomètre. À appeler le plus tôt possible dans main.
+     */
+    public static void demarrerChrono() {
+        logger.debug("Chronomètre de démarrage lancé à {}", LANCEMENT);
+    }
+
+    /**
+     * Enregistre la durée d'une étape du démarrage
+     *
+     * @param etape Nom de l'étape
+     * @param debutNanos Valeur de System.nanoTime() au début de l'étape
+     */
+    public static void mesurer(String etape, long debutNanos) {
+        durees.put(etape, System.nanoTime() - debutNanos);
+    }
+
+    /**
+     * Enregistre l'affichage de l'écran de connexion et lance les préchauffages en parallèle.
+     * Les préchauffages ne bloquent jamais le thread JavaFX et leurs erreurs sont seulement journalisées.
+     */
+    public static void ecranInteractif() {
+        long interactif = System.nanoTime() - LANCEMENT;
+        logger.info("✓ Écran de connexion interactif en {} ms", TimeUnit.NANOSECONDS.toMillis(interactif));
+
+        int threads = Math.max(1, AppConfig.getInt("demarrage.threads", 4));
+        AtomicInteger compteur = new AtomicInteger();
+        ExecutorService executeur = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "demarrage-" + compteur.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long debut = System.nanoTime();
+        CompletableFuture.allOf(
+                lancer(executeur, "Connexion base de données", DemarrageApplication::prechaufferBaseDeDonnees),
+                lancer(executeur, "Client Stripe", DemarrageApplication::prechaufferStripe),
+                lancer(executeur, "Services", DemarrageApplication::prechaufferServices),
+                lancer(executeur, "Classes des vues", DemarrageApplication::prechaufferVues)
+        ).whenComplete((ignore, erreur) -> {
+            executeur.shutdown();
+            mesurer("Préchauffage (total parallèle)", debut);
+            journaliserRecapitulatif(interactif);
+        });
+    }
+
+    private static CompletableFuture<Void> lancer(ExecutorService executeur, String etape, Runnable tache) {
+        return CompletableFuture.runAsync(() -> {
+            long debut = System.nanoTime();
+            try {
+                tache.run();
+            } catch (RuntimeException e) {
+                // Le préchauffage est facultatif : l'initialisation sera refaite au premier usage
+                logger.warn("Préchauffage \"{}\" en échec: {}", etape, e.getMessage());
+            } finally {
+                mesurer(etape, debut);
+            }
+        }, executeur);
+    }
+
+    private static void prechaufferBaseDeDonnees() {
+        // La connexion ouverte reste dans le pool pour la première requête
+        try (Connection connexion = DatabaseConnection.getInstance().getConnection()) {
+            logger.debug("Connexion préchauffée: {}", connexion);
+        } catch (SQLException e) {
+            throw new IllegalStateException("base de données injoignable", e);
+        }
+    }
+
+    private static void prechaufferStripe() {
+        StripeConfig.getInstance();
+        new StripePaymentService();
+    }
+
+    private static void prechaufferServices() {
+        HachageMotDePasseService.getInstance();
+        LimiteurConnexionService.getInstance();
+        InventairePlacesService.getInstance();
+        FileAttenteService.getInstance();
+        JournalReservationsService.getInstance().verifierAuDemarrage();
+    }
+
+    /**
+     * Charge, sans les initialiser, les classes déclarées dans les FXML des dashboards.
+     * L'initialisation des composants JavaFX reste faite par le thread JavaFX.
+     */
+    private static void prechaufferVues() {
+        ClassLoader chargeur = DemarrageApplication.class.getClassLoader();
+        Set<String> chargees = new HashSet<>();
+        for (String chemin : VUES_DASHBOARDS) {
+            String fxml = lire(chemin);
+            if (fxml == null) {
+                continue;
+            }
+
+            List<String> paquets = new ArrayList<>();
+            Map<String, String> classes = new HashMap<>();
+            Matcher imports = IMPORT.matcher(fxml);
+            while (imports.find()) {
+                if (imports.group(2) != null) {
+                    paquets.add(imports.group(1));
+                } else {
+                    String nom = imports.group(1);
+                    classes.put(nom.substring(nom.lastIndexOf('.') + 1), nom);
+                }
+            }
+
+            Matcher controleur = CONTROLEUR.matcher(fxml);
+            if (controleur.find()) {
+                charger(chargeur, controleur.group(1), chargees);
+            }
+
+            Matcher elements = ELEMENT.matcher(fxml);
+            while (elements.find()) {
+                String nom = elements.group(1);
+                String complet = classes.get(nom);
+                if (complet != null) {
+                    charger(chargeur, complet, chargees);
+                } else {
+                    for (String paquet : paquets) {
+                        if (charger(chargeur, paquet + "." + nom, chargees)) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        logger.debug("{} classes de vues préchargées", chargees.size());
+    }
+
+    private static boolean charger(ClassLoader chargeur, String nom, Set<String> chargees) {
+        if (chargees.contains(nom)) {
+            return true;
+        }
+        try {
+            Class.forName(nom, false, chargeur);
+            chargees.add(nom);
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static String lire(String chemin) {
+        try (InputStream in = DemarrageApplication.class.getResourceAsStream(chemin)) {
+            return in == null ? null : new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Lecture impossible de {}", chemin, e);
+            return null;
+        }
+    }
+
+    private static void journaliserRecapitulatif(long interactifNanos) {
+        StringBuilder recap = new StringBuilder("Récapitulatif du démarrage:");
+        recap.append(String.format("%n  %-32s %6d ms", "Écran de connexion interactif",
+                TimeUnit.NANOSECONDS.toMillis(interactifNanos)));
+        synchronized (durees) {
+            for (Map.Entry<String, Long> entry : durees.entrySet()) {
+                recap.append(String.format("%n  %-32s %6d ms", entry.getKey(), TimeUnit.NANOSECONDS.toMillis(entry.getValue())));
+            }
+        }
+        logger.info(recap.toString());
+    }
+}
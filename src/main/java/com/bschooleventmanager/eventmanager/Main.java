@@ -5,6 +5,10 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import com.bschooleventmanager.eventmanager.service.DisponibilitePlacesService;
+import com.bschooleventmanager.eventmanager.service.ExpirationReservationService;
+import com.bschooleventmanager.eventmanager.service.HachageMotDePasseService;
+import com.bschooleventmanager.eventmanager.service.JournalReservationsService;
 import com.bschooleventmanager.eventmanager.util.AppConfig;
 import com.bschooleventmanager.eventmanager.util.WindowUtils;
 import org.slf4j.Logger;
@@ -21,10 +25,13 @@ public class Main extends Application {
     public void start(Stage primaryStage) {
         try {
             // Charger l'interface de connexion
+            long debut = System.nanoTime();
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/auth/login.fxml"));
             Parent root = loader.load();
+            DemarrageApplication.mesurer("Chargement login.fxml", debut);
 
             // Obtenir les dimensions optimales
+            debut = System.nanoTime();
             double[] dimensions = WindowUtils.getOptimalDimensions();
             
             // Créer la scène avec les dimensions optimales
@@ -32,8 +39,10 @@ public class Main extends Application {
             
             // Appliquer les styles CSS
             applyCssToScene(scene);
+            DemarrageApplication.mesurer("Scène et CSS", debut);
 
             // Configurer la fenêtre principale
+            debut = System.nanoTime();
             primaryStage.setTitle(AppConfig.getAppTitle());
             primaryStage.setScene(scene);
             primaryStage.setResizable(true);
@@ -42,6 +51,13 @@ public class Main extends Application {
             WindowUtils.configureStage(primaryStage);
             
             primaryStage.show();
+            DemarrageApplication.mesurer("Affichage de la fenêtre", debut);
+
+            // Préparer en arrière-plan ce dont la première connexion a besoin
+            DemarrageApplication.ecranInteractif();
+
+            // Libération automatique des places des réservations non payées
+            ExpirationReservationService.getInstance().demarrer();
 
             logger.info("✓ Application démarrée - Dimensions: {}x{}", (int)dimensions[0], (int)dimensions[1]);
             logger.info("✓ Titre: {}", AppConfig.getAppTitle());
@@ -52,6 +68,14 @@ public class Main extends Application {
         }
     }
     
+    @Override
+    public void stop() {
+        ExpirationReservationService.getInstance().arreter();
+        JournalReservationsService.getInstance().arreter();
+        HachageMotDePasseService.getInstance().arreter();
+        DisponibilitePlacesService.getInstance().arreter();
+    }
+    
     /**
      * Applique les styles CSS à la scène
      */
@@ -64,6 +88,7 @@ public class Main extends Application {
     }
 
     public static void main(String[] args) {
+        DemarrageApplication.demarrerChrono();
         logger.info("Démarrage de EventManager v{}", AppConfig.getAppVersion());
         launch(args);
     }
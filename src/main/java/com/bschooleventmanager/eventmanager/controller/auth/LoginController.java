@@ -1,5 +1,6 @@
 package com.bschooleventmanager.eventmanager.controller.auth;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -22,6 +23,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Contrôleur pour l'interface de connexion des utilisateurs existants dans EventManager.
@@ -185,18 +188,29 @@ public class LoginController {
      */
     @FXML
     private void handleLogin() {
-        try {
-            String email = emailField.getText().trim();
-            String password = passwordField.getText();
+        String email = emailField.getText().trim();
+        String password = passwordField.getText();
+
+        if (email.isEmpty() || password.isEmpty()) {
+            NotificationUtils.showWarning("Veuillez remplir tous les champs");
+            return;
+        }
 
-            if (email.isEmpty() || password.isEmpty()) {
-                NotificationUtils.showWarning("Veuillez remplir tous les champs");
+        // La vérification BCrypt et l'accès base se font hors du thread JavaFX
+        loginButton.setDisable(true);
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return utilisateurService.authentifier(email, password);
+            } catch (BusinessException e) {
+                throw new CompletionException(e);
+            }
+        }).whenComplete((user, throwable) -> Platform.runLater(() -> {
+            loginButton.setDisable(false);
+            if (throwable != null) {
+                handleLoginError(throwable instanceof CompletionException ? throwable.getCause() : throwable);
                 return;
             }
 
-            // Authentifier
-            Utilisateur user = utilisateurService.authentifier(email, password);
-
             // Stocker en session
             SessionManager.setUtilisateurConnecte(user);
 
@@ -205,13 +219,19 @@ public class LoginController {
 
             // Naviguer vers le dashboard
             navigateToDashboard(user);
+        }));
+    }
 
-        } catch (BusinessException e) {
-            logger.warn("Erreur authentification: {}", e.getMessage());
-            NotificationUtils.showError(e.getMessage());
-            errorLabel.setText(e.getMessage());
-        } catch (Exception e) {
-            logger.error("Erreur inattendue", e);
+    /**
+     * Affiche l'échec d'une tentative de connexion (exécuté sur le thread JavaFX)
+     */
+    private void handleLoginError(Throwable erreur) {
+        if (erreur instanceof BusinessException) {
+            logger.warn("Erreur authentification: {}", erreur.getMessage());
+            NotificationUtils.showError(erreur.getMessage());
+            errorLabel.setText(erreur.getMessage());
+        } else {
+            logger.error("Erreur inattendue", erreur);
             NotificationUtils.showError("Une erreur s'est produite");
         }
     }
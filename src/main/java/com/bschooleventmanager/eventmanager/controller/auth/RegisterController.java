@@ -1,5 +1,6 @@
 package com.bschooleventmanager.eventmanager.controller.auth;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -19,6 +20,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Contrôleur pour l'interface d'inscription des nouveaux utilisateurs dans EventManager.
@@ -450,43 +453,62 @@ public class RegisterController {
             // Désactiver le bouton pour éviter les doubles clics
             registerButton.setDisable(true);
             
-            // Créer le compte via le service
-            utilisateurService.inscrire(
-                nom, email, password, typeUtilisateur.name()
-            );
+            // Créer le compte via le service, hors du thread JavaFX (hachage BCrypt)
+            CompletableFuture.runAsync(() -> {
+                try {
+                    utilisateurService.inscrire(
+                        nom, email, password, typeUtilisateur.name()
+                    );
+                } catch (BusinessException e) {
+                    throw new CompletionException(e);
+                }
+            }).whenComplete((ignore, throwable) -> Platform.runLater(() -> {
+                // Réactiver le bouton
+                registerButton.setDisable(false);
+                if (throwable != null) {
+                    handleRegisterError(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+                    return;
+                }
 
-            logger.info("✓ Inscription réussie pour l'utilisateur: {}", email);
+                logger.info("✓ Inscription réussie pour l'utilisateur: {}", email);
+
+                // === NOTIFICATIONS ET CONFIRMATIONS ===
+                
+                // Afficher une notification de succès
+                NotificationUtils.showSuccess(
+                    "Inscription réussie !\n\n" +
+                    "Bienvenue " + nom + " !\n" +
+                    "Votre compte " + typeUtilisateur.getLabel() + " a été créé avec succès.\n" +
+                    "Vous pouvez maintenant vous connecter."
+                );
+
+                // Rediriger vers l'interface de connexion
+                handleGoToLogin();
+            }));
 
-            // === NOTIFICATIONS ET CONFIRMATIONS ===
-            
-            // Afficher une notification de succès
-            NotificationUtils.showSuccess(
-                "Inscription réussie !\n\n" +
-                "Bienvenue " + nom + " !\n" +
-                "Votre compte " + typeUtilisateur.getLabel() + " a été créé avec succès.\n" +
-                "Vous pouvez maintenant vous connecter."
-            );
-
-
-            // Rediriger vers l'interface de connexion
-            handleGoToLogin();
-
-        } catch (BusinessException e) {
-            logger.warn("Erreur métier lors de l'inscription: {}", e.getMessage());
-            showError(e.getMessage());
-            NotificationUtils.showWarning(e.getMessage());
-            
         } catch (Exception e) {
             logger.error("Erreur inattendue lors de l'inscription", e);
             showError("Une erreur inattendue s'est produite. Veuillez réessayer.");
             NotificationUtils.showError("Erreur lors de l'inscription");
-            
-        } finally {
-            // Réactiver le bouton
             registerButton.setDisable(false);
         }
     }
 
+    /**
+     * Affiche l'échec d'une inscription (exécuté sur le thread JavaFX)
+     */
+    private void handleRegisterError(Throwable erreur) {
+        if (erreur instanceof BusinessException) {
+            logger.warn("Erreur métier lors de l'inscription: {}", erreur.getMessage());
+            showError(erreur.getMessage());
+            NotificationUtils.showWarning(erreur.getMessage());
+        } else {
+            logger.error("Erreur inattendue lors de l'inscription", erreur);
+            showError("Une erreur inattendue s'est produite. Veuillez réessayer.");
+            NotificationUtils.showError("Erreur lors de l'inscription");
+        }
+    }
+
     /**
      * Valide que tous les champs obligatoires sont correctement remplis.
      * 
@@ -11,15 +11,18 @@ import javafx.stage.Stage;
 
 import com.bschooleventmanager.eventmanager.model.Utilisateur;
 import com.bschooleventmanager.eventmanager.model.Evenement;
+import com.bschooleventmanager.eventmanager.service.PrechargementEvenementsService;
 import com.bschooleventmanager.eventmanager.util.SessionManager;
 import com.bschooleventmanager.eventmanager.util.NotificationUtils;
 import com.bschooleventmanager.eventmanager.util.AppConfig;
+import com.bschooleventmanager.eventmanager.util.RegistreVues;
 import com.bschooleventmanager.eventmanager.controller.shared.ProfileController;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Contrôleur principal pour l'interface du tableau de bord client dans EventManager.
@@ -83,6 +86,12 @@ public class ClientDashboardController {
     /** Logger pour le traçage des actions et erreurs du dashboard client */
     private static final Logger logger = LoggerFactory.getLogger(ClientDashboardController.class);
 
+    // Vues des onglets, conservées par le registre entre deux changements d'onglet
+    private static final String VUE_EVENEMENTS = "/fxml/client/eventsList.fxml";
+    private static final String VUE_RESERVATIONS = "/fxml/client/reservationsHistory.fxml";
+    private static final String VUE_PROFIL = "/fxml/shared/profile.fxml";
+    private static final String VUE_DETAILS = "/fxml/client/clientEventDetails.fxml";
+
     // === Éléments FXML ===
     
     /** Texte d'accueil personnalisé avec le nom de l'utilisateur connecté */
@@ -153,6 +162,9 @@ public class ClientDashboardController {
         
         // Afficher les événements par défaut
         showEvents();
+
+        // Préparer les autres onglets pendant que l'utilisateur consulte les événements
+        RegistreVues.precharger(List.of(VUE_RESERVATIONS, VUE_PROFIL));
     }
 
     /**
@@ -250,8 +262,10 @@ public class ClientDashboardController {
     private void handleLogout() {
         logger.info("Déconnexion du client");
         
-        // Effacer la session
+        // Effacer la session et les vues de l'utilisateur
         SessionManager.clearSession();
+        RegistreVues.vider();
+        PrechargementEvenementsService.getInstance().vider();
         
         redirectToLogin();
     }
@@ -359,7 +373,18 @@ public class ClientDashboardController {
     public void showEventDetails(Evenement event) {
         logger.info("Affichage des détails de l'événement: {}", event.getNom());
         setActiveTab("events"); // Garder l'onglet événements actif
-        loadEventDetailsContent(event);
+
+        // Événement complet relu au survol de la ligne, sinon celui du catalogue
+        Evenement precharge = PrechargementEvenementsService.getInstance().prendre(event.getIdEvenement());
+        loadEventDetailsContent(precharge != null ? precharge : event);
+    }
+
+    /**
+     * Charge à l'avance la vue des détails d'un événement, pendant que l'utilisateur
+     * parcourt le catalogue (sans effet si elle est déjà chargée)
+     */
+    public void prechargerVueDetails() {
+        RegistreVues.precharger(List.of(VUE_DETAILS));
     }
 
     /**
@@ -380,15 +405,14 @@ public class ClientDashboardController {
         contentArea.getChildren().clear();
         
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/client/clientEventDetails.fxml"));
-            Parent eventDetailsRoot = loader.load();
+            RegistreVues.Vue<ClientEventDetailsController> vue = RegistreVues.obtenir(VUE_DETAILS);
             
             // Récupérer le contrôleur et configurer les données
-            ClientEventDetailsController detailsController = loader.getController();
+            ClientEventDetailsController detailsController = vue.getControleur();
             detailsController.setDashboardController(this); 
             detailsController.setEventData(event);
             
-            contentArea.getChildren().add(eventDetailsRoot);
+            contentArea.getChildren().add(vue.getRacine());
             
             logger.info("Contenu des détails de l'événement chargé avec succès");
             
@@ -418,14 +442,13 @@ public class ClientDashboardController {
     private void loadEventsContent()   {
         contentArea.getChildren().clear();
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/client/eventsList.fxml"));
-            Parent eventsRoot = loader.load();
+            RegistreVues.Vue<ClientEventsController> vue = RegistreVues.obtenir(VUE_EVENEMENTS);
             
             // Récupérer le contrôleur et lui passer une référence au dashboard
-            ClientEventsController eventsController = loader.getController();
+            ClientEventsController eventsController = vue.getControleur();
             eventsController.setDashboardController(this);
             
-            contentArea.getChildren().add(eventsRoot);
+            contentArea.getChildren().add(vue.getRacine());
             logger.info("Events content loaded successfully");
         } catch (Exception e) {
             
@@ -451,14 +474,13 @@ public class ClientDashboardController {
         
         try {
             // Charger l'interface de profil
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/shared/profile.fxml"));
-            Parent profileContent = loader.load();
+            RegistreVues.Vue<ProfileController> vue = RegistreVues.obtenir(VUE_PROFIL);
             
             // Récupérer le contrôleur pour l'initialiser
-            ProfileController profileController = loader.getController();
+            ProfileController profileController = vue.getControleur();
             profileController.initializeProfile();
             
-            contentArea.getChildren().add(profileContent);
+            contentArea.getChildren().add(vue.getRacine());
             
         } catch (IOException e) {
             logger.error("Erreur lors du chargement du profil", e);
@@ -554,14 +576,13 @@ public class ClientDashboardController {
         
         try {
             // Charger l'interface des réservations
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/client/reservationsHistory.fxml"));
-            Parent reservationsRoot = loader.load();
+            RegistreVues.Vue<ClientHistoriqueReservationsController> vue = RegistreVues.obtenir(VUE_RESERVATIONS);
             
             // Récupérer le contrôleur et lui passer une référence au dashboard
-            ClientHistoriqueReservationsController reservationsController = loader.getController();
+            ClientHistoriqueReservationsController reservationsController = vue.getControleur();
             reservationsController.setDashboardController(this);
             
-            contentArea.getChildren().add(reservationsRoot);
+            contentArea.getChildren().add(vue.getRacine());
             
             logger.info("Interface des réservations chargée avec succès");
             
@@ -1,7 +1,10 @@
 package com.bschooleventmanager.eventmanager.controller.client;
 
+import com.bschooleventmanager.eventmanager.model.DisponibilitePlaces;
 import com.bschooleventmanager.eventmanager.model.Evenement;
+import com.bschooleventmanager.eventmanager.service.DisponibilitePlacesService;
 import com.bschooleventmanager.eventmanager.util.NotificationUtils;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -133,6 +136,9 @@ public class ClientEventDetailsController {
     /** Référence au contrôleur dashboard pour la navigation */
     private ClientDashboardController dashboardController;
     
+    /** Abonnement au suivi des places, annulé quand la vue quitte l'écran */
+    private DisponibilitePlacesService.Abonnement abonnementDisponibilite;
+    
     /** Formateur pour l'affichage des dates */
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy à HH:mm");
 
@@ -178,6 +184,43 @@ public class ClientEventDetailsController {
     public void setEventData(Evenement event) {
         this.currentEvent = event;
         populateUI();
+        suivreDisponibilite();
+    }
+
+    /**
+     * Abonne la vue aux changements de places de l'événement affiché
+     */
+    private void suivreDisponibilite() {
+        if (abonnementDisponibilite != null) {
+            abonnementDisponibilite.annuler();
+        }
+        abonnementDisponibilite = DisponibilitePlacesService.getInstance().abonner(currentEvent.getIdEvenement(),
+                disponibilite -> Platform.runLater(() -> appliquerDisponibilite(disponibilite)));
+    }
+
+    /**
+     * Met à jour uniquement les compteurs de places qui ont changé
+     */
+    private void appliquerDisponibilite(DisponibilitePlaces disponibilite) {
+        // Notification mise en file avant un changement d'événement : elle ne concerne plus l'écran
+        if (currentEvent == null || abonnementDisponibilite == null
+                || disponibilite.getIdEvenement() != currentEvent.getIdEvenement()) {
+            return;
+        }
+        int standardAvant = currentEvent.getPlacesStandardRestantes();
+        int vipAvant = currentEvent.getPlacesVipRestantes();
+        int premiumAvant = currentEvent.getPlacesPremiumRestantes();
+        disponibilite.appliquerA(currentEvent);
+
+        if (standardAvant != currentEvent.getPlacesStandardRestantes()) {
+            placesStandardLabel.setText(currentEvent.getPlacesStandardRestantes() + " places disponibles");
+        }
+        if (vipAvant != currentEvent.getPlacesVipRestantes()) {
+            placesVipLabel.setText(currentEvent.getPlacesVipRestantes() + " places disponibles");
+        }
+        if (premiumAvant != currentEvent.getPlacesPremiumRestantes()) {
+            placesPremiumLabel.setText(currentEvent.getPlacesPremiumRestantes() + " places disponibles");
+        }
     }
 
     /**
@@ -210,17 +253,17 @@ public class ClientEventDetailsController {
         // Prix Standard
         BigDecimal prixStandard = currentEvent.getPrixStandard();
         priceStandardLabel.setText(prixStandard != null ? prixStandard + "€" : "N/A");
-        placesStandardLabel.setText(currentEvent.getPlacesStandardDisponibles() + " places disponibles");
+        placesStandardLabel.setText(currentEvent.getPlacesStandardRestantes() + " places disponibles");
         
         // Prix VIP
         BigDecimal prixVip = currentEvent.getPrixVip();
         priceVipLabel.setText(prixVip != null ? prixVip + "€" : "N/A");
-        placesVipLabel.setText(currentEvent.getPlacesVipDisponibles() + " places disponibles");
+        placesVipLabel.setText(currentEvent.getPlacesVipRestantes() + " places disponibles");
         
         // Prix Premium
         BigDecimal prixPremium = currentEvent.getPrixPremium();
         pricePremiumLabel.setText(prixPremium != null ? prixPremium + "€" : "N/A");
-        placesPremiumLabel.setText(currentEvent.getPlacesPremiumDisponibles() + " places disponibles");
+        placesPremiumLabel.setText(currentEvent.getPlacesPremiumRestantes() + " places disponibles");
     }
 
     /**
@@ -266,6 +309,14 @@ public class ClientEventDetailsController {
        
         reserveButton.setOnAction(e -> handleReservation());
         shareButton.setOnAction(e -> handleShare());
+
+        // La vue est conservée par le registre : l'abonnement prend fin quand elle est retirée de l'écran
+        placesStandardLabel.sceneProperty().addListener((obs, ancienne, nouvelle) -> {
+            if (nouvelle == null && abonnementDisponibilite != null) {
+                abonnementDisponibilite.annuler();
+                abonnementDisponibilite = null;
+            }
+        });
     }
 
     /**
@@ -281,8 +332,8 @@ public class ClientEventDetailsController {
         }
         
         // Vérifier la disponibilité générale
-        if (currentEvent.getPlacesStandardDisponibles() + currentEvent.getPlacesVipDisponibles() + 
-            currentEvent.getPlacesPremiumDisponibles() <= 0) {
+        if (currentEvent.getPlacesStandardRestantes() + currentEvent.getPlacesVipRestantes() + 
+            currentEvent.getPlacesPremiumRestantes() <= 0) {
             NotificationUtils.showError("Désolé, cet événement est complet");
             return;
         }
@@ -1,12 +1,16 @@
 package com.bschooleventmanager.eventmanager.controller.client;
 
-import com.bschooleventmanager.eventmanager.dao.EvenementDAO;
+import com.bschooleventmanager.eventmanager.exception.BusinessException;
 import com.bschooleventmanager.eventmanager.model.Evenement;
 import com.bschooleventmanager.eventmanager.model.enums.StatutEvenement;
 import com.bschooleventmanager.eventmanager.model.enums.TypeEvenement;
+import com.bschooleventmanager.eventmanager.service.CatalogueEvenementsService;
+import com.bschooleventmanager.eventmanager.service.PrechargementEvenementsService;
 import com.bschooleventmanager.eventmanager.util.NotificationUtils;
+import com.bschooleventmanager.eventmanager.util.VueReutilisable;
 
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
@@ -26,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Contrôleur pour l'interface de consultation des événements côté client dans EventManager.
@@ -95,7 +100,7 @@ import java.util.List;
  * @see com.bschooleventmanager.eventmanager.model.Evenement
  * @see com.bschooleventmanager.eventmanager.dao.EvenementDAO
  */
-public class ClientEventsController {
+public class ClientEventsController implements VueReutilisable {
 
     /** Logger pour le traçage des opérations de consultation des événements */
     private static final Logger logger = LoggerFactory.getLogger(ClientEventsController.class);
@@ -175,6 +180,15 @@ public class ClientEventsController {
         setupCombinedFilterListeners();
     }
 
+    /**
+     * Recharge les événements quand la vue mise en cache est réaffichée.
+     * Les filtres saisis sont conservés.
+     */
+    @Override
+    public void rafraichir() {
+        loadAllEvents();
+    }
+
     /** Configure la table des événements et ses colonnes */
     private void setupTable() {
         setupTableColumns();
@@ -243,8 +257,29 @@ public class ClientEventsController {
         eventsTable.setRowFactory(tv -> {
             TableRow<Evenement> row = new TableRow<>();
             row.setStyle("-fx-text-fill: black;");
+            row.hoverProperty().addListener((obs, avant, survolee) -> {
+                if (survolee && !row.isEmpty()) {
+                    prechargerDetails(row.getItem());
+                }
+            });
             return row;
         });
+        eventsTable.getSelectionModel().selectedItemProperty().addListener((obs, avant, selection) -> {
+            if (selection != null) {
+                prechargerDetails(selection);
+            }
+        });
+    }
+
+    /**
+     * Prépare l'ouverture des détails d'une ligne survolée ou sélectionnée : l'événement complet
+     * est relu en arrière-plan et la vue des détails chargée à l'avance.
+     */
+    private void prechargerDetails(Evenement event) {
+        PrechargementEvenementsService.getInstance().demander(event.getIdEvenement());
+        if (dashboardController != null) {
+            dashboardController.prechargerVueDetails();
+        }
     }
 
     /** Cellule personnalisée pour le bouton "Voir détails" dans la colonne Actions
@@ -376,21 +411,52 @@ public class ClientEventsController {
         });
     }
 
-    /** Charge tous les événements depuis la base de données */
+    /**
+     * Charge les événements actifs depuis le catalogue local.
+     *
+     * <p>Les derniers événements connus (synchronisation précédente ou instantané local du
+     * catalogue) sont affichés immédiatement, sans attendre la base. Le catalogue est ensuite
+     * synchronisé en arrière-plan et la table mise à jour à réception ; seuls les événements
+     * modifiés depuis le dernier chargement sont relus en base.</p>
+     */
     @FXML
     private void loadAllEvents() {
-        logger.info("Loading all events from DB...");
-
-        List<Evenement> events = EvenementDAO.getAllEvents();
+        logger.info("Loading events from catalogue...");
 
-        logger.info("Loaded {} events", events.size());
-        events.forEach(e -> System.out.println("EVENT LOADED → " + e));
-
-        masterData.setAll(events);
+        CatalogueEvenementsService catalogue = CatalogueEvenementsService.getInstance();
+        List<Evenement> connus = catalogue.getEvenementsConnus();
+        if (!connus.isEmpty()) {
+            masterData.setAll(connus);
+        }
 
         searchNomField.setText("");
         searchLieuField.setText("");
         typeFilter.getSelectionModel().select("All Types");
+
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return catalogue.getEvenementsActifs();
+            } catch (BusinessException e) {
+                logger.error("Erreur lors du chargement des événements", e);
+                Platform.runLater(() -> NotificationUtils.showError("Impossible de charger les événements: " + e.getMessage()));
+                return null;
+            }
+        }).thenAccept(events -> Platform.runLater(() -> {
+            if (events == null) {
+                return;
+            }
+            if (catalogue.estDegrade()) {
+                NotificationUtils.showWarning("Serveur de données injoignable : affichage des derniers événements connus. "
+                        + "Les réservations reprendront dès son retour.");
+            }
+
+            logger.info("Loaded {} events", events.size());
+            if (logger.isDebugEnabled()) {
+                events.forEach(e -> logger.debug("Event loaded: {}", e));
+            }
+
+            masterData.setAll(events);
+        }));
     }
 
     /**
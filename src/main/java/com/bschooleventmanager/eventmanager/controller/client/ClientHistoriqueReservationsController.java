@@ -11,12 +11,17 @@ import com.bschooleventmanager.eventmanager.service.ReservationService;
 import com.bschooleventmanager.eventmanager.service.EvenementService;
 import com.bschooleventmanager.eventmanager.util.SessionManager;
 import com.bschooleventmanager.eventmanager.util.NotificationUtils;
+import com.bschooleventmanager.eventmanager.util.VueReutilisable;
 
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
@@ -28,17 +33,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.util.HashMap;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * Contrôleur pour l'interface de l'historique des réservations client
  * Gère l'affichage, le paiement et l'annulation des réservations
  */
-public class ClientHistoriqueReservationsController {
+public class ClientHistoriqueReservationsController implements VueReutilisable {
     private static final Logger logger = LoggerFactory.getLogger(ClientHistoriqueReservationsController.class);
 
     // Éléments FXML
@@ -46,7 +50,7 @@ public class ClientHistoriqueReservationsController {
     @FXML private ComboBox<StatutReservation> statusFilter;
     @FXML private Label totalReservationsLabel;
     @FXML private VBox noReservationsContainer;
-    @FXML private VBox reservationsContainer;
+    @FXML private ListView<LigneReservation> reservationsList;
     @FXML private VBox loadingContainer;
     @FXML private VBox errorContainer;
     @FXML private Label errorMessageLabel;
@@ -58,12 +62,11 @@ public class ClientHistoriqueReservationsController {
     // Référence au dashboard
     private ClientDashboardController dashboardController;
     
-    // Données
-    private List<Reservation> allReservations;
+    // Données : toutes les réservations chargées, et la vue filtrée affichée par la liste
+    private final ObservableList<LigneReservation> lignes = FXCollections.observableArrayList();
+    private final FilteredList<LigneReservation> lignesFiltrees = new FilteredList<>(lignes);
     private Utilisateur currentUser;
     
-    // Cache pour éviter de refaire les mêmes requêtes
-    private final Map<Integer, Evenement> evenementCache = new HashMap<>();
 
     @FXML
     public void initialize() {
@@ -75,6 +78,9 @@ public class ClientHistoriqueReservationsController {
             return;
         }
 
+        reservationsList.setItems(lignesFiltrees);
+        reservationsList.setCellFactory(list -> new CarteReservationCell());
+
         setupStatusFilter();
         loadReservations();
     }
@@ -102,6 +108,7 @@ public class ClientHistoriqueReservationsController {
                     case EN_ATTENTE -> "En attente de paiement";
                     case CONFIRMEE -> "Confirmée";
                     case ANNULEE -> "Annulée";
+                    case EXPIREE -> "Expirée";
                 };
             }
 
@@ -111,9 +118,9 @@ public class ClientHistoriqueReservationsController {
             }
         });
 
-        // Écouter les changements de filtre (avec debounce pour éviter trop d'appels)
+        // Écouter les changements de filtre
         statusFilter.valueProperty().addListener((obs, oldVal, newVal) -> {
-            if (allReservations != null && !allReservations.isEmpty()) {
+            if (!lignes.isEmpty()) {
                 filterReservations();
             }
         });
@@ -124,313 +131,294 @@ public class ClientHistoriqueReservationsController {
      */
     @FXML
     private void handleRefresh() {
-        // Vider les caches et recharger pour éviter les connexions multiples
-        evenementCache.clear();
-        allReservations = null;
         loadReservations();
     }
 
+    /**
+     * Recharge l'historique quand la vue mise en cache est réaffichée
+     */
+    @Override
+    public void rafraichir() {
+        handleRefresh();
+    }
+
     private void loadReservations() {
         showLoading(true);
         
         CompletableFuture.supplyAsync(() -> {
             try {
-                List<Reservation> reservations = reservationService.getReservationsClient(currentUser.getIdUtilisateur());
-                
-                
-                // Pré-charger tous les détails en une seule fois pour éviter trop de connexions
-                for (Reservation reservation : reservations) {
-                    try {
-                        if (reservation.getDetails() == null || reservation.getDetails().isEmpty()) {
-                            List<ReservationDetail> details = reservationService.getDetailsReservation(reservation.getIdReservation());
-                            reservation.setDetails(details);
-                            
-                        }
-                    } catch (Exception e) {
-                        logger.warn("Erreur lors du chargement des détails de la réservation {}: {}", 
-                                  reservation.getIdReservation(), e.getMessage());
-                    }
-                }
-                
-                return reservations;
+                // Réservations, détails et événements en trois requêtes au total
+                ReservationService.HistoriqueClient historique =
+                        reservationService.getHistoriqueClient(currentUser.getIdUtilisateur());
+                return preparerLignes(historique);
             } catch (BusinessException e) {
                 logger.error("Erreur lors du chargement des réservations", e);
                 Platform.runLater(() -> showError("Erreur lors du chargement: " + e.getMessage()));
                 return null;
             }
-        }).thenAccept(reservations -> Platform.runLater(() -> {
-            if (reservations != null) {
-                this.allReservations = reservations;
-                displayReservations(reservations);
-                updateTotalLabel(reservations.size());
-                showLoading(false);
-            } else {
+        }).thenAccept(nouvellesLignes -> Platform.runLater(() -> {
+            // En cas d'erreur, showError a déjà remplacé l'indicateur de chargement
+            if (nouvellesLignes != null) {
                 showLoading(false);
+                displayReservations(nouvellesLignes);
             }
         }));
     }
 
     /**
-     * Filtre les réservations selon le statut sélectionné
+     * Filtre les réservations selon le statut sélectionné.
+     * Seul le prédicat de la liste filtrée change, les cartes affichées sont réutilisées.
      */
     private void filterReservations() {
-        if (allReservations == null) return;
-        
         StatutReservation selectedStatus = statusFilter.getValue();
-        List<Reservation> filteredReservations;
-        
-        if (selectedStatus == null) {
-            filteredReservations = allReservations;
-        } else {
-            filteredReservations = allReservations.stream()
-                .filter(r -> r.getStatut() == selectedStatus)
-                .toList();
-        }
-        
-        displayReservations(filteredReservations);
-        updateTotalLabel(filteredReservations.size());
-    }
+        lignesFiltrees.setPredicate(selectedStatus == null ? null : ligne -> ligne.statut == selectedStatus);
 
-    /**
-     * Affiche les réservations dans l'interface
-     */
-    private void displayReservations(List<Reservation> reservations) {
-        reservationsContainer.getChildren().clear();
-        
-        if (reservations.isEmpty()) {
-            showNoReservations(true);
-            return;
-        }
-        
-        showNoReservations(false);
-        
-        for (Reservation reservation : reservations) {
-            VBox reservationCard = createReservationCard(reservation);
-            reservationsContainer.getChildren().add(reservationCard);
-        }
+        showNoReservations(lignesFiltrees.isEmpty());
+        updateTotalLabel(lignesFiltrees.size());
     }
 
     /**
-     * Crée une carte pour une réservation
+     * Remplace les réservations affichées
      */
-    private VBox createReservationCard(Reservation reservation) {
-        VBox card = new VBox(15);
-        card.setStyle("-fx-background-color: white; -fx-background-radius: 10; " +
-                     "-fx-effect: dropshadow(three-pass-box, rgba(0,0,0,0.1), 5, 0, 0, 2); " +
-                     "-fx-padding: 20;");
-
-        // Header avec nom de l'événement et statut
-        HBox header = createReservationHeader(reservation);
-        
-        // Informations principales
-        GridPane infoGrid = createReservationInfo(reservation);
-        
-        // Détails des tickets
-        VBox detailsSection = createTicketDetails(reservation);
-        
-        // Actions (boutons)
-        HBox actionsBox = createActionButtons(reservation);
-
-        card.getChildren().addAll(header, new Separator(), infoGrid, detailsSection, actionsBox);
-        
-        return card;
+    private void displayReservations(List<LigneReservation> nouvellesLignes) {
+        lignes.setAll(nouvellesLignes);
+        filterReservations();
+        reservationsList.scrollTo(0);
     }
 
     /**
-     * Crée l'en-tête de la carte de réservation
+     * Prépare les textes affichés pour chaque réservation (exécuté hors du thread JavaFX)
      */
-    private HBox createReservationHeader(Reservation reservation) {
-        HBox header = new HBox(15);
-        header.setAlignment(Pos.CENTER_LEFT);
-
-        // Nom de l'événement avec cache
-        try {
-            Evenement evenement = evenementCache.get(reservation.getIdEvenement());
-            if (evenement == null) {
-                evenement = evenementService.getEvenementById(reservation.getIdEvenement());
-                if (evenement != null) {
-                    evenementCache.put(reservation.getIdEvenement(), evenement);
-                }
-            }
-            
-            Text eventName = new Text(evenement != null ? evenement.getNom() : "Événement #" + reservation.getIdEvenement());
-            eventName.setFont(Font.font("System", FontWeight.BOLD, 18));
-            eventName.setStyle("-fx-fill: #2c3e50;");
-            header.getChildren().add(eventName);
-        } catch (Exception _) {
-            logger.warn("Impossible de charger l'événement {}", reservation.getIdEvenement());
-            Text eventName = new Text("Événement #" + reservation.getIdEvenement());
-            eventName.setFont(Font.font("System", FontWeight.BOLD, 18));
-            header.getChildren().add(eventName);
+    private List<LigneReservation> preparerLignes(ReservationService.HistoriqueClient historique) {
+        List<LigneReservation> resultat = new ArrayList<>(historique.getReservations().size());
+        for (Reservation reservation : historique.getReservations()) {
+            resultat.add(new LigneReservation(reservation, historique.getEvenement(reservation.getIdEvenement()),
+                    generateReservationNumber(reservation.getIdReservation())));
         }
-
-        // Espaceur
-        Region spacer = new Region();
-        HBox.setHgrow(spacer, Priority.ALWAYS);
-        header.getChildren().add(spacer);
-
-        // Badge de statut
-        Label statusBadge = createStatusBadge(reservation.getStatut());
-        header.getChildren().add(statusBadge);
-
-        return header;
+        return resultat;
     }
 
     /**
-     * Crée un badge de statut coloré
+     * Applique le texte et la couleur du badge de statut
      */
-    private Label createStatusBadge(StatutReservation statut) {
-        Label badge = new Label();
-        badge.setPadding(new Insets(5, 10, 5, 10));
-        badge.setStyle("-fx-background-radius: 15; -fx-font-weight: bold; -fx-font-size: 12px;");
-
+    private static void appliquerBadge(Label badge, StatutReservation statut) {
+        String style = "-fx-background-radius: 15; -fx-font-weight: bold; -fx-font-size: 12px; -fx-text-fill: white;";
         switch (statut) {
             case EN_ATTENTE:
                 badge.setText("⏳ En attente de paiement");
-                badge.setStyle(badge.getStyle() + "-fx-background-color: #f39c12; -fx-text-fill: white;");
+                badge.setStyle(style + "-fx-background-color: #f39c12;");
                 break;
             case CONFIRMEE:
                 badge.setText("✅ Confirmée");
-                badge.setStyle(badge.getStyle() + "-fx-background-color: #27ae60; -fx-text-fill: white;");
+                badge.setStyle(style + "-fx-background-color: #27ae60;");
                 break;
             case ANNULEE:
                 badge.setText("❌ Annulée");
-                badge.setStyle(badge.getStyle() + "-fx-background-color: #e74c3c; -fx-text-fill: white;");
+                badge.setStyle(style + "-fx-background-color: #e74c3c;");
+                break;
+            case EXPIREE:
+                badge.setText("⌛ Expirée");
+                badge.setStyle(style + "-fx-background-color: #95a5a6;");
                 break;
         }
-
-        return badge;
-    }
-
-    /**
-     * Crée la grille d'informations de la réservation
-     */
-    private GridPane createReservationInfo(Reservation reservation) {
-        GridPane grid = new GridPane();
-        grid.setHgap(20);
-        grid.setVgap(10);
-
-        // Numéro de réservation formaté (masqué pour la sécurité)
-        String numeroReservation = generateReservationNumber(reservation.getIdReservation());
-        addInfoRow(grid, 0, "📋 Réservation", numeroReservation);
-
-        // Date de réservation
-        addInfoRow(grid, 1, "📅 Date de réservation", reservation.getDateReservation());
-
-        // Total payé
-        String totalText = String.format("%.2f €", reservation.getTotalPaye());
-        if (reservation.getTotalPaye() == 0.0) {
-            totalText += " (Gratuit)";
-        }
-        addInfoRow(grid, 2, "💰 Total", totalText);
-
-        return grid;
     }
 
     /**
-     * Ajoute une ligne d'information à la grille
+     * Ajoute une ligne d'information à la grille et retourne le label de la valeur
      */
-    private void addInfoRow(GridPane grid, int row, String label, String value) {
+    private static Label addInfoRow(GridPane grid, int row, String label) {
         Label labelControl = new Label(label);
         labelControl.setStyle("-fx-font-weight: bold; -fx-text-fill: #34495e;");
         
-        Label valueControl = new Label(value);
+        Label valueControl = new Label();
         valueControl.setStyle("-fx-text-fill: #2c3e50;");
 
         grid.add(labelControl, 0, row);
         grid.add(valueControl, 1, row);
+        return valueControl;
     }
 
     /**
-     * Crée la section des détails des tickets
+     * Textes d'une réservation, calculés une fois au chargement
      */
-    private VBox createTicketDetails(Reservation reservation) {
-        VBox detailsBox = new VBox(8);
-        
-        Label detailsTitle = new Label("🎫 Détails des tickets");
-        detailsTitle.setStyle("-fx-font-weight: bold; -fx-text-fill: #34495e; -fx-font-size: 14px;");
-        detailsBox.getChildren().add(detailsTitle);
+    private static final class LigneReservation {
+        private static final DateTimeFormatter FORMAT_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+        private final Reservation reservation;
+        /** Événement chargé avec l'historique, null s'il n'existe plus */
+        private final Evenement evenement;
+        private final StatutReservation statut;
+        private final String nomEvenement;
+        private final String numero;
+        private final String date;
+        private final String total;
+        /** Paires [catégorie x quantité, sous-total] */
+        private final List<String[]> details;
+        private final boolean payable;
+        private final boolean annulable;
+
+        private LigneReservation(Reservation reservation, Evenement evenement, String numero) {
+            this.reservation = reservation;
+            this.evenement = evenement;
+            this.statut = reservation.getStatut();
+            this.nomEvenement = evenement != null ? evenement.getNom() : "Événement #" + reservation.getIdEvenement();
+            this.numero = numero;
+            this.date = reservation.getDateReservation() != null
+                    ? reservation.getDateReservation().format(FORMAT_DATE) : "";
+
+            String totalText = reservation.getTotalPaye().formater();
+            if (reservation.getTotalPaye().estNul()) {
+                totalText += " (Gratuit)";
+            }
+            this.total = totalText;
 
-        try {
-            // Utiliser les détails déjà chargés pour éviter une nouvelle connexion DB
-            List<ReservationDetail> details = reservation.getDetails();
-            
-            if (details == null || details.isEmpty()) {
-                Label noDetails = new Label("Aucun détail disponible");
-                noDetails.setStyle("-fx-text-fill: #7f8c8d; -fx-font-style: italic;");
-                detailsBox.getChildren().add(noDetails);
-            } else {
-                for (ReservationDetail detail : details) {
-                    HBox detailLine = new HBox(10);
-                    detailLine.setAlignment(Pos.CENTER_LEFT);
-                    
+            List<String[]> lignesDetail = new ArrayList<>();
+            if (reservation.getDetails() != null) {
+                for (ReservationDetail detail : reservation.getDetails()) {
                     String categoryText = detail.getCategoriePlace().toString().toLowerCase();
                     categoryText = categoryText.substring(0, 1).toUpperCase() + categoryText.substring(1);
-                    
-                    Label categoryLabel = new Label(String.format("• %s x%d", categoryText, detail.getNombreTickets()));
-                    categoryLabel.setStyle("-fx-text-fill: #2c3e50;");
-                    
-                    Region spacer = new Region();
-                    HBox.setHgrow(spacer, Priority.ALWAYS);
-                    
-                    Label priceLabel = new Label(String.format("%.2f €", detail.getSousTotal()));
-                    priceLabel.setStyle("-fx-text-fill: #27ae60; -fx-font-weight: bold;");
-                    
-                    detailLine.getChildren().addAll(categoryLabel, spacer, priceLabel);
-                    detailsBox.getChildren().add(detailLine);
+                    lignesDetail.add(new String[]{
+                            String.format("• %s x%d", categoryText, detail.getNombreTickets()),
+                            detail.getSousTotal().formater()});
                 }
             }
-        } catch (Exception e) {
-            logger.error("Erreur lors de l'affichage des détails de la réservation {}", reservation.getIdReservation(), e);
-            Label errorLabel = new Label("Erreur lors de l'affichage des détails");
-            errorLabel.setStyle("-fx-text-fill: #e74c3c;");
-            detailsBox.getChildren().add(errorLabel);
-        }
+            this.details = lignesDetail;
 
-        return detailsBox;
+            this.payable = statut == StatutReservation.EN_ATTENTE && !reservation.isDelaiPaiementDepasse();
+            this.annulable = statut == StatutReservation.CONFIRMEE || statut == StatutReservation.EN_ATTENTE;
+        }
     }
 
     /**
-     * Crée les boutons d'action pour une réservation
+     * Carte d'une réservation. Les nœuds sont créés une fois par cellule visible
+     * puis réutilisés pour chaque réservation qui défile dans la cellule.
      */
-    private HBox createActionButtons(Reservation reservation) {
-        HBox actionsBox = new HBox(10);
-        actionsBox.setAlignment(Pos.CENTER_RIGHT);
-
-        // Bouton Effectuer le paiement (si en attente)
-        if (reservation.getStatut() == StatutReservation.EN_ATTENTE) {
-            Button payButton = new Button("💳 Effectuer le paiement");
+    private class CarteReservationCell extends ListCell<LigneReservation> {
+        private final VBox card = new VBox(15);
+        private final Text eventName = new Text();
+        private final Label statusBadge = new Label();
+        private final Label numeroLabel;
+        private final Label dateLabel;
+        private final Label totalLabel;
+        private final VBox detailsBox = new VBox(8);
+        private final Label noDetails = new Label("Aucun détail disponible");
+        private final List<HBox> lignesDetail = new ArrayList<>();
+        private final Button payButton = new Button("💳 Effectuer le paiement");
+        private final Button cancelButton = new Button("🗑️ Annuler");
+
+        private CarteReservationCell() {
+            card.setStyle("-fx-background-color: white; -fx-background-radius: 10; " +
+                         "-fx-effect: dropshadow(three-pass-box, rgba(0,0,0,0.1), 5, 0, 0, 2); " +
+                         "-fx-padding: 20;");
+
+            // Header avec nom de l'événement et statut
+            eventName.setFont(Font.font("System", FontWeight.BOLD, 18));
+            eventName.setStyle("-fx-fill: #2c3e50;");
+            statusBadge.setPadding(new Insets(5, 10, 5, 10));
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+            HBox header = new HBox(15, eventName, spacer, statusBadge);
+            header.setAlignment(Pos.CENTER_LEFT);
+
+            // Informations principales
+            GridPane infoGrid = new GridPane();
+            infoGrid.setHgap(20);
+            infoGrid.setVgap(10);
+            numeroLabel = addInfoRow(infoGrid, 0, "📋 Réservation");
+            dateLabel = addInfoRow(infoGrid, 1, "📅 Date de réservation");
+            totalLabel = addInfoRow(infoGrid, 2, "💰 Total");
+
+            // Détails des tickets
+            Label detailsTitle = new Label("🎫 Détails des tickets");
+            detailsTitle.setStyle("-fx-font-weight: bold; -fx-text-fill: #34495e; -fx-font-size: 14px;");
+            noDetails.setStyle("-fx-text-fill: #7f8c8d; -fx-font-style: italic;");
+            detailsBox.getChildren().addAll(detailsTitle, noDetails);
+
+            // Actions (boutons)
             payButton.setStyle("-fx-background-color: #27ae60; -fx-text-fill: white; " +
                               "-fx-background-radius: 6; -fx-font-weight: bold; -fx-cursor: hand; " +
                               "-fx-padding: 8 15 8 15;");
-            payButton.setOnAction(e -> handlePayment(reservation));
-            actionsBox.getChildren().add(payButton);
-        }
-
-        // Bouton Annuler (si confirmée ou en attente)
-        if (reservation.getStatut() == StatutReservation.CONFIRMEE || 
-            reservation.getStatut() == StatutReservation.EN_ATTENTE) {
-            
-            Button cancelButton = new Button("🗑️ Annuler");
+            payButton.setOnAction(e -> handlePayment(getItem().reservation, getItem().evenement));
             cancelButton.setStyle("-fx-background-color: #e74c3c; -fx-text-fill: white; " +
                                  "-fx-background-radius: 6; -fx-font-weight: bold; -fx-cursor: hand; " +
                                  "-fx-padding: 8 15 8 15;");
-            cancelButton.setOnAction(e -> handleCancellation(reservation));
-            actionsBox.getChildren().add(cancelButton);
+            cancelButton.setOnAction(e -> handleCancellation(getItem().reservation));
+            HBox actionsBox = new HBox(10, payButton, cancelButton);
+            actionsBox.setAlignment(Pos.CENTER_RIGHT);
+
+            card.getChildren().addAll(header, new Separator(), infoGrid, detailsBox, actionsBox);
+
+            // La cellule reste transparente, sélectionnée ou non : seule la carte est visible
+            setStyle("-fx-background-color: transparent; -fx-padding: 0 0 15 0;");
+        }
+
+        @Override
+        protected void updateItem(LigneReservation ligne, boolean empty) {
+            super.updateItem(ligne, empty);
+            if (empty || ligne == null) {
+                setGraphic(null);
+                return;
+            }
+
+            eventName.setText(ligne.nomEvenement);
+            appliquerBadge(statusBadge, ligne.statut);
+            numeroLabel.setText(ligne.numero);
+            dateLabel.setText(ligne.date);
+            totalLabel.setText(ligne.total);
+
+            afficher(noDetails, ligne.details.isEmpty());
+            for (int i = 0; i < ligne.details.size(); i++) {
+                HBox detailLine = getLigneDetail(i);
+                ((Label) detailLine.getChildren().get(0)).setText(ligne.details.get(i)[0]);
+                ((Label) detailLine.getChildren().get(2)).setText(ligne.details.get(i)[1]);
+                afficher(detailLine, true);
+            }
+            for (int i = ligne.details.size(); i < lignesDetail.size(); i++) {
+                afficher(lignesDetail.get(i), false);
+            }
+
+            afficher(payButton, ligne.payable);
+            afficher(cancelButton, ligne.annulable);
+            setGraphic(card);
         }
 
-        return actionsBox;
+        /**
+         * Retourne la ligne de détail à l'index donné, créée au premier besoin
+         */
+        private HBox getLigneDetail(int index) {
+            while (lignesDetail.size() <= index) {
+                Label categoryLabel = new Label();
+                categoryLabel.setStyle("-fx-text-fill: #2c3e50;");
+                Region spacer = new Region();
+                HBox.setHgrow(spacer, Priority.ALWAYS);
+                Label priceLabel = new Label();
+                priceLabel.setStyle("-fx-text-fill: #27ae60; -fx-font-weight: bold;");
+
+                HBox detailLine = new HBox(10, categoryLabel, spacer, priceLabel);
+                detailLine.setAlignment(Pos.CENTER_LEFT);
+                lignesDetail.add(detailLine);
+                detailsBox.getChildren().add(detailLine);
+            }
+            return lignesDetail.get(index);
+        }
+
+        private void afficher(Node node, boolean visible) {
+            node.setVisible(visible);
+            node.setManaged(visible);
+        }
     }
 
     /**
      * Gère le paiement d'une réservation
      */
-    private void handlePayment(Reservation reservation) {
+    private void handlePayment(Reservation reservation, Evenement evenementCharge) {
         logger.info("Redirection vers le paiement pour la réservation {}", reservation.getIdReservation());
         
         try {
-            // Charger l'événement pour obtenir les détails
-            Evenement evenement = evenementService.getEvenementById(reservation.getIdEvenement());
+            // L'événement a été chargé avec l'historique, il n'est relu que s'il manque
+            Evenement evenement = evenementCharge != null
+                    ? evenementCharge
+                    : evenementService.getEvenementById(reservation.getIdEvenement());
             if (evenement == null) {
                 NotificationUtils.showError("Impossible de charger les détails de l'événement");
                 return;
@@ -444,11 +432,8 @@ public class ClientHistoriqueReservationsController {
             PaymentController paymentController = loader.getController();
             paymentController.setDashboardController(dashboardController);
             
-            // Calculer le montant à payer
-            BigDecimal totalAmount = BigDecimal.valueOf(reservation.getTotalPaye());
-            
-            // Passer les données de la réservation
-            paymentController.setReservationData(reservation, evenement, totalAmount);
+            // Passer les données de la réservation et le montant à payer
+            paymentController.setReservationData(reservation, evenement, reservation.getTotalPaye());
             
             // Afficher l'interface de paiement dans le dashboard
             if (dashboardController != null) {
@@ -538,13 +523,16 @@ public class ClientHistoriqueReservationsController {
             noReservationsContainer.setManaged(false);
             errorContainer.setVisible(false);
             errorContainer.setManaged(false);
-            reservationsContainer.getChildren().clear();
         }
+        reservationsList.setVisible(!show);
+        reservationsList.setManaged(!show);
     }
 
     private void showNoReservations(boolean show) {
         noReservationsContainer.setVisible(show);
         noReservationsContainer.setManaged(show);
+        reservationsList.setVisible(!show);
+        reservationsList.setManaged(!show);
     }
 
     private void showError(String message) {
@@ -556,6 +544,8 @@ public class ClientHistoriqueReservationsController {
         loadingContainer.setManaged(false);
         noReservationsContainer.setVisible(false);
         noReservationsContainer.setManaged(false);
+        reservationsList.setVisible(false);
+        reservationsList.setManaged(false);
     }
 
 
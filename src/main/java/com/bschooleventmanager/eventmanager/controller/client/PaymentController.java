@@ -3,11 +3,15 @@ package com.bschooleventmanager.eventmanager.controller.client;
 import com.bschooleventmanager.eventmanager.exception.BusinessException;
 import com.bschooleventmanager.eventmanager.exception.PaiementInvalideException;
 import com.bschooleventmanager.eventmanager.model.Evenement;
+import com.bschooleventmanager.eventmanager.model.Montant;
 import com.bschooleventmanager.eventmanager.model.Paiement;
 import com.bschooleventmanager.eventmanager.model.Reservation;
 import com.bschooleventmanager.eventmanager.model.enums.MethodePaiement;
 import com.bschooleventmanager.eventmanager.service.PaiementService;
 import com.bschooleventmanager.eventmanager.service.StripePaymentService;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
@@ -16,7 +20,8 @@ import javafx.scene.layout.VBox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.concurrent.CompletableFuture;
 
@@ -124,6 +129,7 @@ public class PaymentController {
     @FXML private Button backButton;
     @FXML private VBox reservationSummaryContainer;
     @FXML private Label totalAmountLabel;
+    @FXML private Label holdCountdownLabel;
     
     // Méthodes de paiement
     @FXML private RadioButton creditCardRadio;
@@ -152,7 +158,8 @@ public class PaymentController {
     private ClientDashboardController dashboardController;
     private Reservation currentReservation;
     private Evenement currentEvent;
-    private BigDecimal amountToPay;
+    private Montant amountToPay;
+    private Timeline holdCountdown;
 
     @FXML
     private void initialize() {
@@ -316,13 +323,62 @@ public class PaymentController {
     /**
      * Définit les données de réservation à afficher
      */
-    public void setReservationData(Reservation reservation, Evenement event, BigDecimal amountToPay) {
+    public void setReservationData(Reservation reservation, Evenement event, Montant amountToPay) {
         this.currentReservation = reservation;
         this.currentEvent = event;
         this.amountToPay = amountToPay;
         
         populateReservationSummary();
         updateTotalAmount();
+        startHoldCountdown();
+    }
+
+    /**
+     * Affiche le temps restant avant la libération des places bloquées
+     */
+    private void startHoldCountdown() {
+        stopHoldCountdown();
+        if (currentReservation == null || currentReservation.getDateExpiration() == null) {
+            return;
+        }
+
+        holdCountdownLabel.setVisible(true);
+        holdCountdownLabel.setManaged(true);
+        updateHoldCountdown();
+
+        holdCountdown = new Timeline(new KeyFrame(javafx.util.Duration.seconds(1), e -> updateHoldCountdown()));
+        holdCountdown.setCycleCount(Animation.INDEFINITE);
+        holdCountdown.play();
+    }
+
+    /**
+     * Met à jour le compte à rebours et bloque le paiement une fois le délai écoulé
+     */
+    private void updateHoldCountdown() {
+        long secondesRestantes = Duration.between(LocalDateTime.now(), currentReservation.getDateExpiration()).getSeconds();
+        if (secondesRestantes <= 0) {
+            stopHoldCountdown();
+            holdCountdownLabel.setText("⌛ Délai de paiement expiré");
+            holdCountdownLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: #e74c3c;");
+            payButton.setDisable(true);
+            showError("Le délai de paiement est écoulé, les places ont été libérées. Veuillez refaire une réservation.");
+            return;
+        }
+
+        long heures = secondesRestantes / 3600;
+        long minutes = (secondesRestantes % 3600) / 60;
+        long secondes = secondesRestantes % 60;
+        String restant = heures > 0
+                ? String.format("%dh%02d:%02d", heures, minutes, secondes)
+                : String.format("%02d:%02d", minutes, secondes);
+        holdCountdownLabel.setText("⏳ Places réservées pour vous encore " + restant);
+    }
+
+    private void stopHoldCountdown() {
+        if (holdCountdown != null) {
+            holdCountdown.stop();
+            holdCountdown = null;
+        }
     }
 
     /**
@@ -354,15 +410,15 @@ public class PaymentController {
 
         currentReservation.getDetails().forEach(detail -> {
             String placeType = detail.getCategoriePlace().toString();
-            String prixUnitaire ="(" +  String.format("%.2f €", detail.getPrixUnitaire()) + ")";
+            String prixUnitaire ="(" +  detail.getPrixUnitaire().formater() + ")";
             String quantity = "x " + detail.getNombreTickets();
-            String totalPrice = String.format("%.2f €", detail.getSousTotal());
+            String totalPrice = detail.getSousTotal().formater();
             addSummaryLine("Places " + placeType, quantity);
         });
 
 
         
-        addSummaryLine("Date de réservation", currentReservation.getDateReservation());
+        addSummaryLine("Date de réservation", currentReservation.getDateReservation().format(dateFormatter));
         addSummaryLine("Statut", currentReservation.getStatut().toString());
     }
 
@@ -388,7 +444,7 @@ public class PaymentController {
      */
     private void updateTotalAmount() {
         if (amountToPay != null) {
-            totalAmountLabel.setText(String.format("%.2f €", amountToPay.doubleValue()));
+            totalAmountLabel.setText(amountToPay.formater());
         }
     }
 
@@ -397,6 +453,7 @@ public class PaymentController {
      */
     @FXML
     private void handleBack() {
+        stopHoldCountdown();
         if (dashboardController != null) {
             dashboardController.showReservations();
         }
@@ -475,7 +532,7 @@ public class PaymentController {
                 }
             }).whenComplete((paiement, throwable) -> 
                 Platform.runLater(() -> {
-                    payButton.setDisable(false);
+                    payButton.setDisable(currentReservation.isDelaiPaiementDepasse());
                     payButton.setText("Payer maintenant");
 
                     if (throwable != null) {
@@ -498,16 +555,17 @@ public class PaymentController {
      * Gère le succès du paiement
      */
     private void handlePaymentSuccess(Paiement paiement) {
+        stopHoldCountdown();
         logger.info("✓ Paiement réussi - Transaction: {}", paiement.getNumeroTransaction());
         
         Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
         successAlert.setTitle("Paiement réussi");
         successAlert.setHeaderText("Transaction confirmée");
         successAlert.setContentText(String.format(
-            "Votre paiement de %.2f € a été traité avec succès.\n\n" +
+            "Votre paiement de %s a été traité avec succès.\n\n" +
             "Numéro de transaction : %s\n" +
             "Votre réservation est maintenant confirmée !",
-            paiement.getMontant().doubleValue(),
+            paiement.getMontant().formater(),
             paiement.getNumeroTransaction()
         ));
         
@@ -2,17 +2,25 @@ package com.bschooleventmanager.eventmanager.controller.client;
 
 import com.bschooleventmanager.eventmanager.exception.BusinessException;
 import com.bschooleventmanager.eventmanager.exception.PlacesInsuffisantesException;
+import com.bschooleventmanager.eventmanager.model.DisponibilitePlaces;
 import com.bschooleventmanager.eventmanager.model.Evenement;
 import com.bschooleventmanager.eventmanager.model.Utilisateur;
+import com.bschooleventmanager.eventmanager.service.DisponibilitePlacesService;
+import com.bschooleventmanager.eventmanager.service.FileAttenteService;
 import com.bschooleventmanager.eventmanager.service.ReservationService;
 import com.bschooleventmanager.eventmanager.util.NotificationUtils;
 import com.bschooleventmanager.eventmanager.util.SessionManager;
 
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
+import javafx.util.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,6 +28,7 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.UUID;
 
 /**
  * Contrôleur pour l'interface de réservation d'événements côté client dans EventManager.
@@ -254,6 +263,13 @@ public class ReservationController {
     @FXML 
     private Button confirmButton;
 
+    /**
+     * Label d'affichage de la position du client dans la file d'attente.
+     * <p>Visible uniquement pendant l'attente d'admission lors d'une forte affluence.</p>
+     */
+    @FXML 
+    private Label queueStatusLabel;
+
     /**
      * Objet contenant toutes les données de l'événement à réserver.
      * <p>Inclut les informations tarifaires, les places disponibles et les contraintes.</p>
@@ -271,6 +287,12 @@ public class ReservationController {
      * <p>Utilisé pour la navigation entre les vues et le retour au tableau de bord.</p>
      */
     private ClientDashboardController dashboardController;
+
+    /**
+     * Abonnement au suivi des places de l'événement affiché.
+     * <p>Annulé quand le formulaire quitte l'écran.</p>
+     */
+    private DisponibilitePlacesService.Abonnement abonnementDisponibilite;
     
     /**
      * Formateur de date et heure pour l'affichage localisé.
@@ -284,6 +306,25 @@ public class ReservationController {
      */
     private final ReservationService reservationService = new ReservationService();
 
+    /**
+     * Jeton d'idempotence du formulaire affiché.
+     * <p>Généré à chaque ouverture du formulaire : une soumission répétée (double clic,
+     * nouvel essai) retourne la réservation déjà créée au lieu d'en créer une seconde.</p>
+     */
+    private String reservationFormToken = UUID.randomUUID().toString();
+
+    /**
+     * File d'attente d'admission aux réservations de l'événement.
+     * <p>Le client n'accède à la création de réservation qu'une fois admis.</p>
+     */
+    private final FileAttenteService fileAttente = FileAttenteService.getInstance();
+
+    /**
+     * Rafraîchissement périodique de la position dans la file d'attente.
+     * <p>Actif uniquement tant que le client attend son admission.</p>
+     */
+    private Timeline queuePolling;
+
     /**
      * Définit la référence vers le contrôleur de tableau de bord pour la navigation.
      * 
@@ -336,6 +377,65 @@ public class ReservationController {
         
         populateEventInfo();
         setupSpinners();
+        suivreDisponibilite();
+    }
+
+    /**
+     * Abonne le formulaire aux changements de places de l'événement.
+     * Les compteurs et les maxima des spinners suivent les ventes des autres clients.
+     */
+    private void suivreDisponibilite() {
+        if (abonnementDisponibilite != null) {
+            abonnementDisponibilite.annuler();
+        }
+        abonnementDisponibilite = DisponibilitePlacesService.getInstance().abonner(currentEvent.getIdEvenement(),
+                disponibilite -> Platform.runLater(() -> appliquerDisponibilite(disponibilite)));
+
+        // Le suivi et l'attente dans la file s'arrêtent quand le formulaire est retiré du dashboard
+        // (navigation par la barre latérale) : une admission tardive ne doit pas lancer de
+        // réservation depuis un écran qui n'est plus affiché
+        availableStandardLabel.sceneProperty().addListener((obs, ancienne, nouvelle) -> {
+            if (nouvelle != null) {
+                return;
+            }
+            if (abonnementDisponibilite != null) {
+                abonnementDisponibilite.annuler();
+                abonnementDisponibilite = null;
+            }
+            if (queuePolling != null) {
+                leaveQueue();
+            }
+        });
+    }
+
+    /**
+     * Met à jour uniquement les catégories dont le nombre de places restantes a changé
+     */
+    private void appliquerDisponibilite(DisponibilitePlaces disponibilite) {
+        // Notification mise en file avant un changement d'événement : elle ne concerne plus l'écran
+        if (currentEvent == null || abonnementDisponibilite == null
+                || disponibilite.getIdEvenement() != currentEvent.getIdEvenement()) {
+            return;
+        }
+        int standardAvant = currentEvent.getPlacesStandardRestantes();
+        int vipAvant = currentEvent.getPlacesVipRestantes();
+        int premiumAvant = currentEvent.getPlacesPremiumRestantes();
+        disponibilite.appliquerA(currentEvent);
+
+        mettreAJourCategorie(availableStandardLabel, standardSpinner, standardAvant, currentEvent.getPlacesStandardRestantes());
+        mettreAJourCategorie(availableVipLabel, vipSpinner, vipAvant, currentEvent.getPlacesVipRestantes());
+        mettreAJourCategorie(availablePremiumLabel, premiumSpinner, premiumAvant, currentEvent.getPlacesPremiumRestantes());
+    }
+
+    private void mettreAJourCategorie(Label label, Spinner<Integer> spinner, int avant, int restantes) {
+        if (avant == restantes) {
+            return;
+        }
+        label.setText(restantes + " places disponibles");
+        // Une quantité supérieure au nouveau maximum est ramenée au maximum, le total suit via l'écouteur
+        if (spinner.getValueFactory() instanceof SpinnerValueFactory.IntegerSpinnerValueFactory valeurs) {
+            valeurs.setMax(Math.min(10, restantes));
+        }
     }
     
     /**
@@ -671,6 +771,7 @@ public class ReservationController {
      */
     @FXML
     private void handleBack() {
+        leaveQueue();
         if (dashboardController != null) {
             dashboardController.showEventDetails(currentEvent);
         }
@@ -735,6 +836,104 @@ public class ReservationController {
     private void handleConfirmReservation() {
         try {
             validateBasicInputs();
+            enterQueue();
+        } catch (BusinessException e) {
+            logger.warn("Erreur métier lors de la réservation: {}", e.getMessage());
+            handleBusinessException(e);
+        } catch (Exception e) {
+            logger.error("Erreur inattendue lors de la réservation", e);
+            handleUnexpectedException(e);
+        }
+    }
+
+    /**
+     * Place le client dans la file d'attente de l'événement.
+     * 
+     * <p>Hors affluence, le client est admis immédiatement et la réservation est créée
+     * sans délai. Sinon, sa position est affichée et rafraîchie chaque seconde jusqu'à
+     * son admission, qui déclenche automatiquement la création de la réservation.</p>
+     * 
+     * @throws BusinessException Si l'utilisateur n'est pas connecté
+     * 
+     * @see FileAttenteService#rejoindre(int, int)
+     */
+    private void enterQueue() throws BusinessException {
+        Utilisateur user = SessionManager.getUtilisateurConnecte();
+        if (user == null) {
+            throw new BusinessException("Utilisateur non connecté");
+        }
+
+        FileAttenteService.PositionFile position =
+                fileAttente.rejoindre(currentEvent.getIdEvenement(), user.getIdUtilisateur());
+        if (position.isAdmis()) {
+            hideQueueStatus();
+            proceedWithReservation();
+            return;
+        }
+
+        confirmButton.setDisable(true);
+        showQueueStatus(position);
+
+        stopQueuePolling();
+        queuePolling = new Timeline(new KeyFrame(Duration.seconds(1), e -> refreshQueuePosition(user)));
+        queuePolling.setCycleCount(Animation.INDEFINITE);
+        queuePolling.play();
+    }
+
+    /**
+     * Met à jour la position affichée et lance la réservation dès l'admission.
+     */
+    private void refreshQueuePosition(Utilisateur user) {
+        FileAttenteService.PositionFile position =
+                fileAttente.rejoindre(currentEvent.getIdEvenement(), user.getIdUtilisateur());
+        if (position.isAdmis()) {
+            stopQueuePolling();
+            hideQueueStatus();
+            confirmButton.setDisable(false);
+            proceedWithReservation();
+        } else {
+            showQueueStatus(position);
+        }
+    }
+
+    private void showQueueStatus(FileAttenteService.PositionFile position) {
+        queueStatusLabel.setText(String.format(
+                "⏳ Forte affluence : vous êtes n°%d dans la file d'attente. " +
+                "La réservation sera lancée automatiquement à votre tour.", position.getPosition()));
+        queueStatusLabel.setVisible(true);
+        queueStatusLabel.setManaged(true);
+    }
+
+    private void hideQueueStatus() {
+        queueStatusLabel.setVisible(false);
+        queueStatusLabel.setManaged(false);
+    }
+
+    private void stopQueuePolling() {
+        if (queuePolling != null) {
+            queuePolling.stop();
+            queuePolling = null;
+        }
+    }
+
+    /**
+     * Quitte la file d'attente lorsque le client abandonne la réservation.
+     */
+    private void leaveQueue() {
+        stopQueuePolling();
+        Utilisateur user = SessionManager.getUtilisateurConnecte();
+        if (user != null && currentEvent != null) {
+            fileAttente.quitter(currentEvent.getIdEvenement(), user.getIdUtilisateur());
+        }
+    }
+
+    /**
+     * Crée la réservation une fois le client admis par la file d'attente.
+     * 
+     * @see #createReservation()
+     */
+    private void proceedWithReservation() {
+        try {
             createReservation();
         } catch (PlacesInsuffisantesException e) {
             logger.warn("Places insuffisantes: {}", e.getMessage());
@@ -823,7 +1022,7 @@ public class ReservationController {
      * @throws PlacesInsuffisantesException Si les places demandées ne sont plus disponibles
      * @throws BusinessException Si l'utilisateur n'est pas connecté ou autre erreur métier
      * 
-     * @see ReservationService#creerReservation(Utilisateur, Evenement, int, int, int, boolean)
+     * @see ReservationService#creerReservation(Utilisateur, Evenement, int, int, int, boolean, String)
      * @see #calculateTotalAmount()
      * @see #redirectToPayment()
      * @see #redirectToReservationsHistory()
@@ -846,7 +1045,8 @@ public class ReservationController {
             stdQty,
             vipQty, 
             premQty,
-            payNowRadio.isSelected()
+            payNowRadio.isSelected(),
+            reservationFormToken
         );
 
         
@@ -1059,11 +1259,9 @@ public class ReservationController {
                 PaymentController paymentController = loader.getController();
                 paymentController.setDashboardController(dashboardController);
                 
-                // Calculer le montant total
-                BigDecimal totalAmount = calculateTotalAmount();
-                
-                // Passer les données de la réservation créée et l'événement
-                paymentController.setReservationData(lastCreatedReservation, currentEvent, totalAmount);
+                // Passer les données de la réservation créée et l'événement, avec le total calculé au service
+                paymentController.setReservationData(lastCreatedReservation, currentEvent,
+                        lastCreatedReservation.getTotalPaye());
                 
                 // Remplacer le contenu du dashboard
                 dashboardController.showPaymentInterface(paymentRoot);
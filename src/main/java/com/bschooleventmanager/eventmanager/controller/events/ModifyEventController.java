@@ -1,11 +1,13 @@
 package com.bschooleventmanager.eventmanager.controller.events;
 
 import com.bschooleventmanager.eventmanager.exception.BusinessException;
+import com.bschooleventmanager.eventmanager.exception.ModificationConcurrenteException;
 import com.bschooleventmanager.eventmanager.model.*;
 import com.bschooleventmanager.eventmanager.model.enums.*;
 import com.bschooleventmanager.eventmanager.service.EvenementService;
 import com.bschooleventmanager.eventmanager.util.NotificationUtils;
 import com.bschooleventmanager.eventmanager.util.SessionManager;
+import com.bschooleventmanager.eventmanager.util.VueReutilisable;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import org.slf4j.Logger;
@@ -120,7 +122,7 @@ import java.time.LocalDateTime;
  * @see com.bschooleventmanager.eventmanager.model.Conference
  * @see com.bschooleventmanager.eventmanager.controller.organisateur.OrganisateurDashboardController
  */
-public class ModifyEventController {
+public class ModifyEventController implements VueReutilisable {
     
     /** Logger pour traçage des opérations de modification d'événements. */
     private static final Logger logger = LoggerFactory.getLogger(ModifyEventController.class);
@@ -498,6 +500,22 @@ public class ModifyEventController {
         loadEventById();
     }
     
+    /**
+     * Réinitialise le formulaire quand la vue mise en cache est réutilisée pour
+     * un autre événement. Les champs sont ensuite remplis par {@link #setEvenementInfo(int, TypeEvenement)}.
+     */
+    @Override
+    public void rafraichir() {
+        this.evenementAModifier = null;
+        if (tfArtits != null) tfArtits.clear();
+        if (tyConcert != null) tyConcert.setValue(null);
+        if (tySpectacle != null) tySpectacle.setValue(null);
+        if (Domaine != null) Domaine.clear();
+        if (Intervenant != null) Intervenant.clear();
+        if (nvExpert != null) nvExpert.setValue(null);
+        hideAllConditionalFields();
+    }
+
     /**
      * Charge l'événement depuis la base de données par son ID
      */
@@ -730,6 +748,10 @@ public class ModifyEventController {
             // Retourner au dashboard
             returnToDashboard();
             
+        } catch (ModificationConcurrenteException e) {
+            logger.warn("Conflit de modification sur l'événement {} (version actuelle {})",
+                e.getIdEvenement(), e.getVersionActuelle());
+            resoudreConflitModification(e);
         } catch (BusinessException e) {
             logger.error("Erreur métier lors de la modification", e);
             afficherErreur("❌ " + e.getMessage());
@@ -741,6 +763,34 @@ public class ModifyEventController {
         }
     }
     
+    /**
+     * Propose une résolution lorsque l'événement a été modifié ailleurs depuis son ouverture.
+     * 
+     * <p>L'organisateur peut recharger l'événement (ses saisies sont perdues) ou
+     * enregistrer quand même ses modifications par-dessus la version actuelle.
+     * Les places vendues ne sont jamais concernées : elles ne sont pas écrites
+     * par la modification.</p>
+     */
+    private void resoudreConflitModification(ModificationConcurrenteException e) {
+        ButtonType recharger = new ButtonType("Recharger l'événement");
+        ButtonType ecraser = new ButtonType("Enregistrer mes modifications");
+        Alert alert = new Alert(Alert.AlertType.WARNING, null, recharger, ecraser, ButtonType.CANCEL);
+        alert.setTitle("Modification concurrente");
+        alert.setHeaderText("Cet événement a été modifié depuis son ouverture");
+        alert.setContentText("Rechargez l'événement pour voir la version actuelle, " +
+            "ou enregistrez vos modifications pour remplacer celles de l'autre auteur.");
+
+        alert.showAndWait().ifPresent(choix -> {
+            if (choix == recharger) {
+                loadEventById();
+                NotificationUtils.showInfo("Modification concurrente", "Événement rechargé avec sa version actuelle");
+            } else if (choix == ecraser) {
+                evenementAModifier.setVersion(e.getVersionActuelle());
+                saveModifications();
+            }
+        });
+    }
+    
     /**
      * Effectue une validation finale avant sauvegarde
      */
@@ -3,9 +3,11 @@ package com.bschooleventmanager.eventmanager.controller.organisateur;
 import com.bschooleventmanager.eventmanager.model.Evenement;
 import com.bschooleventmanager.eventmanager.model.Utilisateur;
 import com.bschooleventmanager.eventmanager.model.enums.TypeEvenement;
+import com.bschooleventmanager.eventmanager.service.CatalogueEvenementsService;
 import com.bschooleventmanager.eventmanager.service.EvenementService;
 import com.bschooleventmanager.eventmanager.util.NotificationUtils;
 import com.bschooleventmanager.eventmanager.util.SessionManager;
+import com.bschooleventmanager.eventmanager.util.VueReutilisable;
 
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
@@ -128,7 +130,7 @@ import java.util.stream.Collectors;
  * @see javafx.scene.chart.PieChart
  * @see javafx.scene.chart.BarChart
  */
-public class OrganisateurDashboardContentController {
+public class OrganisateurDashboardContentController implements VueReutilisable {
     /** Logger pour traçage des opérations de calcul de métriques et gestion de données. */
     private static final Logger logger = LoggerFactory.getLogger(OrganisateurDashboardContentController.class);
 
@@ -302,6 +304,14 @@ public class OrganisateurDashboardContentController {
         );
     }
 
+    /**
+     * Recalcule les statistiques quand la vue mise en cache est réaffichée
+     */
+    @Override
+    public void rafraichir() {
+        refreshData();
+    }
+
     /**
      * Actualise toutes les données du dashboard avec application des filtres sélectionnés.
      * 
@@ -352,8 +362,8 @@ public class OrganisateurDashboardContentController {
             
             int userId = user.getIdUtilisateur();
 
-            // Récupération des événements de l'organisateur
-            List<Evenement> events = evenementService.getEvenementsParOrganisateur(userId);
+            // Récupération des événements de l'organisateur (seules les lignes modifiées sont relues)
+            List<Evenement> events = CatalogueEvenementsService.getInstance().getEvenementsParOrganisateur(userId);
             logger.info("Événements chargés : {}", events.size());
 
             // Application des filtres avec validation
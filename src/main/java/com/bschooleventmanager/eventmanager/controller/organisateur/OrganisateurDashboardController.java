@@ -10,17 +10,21 @@ import javafx.scene.text.Text;
 import javafx.stage.Stage;
 
 import com.bschooleventmanager.eventmanager.model.Evenement;
+import com.bschooleventmanager.eventmanager.service.EvenementService;
 import com.bschooleventmanager.eventmanager.model.enums.TypeEvenement;
 import com.bschooleventmanager.eventmanager.model.Utilisateur;
 import com.bschooleventmanager.eventmanager.util.SessionManager;
 import com.bschooleventmanager.eventmanager.util.NotificationUtils;
 import com.bschooleventmanager.eventmanager.util.AppConfig;
+import com.bschooleventmanager.eventmanager.util.RegistreVues;
+import com.bschooleventmanager.eventmanager.controller.events.ModifyEventController;
 import com.bschooleventmanager.eventmanager.controller.shared.ProfileController;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Contrôleur principal pour l'interface Organisateur dans EventManager.
@@ -122,6 +126,12 @@ public class OrganisateurDashboardController {
     /** Logger pour traçage des opérations de navigation et gestion d'interface. */
     private static final Logger logger = LoggerFactory.getLogger(OrganisateurDashboardController.class);
 
+    // Vues réutilisées par le registre entre deux changements d'onglet
+    private static final String VUE_TABLEAU_DE_BORD = "/fxml/organisateur/dashboard_content.fxml";
+    private static final String VUE_EVENEMENTS = "/fxml/organisateur/Events/eventsList.fxml";
+    private static final String VUE_PROFIL = "/fxml/shared/profile.fxml";
+    private static final String VUE_MODIFICATION = "/fxml/organisateur/Events/editEvent.fxml";
+
     // === Éléments FXML - Interface utilisateur ===
     
     /** Label d'affichage du message de bienvenue personnalisé avec nom utilisateur. */
@@ -193,6 +203,15 @@ public class OrganisateurDashboardController {
         
         // Afficher le dashboard par défaut
         showDashboard();
+
+        // Préparer les autres onglets pendant que l'organisateur consulte le dashboard
+        RegistreVues.precharger(List.of(VUE_EVENEMENTS, VUE_PROFIL, VUE_MODIFICATION));
+
+        // Relancer les annulations d'événements de l'organisateur restées inachevées
+        // (application fermée pendant le traitement, remboursements en échec)
+        if (user != null) {
+            new EvenementService().planifierRepriseAnnulations(user.getIdUtilisateur());
+        }
     }
 
     /**
@@ -383,8 +402,9 @@ public class OrganisateurDashboardController {
     private void handleLogout() {
         logger.info("Déconnexion de l'organisateur");
         
-        // Effacer la session
+        // Effacer la session et les vues de l'organisateur
         SessionManager.clearSession();
+        RegistreVues.vider();
         
         redirectToLogin();
     }
@@ -469,15 +489,14 @@ public class OrganisateurDashboardController {
         contentArea.getChildren().clear();
         try {
             // Charger le contenu FXML dédié au dashboard
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/organisateur/dashboard_content.fxml"));
-            Parent dashboardContent = loader.load();
+            RegistreVues.Vue<OrganisateurDashboardContentController> vue = RegistreVues.obtenir(VUE_TABLEAU_DE_BORD);
 
             // Transmettre la référence du contrôleur parent au contrôleur du contenu afin de pouvoir
             // rediriger vers la création d'événement
-            com.bschooleventmanager.eventmanager.controller.organisateur.OrganisateurDashboardContentController contentController = loader.getController();
+            OrganisateurDashboardContentController contentController = vue.getControleur();
             contentController.setParentController(this);
 
-            contentArea.getChildren().add(dashboardContent);
+            contentArea.getChildren().add(vue.getRacine());
         } catch (Exception e) {
             logger.error("Erreur lors du chargement du dashboard", e);
             // Fallback simple si le FXML échoue
@@ -506,12 +525,11 @@ public class OrganisateurDashboardController {
         
         try {
             // Charger le contenu FXML dédié au dashboard
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/organisateur/Events/eventsList.fxml"));
-            Parent dashboardContent = loader.load();
+            RegistreVues.Vue<OrganisateurEventListController> vue = RegistreVues.obtenir(VUE_EVENEMENTS);
 
             // Transmettre la référence du contrôleur parent au contrôleur du contenu afin de pouvoir
             // rediriger vers la création d'événement
-            com.bschooleventmanager.eventmanager.controller.organisateur.OrganisateurEventListController contentController = loader.getController();
+            OrganisateurEventListController contentController = vue.getControleur();
             contentController.setParentController(this);
             
             // CORRECTION: Transmettre l'ID de l'organisateur connecté
@@ -524,7 +542,7 @@ public class OrganisateurDashboardController {
                 NotificationUtils.showError("Erreur: Utilisateur non connecté");
             }
 
-            contentArea.getChildren().add(dashboardContent);
+            contentArea.getChildren().add(vue.getRacine());
             
         } catch (Exception e) {
             logger.error("Erreur lors du chargement des événements", e);
@@ -566,14 +584,13 @@ public class OrganisateurDashboardController {
         
         try {
             // Charger l'interface de profil
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/shared/profile.fxml"));
-            Parent profileContent = loader.load();
+            RegistreVues.Vue<ProfileController> vue = RegistreVues.obtenir(VUE_PROFIL);
             
             // Récupérer le contrôleur pour l'initialiser
-            ProfileController profileController = loader.getController();
+            ProfileController profileController = vue.getControleur();
             profileController.initializeProfile();
             
-            contentArea.getChildren().add(profileContent);
+            contentArea.getChildren().add(vue.getRacine());
             
         } catch (IOException e) {
             logger.error("Erreur lors du chargement du profil", e);
@@ -611,15 +628,14 @@ public class OrganisateurDashboardController {
         contentArea.getChildren().clear();
         try {
             // Charger l'interface de modification d'événement
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/organisateur/Events/editEvent.fxml"));
-            Parent modifyEventContent = loader.load();
+            RegistreVues.Vue<ModifyEventController> vue = RegistreVues.obtenir(VUE_MODIFICATION);
             
             // Récupérer le contrôleur pour passer une référence au dashboard et l'événement à modifier
-            com.bschooleventmanager.eventmanager.controller.events.ModifyEventController eventController = loader.getController();
+            ModifyEventController eventController = vue.getControleur();
             eventController.setDashboardController(this);
             eventController.setEvenementInfo(eventId, eventType);
             
-            contentArea.getChildren().add(modifyEventContent);
+            contentArea.getChildren().add(vue.getRacine());
            
             
         } catch (Exception e) {
@@ -1,5 +1,6 @@
 package com.bschooleventmanager.eventmanager.controller.shared;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.text.Text;
@@ -9,10 +10,13 @@ import com.bschooleventmanager.eventmanager.service.UtilisateurService;
 import com.bschooleventmanager.eventmanager.util.SessionManager;
 import com.bschooleventmanager.eventmanager.util.NotificationUtils;
 import com.bschooleventmanager.eventmanager.util.ValidationUtils;
+import com.bschooleventmanager.eventmanager.util.VueReutilisable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Contrôleur partagé pour la gestion complète du profil utilisateur avec validation en temps réel.
  * 
@@ -59,7 +63,7 @@ import org.slf4j.LoggerFactory;
  * @see NotificationUtils
  * @see Utilisateur
  */
-public class ProfileController {
+public class ProfileController implements VueReutilisable {
     /** Logger pour traçage des opérations de gestion de profil et sécurité. */
     private static final Logger logger = LoggerFactory.getLogger(ProfileController.class);
 
@@ -143,6 +147,17 @@ public class ProfileController {
         setupValidationListeners();
     }
 
+    /**
+     * Efface les mots de passe saisis lors d'un précédent affichage de la vue.
+     * Les informations du profil sont rechargées par {@link #initializeProfile()}.
+     */
+    @Override
+    public void rafraichir() {
+        currentPasswordField.clear();
+        newPasswordField.clear();
+        confirmPasswordField.clear();
+    }
+
     /**
      * Initialise l'affichage du profil avec les données de l'utilisateur connecté.
      * 
@@ -337,29 +352,47 @@ public class ProfileController {
             return;
         }
         
-        try {
-            // Mettre à jour le mot de passe
-            boolean success = utilisateurService.changePassword(user.getIdUtilisateur(), newPassword);
-            
-            if (success) {
-                NotificationUtils.showSuccess("Mot de passe modifié avec succès");
-                
-                // Effacer les champs
-                currentPasswordField.clear();
-                newPasswordField.clear();
-                confirmPasswordField.clear();
-                
-                logger.info("✓ Mot de passe modifié pour l'utilisateur: {}", user.getEmail());
-            } else {
-                NotificationUtils.showError("Erreur lors du changement de mot de passe");
+        // Vérification de l'ancien mot de passe et hachage du nouveau hors du thread JavaFX
+        changePasswordButton.setDisable(true);
+        CompletableFuture.supplyAsync(() -> {
+            if (!utilisateurService.verifyPassword(user.getEmail(), currentPassword)) {
+                return ResultatChangementMotDePasse.MOT_DE_PASSE_INCORRECT;
             }
-            
-        } catch (Exception e) {
-            logger.error("Erreur lors du changement de mot de passe", e);
-            NotificationUtils.showError("Erreur technique lors du changement de mot de passe");
-        }
+            return utilisateurService.changePassword(user.getIdUtilisateur(), newPassword)
+                    ? ResultatChangementMotDePasse.SUCCES
+                    : ResultatChangementMotDePasse.ECHEC;
+        }).whenComplete((resultat, throwable) -> Platform.runLater(() -> {
+            changePasswordButton.setDisable(false);
+            if (throwable != null) {
+                logger.error("Erreur lors du changement de mot de passe", throwable);
+                NotificationUtils.showError("Erreur technique lors du changement de mot de passe");
+                return;
+            }
+
+            switch (resultat) {
+                case SUCCES:
+                    NotificationUtils.showSuccess("Mot de passe modifié avec succès");
+
+                    // Effacer les champs
+                    currentPasswordField.clear();
+                    newPasswordField.clear();
+                    confirmPasswordField.clear();
+
+                    logger.info("✓ Mot de passe modifié pour l'utilisateur: {}", user.getEmail());
+                    break;
+                case MOT_DE_PASSE_INCORRECT:
+                    NotificationUtils.showError("Mot de passe actuel incorrect");
+                    currentPasswordField.requestFocus();
+                    break;
+                default:
+                    NotificationUtils.showError("Erreur lors du changement de mot de passe");
+            }
+        }));
     }
 
+    /** Issue d'une demande de changement de mot de passe traitée en arrière-plan */
+    private enum ResultatChangementMotDePasse { SUCCES, MOT_DE_PASSE_INCORRECT, ECHEC }
+
     /**
      * Configure les écouteurs pour la validation en temps réel de tous les champs de saisie.
      * 
@@ -594,7 +627,6 @@ public class ProfileController {
      * <p><b>Validations séquentielles :</b></p>
      * <ol>
      *   <li>Présence du mot de passe actuel (non vide)</li>
-     *   <li>Vérification du mot de passe actuel contre la base de données</li>
      *   <li>Longueur minimale du nouveau mot de passe (8 caractères)</li>
      *   <li>Correspondance exacte entre nouveau mot de passe et confirmation</li>
      * </ol>
@@ -611,7 +643,7 @@ public class ProfileController {
      * <ul>
      *   <li>Messages spécifiques pour chaque type d'erreur</li>
      *   <li>Focus automatique sur le champ problématique</li>
-     *   <li>Validation via UtilisateurService pour l'ancien mot de passe</li>
+     *   <li>L'ancien mot de passe est vérifié ensuite, en arrière-plan, par handleChangePassword</li>
      * </ul>
      * 
      * @param currentPassword Le mot de passe actuel saisi pour vérification
@@ -631,13 +663,6 @@ public class ProfileController {
             return false;
         }
 
-        // Vérifier le mot de passe actuel
-        if (!utilisateurService.verifyPassword(user.getEmail(), currentPassword)) {
-            NotificationUtils.showError("Mot de passe actuel incorrect");
-            currentPasswordField.requestFocus();
-            return false;
-        }
-
         if (newPassword.length() < 8) {
             NotificationUtils.showError("Le nouveau mot de passe doit contenir au moins 8 caractères");
             newPasswordField.requestFocus();
@@ -3,6 +3,7 @@ package com.bschooleventmanager.eventmanager.dao;
 import com.bschooleventmanager.eventmanager.exception.DatabaseException;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.List;
 
 /**
@@ -29,12 +30,25 @@ public abstract class BaseDAO<T> {
      * Récupère une connexion valide depuis le gestionnaire de connexion singleton.
      * 
      * @return La connexion à la base de données
+     * @throws SQLException Si la base est indisponible
      * @see DatabaseConnection#getInstance()
      */
-    protected Connection getConnection() {
+    protected Connection getConnection() throws SQLException {
         return DatabaseConnection.getInstance().getConnection();
     }
 
+    /**
+     * Récupère une connexion pour une lecture de consultation, qui peut être servie par la
+     * réplique en lecture seule. À réserver aux lectures qui tolèrent quelques secondes de retard.
+     *
+     * @return La connexion à la base de données
+     * @throws SQLException Si aucune base n'est disponible
+     * @see DatabaseConnection#getConnectionLecture()
+     */
+    protected Connection getConnectionLecture() throws SQLException {
+        return DatabaseConnection.getInstance().getConnectionLecture();
+    }
+
     /**
      * Crée une nouvelle entité en base de données.
      * 
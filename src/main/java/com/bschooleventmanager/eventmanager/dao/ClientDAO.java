@@ -122,18 +122,10 @@ public class ClientDAO extends BaseDAO<Client> {
 
     @Override
     public Client mettreAJour(Client client) throws DatabaseException {
-        String query = "UPDATE Utilisateurs SET nom = ?, email = ? WHERE id_utilisateur = ? AND type_utilisateur = ?";
-        
-        try (Connection connection = getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(query)) {
-            
-            pstmt.setString(1, client.getNom());
-            pstmt.setString(2, client.getEmail());
-            pstmt.setInt(3, client.getIdUtilisateur());
-            pstmt.setString(4, TypeUtilisateur.CLIENT.name());
-
-            pstmt.executeUpdate();
-            logger.info("✓ Client mis à jour: {}", client.getIdUtilisateur());
+        try (Connection connection = getConnection()) {
+            if (UtilisateurDAO.mettreAJourChampsModifies(connection, client, TypeUtilisateur.CLIENT) > 0) {
+                logger.info("✓ Client mis à jour: {}", client.getIdUtilisateur());
+            }
         } catch (SQLException e) {
             logger.error("Erreur mise à jour client", e);
             throw new DatabaseException("Erreur mise à jour client", e);
@@ -167,6 +159,7 @@ public class ClientDAO extends BaseDAO<Client> {
         client.setMotDePasse(rs.getString("mot_de_passe"));
         client.setTypeUtilisateur(TypeUtilisateur.valueOf(rs.getString("type_utilisateur")));
         client.setDateCreation(rs.getTimestamp("date_creation").toLocalDateTime());
+        client.reinitialiserChampsModifies();
         return client;
     }
 }
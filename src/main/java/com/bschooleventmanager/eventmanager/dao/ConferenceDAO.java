@@ -73,56 +73,16 @@ public class ConferenceDAO extends BaseDAO<Conference> {
 
 
     /**
-     * Mettre à jour une conférence
+     * Mettre à jour une conférence (colonnes modifiées uniquement, voir EvenementDAO.updateEvent)
      * @param conference
      * @return
      * @throws DatabaseException
      */
     @Override
     public Conference mettreAJour(Conference conference) throws DatabaseException {
-        String query = "UPDATE evenements SET organisateur_id = ?, nom = ?, date_evenement = ?, lieu = ?, type_evenement = ?," +
-                "    description = ?, places_standard_disponibles = ?, places_vip_disponibles = ?, places_premium_disponibles = ?," +
-                "    prix_standard = ?, prix_vip = ?, prix_premium = ?, artiste_groupe = ?, age_min = ?, domaine = ?, " +
-                "    intervenant = ?, type_concert = ?, type_spectacle = ?, niveau_expertise = ? WHERE id_evenement = ?;";
-
-        
-
-        try (Connection connection = getConnection(); PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setInt(1, conference.getOrganisateurId());
-            pstmt.setString(2, conference.getNom());
-            pstmt.setTimestamp(3, Timestamp.valueOf(conference.getDateEvenement()));
-            pstmt.setString(4, conference.getLieu());
-            pstmt.setString(5, conference.getTypeEvenement().getLabel());
-            pstmt.setString(6, conference.getDescription());
-            pstmt.setInt(7, conference.getPlacesStandardDisponibles());
-            pstmt.setInt(8, conference.getPlacesVipDisponibles());
-            pstmt.setInt(9, conference.getPlacesPremiumDisponibles());
-            pstmt.setBigDecimal(10, conference.getPrixStandard());
-            pstmt.setBigDecimal(11, conference.getPrixVip());
-            pstmt.setBigDecimal(12, conference.getPrixPremium());
-            // Artiste/Groupe / age_min / type_concert / type_spectacle non applicables pour une conférence
-            pstmt.setNull(13, java.sql.Types.VARCHAR);
-            pstmt.setNull(14, java.sql.Types.INTEGER);
-            pstmt.setString(15, conference.getDomaine());
-            pstmt.setString(16, conference.getIntervenants());
-            pstmt.setNull(17, java.sql.Types.VARCHAR);
-            pstmt.setNull(18, java.sql.Types.VARCHAR);
-            pstmt.setString(19, conference.getNiveauExpertise() != null ? conference.getNiveauExpertise().getLabel() : null);
-            pstmt.setInt(20, conference.getIdEvenement());
-
-            int affectedRows = pstmt.executeUpdate();
-
-            if (affectedRows > 0) {
-                logger.info("✓ Conférence modifiée avec succès: {}", conference.getNom());
-                return conference;
-            }
-            
-            throw new DatabaseException("Aucune ligne mise à jour pour la conférence ID: " + conference.getIdEvenement());
-        } catch (SQLException e) {
-            logger.error("Erreur SQL lors de la mise à jour de la conférence: {}", e.getMessage());
-            throw new DatabaseException("Erreur lors de la mise à jour de la conférence: " + e.getMessage());
-        }
-
+        EvenementDAO.updateEvent(conference);
+        logger.info("✓ Conférence modifiée avec succès: {}", conference.getNom());
+        return conference;
     }
 
     @Override
@@ -1,19 +1,58 @@
 package com.bschooleventmanager.eventmanager.dao;
 
+import com.bschooleventmanager.eventmanager.util.AppConfig;
+import com.bschooleventmanager.eventmanager.util.Disjoncteur;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.io.InputStream;
 import java.io.IOException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Gestionnaire singleton de connexion à la base de données MySQL.
+ * Gestionnaire singleton des connexions à la base de données MySQL, avec séparation
+ * des lectures et des écritures.
  * 
- * <p>Fournit une connexion unique et réutilisable avec reconnexion automatique
- * en cas de perte de connexion. Les paramètres sont chargés depuis application.properties.</p>
+ * <p>Tient un pool de connexions vers la base principale et, si {@code db.replica.url} est
+ * configurée, un second pool vers une réplique en lecture seule (voir {@link PoolConnexions}).
+ * {@link #getConnection()} prête une connexion de la base principale : c'est le choix par défaut
+ * de tous les DAO, pour les écritures comme pour les lectures qui doivent voir l'état le plus
+ * récent (vérification des places, idempotence, balayage des expirations).
+ * {@link #getConnectionLecture()} est réservée aux lectures de consultation (catalogue,
+ * historiques, listes des organisateurs) et prête une connexion de la réplique.</p>
+ *
+ * <p>Lecture de ses propres écritures : après une écriture sur la base principale, les lectures
+ * du même contexte restent sur la base principale pendant {@code db.replica.adherence.ms}, le
+ * temps que la réplique rattrape son retard. Le contexte est le processus entier pour
+ * l'application de bureau (un seul utilisateur) ; le serveur le fixe à l'utilisateur de chaque
+ * requête avec {@link #definirContexte(Object)}. Un thread qui détient déjà une connexion
+ * principale (transaction en cours) lit aussi sur la base principale, et la base principale
+ * prend le relais si la réplique est injoignable.</p>
+ *
+ * <p>Chaque pool est protégé par un {@link Disjoncteur} (« base » pour la base principale,
+ * « replique » pour la réplique) : quand une base est injoignable, les demandes de connexion
+ * échouent immédiatement avec une {@link java.sql.SQLTransientConnectionException}, que les DAO
+ * traduisent comme toute erreur SQL, et {@link #estDisponible()} permet d'afficher un mode dégradé.</p>
+ *
+ * <p>Paramètres (application.properties) :</p>
+ * <ul>
+ *   <li>db.url, db.username, db.password - base principale</li>
+ *   <li>db.pool.taille - connexions maximales par pool (défaut 8)</li>
+ *   <li>db.pool.attente.ms - attente maximale d'une connexion libre (défaut 10000)</li>
+ *   <li>db.connexion.timeout.ms - délai maximal d'ouverture d'une connexion (défaut 5000)</li>
+ *   <li>db.lecture.timeout.ms - délai maximal d'attente d'une réponse de la base, 0 pour aucun (défaut 30000)</li>
+ *   <li>disjoncteur.base.*, disjoncteur.replique.* - voir {@link Disjoncteur}</li>
+ *   <li>db.replica.url, db.replica.username, db.replica.password - réplique (facultative ;
+ *       identifiants de la base principale par défaut)</li>
+ *   <li>db.replica.pool.taille - connexions maximales vers la réplique (défaut db.pool.taille)</li>
+ *   <li>db.replica.adherence.ms - durée de lecture sur la base principale après une écriture (défaut 5000)</li>
+ * </ul>
  * 
  * @author Charbel SONON (@AsKing07)
  * @version 1.0
@@ -21,14 +60,50 @@ import org.slf4j.LoggerFactory;
  */
 public class DatabaseConnection {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseConnection.class);
+
+    /** Contexte d'adhérence utilisé quand aucun contexte n'a été fixé pour le thread */
+    private static final Object CONTEXTE_PROCESSUS = new Object();
+
+    /** Nombre de contextes suivis au-delà duquel les adhérences expirées sont purgées */
+    private static final int CONTEXTES_MAX = 10000;
+
     private static DatabaseConnection instance;
-    private Connection connection;
+
+    private final PoolConnexions principal;
+    /** Pool de la réplique, ou le pool principal si aucune réplique n'est configurée */
+    private final PoolConnexions replique;
+    private final long adherenceNanos;
+
+    /** Instant (System.nanoTime) de la dernière écriture par contexte */
+    private final Map<Object, Long> dernieresEcritures = new ConcurrentHashMap<>();
+    private final ThreadLocal<Object> contexte = new ThreadLocal<>();
 
     /**
      * Constructeur privé pour empêcher l'instanciation directe (pattern Singleton).
      */
     private DatabaseConnection() {
-        // Constructeur privé pour le singleton
+        Properties props = chargerConfiguration();
+        int taille = AppConfig.getInt("db.pool.taille", 8);
+        long attente = AppConfig.getInt("db.pool.attente.ms", 10000);
+        int delaiConnexion = AppConfig.getInt("db.connexion.timeout.ms", 5000);
+        int delaiLecture = AppConfig.getInt("db.lecture.timeout.ms", 30000);
+        this.adherenceNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, AppConfig.getInt("db.replica.adherence.ms", 5000)));
+
+        this.principal = new PoolConnexions("principale", props.getProperty("db.url"),
+                props.getProperty("db.username"), props.getProperty("db.password"),
+                taille, attente, delaiConnexion, delaiLecture, new Disjoncteur("base"), this::enregistrerEcriture);
+
+        String urlReplique = props.getProperty("db.replica.url");
+        if (urlReplique == null || urlReplique.isBlank()) {
+            this.replique = principal;
+        } else {
+            this.replique = new PoolConnexions("réplique", urlReplique,
+                    props.getProperty("db.replica.username", props.getProperty("db.username")),
+                    props.getProperty("db.replica.password", props.getProperty("db.password")),
+                    AppConfig.getInt("db.replica.pool.taille", taille), attente, delaiConnexion, delaiLecture,
+                    new Disjoncteur("replique"), null);
+            logger.info("✓ Lectures de consultation dirigées vers la réplique");
+        }
     }
 
     /**
@@ -44,20 +119,13 @@ public class DatabaseConnection {
     }
 
     /**
-     * Établit la connexion à la base de données en chargeant la configuration.
-     * 
-     * <p>Charge les paramètres depuis application.properties et établit
-     * la connexion MySQL avec gestion d'erreurs complète.</p>
+     * Charge la configuration de connexion depuis application.properties.
+     *
+     * @return Les propriétés chargées (vides en cas d'échec)
      */
-    private void connect() {
+    private Properties chargerConfiguration() {
+        Properties props = new Properties();
         try {
-            // Fermer l'ancienne connexion si elle existe
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-            }
-            
-            Properties props = new Properties();
-        
             // Charger depuis config/application.properties dans resources
             InputStream in = getClass().getClassLoader().getResourceAsStream("application.properties");
 
@@ -68,63 +136,128 @@ public class DatabaseConnection {
             props.load(in);
             in.close();
 
-            String url = props.getProperty("db.url");
-            String username = props.getProperty("db.username");
-            String password = props.getProperty("db.password");
-
             Class.forName("com.mysql.cj.jdbc.Driver");
-            this.connection = DriverManager.getConnection(url, username, password);
-
-            logger.info("✓ Connexion à la base de données réussie");
         } catch (ClassNotFoundException e) {
             logger.error("Erreur: Driver MySQL non trouvé", e);
-            this.connection = null;
-        } catch (SQLException e) {
-            logger.error("Erreur de connexion à la BD", e);
-            this.connection = null;
         } catch (IOException e) {
             logger.error("Erreur lecture fichier config application.properties", e);
-            this.connection = null;
         }
+        return props;
     }
 
     /**
-     * Retourne une connexion valide à la base de données avec reconnexion automatique.
+     * Prête une connexion à la base principale, pour les écritures et les lectures
+     * qui doivent voir l'état le plus récent.
      * 
-     * <p>Vérifie la validité de la connexion existante et se reconnecte automatiquement
-     * si nécessaire. Thread-safe grâce à la synchronisation.</p>
+     * <p>La connexion retournée doit être fermée par l'appelant, ce qui la rend au pool.
+     * Thread-safe.</p>
      * 
-     * @return La connexion active à la base de données
+     * @return La connexion prêtée
+     * @throws SQLException Si la base est indisponible ou qu'aucune connexion ne s'est libérée à temps
      */
-    public synchronized Connection getConnection() {
+    public Connection getConnection() throws SQLException {
+        return principal.emprunter();
+    }
+
+    /**
+     * Prête une connexion pour une lecture de consultation, qui tolère le retard de la réplique.
+     *
+     * <p>Retourne une connexion à la base principale si aucune réplique n'est configurée, si le
+     * contexte courant vient d'écrire, si le thread détient déjà une connexion principale ou si
+     * la réplique est injoignable.</p>
+     *
+     * @return La connexion prêtée
+     * @throws SQLException Si aucune base n'est disponible
+     */
+    public Connection getConnectionLecture() throws SQLException {
+        if (replique == principal || principal.detenuParThreadCourant() || adherent()) {
+            return principal.emprunter();
+        }
         try {
-            // Vérifier si la connexion est valide avec un timeout de 3 secondes
-            if (connection == null || connection.isClosed() || !connection.isValid(3)) {
-                logger.warn("Connexion fermée ou invalide, reconnexion en cours...");
-                connect();
-            }
+            return replique.emprunter();
         } catch (SQLException e) {
-            logger.error("Erreur vérification connexion, reconnexion en cours...", e);
-            connect();
+            logger.warn("Réplique indisponible, lecture sur la base principale: {}", e.getMessage());
+            return principal.emprunter();
+        }
+    }
+
+    /**
+     * Indique si la base principale est joignable. Retourne false dès que son disjoncteur est
+     * ouvert : l'interface peut alors passer en mode dégradé sans tenter de requête.
+     */
+    public boolean estDisponible() {
+        return !principal.estIndisponible();
+    }
+
+    /**
+     * État des disjoncteurs des bases, pour la supervision
+     */
+    public Map<String, Object> etatDisjoncteurs() {
+        Map<String, Object> etat = new LinkedHashMap<>();
+        etat.put("base", principal.getDisjoncteur().statistiques());
+        if (replique != principal) {
+            etat.put("replique", replique.getDisjoncteur().statistiques());
+        }
+        return etat;
+    }
+
+    /**
+     * Indique si le thread courant détient déjà une connexion à la base principale
+     * (travail englobant en cours)
+     */
+    boolean connexionPrincipaleDetenue() {
+        return principal.detenuParThreadCourant();
+    }
+
+    /**
+     * Fixe le contexte de lecture de ses propres écritures pour le thread courant
+     * (par exemple l'identifiant de l'utilisateur d'une requête du serveur).
+     *
+     * @param cle Clé du contexte, null pour revenir au contexte du processus
+     */
+    public void definirContexte(Object cle) {
+        if (cle == null) {
+            contexte.remove();
+        } else {
+            contexte.set(cle);
+        }
+    }
+
+    private Object contexteCourant() {
+        Object cle = contexte.get();
+        return cle != null ? cle : CONTEXTE_PROCESSUS;
+    }
+
+    /**
+     * Indique si le contexte courant a écrit trop récemment pour lire sur la réplique
+     */
+    private boolean adherent() {
+        Long derniere = dernieresEcritures.get(contexteCourant());
+        return derniere != null && System.nanoTime() - derniere < adherenceNanos;
+    }
+
+    private void enregistrerEcriture() {
+        if (replique == principal) {
+            return;
+        }
+        long maintenant = System.nanoTime();
+        if (dernieresEcritures.size() >= CONTEXTES_MAX) {
+            dernieresEcritures.values().removeIf(derniere -> maintenant - derniere >= adherenceNanos);
         }
-        return connection;
+        dernieresEcritures.put(contexteCourant(), maintenant);
     }
 
     /**
-     * Ferme proprement la connexion à la base de données.
+     * Ferme proprement les connexions libres des pools.
      * 
      * <p>Méthode à appeler lors de l'arrêt de l'application pour libérer
      * les ressources de connexion.</p>
      */
     public void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                logger.info("Connexion fermée");
-            }
-        } catch (SQLException e) {
-            logger.error("Erreur fermeture connexion", e);
+        int fermees = principal.fermer();
+        if (replique != principal) {
+            fermees += replique.fermer();
         }
+        logger.info("{} connexions fermées", fermees);
     }
 }
-
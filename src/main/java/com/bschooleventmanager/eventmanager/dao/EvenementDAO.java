@@ -1,10 +1,13 @@
 package com.bschooleventmanager.eventmanager.dao;
 
 import com.bschooleventmanager.eventmanager.exception.DatabaseException;
+import com.bschooleventmanager.eventmanager.exception.ModificationConcurrenteException;
 import com.bschooleventmanager.eventmanager.model.Concert;
 import com.bschooleventmanager.eventmanager.model.Conference;
+import com.bschooleventmanager.eventmanager.model.DisponibilitePlaces;
 import com.bschooleventmanager.eventmanager.model.Evenement;
 import com.bschooleventmanager.eventmanager.model.Spectacle;
+import com.bschooleventmanager.eventmanager.model.enums.ChampEvenement;
 import com.bschooleventmanager.eventmanager.model.enums.EtatEvent;
 import com.bschooleventmanager.eventmanager.model.enums.NiveauExpertise;
 import com.bschooleventmanager.eventmanager.model.enums.StatutEvenement;
@@ -16,8 +19,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * DAO principal pour la gestion des événements (Concert, Conférence, Spectacle).
@@ -32,6 +43,9 @@ import java.util.List;
 public class EvenementDAO extends BaseDAO<Evenement> {
     private static final Logger logger = LoggerFactory.getLogger(EvenementDAO.class);
 
+    /** Requêtes de mise à jour déjà construites, par ensemble de champs modifiés */
+    private static final Map<Set<ChampEvenement>, String> requetesMiseAJour = new ConcurrentHashMap<>();
+
     //Méthodes de BaseDAO à implémenter
      @Override
     public Evenement creer(Evenement evenement) throws DatabaseException {
@@ -64,7 +78,7 @@ deleteEventById(id);
         List<Evenement> evenements = new ArrayList<>();
         String query = "SELECT * FROM Evenements WHERE type_evenement = ?";
 
-        try (Connection connection = getConnection();PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnectionLecture();PreparedStatement pstmt = connection.prepareStatement(query)) {
             pstmt.setString(1, type.name());
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
@@ -93,7 +107,7 @@ deleteEventById(id);
      *  - on capture et re-propage l'exception SQL en RuntimeException
      */
     public boolean suppEvent(int id) throws DatabaseException {
-        String query = "UPDATE evenements SET etat_event=? WHERE id_evenement=?;";
+        String query = "UPDATE evenements SET etat_event=?, version = version + 1 WHERE id_evenement=?;";
    
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
              PreparedStatement st = conn.prepareStatement(query)) {
@@ -121,10 +135,9 @@ deleteEventById(id);
         List<Evenement> evenements = new ArrayList<>();
 
         String sql = "SELECT * FROM evenements ORDER BY date_evenement ASC";
-        try {
-            Connection conn = DatabaseConnection.getInstance().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            ResultSet rs = stmt.executeQuery();
+        try (Connection conn = DatabaseConnection.getInstance().getConnectionLecture();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
                 evenements.add(mapRowToEvenement(rs));
             }
@@ -134,6 +147,39 @@ deleteEventById(id);
         return evenements;
     }
 
+    /**
+     * Récupère les événements modifiés depuis un horodatage, y compris les événements supprimés
+     * logiquement (etat_event = SUPPRIME), que le catalogue local traite comme des pierres tombales.
+     * Les lignes sont triées par date de modification croissante.
+     *
+     * @param depuis Horodatage (colonne maj_le) à partir duquel lire, inclus. null pour tout lire.
+     * @return Les événements modifiés
+     * @throws DatabaseException En cas d'erreur d'accès à la base
+     */
+    public static List<Evenement> getEvenementsModifiesDepuis(LocalDateTime depuis) throws DatabaseException {
+        List<Evenement> evenements = new ArrayList<>();
+        String sql = depuis == null
+                ? "SELECT * FROM evenements ORDER BY maj_le ASC"
+                : "SELECT * FROM evenements WHERE maj_le >= ? ORDER BY maj_le ASC";
+
+        try( Connection conn = DatabaseConnection.getInstance().getConnectionLecture();
+            PreparedStatement stmt = conn.prepareStatement(sql);) {
+            if (depuis != null) {
+                stmt.setTimestamp(1, Timestamp.valueOf(depuis));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    evenements.add(mapRowToEvenement(rs));
+                }
+            }
+            return evenements;
+
+        } catch (SQLException e) {
+            logger.error("Erreur lors de la lecture des événements modifiés depuis {}", depuis, e);
+            throw new DatabaseException("Erreur lors de la lecture des événements modifiés", e);
+        }
+    }
+
     public static Evenement createEvent(Evenement evenement) throws DatabaseException {
      
          String query = "INSERT INTO Evenements (organisateur_id, nom, date_evenement, lieu, type_evenement, " +
@@ -181,44 +227,41 @@ deleteEventById(id);
         return null;
     }
 
+    /**
+     * Met à jour un événement si sa version n'a pas changé depuis son chargement.
+     * Seules les colonnes des champs modifiés depuis le chargement sont écrites ; un événement
+     * sans modification n'est pas écrit. Les places vendues ne sont pas écrites : elles
+     * appartiennent aux réservations.
+     *
+     * @throws ModificationConcurrenteException Si l'événement a été modifié entre-temps
+     */
     public static Evenement updateEvent(Evenement evenement) throws DatabaseException {
-        String sql = "UPDATE evenements SET " +
-                "organisateur_id = ?, nom = ?, date_evenement = ?, lieu = ?, " +
-                "type_evenement = ?, description = ?, places_standard_disponibles = ?, " +
-                "places_vip_disponibles = ?, places_premium_disponibles = ?, " +
-                "prix_standard = ?, prix_vip = ?, prix_premium = ?, statut = ?, " +
-                "place_standard_vendues = ?, place_p_vendu = ?, place_vip_vendu = ?, etat_event = ? " +
-                "WHERE id_evenement = ?";
+        Set<ChampEvenement> champs = evenement.getChampsModifies();
+        if (champs.isEmpty()) {
+            logger.debug("Aucune modification à enregistrer pour l'événement {}", evenement.getIdEvenement());
+            return evenement;
+        }
+        String sql = requetesMiseAJour.computeIfAbsent(champs, EvenementDAO::construireRequeteMiseAJour);
 
         try ( Connection conn = DatabaseConnection.getInstance().getConnection();
             PreparedStatement stmt = conn.prepareStatement(sql);) {
-           
 
-            stmt.setInt(1, evenement.getOrganisateurId());
-            stmt.setString(2, evenement.getNom());
-            stmt.setTimestamp(3, Timestamp.valueOf(evenement.getDateEvenement()));
-            stmt.setString(4, evenement.getLieu());
-            stmt.setString(5, evenement.getTypeEvenement().name());
-            stmt.setString(6, evenement.getDescription());
-            stmt.setInt(7, evenement.getPlacesStandardDisponibles());
-            stmt.setInt(8, evenement.getPlacesVipDisponibles());
-            stmt.setInt(9, evenement.getPlacesPremiumDisponibles());
-            stmt.setBigDecimal(10, evenement.getPrixStandard());
-            stmt.setBigDecimal(11, evenement.getPrixVip());
-            stmt.setBigDecimal(12, evenement.getPrixPremium());
-            stmt.setString(13, evenement.getStatut().name());
-            stmt.setInt(14, evenement.getPlaceStandardVendues());
-            stmt.setInt(15, evenement.getPlacePremiumVendues());
-            stmt.setInt(16, evenement.getPlaceVipVendues());
-            stmt.setBoolean(17, evenement.isEtatEvent());
-            stmt.setInt(18, evenement.getIdEvenement());
+            int index = 1;
+            for (ChampEvenement champ : champs) {
+                lierChamp(stmt, index++, champ, evenement);
+            }
+            stmt.setInt(index++, evenement.getIdEvenement());
+            stmt.setInt(index, evenement.getVersion());
 
             int rowsAffected = stmt.executeUpdate();
             if (rowsAffected == 0) {
+                verifierConflitVersion(evenement);
                 throw new DatabaseException("Aucun événement trouvé avec l'ID: " + evenement.getIdEvenement());
             }
+            evenement.setVersion(evenement.getVersion() + 1);
+            evenement.reinitialiserChampsModifies();
 
-            logger.info("Événement mis à jour avec succès: {}", evenement.getNom());
+            logger.info("Événement mis à jour avec succès: {} ({} champ(s) modifié(s))", evenement.getNom(), champs.size());
             return evenement;
 
         } catch (SQLException e) {
@@ -227,13 +270,136 @@ deleteEventById(id);
         }
     }
 
+    /**
+     * Construit la requête de mise à jour d'un ensemble de champs (mise en cache par ensemble)
+     */
+    private static String construireRequeteMiseAJour(Set<ChampEvenement> champs) {
+        StringBuilder sql = new StringBuilder("UPDATE evenements SET ");
+        for (ChampEvenement champ : champs) {
+            sql.append(champ.getColonne()).append(" = ?, ");
+        }
+        return sql.append("version = version + 1 WHERE id_evenement = ? AND version = ?").toString();
+    }
+
+    /**
+     * Lie la valeur d'un champ de l'événement au paramètre de la requête
+     */
+    private static void lierChamp(PreparedStatement stmt, int index, ChampEvenement champ, Evenement evenement)
+            throws SQLException {
+        switch (champ) {
+            case ORGANISATEUR_ID:
+                stmt.setInt(index, evenement.getOrganisateurId());
+                break;
+            case NOM:
+                stmt.setString(index, evenement.getNom());
+                break;
+            case DATE_EVENEMENT:
+                stmt.setTimestamp(index, Timestamp.valueOf(evenement.getDateEvenement()));
+                break;
+            case LIEU:
+                stmt.setString(index, evenement.getLieu());
+                break;
+            case TYPE_EVENEMENT:
+                stmt.setString(index, evenement.getTypeEvenement().name());
+                break;
+            case DESCRIPTION:
+                stmt.setString(index, evenement.getDescription());
+                break;
+            case PLACES_STANDARD:
+                stmt.setInt(index, evenement.getPlacesStandardDisponibles());
+                break;
+            case PLACES_VIP:
+                stmt.setInt(index, evenement.getPlacesVipDisponibles());
+                break;
+            case PLACES_PREMIUM:
+                stmt.setInt(index, evenement.getPlacesPremiumDisponibles());
+                break;
+            case PRIX_STANDARD:
+                stmt.setBigDecimal(index, evenement.getPrixStandard());
+                break;
+            case PRIX_VIP:
+                stmt.setBigDecimal(index, evenement.getPrixVip());
+                break;
+            case PRIX_PREMIUM:
+                stmt.setBigDecimal(index, evenement.getPrixPremium());
+                break;
+            case STATUT:
+                stmt.setString(index, evenement.getStatut().name());
+                break;
+            case ETAT_EVENT:
+                stmt.setBoolean(index, evenement.isEtatEvent());
+                break;
+            case ARTISTE_GROUPE:
+                stmt.setString(index, evenement instanceof Spectacle
+                        ? ((Spectacle) evenement).getTroupe_artistes()
+                        : ((Concert) evenement).getArtiste_groupe());
+                break;
+            case AGE_MIN:
+                Integer ageMin = evenement instanceof Spectacle
+                        ? ((Spectacle) evenement).getAgeMin()
+                        : ((Concert) evenement).getAgeMin();
+                if (ageMin != null) {
+                    stmt.setInt(index, ageMin);
+                } else {
+                    stmt.setNull(index, Types.INTEGER);
+                }
+                break;
+            case TYPE_CONCERT:
+                TypeConcert typeConcert = ((Concert) evenement).getType();
+                stmt.setString(index, typeConcert != null ? typeConcert.getLabel() : null);
+                break;
+            case TYPE_SPECTACLE:
+                TypeSpectacle typeSpectacle = ((Spectacle) evenement).getTypeSpectacle();
+                stmt.setString(index, typeSpectacle != null ? typeSpectacle.getLabel() : null);
+                break;
+            case DOMAINE:
+                stmt.setString(index, ((Conference) evenement).getDomaine());
+                break;
+            case INTERVENANT:
+                stmt.setString(index, ((Conference) evenement).getIntervenants());
+                break;
+            case NIVEAU_EXPERTISE:
+                NiveauExpertise niveau = ((Conference) evenement).getNiveauExpertise();
+                stmt.setString(index, niveau != null ? niveau.getLabel() : null);
+                break;
+            default:
+                throw new SQLException("Champ d'événement non supporté: " + champ);
+        }
+    }
+
+    /**
+     * À appeler quand une mise à jour conditionnée par la version n'a touché aucune ligne :
+     * lève une ModificationConcurrenteException si l'événement existe toujours.
+     * Ne fait rien si l'événement n'existe pas (à l'appelant de signaler l'absence).
+     */
+    static void verifierConflitVersion(Evenement evenement) throws DatabaseException {
+        String sql = "SELECT version FROM evenements WHERE id_evenement = ?";
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, evenement.getIdEvenement());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    int versionActuelle = rs.getInt("version");
+                    logger.warn("Conflit de modification sur l'événement {}: version chargée {}, version actuelle {}",
+                            evenement.getIdEvenement(), evenement.getVersion(), versionActuelle);
+                    throw new ModificationConcurrenteException(evenement.getIdEvenement(), versionActuelle);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Erreur lors de la vérification de version de l'événement", e);
+            throw new DatabaseException("Erreur lors de la vérification de version de l'événement", e);
+        }
+    }
+
     /**
      * Met à jour les places vendues pour un événement
      */
     public static void mettreAJourPlacesVendues(int idEvenement, int placesStandardVendues, 
                                                int placesVipVendues, int placesPremiumVendues) throws DatabaseException {
-        String sql = "UPDATE evenements SET place_standard_vendues = ?, place_vip_vendu = ?, place_p_vendu = ? " +
-                    "WHERE id_evenement = ?";
+        String sql = "UPDATE evenements SET place_standard_vendues = ?, place_vip_vendu = ?, place_p_vendu = ?, " +
+                    "version_places = version_places + 1 WHERE id_evenement = ?";
         
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -255,6 +421,86 @@ deleteEventById(id);
         }
     }
 
+    /**
+     * Ajoute des places vendues à un événement si sa capacité le permet, dans chaque catégorie.
+     * Tout ou rien : la mise à jour est conditionnelle, aucune place n'est prise si une
+     * catégorie déborderait. S'exécute dans la transaction de l'appelant s'il en a ouvert une.
+     *
+     * @return true si les places ont été prises, false si une catégorie n'a pas assez de places
+     *         (ou si l'événement n'existe pas)
+     */
+    public static boolean prendrePlaces(int idEvenement, int placesStandard, int placesVip, int placesPremium)
+            throws DatabaseException {
+        String sql = "UPDATE evenements SET " +
+                    "place_standard_vendues = place_standard_vendues + ?, " +
+                    "place_vip_vendu = place_vip_vendu + ?, " +
+                    "place_p_vendu = place_p_vendu + ?, " +
+                    "version_places = version_places + 1 " +
+                    "WHERE id_evenement = ? " +
+                    "AND place_standard_vendues + ? <= places_standard_disponibles " +
+                    "AND place_vip_vendu + ? <= places_vip_disponibles " +
+                    "AND place_p_vendu + ? <= places_premium_disponibles";
+
+        try {
+            int rowsAffected = RepriseSql.executer("prise de places", () -> {
+                try (Connection conn = DatabaseConnection.getInstance().getConnection();
+                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                    stmt.setInt(1, placesStandard);
+                    stmt.setInt(2, placesVip);
+                    stmt.setInt(3, placesPremium);
+                    stmt.setInt(4, idEvenement);
+                    stmt.setInt(5, placesStandard);
+                    stmt.setInt(6, placesVip);
+                    stmt.setInt(7, placesPremium);
+                    return stmt.executeUpdate();
+                }
+            });
+
+            logger.debug("Prise de places pour l'événement ID {}: {}", idEvenement, rowsAffected == 1 ? "acceptée" : "refusée");
+            return rowsAffected == 1;
+        } catch (SQLException e) {
+            logger.error("Erreur lors de la prise de places", e);
+            throw new DatabaseException("Erreur lors de la prise de places", e);
+        }
+    }
+
+    /**
+     * Retire des places vendues à un événement (annulation). Les compteurs ne descendent jamais
+     * sous zéro. S'exécute dans la transaction de l'appelant s'il en a ouvert une.
+     */
+    public static void rendrePlaces(int idEvenement, int placesStandard, int placesVip, int placesPremium)
+            throws DatabaseException {
+        String sql = "UPDATE evenements SET " +
+                    "place_standard_vendues = GREATEST(0, place_standard_vendues - ?), " +
+                    "place_vip_vendu = GREATEST(0, place_vip_vendu - ?), " +
+                    "place_p_vendu = GREATEST(0, place_p_vendu - ?), " +
+                    "version_places = version_places + 1 " +
+                    "WHERE id_evenement = ?";
+
+        try {
+            int rowsAffected = RepriseSql.executer("restitution de places", () -> {
+                try (Connection conn = DatabaseConnection.getInstance().getConnection();
+                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                    stmt.setInt(1, placesStandard);
+                    stmt.setInt(2, placesVip);
+                    stmt.setInt(3, placesPremium);
+                    stmt.setInt(4, idEvenement);
+                    return stmt.executeUpdate();
+                }
+            });
+            if (rowsAffected == 0) {
+                throw new DatabaseException("Aucun événement trouvé avec l'ID: " + idEvenement);
+            }
+
+            logger.debug("Places rendues pour l'événement ID: {}", idEvenement);
+        } catch (SQLException e) {
+            logger.error("Erreur lors de la restitution de places", e);
+            throw new DatabaseException("Erreur lors de la restitution de places", e);
+        }
+    }
+
     /**
      * Active ou désactive un événement
      */
@@ -302,11 +548,92 @@ deleteEventById(id);
         }
     }
 
+    /**
+     * Récupère plusieurs événements en une seule requête.
+     * @param ids Identifiants des événements (les doublons sont ignorés)
+     * @return Les événements trouvés, indexés par ID (les IDs inconnus sont absents)
+     * @throws DatabaseException
+     */
+    public static Map<Integer, Evenement> getEventsByIds(Collection<Integer> ids) throws DatabaseException {
+        Map<Integer, Evenement> evenements = new HashMap<>();
+        Set<Integer> distincts = new LinkedHashSet<>(ids);
+        if (distincts.isEmpty()) {
+            return evenements;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(distincts.size(), "?"));
+        String sql = "SELECT * FROM evenements WHERE id_evenement IN (" + placeholders + ")";
+
+        try( Connection conn = DatabaseConnection.getInstance().getConnectionLecture();
+            PreparedStatement stmt = conn.prepareStatement(sql);) {
+            int index = 1;
+            for (Integer id : distincts) {
+                stmt.setInt(index++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Evenement evenement = mapRowToEvenement(rs);
+                    evenements.put(evenement.getIdEvenement(), evenement);
+                }
+            }
+            return evenements;
+
+        } catch (SQLException e) {
+            logger.error("Erreur lors de la récupération de {} événements", distincts.size(), e);
+            throw new DatabaseException("Erreur lors de la récupération des événements", e);
+        }
+    }
+
+    /**
+     * Lit les capacités et places vendues de plusieurs événements, sans charger le reste des colonnes.
+     * @param ids Identifiants des événements suivis
+     * @return Les disponibilités trouvées, indexées par ID
+     * @throws DatabaseException
+     */
+    public static Map<Integer, DisponibilitePlaces> getDisponibilites(Collection<Integer> ids) throws DatabaseException {
+        Map<Integer, DisponibilitePlaces> disponibilites = new HashMap<>();
+        if (ids.isEmpty()) {
+            return disponibilites;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        String sql = "SELECT id_evenement, version, version_places, " +
+                     "places_standard_disponibles, places_vip_disponibles, places_premium_disponibles, " +
+                     "place_standard_vendues, place_vip_vendu, place_p_vendu " +
+                     "FROM evenements WHERE id_evenement IN (" + placeholders + ")";
+
+        try( Connection conn = DatabaseConnection.getInstance().getConnectionLecture();
+            PreparedStatement stmt = conn.prepareStatement(sql);) {
+            int index = 1;
+            for (Integer id : ids) {
+                stmt.setInt(index++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    DisponibilitePlaces disponibilite = new DisponibilitePlaces(
+                            rs.getInt("id_evenement"),
+                            rs.getInt("version"),
+                            rs.getInt("version_places"),
+                            rs.getInt("places_standard_disponibles"),
+                            rs.getInt("places_vip_disponibles"),
+                            rs.getInt("places_premium_disponibles"),
+                            rs.getInt("place_standard_vendues"),
+                            rs.getInt("place_vip_vendu"),
+                            rs.getInt("place_p_vendu"));
+                    disponibilites.put(disponibilite.getIdEvenement(), disponibilite);
+                }
+            }
+            return disponibilites;
+
+        } catch (SQLException e) {
+            logger.error("Erreur lors de la lecture des disponibilités de {} événements", ids.size(), e);
+            throw new DatabaseException("Erreur lors de la lecture des disponibilités", e);
+        }
+    }
+
     public static List<Evenement> getEventsByOrganizerId(int organizerId) throws DatabaseException {
         List<Evenement> evenements = new ArrayList<>();
         String sql = "SELECT * FROM evenements WHERE organisateur_id = ? ORDER BY date_evenement ASC";
 
-        try( Connection conn = DatabaseConnection.getInstance().getConnection();
+        try( Connection conn = DatabaseConnection.getInstance().getConnectionLecture();
             PreparedStatement stmt = conn.prepareStatement(sql);) {
             stmt.setInt(1, organizerId);
             ResultSet rs = stmt.executeQuery();
@@ -326,7 +653,7 @@ deleteEventById(id);
         List<Evenement> evenements = new ArrayList<>();
         String sql = "SELECT * FROM evenements WHERE organisateur_id = ? AND etat_event = 1 ORDER BY date_evenement ASC";
 
-        try( Connection conn = DatabaseConnection.getInstance().getConnection();
+        try( Connection conn = DatabaseConnection.getInstance().getConnectionLecture();
             PreparedStatement stmt = conn.prepareStatement(sql);) {
             stmt.setInt(1, organizerId);
             ResultSet rs = stmt.executeQuery();
@@ -420,6 +747,9 @@ deleteEventById(id);
         evenement.setPlacePremiumVendues(rs.getInt("place_p_vendu"));
         evenement.setPlaceVipVendues(rs.getInt("place_vip_vendu"));
         evenement.setEtatEvent(rs.getBoolean("etat_event"));
+        evenement.setVersion(rs.getInt("version"));
+        Timestamp majLe = rs.getTimestamp("maj_le");
+        evenement.setMajLe(majLe != null ? majLe.toLocalDateTime() : null);
 
         if(evenement instanceof Concert)
         {
@@ -460,6 +790,8 @@ deleteEventById(id);
             evenement.setStatut(StatutEvenement.A_VENIR); // Valeur par défaut
         }
 
+        // Les modifications sont suivies à partir de l'état chargé
+        evenement.reinitialiserChampsModifies();
         return evenement;
     }
 }
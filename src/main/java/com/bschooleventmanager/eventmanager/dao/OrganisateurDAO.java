@@ -121,21 +121,16 @@ public class OrganisateurDAO extends BaseDAO<Organisateur> {
 
     @Override
     public Organisateur mettreAJour(Organisateur organisateur) throws DatabaseException {
-        String query = "UPDATE Utilisateurs SET nom = ?, email = ? WHERE id_utilisateur = ? AND type_utilisateur = ?";
-        
-        try (Connection connection = getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(query)) {
-            
-            pstmt.setString(1, organisateur.getNom());
-            pstmt.setString(2, organisateur.getEmail());
-            pstmt.setInt(3, organisateur.getIdUtilisateur());
-            pstmt.setString(4, TypeUtilisateur.ORGANISATEUR.name());
-
-            int affectedRows = pstmt.executeUpdate();
+        try (Connection connection = getConnection()) {
+            int affectedRows = UtilisateurDAO.mettreAJourChampsModifies(connection, organisateur, TypeUtilisateur.ORGANISATEUR);
             if (affectedRows > 0) {
                 logger.info("✓ Organisateur mis à jour: {}", organisateur.getIdUtilisateur());
                 return organisateur;
             }
+            if (affectedRows < 0) {
+                // Aucun champ modifié : rien à écrire
+                return organisateur;
+            }
         } catch (SQLException e) {
             logger.error("Erreur mise à jour organisateur", e);
             throw new DatabaseException("Erreur mise à jour organisateur", e);
@@ -168,6 +163,7 @@ public class OrganisateurDAO extends BaseDAO<Organisateur> {
         organisateur.setMotDePasse(rs.getString("mot_de_passe"));
         organisateur.setTypeUtilisateur(TypeUtilisateur.valueOf(rs.getString("type_utilisateur")));
         organisateur.setDateCreation(rs.getTimestamp("date_creation").toLocalDateTime());
+        organisateur.reinitialiserChampsModifies();
         return organisateur;
     }
 }
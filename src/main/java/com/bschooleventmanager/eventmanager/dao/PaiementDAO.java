@@ -1,16 +1,20 @@
 package com.bschooleventmanager.eventmanager.dao;
 
 import com.bschooleventmanager.eventmanager.exception.DatabaseException;
+import com.bschooleventmanager.eventmanager.model.Montant;
 import com.bschooleventmanager.eventmanager.model.Paiement;
 import com.bschooleventmanager.eventmanager.model.enums.StatutPaiement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -29,32 +33,36 @@ public class PaiementDAO extends BaseDAO<Paiement> {
             VALUES (?, ?, ?, ?, ?, ?)
             """;
             
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            stmt.setInt(1, paiement.getIdReservation());
-            stmt.setBigDecimal(2, paiement.getMontant());
-            stmt.setTimestamp(3, Timestamp.valueOf(paiement.getDatePaiement()));
-            stmt.setString(4, paiement.getStatut().name());
-            stmt.setString(5, paiement.getMethodePaiement());
-            stmt.setString(6, paiement.getNumeroTransaction());
+        try {
+            return RepriseSql.executer("création paiement", () -> {
+                try (Connection conn = getConnection();
+                     PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            
+                    stmt.setInt(1, paiement.getIdReservation());
+                    stmt.setBigDecimal(2, paiement.getMontant().versDecimal());
+                    stmt.setTimestamp(3, Timestamp.valueOf(paiement.getDatePaiement()));
+                    stmt.setString(4, paiement.getStatut().name());
+                    stmt.setString(5, paiement.getMethodePaiement());
+                    stmt.setString(6, paiement.getNumeroTransaction());
+            
+                    int affectedRows = stmt.executeUpdate();
+                    if (affectedRows == 0) {
+                        throw new DatabaseException("Échec de la création du paiement");
+                    }
+            
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            int idPaiement = generatedKeys.getInt(1);
+                            paiement.setIdPaiement(idPaiement);
+                            logger.info("✓ Paiement créé avec l'ID: {}", idPaiement);
+                            return paiement;
+                        } else {
+                            throw new DatabaseException("Impossible de récupérer l'ID du paiement créé");
+                        }
+                    }
             
-            int affectedRows = stmt.executeUpdate();
-            if (affectedRows == 0) {
-                throw new DatabaseException("Échec de la création du paiement");
-            }
-            
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    int idPaiement = generatedKeys.getInt(1);
-                    paiement.setIdPaiement(idPaiement);
-                    logger.info("✓ Paiement créé avec l'ID: {}", idPaiement);
-                    return paiement;
-                } else {
-                    throw new DatabaseException("Impossible de récupérer l'ID du paiement créé");
                 }
-            }
-            
+            });
         } catch (SQLException e) {
             logger.error("Erreur lors de la création du paiement", e);
             throw new DatabaseException("Erreur lors de la création du paiement: " + e.getMessage());
@@ -101,7 +109,7 @@ public class PaiementDAO extends BaseDAO<Paiement> {
             ORDER BY date_paiement DESC
             """;
             
-        try (Connection conn = getConnection();
+        try (Connection conn = getConnectionLecture();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
@@ -133,7 +141,7 @@ public class PaiementDAO extends BaseDAO<Paiement> {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, paiement.getIdReservation());
-            stmt.setBigDecimal(2, paiement.getMontant());
+            stmt.setBigDecimal(2, paiement.getMontant().versDecimal());
             stmt.setTimestamp(3, Timestamp.valueOf(paiement.getDatePaiement()));
             stmt.setString(4, paiement.getStatut().name());
             stmt.setString(5, paiement.getMethodePaiement());
@@ -226,7 +234,7 @@ public class PaiementDAO extends BaseDAO<Paiement> {
             ORDER BY date_paiement DESC
             """;
             
-        try (Connection conn = getConnection();
+        try (Connection conn = getConnectionLecture();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, idReservation);
@@ -255,23 +263,27 @@ public class PaiementDAO extends BaseDAO<Paiement> {
             WHERE id_paiement = ?
             """;
             
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try {
+            return RepriseSql.executer("mise à jour statut paiement", () -> {
+                try (Connection conn = getConnection();
+                     PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setString(1, nouveauStatut.name());
-            stmt.setString(2, numeroTransaction);
-            stmt.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
-            stmt.setInt(4, idPaiement);
+                    stmt.setString(1, nouveauStatut.name());
+                    stmt.setString(2, numeroTransaction);
+                    stmt.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+                    stmt.setInt(4, idPaiement);
             
-            int affectedRows = stmt.executeUpdate();
-            boolean success = affectedRows > 0;
+                    int affectedRows = stmt.executeUpdate();
+                    boolean success = affectedRows > 0;
             
-            if (success) {
-                logger.info("✓ Statut du paiement {} mis à jour vers: {}", idPaiement, nouveauStatut);
-            }
+                    if (success) {
+                        logger.info("✓ Statut du paiement {} mis à jour vers: {}", idPaiement, nouveauStatut);
+                    }
             
-            return success;
+                    return success;
             
+                }
+            });
         } catch (SQLException e) {
             logger.error("Erreur lors de la mise à jour du paiement: {}", idPaiement, e);
             throw new DatabaseException("Erreur lors de la mise à jour du paiement: " + e.getMessage());
@@ -307,6 +319,76 @@ public class PaiementDAO extends BaseDAO<Paiement> {
         }
     }
 
+    /**
+     * Récupère en une requête les paiements réussis d'un lot de réservations,
+     * regroupés par ID de réservation
+     */
+    public Map<Integer, List<Paiement>> trouverReussisParReservations(Collection<Integer> idsReservation) throws DatabaseException {
+        Map<Integer, List<Paiement>> paiementsParReservation = new HashMap<>();
+        if (idsReservation.isEmpty()) {
+            return paiementsParReservation;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(idsReservation.size(), "?"));
+        String sql = "SELECT id_paiement, id_reservation, montant, date_paiement, statut, methode_paiement, numero_transaction " +
+                     "FROM paiements WHERE statut = ? AND id_reservation IN (" + placeholders + ")";
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, StatutPaiement.REUSSI.name());
+            int index = 2;
+            for (Integer id : idsReservation) {
+                stmt.setInt(index++, id);
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Paiement paiement = mapResultSetToPaiement(rs);
+                    paiementsParReservation.computeIfAbsent(paiement.getIdReservation(), k -> new ArrayList<>()).add(paiement);
+                }
+            }
+            return paiementsParReservation;
+
+        } catch (SQLException e) {
+            logger.error("Erreur lors de la recherche des paiements de {} réservations", idsReservation.size(), e);
+            throw new DatabaseException("Erreur lors de la recherche des paiements: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Marque un lot de paiements comme remboursés en une seule requête
+     * @return Le nombre de paiements mis à jour
+     */
+    public int marquerRembourses(List<Integer> idsPaiement) throws DatabaseException {
+        if (idsPaiement.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(idsPaiement.size(), "?"));
+        String sql = "UPDATE paiements SET statut = ? WHERE id_paiement IN (" + placeholders + ")";
+
+        try {
+            return RepriseSql.executer("marquage des paiements remboursés", () -> {
+                try (Connection conn = getConnection();
+                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                    stmt.setString(1, StatutPaiement.REMBOURSE.name());
+                    int index = 2;
+                    for (Integer id : idsPaiement) {
+                        stmt.setInt(index++, id);
+                    }
+
+                    int affectedRows = stmt.executeUpdate();
+                    logger.info("✓ {} paiements marqués comme remboursés", affectedRows);
+                    return affectedRows;
+
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Erreur lors du marquage de {} paiements remboursés", idsPaiement.size(), e);
+            throw new DatabaseException("Erreur lors du marquage des paiements remboursés: " + e.getMessage());
+        }
+    }
+
     /**
      * Calcule le montant total payé pour une réservation
      */
@@ -337,7 +419,7 @@ public class PaiementDAO extends BaseDAO<Paiement> {
         return new Paiement(
             rs.getInt("id_paiement"),
             rs.getInt("id_reservation"),
-            rs.getBigDecimal("montant"),
+            Montant.depuisDecimal(rs.getBigDecimal("montant")),
             rs.getTimestamp("date_paiement").toLocalDateTime(),
             StatutPaiement.valueOf(rs.getString("statut")),
             rs.getString("methode_paiement"),
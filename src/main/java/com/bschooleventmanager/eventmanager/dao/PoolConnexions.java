@@ -0,0 +1,416 @@
+package com.bschooleventmanager.eventmanager.dao;
+
+import com.bschooleventmanager.eventmanager.util.Disjoncteur;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool de connexions physiques vers une base (principale ou réplique).
+ *
+ * <p>Les connexions sont ouvertes à la demande dans la limite de la taille du pool.
+ * {@link #emprunter()} prête une connexion dont la fermeture la rend au pool au lieu de la fermer.
+ * Le prêt est réentrant : un thread qui détient déjà une connexion du pool reçoit la même
+ * connexion physique, rendue à la fermeture du premier emprunt. Une connexion restée inactive
+ * plus de 30 secondes est validée avant d'être prêtée ; une transaction laissée ouverte est
+ * annulée quand la connexion est rendue.</p>
+ *
+ * <p>Chaque ouverture ou validation d'une connexion physique passe par un {@link Disjoncteur} :
+ * quand la base est considérée indisponible, les emprunts échouent immédiatement au lieu
+ * d'attendre le délai de connexion. L'ouverture d'une connexion et chaque lecture sur le réseau
+ * sont bornées par un délai (connectTimeout et socketTimeout du pilote). Les requêtes exécutées
+ * sur une connexion prêtée alimentent aussi le disjoncteur : un dépassement de délai
+ * ({@link SQLTimeoutException}) ou une perte de communication (SQLSTATE 08) compte comme un échec,
+ * une requête exécutée (même refusée par la base, par exemple pour une contrainte) comme un succès.</p>
+ *
+ * <p>Un observateur peut être prévenu de chaque écriture (requête INSERT, UPDATE, DELETE,
+ * REPLACE, SELECT ... FOR UPDATE, ou début de transaction) faite par une connexion prêtée.</p>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+final class PoolConnexions {
+    private static final Logger logger = LoggerFactory.getLogger(PoolConnexions.class);
+
+    /** Au-delà de cette inactivité, une connexion libre est validée avant d'être prêtée */
+    private static final long VALIDATION_APRES_INACTIVITE_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final String nom;
+    private final String url;
+    private final String utilisateur;
+    private final String motDePasse;
+    private final int taille;
+    private final long attenteMillis;
+    private final int delaiConnexionMillis;
+    private final int delaiLectureMillis;
+    private final Disjoncteur disjoncteur;
+    /** Prévenu à chaque écriture, peut être null */
+    private final Runnable surEcriture;
+
+    /** Connexions physiques ouvertes et inutilisées, la plus récemment rendue en tête */
+    private final Deque<ConnexionLibre> libres = new ArrayDeque<>();
+    /** Un permis par connexion physique pouvant être prêtée */
+    private final Semaphore permis;
+    /** Connexion prêtée au thread courant et nombre d'emprunts imbriqués */
+    private final ThreadLocal<Emprunt> empruntCourant = new ThreadLocal<>();
+
+    PoolConnexions(String nom, String url, String utilisateur, String motDePasse,
+                   int taille, long attenteMillis, int delaiConnexionMillis, int delaiLectureMillis,
+                   Disjoncteur disjoncteur, Runnable surEcriture) {
+        this.nom = nom;
+        this.url = url;
+        this.utilisateur = utilisateur;
+        this.motDePasse = motDePasse;
+        this.taille = Math.max(1, taille);
+        this.attenteMillis = Math.max(0, attenteMillis);
+        this.delaiConnexionMillis = Math.max(0, delaiConnexionMillis);
+        this.delaiLectureMillis = Math.max(0, delaiLectureMillis);
+        this.disjoncteur = disjoncteur;
+        this.surEcriture = surEcriture;
+        this.permis = new Semaphore(this.taille, true);
+    }
+
+    /**
+     * Prête une connexion du pool, en attendant au plus le délai configuré qu'une connexion soit rendue
+     *
+     * @return La connexion prêtée
+     * @throws SQLException Si la base est indisponible ou qu'aucune connexion ne s'est libérée à temps
+     */
+    Connection emprunter() throws SQLException {
+        Emprunt emprunt = empruntCourant.get();
+        if (emprunt != null && estOuverte(emprunt.physique)) {
+            emprunt.profondeur++;
+            return emprunt.nouveauPret();
+        }
+        if (disjoncteur.estOuvert()) {
+            throw indisponible();
+        }
+
+        try {
+            if (!permis.tryAcquire(attenteMillis, TimeUnit.MILLISECONDS)) {
+                logger.error("Aucune connexion libre ({}) après {} ms ({} connexions prêtées)", nom, attenteMillis, taille);
+                throw new SQLTransientConnectionException("Aucune connexion libre (" + nom + ")", "08001");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Attente d'une connexion interrompue (" + nom + ")", "08001", e);
+        }
+
+        Connection physique;
+        try {
+            physique = prendreLibre();
+            if (physique == null) {
+                physique = ouvrir();
+            }
+        } catch (SQLException | RuntimeException e) {
+            permis.release();
+            throw e;
+        }
+
+        emprunt = new Emprunt(physique);
+        empruntCourant.set(emprunt);
+        return emprunt.nouveauPret();
+    }
+
+    /**
+     * Indique si la base est actuellement considérée indisponible
+     */
+    boolean estIndisponible() {
+        return disjoncteur.estOuvert();
+    }
+
+    Disjoncteur getDisjoncteur() {
+        return disjoncteur;
+    }
+
+    /**
+     * Indique si le thread courant détient une connexion de ce pool
+     */
+    boolean detenuParThreadCourant() {
+        return empruntCourant.get() != null;
+    }
+
+    /**
+     * Ferme les connexions libres du pool
+     *
+     * @return Le nombre de connexions fermées
+     */
+    int fermer() {
+        List<ConnexionLibre> aFermer;
+        synchronized (libres) {
+            aFermer = new ArrayList<>(libres);
+            libres.clear();
+        }
+        for (ConnexionLibre libre : aFermer) {
+            fermerSilencieusement(libre.connexion);
+        }
+        return aFermer.size();
+    }
+
+    private Connection ouvrir() throws SQLException {
+        // À l'état demi-ouvert, seule la connexion d'essai est tentée
+        if (!disjoncteur.autoriser()) {
+            throw indisponible();
+        }
+        Properties proprietes = new Properties();
+        if (utilisateur != null) {
+            proprietes.setProperty("user", utilisateur);
+        }
+        if (motDePasse != null) {
+            proprietes.setProperty("password", motDePasse);
+        }
+        proprietes.setProperty("connectTimeout", String.valueOf(delaiConnexionMillis));
+        proprietes.setProperty("socketTimeout", String.valueOf(delaiLectureMillis));
+        try {
+            Connection connection = DriverManager.getConnection(url, proprietes);
+            disjoncteur.succes();
+            logger.info("✓ Connexion à la base de données réussie ({})", nom);
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            disjoncteur.echec();
+            logger.error("Erreur de connexion à la BD ({})", nom, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Indique si une erreur signale une base injoignable ou trop lente, plutôt qu'une requête refusée
+     */
+    static boolean estDefaillance(Throwable erreur) {
+        if (erreur instanceof SQLTimeoutException || erreur instanceof SQLRecoverableException
+                || erreur instanceof SQLNonTransientConnectionException
+                || erreur instanceof SQLTransientConnectionException) {
+            return true;
+        }
+        return erreur instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("08");
+    }
+
+    /**
+     * Appelle une méthode de la connexion ou d'une requête, en signalant au disjoncteur
+     * le résultat des exécutions et les pertes de communication
+     */
+    private Object appeler(Object cible, Method methode, Object[] args) throws Throwable {
+        boolean execution = cible instanceof Statement && methode.getName().startsWith("execute");
+        Object resultat;
+        try {
+            resultat = methode.invoke(cible, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (estDefaillance(cause)) {
+                disjoncteur.echec();
+            } else if (execution) {
+                disjoncteur.succes();
+            }
+            throw cause;
+        }
+        if (execution) {
+            disjoncteur.succes();
+        }
+        return resultat;
+    }
+
+    /**
+     * Enveloppe une requête préparée par une connexion prêtée pour suivre ses exécutions
+     */
+    private Object envelopperRequete(Object requete, Class<?> type, Connection connexion) {
+        InvocationHandler gestionnaire = (proxy, methode, args) -> switch (methode.getName()) {
+            case "getConnection" -> connexion;
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> appeler(requete, methode, args);
+        };
+        return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{type}, gestionnaire);
+    }
+
+    private SQLException indisponible() {
+        return new SQLTransientConnectionException("Base de données indisponible (" + nom + ")", "08001");
+    }
+
+    /**
+     * Retire du pool une connexion libre utilisable, en écartant celles devenues invalides
+     */
+    private Connection prendreLibre() {
+        while (true) {
+            ConnexionLibre libre;
+            synchronized (libres) {
+                libre = libres.pollFirst();
+            }
+            if (libre == null) {
+                return null;
+            }
+            if (System.nanoTime() - libre.depuis < VALIDATION_APRES_INACTIVITE_NANOS) {
+                return libre.connexion;
+            }
+            try {
+                if (libre.connexion.isValid(3)) {
+                    disjoncteur.succes();
+                    return libre.connexion;
+                }
+            } catch (SQLException e) {
+                logger.debug("Validation d'une connexion libre en échec", e);
+            }
+            disjoncteur.echec();
+            logger.warn("Connexion inactive invalide ({}), fermeture", nom);
+            fermerSilencieusement(libre.connexion);
+        }
+    }
+
+    /**
+     * Rend une connexion physique au pool à la fin du dernier emprunt du thread
+     */
+    private void rendre(Emprunt emprunt) {
+        if (empruntCourant.get() == emprunt) {
+            empruntCourant.remove();
+        }
+        Connection physique = emprunt.physique;
+        try {
+            if (estOuverte(physique)) {
+                if (!physique.getAutoCommit()) {
+                    // Transaction laissée ouverte par l'emprunteur : elle ne doit pas fuir vers le suivant
+                    physique.rollback();
+                    physique.setAutoCommit(true);
+                }
+                synchronized (libres) {
+                    libres.addFirst(new ConnexionLibre(physique, System.nanoTime()));
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Connexion rendue inutilisable ({}), fermeture", nom, e);
+            fermerSilencieusement(physique);
+        } finally {
+            permis.release();
+        }
+    }
+
+    /**
+     * Signale une écriture si la méthode appelée sur la connexion en est une
+     */
+    private void detecterEcriture(Method methode, Object[] args) {
+        if (surEcriture == null || args == null || args.length == 0) {
+            return;
+        }
+        String nomMethode = methode.getName();
+        if (("prepareStatement".equals(nomMethode) || "prepareCall".equals(nomMethode))
+                && args[0] instanceof String sql && estEcriture(sql)) {
+            surEcriture.run();
+        } else if ("setAutoCommit".equals(nomMethode) && Boolean.FALSE.equals(args[0])) {
+            surEcriture.run();
+        }
+    }
+
+    private static boolean estEcriture(String sql) {
+        int debut = 0;
+        while (debut < sql.length() && (Character.isWhitespace(sql.charAt(debut)) || sql.charAt(debut) == '(')) {
+            debut++;
+        }
+        for (String motCle : new String[]{"INSERT", "UPDATE", "DELETE", "REPLACE"}) {
+            if (sql.regionMatches(true, debut, motCle, 0, motCle.length())) {
+                return true;
+            }
+        }
+        String fin = sql.stripTrailing();
+        return fin.regionMatches(true, fin.length() - "FOR UPDATE".length(), "FOR UPDATE", 0, "FOR UPDATE".length());
+    }
+
+    private static boolean estOuverte(Connection connexion) {
+        try {
+            return !connexion.isClosed();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void fermerSilencieusement(Connection connexion) {
+        try {
+            connexion.close();
+        } catch (SQLException e) {
+            logger.debug("Erreur fermeture connexion", e);
+        }
+    }
+
+    /**
+     * Connexion physique inutilisée et instant où elle a été rendue
+     */
+    private static final class ConnexionLibre {
+        private final Connection connexion;
+        private final long depuis;
+
+        private ConnexionLibre(Connection connexion, long depuis) {
+            this.connexion = connexion;
+            this.depuis = depuis;
+        }
+    }
+
+    /**
+     * Connexion physique prêtée à un thread. Chaque emprunt imbriqué reçoit son propre
+     * mandataire : le fermer ne rend la connexion qu'au dernier emprunt.
+     */
+    private final class Emprunt {
+        private final Connection physique;
+        private int profondeur = 1;
+
+        private Emprunt(Connection physique) {
+            this.physique = physique;
+        }
+
+        private Connection nouveauPret() {
+            InvocationHandler gestionnaire = new InvocationHandler() {
+                private boolean ferme;
+
+                @Override
+                public Object invoke(Object proxy, Method methode, Object[] args) throws Throwable {
+                    switch (methode.getName()) {
+                        case "close":
+                            if (!ferme) {
+                                ferme = true;
+                                if (--profondeur == 0) {
+                                    rendre(Emprunt.this);
+                                }
+                            }
+                            return null;
+                        case "isClosed":
+                            return ferme || physique.isClosed();
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Connexion prêtée (" + nom + ") " + physique;
+                        default:
+                            if (ferme) {
+                                throw new SQLException("Connexion déjà rendue au pool");
+                            }
+                            detecterEcriture(methode, args);
+                            Object resultat = appeler(physique, methode, args);
+                            if (resultat instanceof Statement && Statement.class.isAssignableFrom(methode.getReturnType())) {
+                                return envelopperRequete(resultat, methode.getReturnType(), (Connection) proxy);
+                            }
+                            return resultat;
+                    }
+                }
+            };
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, gestionnaire);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.bschooleventmanager.eventmanager.dao;
+
+import com.bschooleventmanager.eventmanager.exception.DatabaseException;
+import com.bschooleventmanager.eventmanager.util.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exécution des unités de travail SQL avec reprise des erreurs transitoires.
+ *
+ * <p>Sous contention, MySQL annule une instruction ou une transaction victime d'un interblocage
+ * (code 1213) ou d'un dépassement de l'attente d'un verrou (code 1205, SQLSTATE 40001 et classe 40
+ * en général). Rejouer l'unité de travail suffit alors à la faire aboutir. Les autres erreurs
+ * (contraintes, syntaxe, connexion perdue) sont définitives : elles sont relancées immédiatement.
+ * Une connexion perdue pendant une écriture n'est pas reprise, car l'écriture a pu être appliquée.</p>
+ *
+ * <p>Une unité de travail n'est reprise que si elle est idempotente : une instruction unique en
+ * auto-commit (annulée en entier par l'erreur), une mise à jour conditionnelle, ou une transaction
+ * qui annule tout en cas d'échec. Elle ouvre et ferme sa propre connexion. Une unité exécutée
+ * alors que le thread détient déjà une connexion principale n'est pas reprise : elle fait partie
+ * d'un travail englobant, que l'appelant doit rejouer en entier.</p>
+ *
+ * <p>Entre deux tentatives, l'attente est tirée au hasard entre zéro et une borne qui double à
+ * chaque tentative, pour que les transactions en conflit ne se retrouvent pas au même instant.
+ * Un budget de reprises évite d'amplifier la charge quand la base est saturée : chaque exécution
+ * crédite une fraction de jeton, chaque reprise en consomme un ; sans jeton, l'erreur est relancée.</p>
+ *
+ * <p>Paramètres (application.properties) :</p>
+ * <ul>
+ *   <li>db.reprise.tentatives - tentatives maximales par unité de travail (défaut 3)</li>
+ *   <li>db.reprise.attente.base.ms - borne de la première attente (défaut 20)</li>
+ *   <li>db.reprise.attente.max.ms - borne maximale d'une attente (défaut 500)</li>
+ *   <li>db.reprise.budget.pourcentage - reprises autorisées pour 100 exécutions (défaut 20)</li>
+ * </ul>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public final class RepriseSql {
+    private static final Logger logger = LoggerFactory.getLogger(RepriseSql.class);
+
+    /** Codes d'erreur MySQL */
+    private static final int ER_LOCK_WAIT_TIMEOUT = 1205;
+    private static final int ER_LOCK_DEADLOCK = 1213;
+
+    /** Un jeton du budget vaut 1000 millièmes */
+    private static final long JETON = 1000;
+    /** Réserve initiale et plafond du budget, en jetons */
+    private static final long BUDGET_MAX_JETONS = 10;
+
+    private static final int TENTATIVES = Math.max(1, AppConfig.getInt("db.reprise.tentatives", 3));
+    private static final long ATTENTE_BASE_MS = Math.max(1, AppConfig.getInt("db.reprise.attente.base.ms", 20));
+    private static final long ATTENTE_MAX_MS = Math.max(ATTENTE_BASE_MS, AppConfig.getInt("db.reprise.attente.max.ms", 500));
+    private static final long CREDIT_PAR_EXECUTION =
+            JETON * Math.max(0, AppConfig.getInt("db.reprise.budget.pourcentage", 20)) / 100;
+
+    /** Budget de reprises, en millièmes de jeton */
+    private static final AtomicLong budget = new AtomicLong(BUDGET_MAX_JETONS * JETON);
+
+    private static final LongAdder executions = new LongAdder();
+    private static final LongAdder interblocages = new LongAdder();
+    private static final LongAdder attentesVerrou = new LongAdder();
+    private static final LongAdder reprises = new LongAdder();
+    private static final LongAdder reussitesApresReprise = new LongAdder();
+    private static final LongAdder echecsApresReprise = new LongAdder();
+    private static final LongAdder reprisesRefusees = new LongAdder();
+
+    // Constructeur privé pour empêcher l'instanciation
+    private RepriseSql() {
+        throw new UnsupportedOperationException("Classe utilitaire - ne peut pas être instanciée");
+    }
+
+    /**
+     * Unité de travail SQL idempotente, qui ouvre et ferme sa propre connexion
+     * (ou sa propre transaction, annulée en entier en cas d'échec)
+     */
+    @FunctionalInterface
+    public interface UniteTravail<T> {
+        T executer() throws SQLException, DatabaseException;
+    }
+
+    /**
+     * Nature d'une erreur SQL
+     */
+    public enum NatureErreur {
+        /** Transaction choisie comme victime d'un interblocage */
+        INTERBLOCAGE,
+        /** Délai d'attente d'un verrou dépassé */
+        ATTENTE_VERROU,
+        /** Erreur non transitoire */
+        DEFINITIVE
+    }
+
+    /**
+     * Exécute une unité de travail, en la rejouant tant qu'elle échoue sur une erreur transitoire,
+     * que des tentatives restent et que le budget de reprises le permet. Une erreur SQL encapsulée
+     * dans une {@link DatabaseException} par un DAO appelé dans l'unité est classée de la même façon.
+     *
+     * @param operation Libellé de l'opération, pour la journalisation
+     * @throws SQLException La dernière erreur SQL si l'unité n'a pas abouti
+     * @throws DatabaseException La dernière erreur encapsulée si l'unité n'a pas abouti
+     */
+    public static <T> T executer(String operation, UniteTravail<T> unite) throws SQLException, DatabaseException {
+        executions.increment();
+        crediter();
+
+        // Dans un travail englobant, c'est à l'appelant de tout rejouer (et de compter l'erreur)
+        boolean englobee = DatabaseConnection.getInstance().connexionPrincipaleDetenue();
+        int tentativesMax = englobee ? 1 : TENTATIVES;
+
+        for (int tentative = 1; ; tentative++) {
+            try {
+                T resultat = unite.executer();
+                if (tentative > 1) {
+                    reussitesApresReprise.increment();
+                    logger.info("✓ {} aboutie après {} tentatives", operation, tentative);
+                }
+                return resultat;
+            } catch (SQLException e) {
+                if (englobee || !reprendre(operation, e, tentative, tentativesMax)) {
+                    throw e;
+                }
+            } catch (DatabaseException e) {
+                if (englobee || !(e.getCause() instanceof SQLException cause)
+                        || !reprendre(operation, cause, tentative, tentativesMax)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Décide de la reprise après une erreur et attend avant la tentative suivante
+     *
+     * @return Faux si l'erreur doit être relancée (définitive, tentatives ou budget épuisés)
+     */
+    private static boolean reprendre(String operation, SQLException e, int tentative, int tentativesMax) {
+        NatureErreur nature = classer(e);
+        if (nature == NatureErreur.DEFINITIVE) {
+            return false;
+        }
+        (nature == NatureErreur.INTERBLOCAGE ? interblocages : attentesVerrou).increment();
+
+        if (tentative >= tentativesMax) {
+            if (tentative > 1) {
+                echecsApresReprise.increment();
+            }
+            return false;
+        }
+        if (!debiter()) {
+            reprisesRefusees.increment();
+            logger.warn("{} : {} sans reprise, budget de reprises épuisé", operation, nature);
+            return false;
+        }
+
+        long attente = ThreadLocalRandom.current().nextLong(
+                Math.min(ATTENTE_MAX_MS, ATTENTE_BASE_MS << Math.min(tentative - 1, 20)) + 1);
+        reprises.increment();
+        logger.warn("{} : {} (tentative {}/{}), reprise dans {} ms",
+                operation, nature, tentative, tentativesMax, attente);
+        try {
+            Thread.sleep(attente);
+            return true;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Classe une erreur SQL d'après son code MySQL et son SQLSTATE, en parcourant les erreurs
+     * chaînées (une BatchUpdateException porte l'erreur de l'instruction fautive)
+     */
+    public static NatureErreur classer(SQLException erreur) {
+        Throwable courante = erreur;
+        for (int profondeur = 0; courante != null && profondeur < 8; profondeur++) {
+            if (courante instanceof SQLException sql) {
+                if (sql.getErrorCode() == ER_LOCK_DEADLOCK) {
+                    return NatureErreur.INTERBLOCAGE;
+                }
+                if (sql.getErrorCode() == ER_LOCK_WAIT_TIMEOUT) {
+                    return NatureErreur.ATTENTE_VERROU;
+                }
+                String etat = sql.getSQLState();
+                if (sql instanceof SQLTransactionRollbackException || (etat != null && etat.startsWith("40"))) {
+                    return NatureErreur.INTERBLOCAGE;
+                }
+                Throwable suivante = sql.getNextException();
+                courante = suivante != null && suivante != sql ? suivante : sql.getCause();
+            } else {
+                courante = courante.getCause();
+            }
+        }
+        return NatureErreur.DEFINITIVE;
+    }
+
+    /**
+     * Compteurs depuis le démarrage : exécutions, erreurs transitoires par nature, reprises,
+     * unités abouties ou abandonnées après reprise, reprises refusées faute de budget
+     */
+    public static Map<String, Long> statistiques() {
+        Map<String, Long> statistiques = new LinkedHashMap<>();
+        statistiques.put("executions", executions.sum());
+        statistiques.put("interblocages", interblocages.sum());
+        statistiques.put("attentesVerrou", attentesVerrou.sum());
+        statistiques.put("reprises", reprises.sum());
+        statistiques.put("reussitesApresReprise", reussitesApresReprise.sum());
+        statistiques.put("echecsApresReprise", echecsApresReprise.sum());
+        statistiques.put("reprisesRefusees", reprisesRefusees.sum());
+        return statistiques;
+    }
+
+    private static void crediter() {
+        budget.accumulateAndGet(CREDIT_PAR_EXECUTION, (actuel, credit) -> Math.min(BUDGET_MAX_JETONS * JETON, actuel + credit));
+    }
+
+    private static boolean debiter() {
+        long actuel;
+        do {
+            actuel = budget.get();
+            if (actuel < JETON) {
+                return false;
+            }
+        } while (!budget.compareAndSet(actuel, actuel - JETON));
+        return true;
+    }
+}
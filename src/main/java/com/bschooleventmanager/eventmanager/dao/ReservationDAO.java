@@ -1,45 +1,68 @@
 package com.bschooleventmanager.eventmanager.dao;
 
 import com.bschooleventmanager.eventmanager.exception.DatabaseException;
+import com.bschooleventmanager.eventmanager.model.Montant;
 import com.bschooleventmanager.eventmanager.model.Reservation;
 import com.bschooleventmanager.eventmanager.model.ReservationDetail;
+import com.bschooleventmanager.eventmanager.model.VentesPeriode;
+import com.bschooleventmanager.eventmanager.model.enums.CategorieTicket;
+import com.bschooleventmanager.eventmanager.model.enums.StatutEvenement;
 import com.bschooleventmanager.eventmanager.model.enums.StatutReservation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class ReservationDAO extends BaseDAO<Reservation> {
     private static final Logger logger = LoggerFactory.getLogger(ReservationDAO.class);
 
+    /** Nombre maximal d'identifiants par clause IN */
+    private static final int TAILLE_LOT_IN = 1000;
+
     @Override
     public Reservation creer(Reservation reservation) throws DatabaseException {
-        String query = "INSERT INTO reservations (client_id, id_evenement, date_reservation, statut, total_paye) " +
-                       "VALUES (?, ?, ?, ?, ?)";
+        String query = "INSERT INTO reservations (client_id, id_evenement, date_reservation, statut, total_paye, " +
+                       "date_expiration, cle_idempotence) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        if (reservation.getDateReservation() == null) {
+            reservation.setDateReservation(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        }
         
-        try (Connection connection = getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+        try {
+            return RepriseSql.executer("création réservation", () -> {
+                try (Connection connection = getConnection();
+                     PreparedStatement pstmt = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
             
-            pstmt.setInt(1, reservation.getClientId());
-            pstmt.setInt(2, reservation.getIdEvenement());
-            pstmt.setString(3, reservation.getDateReservation());
-            pstmt.setString(4, reservation.getStatut().name());
-            pstmt.setDouble(5, reservation.getTotalPaye());
-
-            int affectedRows = pstmt.executeUpdate();
-
-            if (affectedRows > 0) {
-                try (ResultSet rs = pstmt.getGeneratedKeys()) {
-                    if (rs.next()) {
-                        reservation.setIdReservation(rs.getInt(1));
-                        logger.info("✓ Réservation créée: ID {}", reservation.getIdReservation());
-                        return reservation;
+                    pstmt.setInt(1, reservation.getClientId());
+                    pstmt.setInt(2, reservation.getIdEvenement());
+                    pstmt.setTimestamp(3, Timestamp.valueOf(reservation.getDateReservation()));
+                    pstmt.setString(4, reservation.getStatut().name());
+                    pstmt.setBigDecimal(5, reservation.getTotalPaye().versDecimal());
+                    pstmt.setTimestamp(6, reservation.getDateExpiration() != null ?
+                            Timestamp.valueOf(reservation.getDateExpiration()) : null);
+                    pstmt.setString(7, reservation.getCleIdempotence());
+
+                    int affectedRows = pstmt.executeUpdate();
+
+                    if (affectedRows > 0) {
+                        try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                            if (rs.next()) {
+                                reservation.setIdReservation(rs.getInt(1));
+                                logger.info("✓ Réservation créée: ID {}", reservation.getIdReservation());
+                                return reservation;
+                            }
+                        }
                     }
+                    throw new DatabaseException("Erreur lors de la création de la réservation.");
                 }
-            }
-            throw new DatabaseException("Erreur lors de la création de la réservation.");
+            });
         } catch (SQLException e) {
             logger.error("Erreur création réservation", e);
             throw new DatabaseException("Erreur création réservation", e);
@@ -49,7 +72,7 @@ public class ReservationDAO extends BaseDAO<Reservation> {
     @Override
     public Reservation chercher(int id) throws DatabaseException {
         String query = "SELECT id_reservation, client_id, id_evenement, date_reservation, statut, " +
-                       "total_paye, date_annulation FROM reservations WHERE id_reservation = ?";
+                       "total_paye, date_annulation, date_expiration, cle_idempotence FROM reservations WHERE id_reservation = ?";
         
         try (Connection connection = getConnection();
              PreparedStatement pstmt = connection.prepareStatement(query)) {
@@ -74,9 +97,9 @@ public class ReservationDAO extends BaseDAO<Reservation> {
     public List<Reservation> listerTous() throws DatabaseException {
         List<Reservation> reservations = new ArrayList<>();
         String query = "SELECT id_reservation, client_id, id_evenement, date_reservation, statut, " +
-                       "total_paye, date_annulation FROM reservations ORDER BY date_reservation DESC";
+                       "total_paye, date_annulation, date_expiration, cle_idempotence FROM reservations ORDER BY date_reservation DESC";
         
-        try (Connection connection = getConnection();
+        try (Connection connection = getConnectionLecture();
              PreparedStatement pstmt = connection.prepareStatement(query);
              ResultSet rs = pstmt.executeQuery()) {
             
@@ -85,10 +108,8 @@ public class ReservationDAO extends BaseDAO<Reservation> {
                 reservations.add(reservation);
             }
             
-            // Charger les détails séparément pour chaque réservation
-            for (Reservation reservation : reservations) {
-                loadReservationDetails(reservation);
-            }
+            // Charger les détails de toutes les réservations en une requête
+            loadReservationDetails(reservations);
             
         } catch (SQLException e) {
             logger.error("Erreur listage réservations", e);
@@ -102,23 +123,28 @@ public class ReservationDAO extends BaseDAO<Reservation> {
         String query = "UPDATE reservations SET client_id = ?, id_evenement = ?, date_reservation = ?, " +
                        "statut = ?, total_paye = ?, date_annulation = ? WHERE id_reservation = ?";
         
-        try (Connection connection = getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try {
+            RepriseSql.executer("mise à jour réservation", () -> {
+                try (Connection connection = getConnection();
+                     PreparedStatement pstmt = connection.prepareStatement(query)) {
             
-            pstmt.setInt(1, reservation.getClientId());
-            pstmt.setInt(2, reservation.getIdEvenement());
-            pstmt.setString(3, reservation.getDateReservation());
-            pstmt.setString(4, reservation.getStatut().name());
-            pstmt.setDouble(5, reservation.getTotalPaye());
-            pstmt.setTimestamp(6, reservation.getDateAnnulation() != null ? 
-                    Timestamp.valueOf(reservation.getDateAnnulation()) : null);
-            pstmt.setInt(7, reservation.getIdReservation());
+                    pstmt.setInt(1, reservation.getClientId());
+                    pstmt.setInt(2, reservation.getIdEvenement());
+                    pstmt.setTimestamp(3, Timestamp.valueOf(reservation.getDateReservation()));
+                    pstmt.setString(4, reservation.getStatut().name());
+                    pstmt.setBigDecimal(5, reservation.getTotalPaye().versDecimal());
+                    pstmt.setTimestamp(6, reservation.getDateAnnulation() != null ? 
+                            Timestamp.valueOf(reservation.getDateAnnulation()) : null);
+                    pstmt.setInt(7, reservation.getIdReservation());
 
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new DatabaseException("Aucune réservation trouvée avec l'ID: " + reservation.getIdReservation());
-            }
-            logger.info("✓ Réservation mise à jour: ID {}", reservation.getIdReservation());
+                    int rowsAffected = pstmt.executeUpdate();
+                    if (rowsAffected == 0) {
+                        throw new DatabaseException("Aucune réservation trouvée avec l'ID: " + reservation.getIdReservation());
+                    }
+                    logger.info("✓ Réservation mise à jour: ID {}", reservation.getIdReservation());
+                }
+                return null;
+            });
         } catch (SQLException e) {
             logger.error("Erreur mise à jour réservation", e);
             throw new DatabaseException("Erreur mise à jour réservation", e);
@@ -145,15 +171,44 @@ public class ReservationDAO extends BaseDAO<Reservation> {
         }
     }
 
+    /**
+     * Recherche la réservation créée avec un jeton de formulaire donné
+     * @return La réservation avec ses détails, ou null si ce jeton n'a pas encore été utilisé
+     */
+    public Reservation chercherParCleIdempotence(String cleIdempotence) throws DatabaseException {
+        String query = "SELECT id_reservation, client_id, id_evenement, date_reservation, statut, " +
+                       "total_paye, date_annulation, date_expiration, cle_idempotence FROM reservations " +
+                       "WHERE cle_idempotence = ?";
+
+        try (Connection connection = getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(query)) {
+
+            pstmt.setString(1, cleIdempotence);
+            Reservation reservation = null;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    reservation = mapRowToReservation(rs);
+                }
+            }
+            if (reservation != null) {
+                loadReservationDetails(reservation);
+            }
+            return reservation;
+        } catch (SQLException e) {
+            logger.error("Erreur recherche réservation par clé d'idempotence", e);
+            throw new DatabaseException("Erreur recherche réservation", e);
+        }
+    }
+
     /**
      * Récupère les réservations d'un client spécifique
      */
     public List<Reservation> getReservationsParClient(int clientId) throws DatabaseException {
         List<Reservation> reservations = new ArrayList<>();
         String query = "SELECT id_reservation, client_id, id_evenement, date_reservation, statut, " +
-                       "total_paye, date_annulation FROM reservations WHERE client_id = ? ORDER BY date_reservation DESC";
+                       "total_paye, date_annulation, date_expiration, cle_idempotence FROM reservations WHERE client_id = ? ORDER BY date_reservation DESC";
         
-        try (Connection connection = getConnection();
+        try (Connection connection = getConnectionLecture();
              PreparedStatement pstmt = connection.prepareStatement(query)) {
             
             pstmt.setInt(1, clientId);
@@ -164,10 +219,8 @@ public class ReservationDAO extends BaseDAO<Reservation> {
                 }
             }
             
-            // Charger les détails séparément pour chaque réservation
-            for (Reservation reservation : reservations) {
-                loadReservationDetails(reservation);
-            }
+            // Charger les détails de toutes les réservations en une requête
+            loadReservationDetails(reservations);
             
         } catch (SQLException e) {
             logger.error("Erreur récupération réservations client", e);
@@ -182,7 +235,7 @@ public class ReservationDAO extends BaseDAO<Reservation> {
     public List<Reservation> getReservationsParEvenement(int eventId) throws DatabaseException {
         List<Reservation> reservations = new ArrayList<>();
         String query = "SELECT id_reservation, client_id, id_evenement, date_reservation, statut, " +
-                       "total_paye, date_annulation FROM reservations WHERE id_evenement = ? ORDER BY date_reservation DESC";
+                       "total_paye, date_annulation, date_expiration, cle_idempotence FROM reservations WHERE id_evenement = ? ORDER BY date_reservation DESC";
         
         try (Connection connection = getConnection();
              PreparedStatement pstmt = connection.prepareStatement(query)) {
@@ -195,10 +248,8 @@ public class ReservationDAO extends BaseDAO<Reservation> {
                 }
             }
             
-            // Charger les détails séparément pour chaque réservation
-            for (Reservation reservation : reservations) {
-                loadReservationDetails(reservation);
-            }
+            // Charger les détails de toutes les réservations en une requête
+            loadReservationDetails(reservations);
             
         } catch (SQLException e) {
             logger.error("Erreur récupération réservations événement", e);
@@ -207,6 +258,437 @@ public class ReservationDAO extends BaseDAO<Reservation> {
         return reservations;
     }
 
+    /**
+     * Récupère les réservations d'un événement passées dans l'intervalle [debut, fin[, triées
+     * par date. Parcours de l'index (id_evenement, date_reservation) : seules les lignes de
+     * l'intervalle sont lues. Lecture de consultation, servie par la réplique si elle existe.
+     */
+    public List<Reservation> getReservationsParEvenementEntre(int eventId, LocalDateTime debut, LocalDateTime fin)
+            throws DatabaseException {
+        List<Reservation> reservations = new ArrayList<>();
+        String query = "SELECT id_reservation, client_id, id_evenement, date_reservation, statut, " +
+                       "total_paye, date_annulation, date_expiration, cle_idempotence FROM reservations " +
+                       "WHERE id_evenement = ? AND date_reservation >= ? AND date_reservation < ? " +
+                       "ORDER BY date_reservation";
+
+        try (Connection connection = getConnectionLecture();
+             PreparedStatement pstmt = connection.prepareStatement(query)) {
+
+            pstmt.setInt(1, eventId);
+            pstmt.setTimestamp(2, Timestamp.valueOf(debut));
+            pstmt.setTimestamp(3, Timestamp.valueOf(fin));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    reservations.add(mapRowToReservation(rs));
+                }
+            }
+
+            loadReservationDetails(reservations);
+
+        } catch (SQLException e) {
+            logger.error("Erreur récupération réservations de l'événement {} entre {} et {}", eventId, debut, fin, e);
+            throw new DatabaseException("Erreur récupération réservations sur la période", e);
+        }
+        return reservations;
+    }
+
+    /**
+     * Totalise les ventes (réservations confirmées) passées dans l'intervalle [debut, fin[,
+     * tous événements confondus. Parcours de l'index (date_reservation, statut, total_paye),
+     * qui couvre la requête : la table n'est pas lue.
+     */
+    public VentesPeriode totaliserVentes(LocalDateTime debut, LocalDateTime fin) throws DatabaseException {
+        String query = "SELECT COUNT(*), COALESCE(SUM(total_paye), 0) FROM reservations " +
+                       "WHERE date_reservation >= ? AND date_reservation < ? AND statut = ?";
+
+        try (Connection connection = getConnectionLecture();
+             PreparedStatement pstmt = connection.prepareStatement(query)) {
+
+            pstmt.setTimestamp(1, Timestamp.valueOf(debut));
+            pstmt.setTimestamp(2, Timestamp.valueOf(fin));
+            pstmt.setString(3, StatutReservation.CONFIRMEE.name());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return new VentesPeriode(debut, fin, rs.getInt(1), Montant.depuisDecimal(rs.getBigDecimal(2)));
+            }
+        } catch (SQLException e) {
+            logger.error("Erreur totalisation des ventes entre {} et {}", debut, fin, e);
+            throw new DatabaseException("Erreur totalisation des ventes", e);
+        }
+    }
+
+    /**
+     * Récupère une page de réservations actives (confirmées ou en attente) d'un événement, triées par ID.
+     * La pagination se fait par clé (id_reservation > apresIdReservation) pour que
+     * le coût d'une page ne dépende pas de sa position dans le flux.
+     * Les détails ne sont pas chargés.
+     */
+    public List<Reservation> getReservationsActivesParEvenement(int eventId, int apresIdReservation, int taillePage)
+            throws DatabaseException {
+        List<Reservation> reservations = new ArrayList<>();
+        String query = "SELECT id_reservation, client_id, id_evenement, date_reservation, statut, " +
+                       "total_paye, date_annulation, date_expiration, cle_idempotence FROM reservations " +
+                       "WHERE id_evenement = ? AND statut IN (?, ?) AND id_reservation > ? " +
+                       "ORDER BY id_reservation LIMIT ?";
+
+        try (Connection connection = getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(query)) {
+
+            pstmt.setInt(1, eventId);
+            pstmt.setString(2, StatutReservation.CONFIRMEE.name());
+            pstmt.setString(3, StatutReservation.EN_ATTENTE.name());
+            pstmt.setInt(4, apresIdReservation);
+            pstmt.setInt(5, taillePage);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    reservations.add(mapRowToReservation(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Erreur récupération page de réservations pour l'événement {}", eventId, e);
+            throw new DatabaseException("Erreur récupération page de réservations", e);
+        }
+        return reservations;
+    }
+
+    /**
+     * Compte les réservations actives (confirmées ou en attente) d'un événement
+     */
+    public int compterReservationsActivesParEvenement(int eventId) throws DatabaseException {
+        String query = "SELECT COUNT(*) FROM reservations WHERE id_evenement = ? AND statut IN (?, ?)";
+
+        try (Connection connection = getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(query)) {
+
+            pstmt.setInt(1, eventId);
+            pstmt.setString(2, StatutReservation.CONFIRMEE.name());
+            pstmt.setString(3, StatutReservation.EN_ATTENTE.name());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            logger.error("Erreur comptage réservations de l'événement {}", eventId, e);
+            throw new DatabaseException("Erreur comptage réservations", e);
+        }
+    }
+
+    /**
+     * Liste les événements annulés qui ont encore des réservations confirmées ou en attente,
+     * c'est-à-dire dont le traitement d'annulation a été interrompu ou a connu des échecs
+     *
+     * @param organisateurId Restreint aux événements de cet organisateur, ou null pour tous
+     */
+    public List<Integer> getEvenementsAnnulesAvecReservationsActives(Integer organisateurId) throws DatabaseException {
+        List<Integer> evenements = new ArrayList<>();
+        String query = "SELECT DISTINCT r.id_evenement FROM reservations r " +
+                       "JOIN evenements e ON e.id_evenement = r.id_evenement " +
+                       "WHERE e.statut = ? AND r.statut IN (?, ?)" +
+                       (organisateurId != null ? " AND e.organisateur_id = ?" : "");
+
+        try (Connection connection = getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(query)) {
+
+            pstmt.setString(1, StatutEvenement.ANNULE.name());
+            pstmt.setString(2, StatutReservation.CONFIRMEE.name());
+            pstmt.setString(3, StatutReservation.EN_ATTENTE.name());
+            if (organisateurId != null) {
+                pstmt.setInt(4, organisateurId);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    evenements.add(rs.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Erreur recherche des annulations d'événements interrompues", e);
+            throw new DatabaseException("Erreur recherche des annulations interrompues", e);
+        }
+        return evenements;
+    }
+
+    /**
+     * Marque un lot de réservations comme annulées en une seule requête. Seules les réservations
+     * encore actives (confirmées ou en attente) sont modifiées : une réservation expirée le reste.
+     * @return Le nombre de réservations effectivement annulées
+     */
+    public int annulerParLot(List<Integer> idsReservation, LocalDateTime dateAnnulation) throws DatabaseException {
+        if (idsReservation.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(idsReservation.size(), "?"));
+        String query = "UPDATE reservations SET statut = ?, date_annulation = ? " +
+                       "WHERE statut IN (?, ?) AND id_reservation IN (" + placeholders + ")";
+
+        try {
+            return RepriseSql.executer("annulation par lot des réservations", () -> {
+                try (Connection connection = getConnection();
+                     PreparedStatement pstmt = connection.prepareStatement(query)) {
+
+                    pstmt.setString(1, StatutReservation.ANNULEE.name());
+                    pstmt.setTimestamp(2, Timestamp.valueOf(dateAnnulation));
+                    pstmt.setString(3, StatutReservation.CONFIRMEE.name());
+                    pstmt.setString(4, StatutReservation.EN_ATTENTE.name());
+                    int index = 5;
+                    for (Integer id : idsReservation) {
+                        pstmt.setInt(index++, id);
+                    }
+
+                    int rowsAffected = pstmt.executeUpdate();
+                    logger.info("✓ {} réservations annulées par lot", rowsAffected);
+                    return rowsAffected;
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Erreur annulation par lot de {} réservations", idsReservation.size(), e);
+            throw new DatabaseException("Erreur annulation par lot des réservations", e);
+        }
+    }
+
+    /**
+     * Calcule les places occupées d'un événement à partir des réservations en attente
+     * ou confirmées. Sert de référence pour reconstruire les compteurs de places vendues.
+     *
+     * @return [standard, vip, premium]
+     */
+    public int[] compterPlacesOccupeesParEvenement(int eventId) throws DatabaseException {
+        String query = "SELECT d.categorie_place, SUM(d.nombre_tickets) AS places " +
+                       "FROM reservationdetails d JOIN reservations r ON r.id_reservation = d.id_reservation " +
+                       "WHERE r.id_evenement = ? AND r.statut IN (?, ?) GROUP BY d.categorie_place";
+        int[] places = new int[3];
+
+        try (Connection connection = getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(query)) {
+
+            pstmt.setInt(1, eventId);
+            pstmt.setString(2, StatutReservation.EN_ATTENTE.name());
+            pstmt.setString(3, StatutReservation.CONFIRMEE.name());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    CategorieTicket categorie = CategorieTicket.valueOf(rs.getString("categorie_place"));
+                    places[categorie.getOrdre()] += rs.getInt("places");
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Erreur calcul des places occupées de l'événement {}", eventId, e);
+            throw new DatabaseException("Erreur calcul des places occupées", e);
+        }
+        return places;
+    }
+
+    /**
+     * Confirme une réservation uniquement si elle est encore en attente.
+     * La mise à jour conditionnelle évite de confirmer une réservation que le
+     * balayeur d'expiration vient de libérer.
+     * @return true si la réservation a été confirmée
+     */
+    public boolean confirmerSiEnAttente(int idReservation) throws DatabaseException {
+        String query = "UPDATE reservations SET statut = ?, date_expiration = NULL " +
+                       "WHERE id_reservation = ? AND statut = ?";
+
+        try {
+            return RepriseSql.executer("confirmation réservation", () -> {
+                try (Connection connection = getConnection();
+                     PreparedStatement pstmt = connection.prepareStatement(query)) {
+
+                    pstmt.setString(1, StatutReservation.CONFIRMEE.name());
+                    pstmt.setInt(2, idReservation);
+                    pstmt.setString(3, StatutReservation.EN_ATTENTE.name());
+                    boolean confirmee = pstmt.executeUpdate() > 0;
+                    if (confirmee) {
+                        logger.info("✓ Réservation confirmée: ID {}", idReservation);
+                    }
+                    return confirmee;
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Erreur confirmation réservation {}", idReservation, e);
+            throw new DatabaseException("Erreur confirmation réservation", e);
+        }
+    }
+
+    /**
+     * Annule une réservation seulement si elle a toujours le statut attendu. Une réservation
+     * expirée ou annulée entre-temps (balayeur d'expiration, autre poste) n'est pas touchée,
+     * et ses places ne doivent pas être rendues une seconde fois.
+     *
+     * @return true si la réservation a été annulée par cet appel
+     */
+    public boolean annulerSiStatut(int idReservation, StatutReservation statutAttendu, LocalDateTime dateAnnulation)
+            throws DatabaseException {
+        String query = "UPDATE reservations SET statut = ?, date_annulation = ?, date_expiration = NULL " +
+                       "WHERE id_reservation = ? AND statut = ?";
+
+        try {
+            return RepriseSql.executer("annulation réservation", () -> {
+                try (Connection connection = getConnection();
+                     PreparedStatement pstmt = connection.prepareStatement(query)) {
+
+                    pstmt.setString(1, StatutReservation.ANNULEE.name());
+                    pstmt.setTimestamp(2, Timestamp.valueOf(dateAnnulation));
+                    pstmt.setInt(3, idReservation);
+                    pstmt.setString(4, statutAttendu.name());
+                    return pstmt.executeUpdate() > 0;
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Erreur annulation réservation {}", idReservation, e);
+            throw new DatabaseException("Erreur annulation réservation", e);
+        }
+    }
+
+    /**
+     * Récupère les IDs des réservations en attente dont le délai de paiement est dépassé
+     */
+    public List<Integer> getIdsReservationsExpirees(LocalDateTime maintenant, int limite) throws DatabaseException {
+        List<Integer> ids = new ArrayList<>();
+        String query = "SELECT id_reservation FROM reservations " +
+                       "WHERE statut = ? AND date_expiration IS NOT NULL AND date_expiration <= ? " +
+                       "ORDER BY date_expiration LIMIT ?";
+
+        try (Connection connection = getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(query)) {
+
+            pstmt.setString(1, StatutReservation.EN_ATTENTE.name());
+            pstmt.setTimestamp(2, Timestamp.valueOf(maintenant));
+            pstmt.setInt(3, limite);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Erreur récupération réservations expirées", e);
+            throw new DatabaseException("Erreur récupération réservations expirées", e);
+        }
+        return ids;
+    }
+
+    /**
+     * Expire un lot de réservations en attente et rend leurs places aux événements,
+     * dans une seule transaction.
+     *
+     * <p>Seules les réservations encore EN_ATTENTE au moment de la mise à jour sont
+     * expirées : une réservation payée entre la sélection et l'expiration est ignorée,
+     * et ses places ne sont pas rendues.</p>
+     *
+     * @return Les places rendues par ID d'événement : [standard, vip, premium]
+     */
+    public Map<Integer, int[]> expirerParLot(List<Integer> idsReservation) throws DatabaseException {
+        if (idsReservation.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(idsReservation.size(), "?"));
+        String verrouillage = "SELECT id_reservation FROM reservations " +
+                              "WHERE statut = ? AND id_reservation IN (" + placeholders + ") FOR UPDATE";
+        String expiration = "UPDATE reservations SET statut = ? WHERE statut = ? AND id_reservation = ?";
+        String placesParCategorie = "SELECT r.id_evenement, d.categorie_place, SUM(d.nombre_tickets) AS places " +
+                                    "FROM reservationdetails d JOIN reservations r ON r.id_reservation = d.id_reservation " +
+                                    "WHERE d.id_reservation IN (%s) GROUP BY r.id_evenement, d.categorie_place";
+        String liberation = "UPDATE evenements SET " +
+                            "place_standard_vendues = GREATEST(0, place_standard_vendues - ?), " +
+                            "place_vip_vendu = GREATEST(0, place_vip_vendu - ?), " +
+                            "place_p_vendu = GREATEST(0, place_p_vendu - ?), " +
+                            "version_places = version_places + 1 " +
+                            "WHERE id_evenement = ?";
+
+        // Transaction entière annulée en cas d'échec : elle peut être rejouée
+        try {
+            return RepriseSql.executer("expiration des réservations", () -> {
+                Connection connection = null;
+                try {
+                    connection = getConnection();
+                    connection.setAutoCommit(false);
+
+                    // Verrouille les réservations encore en attente pour figer le lot
+                    List<Integer> aExpirer = new ArrayList<>();
+                    try (PreparedStatement pstmt = connection.prepareStatement(verrouillage)) {
+                        pstmt.setString(1, StatutReservation.EN_ATTENTE.name());
+                        int index = 2;
+                        for (Integer id : idsReservation) {
+                            pstmt.setInt(index++, id);
+                        }
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                aExpirer.add(rs.getInt(1));
+                            }
+                        }
+                    }
+                    if (aExpirer.isEmpty()) {
+                        connection.commit();
+                        return Collections.emptyMap();
+                    }
+
+                    try (PreparedStatement pstmt = connection.prepareStatement(expiration)) {
+                        for (Integer id : aExpirer) {
+                            pstmt.setString(1, StatutReservation.EXPIREE.name());
+                            pstmt.setString(2, StatutReservation.EN_ATTENTE.name());
+                            pstmt.setInt(3, id);
+                            pstmt.addBatch();
+                        }
+                        pstmt.executeBatch();
+                    }
+
+                    // Places à rendre par événement : [standard, vip, premium], triées par ID
+                    // pour verrouiller les événements toujours dans le même ordre
+                    Map<Integer, int[]> placesParEvenement = new TreeMap<>();
+                    String inExpirees = String.join(", ", Collections.nCopies(aExpirer.size(), "?"));
+                    try (PreparedStatement pstmt = connection.prepareStatement(String.format(placesParCategorie, inExpirees))) {
+                        int index = 1;
+                        for (Integer id : aExpirer) {
+                            pstmt.setInt(index++, id);
+                        }
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                int[] places = placesParEvenement.computeIfAbsent(rs.getInt("id_evenement"), k -> new int[3]);
+                                CategorieTicket categorie = CategorieTicket.valueOf(rs.getString("categorie_place"));
+                                places[categorie.getOrdre()] += rs.getInt("places");
+                            }
+                        }
+                    }
+
+                    try (PreparedStatement pstmt = connection.prepareStatement(liberation)) {
+                        for (Map.Entry<Integer, int[]> entry : placesParEvenement.entrySet()) {
+                            int[] places = entry.getValue();
+                            pstmt.setInt(1, places[0]);
+                            pstmt.setInt(2, places[1]);
+                            pstmt.setInt(3, places[2]);
+                            pstmt.setInt(4, entry.getKey());
+                            pstmt.addBatch();
+                        }
+                        pstmt.executeBatch();
+                    }
+
+                    connection.commit();
+                    logger.info("✓ {} réservations expirées, places rendues pour {} événements",
+                            aExpirer.size(), placesParEvenement.size());
+                    return placesParEvenement;
+
+                } catch (SQLException e) {
+                    if (connection != null) {
+                        try {
+                            connection.rollback();
+                        } catch (SQLException ex) {
+                            logger.error("Erreur rollback expiration des réservations", ex);
+                        }
+                    }
+                    throw e;
+                } finally {
+                    if (connection != null) {
+                        try {
+                            connection.setAutoCommit(true);
+                            connection.close();
+                        } catch (SQLException e) {
+                            logger.warn("Erreur fermeture connexion après expiration", e);
+                        }
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Erreur expiration par lot de {} réservations", idsReservation.size(), e);
+            throw new DatabaseException("Erreur expiration des réservations", e);
+        }
+    }
+
     /**
      * Mappe une ligne de ResultSet vers un objet Reservation
      */
@@ -215,7 +697,10 @@ public class ReservationDAO extends BaseDAO<Reservation> {
         reservation.setIdReservation(rs.getInt("id_reservation"));
         reservation.setClientId(rs.getInt("client_id"));
         reservation.setIdEvenement(rs.getInt("id_evenement"));
-        reservation.setDateReservation(rs.getString("date_reservation"));
+        Timestamp dateReservation = rs.getTimestamp("date_reservation");
+        if (dateReservation != null) {
+            reservation.setDateReservation(dateReservation.toLocalDateTime());
+        }
         
         String statutStr = rs.getString("statut");
         if (statutStr != null && !statutStr.trim().isEmpty()) {
@@ -224,13 +709,19 @@ public class ReservationDAO extends BaseDAO<Reservation> {
             reservation.setStatut(StatutReservation.EN_ATTENTE);
         }
         
-        reservation.setTotalPaye(rs.getDouble("total_paye"));
+        reservation.setTotalPaye(Montant.depuisDecimal(rs.getBigDecimal("total_paye")));
         
         Timestamp dateAnnulation = rs.getTimestamp("date_annulation");
         if (dateAnnulation != null) {
             reservation.setDateAnnulation(dateAnnulation.toLocalDateTime());
         }
 
+        Timestamp dateExpiration = rs.getTimestamp("date_expiration");
+        if (dateExpiration != null) {
+            reservation.setDateExpiration(dateExpiration.toLocalDateTime());
+        }
+        reservation.setCleIdempotence(rs.getString("cle_idempotence"));
+
         // NE PAS charger les détails ici pour éviter les conflits de ResultSet
         // Les détails seront chargés séparément si nécessaire
         reservation.setDetails(new ArrayList<>());
@@ -238,6 +729,36 @@ public class ReservationDAO extends BaseDAO<Reservation> {
         return reservation;
     }
 
+    /**
+     * Charge en une requête les détails d'une liste de réservations
+     */
+    private void loadReservationDetails(List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = new ArrayList<>(reservations.size());
+        for (Reservation reservation : reservations) {
+            ids.add(reservation.getIdReservation());
+        }
+        try {
+            // Requêtes par lots pour borner la taille de la clause IN
+            ReservationDetailsDAO detailsDAO = new ReservationDetailsDAO();
+            Map<Integer, List<ReservationDetail>> details = new HashMap<>();
+            for (int debut = 0; debut < ids.size(); debut += TAILLE_LOT_IN) {
+                details.putAll(detailsDAO.getDetailsParReservations(ids.subList(debut, Math.min(ids.size(), debut + TAILLE_LOT_IN))));
+            }
+            for (Reservation reservation : reservations) {
+                reservation.setDetails(details.getOrDefault(reservation.getIdReservation(), new ArrayList<>()));
+            }
+        } catch (DatabaseException e) {
+            logger.error("Erreur lors du chargement des détails de {} réservations", reservations.size(), e);
+            // En cas d'erreur, on laisse les listes vides plutôt que de planter
+            for (Reservation reservation : reservations) {
+                reservation.setDetails(new ArrayList<>());
+            }
+        }
+    }
+
     /**
      * Charge les détails d'une réservation séparément
      */
@@ -1,6 +1,7 @@
 package com.bschooleventmanager.eventmanager.dao;
 
 import com.bschooleventmanager.eventmanager.exception.DatabaseException;
+import com.bschooleventmanager.eventmanager.model.Montant;
 import com.bschooleventmanager.eventmanager.model.ReservationDetail;
 import com.bschooleventmanager.eventmanager.model.enums.CategorieTicket;
 import org.slf4j.Logger;
@@ -8,7 +9,11 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ReservationDetailsDAO extends BaseDAO<ReservationDetail> {
     private static final Logger logger = LoggerFactory.getLogger(ReservationDetailsDAO.class);
@@ -18,27 +23,31 @@ public class ReservationDetailsDAO extends BaseDAO<ReservationDetail> {
         String query = "INSERT INTO reservationdetails (id_reservation, categorie_place, nombre_tickets, prix_unitaire, sous_total) " +
                        "VALUES (?, ?, ?, ?, ?)";
         
-        try (Connection connection = getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+        try {
+            return RepriseSql.executer("création détail réservation", () -> {
+                try (Connection connection = getConnection();
+                     PreparedStatement pstmt = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
             
-            pstmt.setInt(1, detail.getIdReservation());
-            pstmt.setString(2, detail.getCategoriePlace().name());
-            pstmt.setInt(3, detail.getNombreTickets());
-            pstmt.setDouble(4, detail.getPrixUnitaire());
-            pstmt.setDouble(5, detail.getSousTotal());
+                    pstmt.setInt(1, detail.getIdReservation());
+                    pstmt.setString(2, detail.getCategoriePlace().name());
+                    pstmt.setInt(3, detail.getNombreTickets());
+                    pstmt.setBigDecimal(4, detail.getPrixUnitaire().versDecimal());
+                    pstmt.setBigDecimal(5, detail.getSousTotal().versDecimal());
 
-            int affectedRows = pstmt.executeUpdate();
+                    int affectedRows = pstmt.executeUpdate();
 
-            if (affectedRows > 0) {
-                try (ResultSet rs = pstmt.getGeneratedKeys()) {
-                    if (rs.next()) {
-                        detail.setIdDetail(rs.getInt(1));
-                        logger.info("✓ Détail de réservation créé: ID {}", detail.getIdDetail());
-                        return detail;
+                    if (affectedRows > 0) {
+                        try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                            if (rs.next()) {
+                                detail.setIdDetail(rs.getInt(1));
+                                logger.info("✓ Détail de réservation créé: ID {}", detail.getIdDetail());
+                                return detail;
+                            }
+                        }
                     }
+                    throw new DatabaseException("Erreur lors de la création du détail de réservation.");
                 }
-            }
-            throw new DatabaseException("Erreur lors de la création du détail de réservation.");
+            });
         } catch (SQLException e) {
             logger.error("Erreur création détail réservation", e);
             throw new DatabaseException("Erreur création détail réservation", e);
@@ -72,7 +81,7 @@ public class ReservationDetailsDAO extends BaseDAO<ReservationDetail> {
         String query = "SELECT id_detail, id_reservation, categorie_place, nombre_tickets, prix_unitaire, sous_total " +
                        "FROM reservationdetails ORDER BY id_detail";
         
-        try (Connection connection = getConnection();
+        try (Connection connection = getConnectionLecture();
              PreparedStatement pstmt = connection.prepareStatement(query);
              ResultSet rs = pstmt.executeQuery()) {
             
@@ -97,8 +106,8 @@ public class ReservationDetailsDAO extends BaseDAO<ReservationDetail> {
             pstmt.setInt(1, detail.getIdReservation());
             pstmt.setString(2, detail.getCategoriePlace().name());
             pstmt.setInt(3, detail.getNombreTickets());
-            pstmt.setDouble(4, detail.getPrixUnitaire());
-            pstmt.setDouble(5, detail.getSousTotal());
+            pstmt.setBigDecimal(4, detail.getPrixUnitaire().versDecimal());
+            pstmt.setBigDecimal(5, detail.getSousTotal().versDecimal());
             pstmt.setInt(6, detail.getIdDetail());
 
             int rowsAffected = pstmt.executeUpdate();
@@ -156,6 +165,40 @@ public class ReservationDetailsDAO extends BaseDAO<ReservationDetail> {
         return details;
     }
 
+    /**
+     * Récupère en une requête les détails de plusieurs réservations
+     * @return Les détails groupés par ID de réservation (les réservations sans détail sont absentes)
+     */
+    public Map<Integer, List<ReservationDetail>> getDetailsParReservations(Collection<Integer> idsReservation) throws DatabaseException {
+        Map<Integer, List<ReservationDetail>> detailsParReservation = new HashMap<>();
+        if (idsReservation.isEmpty()) {
+            return detailsParReservation;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(idsReservation.size(), "?"));
+        String query = "SELECT id_detail, id_reservation, categorie_place, nombre_tickets, prix_unitaire, sous_total " +
+                       "FROM reservationdetails WHERE id_reservation IN (" + placeholders + ") " +
+                       "ORDER BY id_reservation, categorie_place";
+
+        try (Connection connection = getConnectionLecture();
+             PreparedStatement pstmt = connection.prepareStatement(query)) {
+
+            int index = 1;
+            for (Integer id : idsReservation) {
+                pstmt.setInt(index++, id);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ReservationDetail detail = mapRowToReservationDetail(rs);
+                    detailsParReservation.computeIfAbsent(detail.getIdReservation(), k -> new ArrayList<>()).add(detail);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Erreur récupération détails de {} réservations", idsReservation.size(), e);
+            throw new DatabaseException("Erreur récupération détails par réservation", e);
+        }
+        return detailsParReservation;
+    }
+
     /**
      * Supprime tous les détails d'une réservation
      */
@@ -190,8 +233,8 @@ public class ReservationDetailsDAO extends BaseDAO<ReservationDetail> {
         }
         
         detail.setNombreTickets(rs.getInt("nombre_tickets"));
-        detail.setPrixUnitaire(rs.getDouble("prix_unitaire"));
-        detail.setSousTotal(rs.getDouble("sous_total"));
+        detail.setPrixUnitaire(Montant.depuisDecimal(rs.getBigDecimal("prix_unitaire")));
+        detail.setSousTotal(Montant.depuisDecimal(rs.getBigDecimal("sous_total")));
         
         return detail;
     }
@@ -73,60 +73,16 @@ public class SpectacleDAO extends BaseDAO<Spectacle> {
     }
 
     /**
-     * Mettre à jour un spectacle existant
+     * Mettre à jour un spectacle existant (colonnes modifiées uniquement, voir EvenementDAO.updateEvent)
      * @param spectacle
      * @return
      * @throws DatabaseException
      */
     @Override
     public Spectacle mettreAJour(Spectacle spectacle) throws DatabaseException {
-        String query = "UPDATE evenements SET organisateur_id = ?, nom = ?, date_evenement = ?, lieu = ?, type_evenement = ?," +
-                "    description = ?, places_standard_disponibles = ?, places_vip_disponibles = ?, places_premium_disponibles = ?," +
-                "    prix_standard = ?, prix_vip = ?, prix_premium = ?, artiste_groupe = ?, age_min = ?, domaine = ?, " +
-                "    intervenant = ?, type_concert = ?, type_spectacle = ?, niveau_expertise = ? WHERE id_evenement = ?;";
-
-        
-
-        try (Connection connection = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setInt(1, spectacle.getOrganisateurId());
-            pstmt.setString(2, spectacle.getNom());
-            pstmt.setTimestamp(3, Timestamp.valueOf(spectacle.getDateEvenement()));
-            pstmt.setString(4, spectacle.getLieu());
-            pstmt.setString(5, spectacle.getTypeEvenement().getLabel());
-            pstmt.setString(6, spectacle.getDescription());
-            pstmt.setInt(7, spectacle.getPlacesStandardDisponibles());
-            pstmt.setInt(8, spectacle.getPlacesVipDisponibles());
-            pstmt.setInt(9, spectacle.getPlacesPremiumDisponibles());
-            pstmt.setBigDecimal(10, spectacle.getPrixStandard());
-            pstmt.setBigDecimal(11, spectacle.getPrixVip());
-            pstmt.setBigDecimal(12, spectacle.getPrixPremium());
-            pstmt.setString(13, spectacle.getTroupe_artistes());
-            // age_min optionnel
-            if (spectacle.getAgeMin() != null) {
-                pstmt.setInt(14, spectacle.getAgeMin());
-            } else {
-                pstmt.setNull(14, Types.INTEGER);
-            }
-            pstmt.setNull(15, java.sql.Types.VARCHAR); // Domaine non applicable
-            pstmt.setNull(16, java.sql.Types.VARCHAR); // Intervenants non applicable
-            pstmt.setNull(17, java.sql.Types.VARCHAR); // Type concert non applicable
-            pstmt.setString(18, spectacle.getTypeSpectacle() != null ? spectacle.getTypeSpectacle().getLabel() : null);
-            pstmt.setNull(19, java.sql.Types.VARCHAR); // Niveau expertise non applicable
-            pstmt.setInt(20, spectacle.getIdEvenement());
-
-            int affectedRows = pstmt.executeUpdate();
-
-            if (affectedRows > 0) {
-                logger.info("✓ Spectacle modifié avec succès: {}", spectacle.getNom());
-                return spectacle;
-            }
-            
-            throw new DatabaseException("Aucune ligne mise à jour pour le spectacle ID: " + spectacle.getIdEvenement());
-        } catch (SQLException e) {
-            logger.error("Erreur SQL lors de la mise à jour du spectacle: {}", e.getMessage());
-            throw new DatabaseException("Erreur lors de la mise à jour du spectacle: " + e.getMessage());
-        }
+        EvenementDAO.updateEvent(spectacle);
+        logger.info("✓ Spectacle modifié avec succès: {}", spectacle.getNom());
+        return spectacle;
     }
 
     @Override
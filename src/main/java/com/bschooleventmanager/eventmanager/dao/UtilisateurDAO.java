@@ -4,6 +4,7 @@ import com.bschooleventmanager.eventmanager.exception.DatabaseException;
 import com.bschooleventmanager.eventmanager.model.Utilisateur;
 import com.bschooleventmanager.eventmanager.model.Client;
 import com.bschooleventmanager.eventmanager.model.Organisateur;
+import com.bschooleventmanager.eventmanager.model.enums.ChampUtilisateur;
 import com.bschooleventmanager.eventmanager.model.enums.TypeUtilisateur;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +16,10 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * DAO pour la gestion des utilisateurs (Clients et Organisateurs).
@@ -29,6 +34,9 @@ import java.util.List;
 public class UtilisateurDAO extends BaseDAO<Utilisateur> {
     private static final Logger logger = LoggerFactory.getLogger(UtilisateurDAO.class);
 
+    /** Requêtes de mise à jour déjà construites, par ensemble de champs modifiés */
+    private static final Map<Set<ChampUtilisateur>, String> requetesMiseAJour = new ConcurrentHashMap<>();
+
     /**
      * {@inheritDoc}
      */
@@ -171,17 +179,8 @@ public class UtilisateurDAO extends BaseDAO<Utilisateur> {
      */
     @Override
     public Utilisateur mettreAJour(Utilisateur user) throws DatabaseException {
-        String query = "UPDATE utilisateurs SET nom = ?, email = ? WHERE id_utilisateur = ?";
-        
-        try (Connection connection = getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(query)) {
-            
-            pstmt.setString(1, user.getNom());
-            pstmt.setString(2, user.getEmail());
-            pstmt.setInt(3, user.getIdUtilisateur());
-
-            pstmt.executeUpdate();
-            
+        try (Connection connection = getConnection()) {
+            mettreAJourChampsModifies(connection, user, null);
         } catch (SQLException e) {
             logger.error("Erreur modification utilisateur", e);
             throw new DatabaseException("Erreur modification utilisateur", e);
@@ -189,6 +188,50 @@ public class UtilisateurDAO extends BaseDAO<Utilisateur> {
         return user;
     }
 
+    /**
+     * Écrit uniquement les colonnes des champs modifiés de l'utilisateur, avec une requête
+     * construite une fois par ensemble de champs. Partagé avec ClientDAO et OrganisateurDAO.
+     *
+     * @param type Type d'utilisateur attendu, ou null pour ne pas filtrer sur le type
+     * @return Le nombre de lignes modifiées, ou -1 si aucun champ n'était modifié
+     */
+    static int mettreAJourChampsModifies(Connection connection, Utilisateur user, TypeUtilisateur type)
+            throws SQLException {
+        Set<ChampUtilisateur> champs = user.getChampsModifies();
+        if (champs.isEmpty()) {
+            return -1;
+        }
+        String query = requetesMiseAJour.computeIfAbsent(champs, UtilisateurDAO::construireRequeteMiseAJour);
+        if (type != null) {
+            query += " AND type_utilisateur = ?";
+        }
+
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            int index = 1;
+            for (ChampUtilisateur champ : champs) {
+                pstmt.setString(index++, champ == ChampUtilisateur.NOM ? user.getNom() : user.getEmail());
+            }
+            pstmt.setInt(index++, user.getIdUtilisateur());
+            if (type != null) {
+                pstmt.setString(index, type.name());
+            }
+
+            int affectedRows = pstmt.executeUpdate();
+            if (affectedRows > 0) {
+                user.reinitialiserChampsModifies();
+            }
+            return affectedRows;
+        }
+    }
+
+    private static String construireRequeteMiseAJour(Set<ChampUtilisateur> champs) {
+        StringJoiner colonnes = new StringJoiner(", ");
+        for (ChampUtilisateur champ : champs) {
+            colonnes.add(champ.getColonne() + " = ?");
+        }
+        return "UPDATE utilisateurs SET " + colonnes + " WHERE id_utilisateur = ?";
+    }
+
     @Override
     public void supprimer(int id) throws DatabaseException {
         String query = "DELETE FROM utilisateurs WHERE id_utilisateur = ?";
@@ -254,6 +297,7 @@ public class UtilisateurDAO extends BaseDAO<Utilisateur> {
         user.setMotDePasse(rs.getString("mot_de_passe"));
         user.setTypeUtilisateur(type);
         user.setDateCreation(rs.getTimestamp("date_creation").toLocalDateTime());
+        user.reinitialiserChampsModifies();
         return user;
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.bschooleventmanager.eventmanager.exception;
+
+/**
+ * Exception levée lorsqu'un événement a été modifié par ailleurs depuis son chargement.
+ * La version chargée ne correspond plus à celle en base : la modification est refusée
+ * pour ne pas écraser les changements de l'autre auteur.
+ * @version 1.0
+ * @since 2024-11-20
+ */
+public class ModificationConcurrenteException extends RuntimeException {
+    private final int idEvenement;
+    private final int versionActuelle;
+
+    /**
+     * Constructeur avec l'événement concerné et sa version actuelle en base.
+     *
+     * @param idEvenement ID de l'événement modifié
+     * @param versionActuelle Version actuellement enregistrée en base
+     */
+    public ModificationConcurrenteException(int idEvenement, int versionActuelle) {
+        super("L'événement a été modifié par un autre utilisateur depuis son ouverture");
+        this.idEvenement = idEvenement;
+        this.versionActuelle = versionActuelle;
+    }
+
+    public int getIdEvenement() {
+        return idEvenement;
+    }
+
+    public int getVersionActuelle() {
+        return versionActuelle;
+    }
+}
@@ -1,11 +1,13 @@
 package com.bschooleventmanager.eventmanager.model;
 
+import com.bschooleventmanager.eventmanager.model.enums.ChampEvenement;
 import com.bschooleventmanager.eventmanager.model.enums.StatutEvenement;
 import com.bschooleventmanager.eventmanager.model.enums.TypeConcert;
 import com.bschooleventmanager.eventmanager.model.enums.TypeEvenement;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 
 // Classe Concert qui hérite de Evenement
 public class Concert extends Evenement {
@@ -64,6 +66,7 @@ public class Concert extends Evenement {
     }
 
     public void setArtiste_groupe(String artiste_groupe) {
+        marquerModifie(ChampEvenement.ARTISTE_GROUPE, this.artiste_groupe, artiste_groupe);
         this.artiste_groupe = artiste_groupe;
     }
 
@@ -72,6 +75,7 @@ public class Concert extends Evenement {
     }
 
     public void setType(TypeConcert type) {
+        marquerModifie(ChampEvenement.TYPE_CONCERT, this.type, type);
         this.type = type;
     }
 
@@ -80,11 +84,19 @@ public class Concert extends Evenement {
     }
 
     public void setAgeMin(Integer ageMin) {
+        marquerModifie(ChampEvenement.AGE_MIN, this.ageMin, ageMin);
         this.ageMin = ageMin;
     }
 
    
 
+    @Override
+    protected EnumSet<ChampEvenement> getChampsPersistants() {
+        EnumSet<ChampEvenement> champs = super.getChampsPersistants();
+        champs.addAll(EnumSet.of(ChampEvenement.ARTISTE_GROUPE, ChampEvenement.AGE_MIN, ChampEvenement.TYPE_CONCERT));
+        return champs;
+    }
+
     // Implémentation des méthodes abstraites
     @Override
     public String getCategorie() {
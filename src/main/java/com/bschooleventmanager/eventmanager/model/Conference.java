@@ -1,11 +1,13 @@
 package com.bschooleventmanager.eventmanager.model;
 
+import com.bschooleventmanager.eventmanager.model.enums.ChampEvenement;
 import com.bschooleventmanager.eventmanager.model.enums.NiveauExpertise;
 import com.bschooleventmanager.eventmanager.model.enums.StatutEvenement;
 import com.bschooleventmanager.eventmanager.model.enums.TypeEvenement;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 
 // Classe Conference qui hérite de Evenement
 public class Conference extends Evenement {
@@ -47,6 +49,7 @@ public class Conference extends Evenement {
     }
 
     public void setIntervenants(String intervenants) {
+        marquerModifie(ChampEvenement.INTERVENANT, this.intervenants, intervenants);
         this.intervenants = intervenants;
     }
 
@@ -55,6 +58,7 @@ public class Conference extends Evenement {
     }
 
     public void setDomaine(String domaine) {
+        marquerModifie(ChampEvenement.DOMAINE, this.domaine, domaine);
         this.domaine = domaine;
     }
 
@@ -63,10 +67,18 @@ public class Conference extends Evenement {
     }
 
     public void setNiveauExpertise(NiveauExpertise niveauExpertise) {
+        marquerModifie(ChampEvenement.NIVEAU_EXPERTISE, this.niveauExpertise, niveauExpertise);
         this.niveauExpertise = niveauExpertise;
     }
 
    
+    @Override
+    protected EnumSet<ChampEvenement> getChampsPersistants() {
+        EnumSet<ChampEvenement> champs = super.getChampsPersistants();
+        champs.addAll(EnumSet.of(ChampEvenement.DOMAINE, ChampEvenement.INTERVENANT, ChampEvenement.NIVEAU_EXPERTISE));
+        return champs;
+    }
+
     // Implémentation des méthodes abstraites
     @Override
     public String getCategorie() {
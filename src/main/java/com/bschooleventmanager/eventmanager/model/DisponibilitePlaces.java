@@ -0,0 +1,59 @@
+package com.bschooleventmanager.eventmanager.model;
+
+// Capacités et places vendues d'un événement à un instant donné, lues par le suivi des disponibilités
+public class DisponibilitePlaces {
+
+    private final int idEvenement;
+    // version (modifications de l'organisateur) et version_places (ventes) de l'événement
+    private final int version;
+    private final int versionPlaces;
+    private final int placesStandardDisponibles;
+    private final int placesVipDisponibles;
+    private final int placesPremiumDisponibles;
+    private final int placeStandardVendues;
+    private final int placeVipVendues;
+    private final int placePremiumVendues;
+
+    public DisponibilitePlaces(int idEvenement, int version, int versionPlaces,
+                               int placesStandardDisponibles, int placesVipDisponibles, int placesPremiumDisponibles,
+                               int placeStandardVendues, int placeVipVendues, int placePremiumVendues) {
+        this.idEvenement = idEvenement;
+        this.version = version;
+        this.versionPlaces = versionPlaces;
+        this.placesStandardDisponibles = placesStandardDisponibles;
+        this.placesVipDisponibles = placesVipDisponibles;
+        this.placesPremiumDisponibles = placesPremiumDisponibles;
+        this.placeStandardVendues = placeStandardVendues;
+        this.placeVipVendues = placeVipVendues;
+        this.placePremiumVendues = placePremiumVendues;
+    }
+
+    public int getIdEvenement() { return idEvenement; }
+
+    public int getPlacesStandardRestantes() {
+        return Math.max(0, placesStandardDisponibles - placeStandardVendues);
+    }
+
+    public int getPlacesVipRestantes() {
+        return Math.max(0, placesVipDisponibles - placeVipVendues);
+    }
+
+    public int getPlacesPremiumRestantes() {
+        return Math.max(0, placesPremiumDisponibles - placePremiumVendues);
+    }
+
+    // Vrai si aucune vente ni modification n'a eu lieu entre les deux lectures
+    public boolean memeVersion(DisponibilitePlaces autre) {
+        return autre != null && version == autre.version && versionPlaces == autre.versionPlaces;
+    }
+
+    // Reporte les capacités et places vendues sur un événement affiché
+    public void appliquerA(Evenement evenement) {
+        evenement.setPlacesStandardDisponibles(placesStandardDisponibles);
+        evenement.setPlacesVipDisponibles(placesVipDisponibles);
+        evenement.setPlacesPremiumDisponibles(placesPremiumDisponibles);
+        evenement.setPlaceStandardVendues(placeStandardVendues);
+        evenement.setPlaceVipVendues(placeVipVendues);
+        evenement.setPlacePremiumVendues(placePremiumVendues);
+    }
+}
@@ -1,10 +1,15 @@
 package com.bschooleventmanager.eventmanager.model;
 
+import com.bschooleventmanager.eventmanager.model.enums.CategorieTicket;
+import com.bschooleventmanager.eventmanager.model.enums.ChampEvenement;
 import com.bschooleventmanager.eventmanager.model.enums.TypeEvenement;
 import com.bschooleventmanager.eventmanager.model.enums.StatutEvenement;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Classe abstraite représentant un événement.
@@ -32,6 +37,14 @@ public abstract class Evenement {
     protected int placePremiumVendues;
     protected int placeVipVendues;
     protected boolean etatEvent;
+    // Version pour le contrôle de concurrence optimiste, incrémentée à chaque modification
+    protected int version;
+    // Horodatage de la dernière modification en base (colonne maj_le), utilisé par la synchronisation du catalogue
+    protected LocalDateTime majLe;
+    // Prix convertis en montants exacts au premier accès, indexés par CategorieTicket.getOrdre()
+    private final Montant[] tarifs = new Montant[CategorieTicket.values().length];
+    // Champs modifiés depuis le chargement (null : suivi non démarré)
+    private EnumSet<ChampEvenement> champsModifies;
 
     // Constructeur vide
     protected Evenement() {
@@ -118,52 +131,107 @@ public abstract class Evenement {
     public void setIdEvenement(int idEvenement) { this.idEvenement = idEvenement; }
 
     public int getOrganisateurId() { return organisateurId; }
-    public void setOrganisateurId(int organisateurId) { this.organisateurId = organisateurId; }
+    public void setOrganisateurId(int organisateurId) {
+        marquerModifie(ChampEvenement.ORGANISATEUR_ID, this.organisateurId, organisateurId);
+        this.organisateurId = organisateurId;
+    }
 
     public String getNom() { return nom; }
-    public void setNom(String nom) { this.nom = nom; }
+    public void setNom(String nom) {
+        marquerModifie(ChampEvenement.NOM, this.nom, nom);
+        this.nom = nom;
+    }
 
     public LocalDateTime getDateEvenement() { return dateEvenement; }
-    public void setDateEvenement(LocalDateTime dateEvenement) { this.dateEvenement = dateEvenement; }
+    public void setDateEvenement(LocalDateTime dateEvenement) {
+        marquerModifie(ChampEvenement.DATE_EVENEMENT, this.dateEvenement, dateEvenement);
+        this.dateEvenement = dateEvenement;
+    }
 
     public String getLieu() { return lieu; }
-    public void setLieu(String lieu) { this.lieu = lieu; }
+    public void setLieu(String lieu) {
+        marquerModifie(ChampEvenement.LIEU, this.lieu, lieu);
+        this.lieu = lieu;
+    }
 
     public TypeEvenement getTypeEvenement() { return typeEvenement; }
-    public void setTypeEvenement(TypeEvenement typeEvenement) { this.typeEvenement = typeEvenement; }
+    public void setTypeEvenement(TypeEvenement typeEvenement) {
+        marquerModifie(ChampEvenement.TYPE_EVENEMENT, this.typeEvenement, typeEvenement);
+        this.typeEvenement = typeEvenement;
+    }
 
     public String getDescription() { return description; }
-    public void setDescription(String description) { this.description = description; }
+    public void setDescription(String description) {
+        marquerModifie(ChampEvenement.DESCRIPTION, this.description, description);
+        this.description = description;
+    }
 
     public int getPlacesStandardDisponibles() { return placesStandardDisponibles; }
     public void setPlacesStandardDisponibles(int placesStandardDisponibles) { 
+        marquerModifie(ChampEvenement.PLACES_STANDARD, this.placesStandardDisponibles, placesStandardDisponibles);
         this.placesStandardDisponibles = placesStandardDisponibles; 
     }
 
     public int getPlacesVipDisponibles() { return placesVipDisponibles; }
     public void setPlacesVipDisponibles(int placesVipDisponibles) { 
+        marquerModifie(ChampEvenement.PLACES_VIP, this.placesVipDisponibles, placesVipDisponibles);
         this.placesVipDisponibles = placesVipDisponibles; 
     }
 
     public int getPlacesPremiumDisponibles() { return placesPremiumDisponibles; }
     public void setPlacesPremiumDisponibles(int placesPremiumDisponibles) { 
+        marquerModifie(ChampEvenement.PLACES_PREMIUM, this.placesPremiumDisponibles, placesPremiumDisponibles);
         this.placesPremiumDisponibles = placesPremiumDisponibles; 
     }
 
     public BigDecimal getPrixStandard() { return prixStandard; }
-    public void setPrixStandard(BigDecimal prixStandard) { this.prixStandard = prixStandard; }
+    public void setPrixStandard(BigDecimal prixStandard) {
+        marquerModifie(ChampEvenement.PRIX_STANDARD, this.prixStandard, prixStandard);
+        this.prixStandard = prixStandard;
+        tarifs[CategorieTicket.STANDARD.getOrdre()] = null;
+    }
 
     public BigDecimal getPrixVip() { return prixVip; }
-    public void setPrixVip(BigDecimal prixVip) { this.prixVip = prixVip; }
+    public void setPrixVip(BigDecimal prixVip) {
+        marquerModifie(ChampEvenement.PRIX_VIP, this.prixVip, prixVip);
+        this.prixVip = prixVip;
+        tarifs[CategorieTicket.VIP.getOrdre()] = null;
+    }
 
     public BigDecimal getPrixPremium() { return prixPremium; }
-    public void setPrixPremium(BigDecimal prixPremium) { this.prixPremium = prixPremium; }
+    public void setPrixPremium(BigDecimal prixPremium) {
+        marquerModifie(ChampEvenement.PRIX_PREMIUM, this.prixPremium, prixPremium);
+        this.prixPremium = prixPremium;
+        tarifs[CategorieTicket.PREMIUM.getOrdre()] = null;
+    }
+
+    /**
+     * Prix d'une place de la catégorie, en montant exact
+     *
+     * @return Le tarif, ou null si la catégorie n'a pas de prix
+     */
+    public Montant getTarif(CategorieTicket categorie) {
+        Montant tarif = tarifs[categorie.getOrdre()];
+        if (tarif == null) {
+            BigDecimal prix = switch (categorie) {
+                case STANDARD -> prixStandard;
+                case VIP -> prixVip;
+                case PREMIUM -> prixPremium;
+            };
+            tarif = Montant.depuisDecimal(prix);
+            tarifs[categorie.getOrdre()] = tarif;
+        }
+        return tarif;
+    }
 
     public LocalDateTime getDateCreation() { return dateCreation; }
     public void setDateCreation(LocalDateTime dateCreation) { this.dateCreation = dateCreation; }
 
     public StatutEvenement getStatut() { return statut; }
-    public void setStatut(StatutEvenement statut) { this.statut = statut; }
+    public void setStatut(StatutEvenement statut) {
+        marquerModifie(ChampEvenement.STATUT, this.statut, statut);
+        this.statut = statut;
+    }
 
     // Getters et Setters pour les nouvelles colonnes
     public int getPlaceStandardVendues() { return placeStandardVendues; }
@@ -176,7 +244,57 @@ public abstract class Evenement {
     public void setPlaceVipVendues(int placeVipVendues) { this.placeVipVendues = placeVipVendues; }
 
     public boolean isEtatEvent() { return etatEvent; }
-    public void setEtatEvent(boolean etatEvent) { this.etatEvent = etatEvent; }
+    public void setEtatEvent(boolean etatEvent) {
+        marquerModifie(ChampEvenement.ETAT_EVENT, this.etatEvent, etatEvent);
+        this.etatEvent = etatEvent;
+    }
+
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
+
+    public LocalDateTime getMajLe() { return majLe; }
+    public void setMajLe(LocalDateTime majLe) { this.majLe = majLe; }
+
+    // Suivi des modifications
+
+    /**
+     * Enregistre un champ comme modifié si sa valeur change.
+     * Sans effet tant que le suivi n'a pas été démarré par {@link #reinitialiserChampsModifies()}.
+     */
+    protected void marquerModifie(ChampEvenement champ, Object ancienneValeur, Object nouvelleValeur) {
+        if (champsModifies == null || champsModifies.contains(champ)) {
+            return;
+        }
+        boolean identique = ancienneValeur instanceof BigDecimal && nouvelleValeur instanceof BigDecimal
+                ? ((BigDecimal) ancienneValeur).compareTo((BigDecimal) nouvelleValeur) == 0
+                : Objects.equals(ancienneValeur, nouvelleValeur);
+        if (!identique) {
+            champsModifies.add(champ);
+        }
+    }
+
+    /**
+     * Retourne les champs modifiés depuis le chargement ou le dernier enregistrement.
+     * Un événement dont le suivi n'a pas démarré (créé en mémoire) retourne tous ses champs.
+     */
+    public Set<ChampEvenement> getChampsModifies() {
+        return champsModifies == null ? getChampsPersistants() : EnumSet.copyOf(champsModifies);
+    }
+
+    /**
+     * Démarre le suivi des modifications à partir de l'état courant.
+     * Appelé par les DAO après un chargement ou un enregistrement.
+     */
+    public void reinitialiserChampsModifies() {
+        champsModifies = EnumSet.noneOf(ChampEvenement.class);
+    }
+
+    /**
+     * Champs enregistrés par une mise à jour complète, complétés par les sous-classes
+     */
+    protected EnumSet<ChampEvenement> getChampsPersistants() {
+        return EnumSet.range(ChampEvenement.ORGANISATEUR_ID, ChampEvenement.ETAT_EVENT);
+    }
 
     // Méthodes utilitaires pour les ventes
     public int getPlacesStandardRestantes() {
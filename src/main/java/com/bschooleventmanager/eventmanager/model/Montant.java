@@ -0,0 +1,158 @@
+package com.bschooleventmanager.eventmanager.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Montant exact dans une devise, exprimé en unités mineures (centimes pour l'euro).
+ *
+ * <p>Les prix, totaux de réservation et paiements sont des montants et non des {@code double} :
+ * les additions et multiplications se font sur des entiers longs, sans erreur d'arrondi ni
+ * allocation de {@link BigDecimal}. La conversion en décimal n'a lieu qu'aux frontières
+ * (colonnes DECIMAL, affichage) ; l'API Stripe reçoit directement les unités mineures.</p>
+ *
+ * <p>Les opérations entre montants de devises différentes sont refusées, et un dépassement de
+ * capacité lève une {@link ArithmeticException}. Les instances sont immuables.</p>
+ */
+public final class Montant implements Comparable<Montant> {
+
+    /** Devise de l'application */
+    public static final Currency EUR = Currency.getInstance("EUR");
+
+    public static final Montant ZERO = new Montant(0, EUR);
+
+    private final long unitesMineures;
+    private final Currency devise;
+
+    private Montant(long unitesMineures, Currency devise) {
+        this.unitesMineures = unitesMineures;
+        this.devise = devise;
+    }
+
+    /**
+     * Montant en centimes d'euro
+     */
+    public static Montant centimes(long centimes) {
+        return centimes == 0 ? ZERO : new Montant(centimes, EUR);
+    }
+
+    /**
+     * Montant en unités mineures d'une devise
+     */
+    public static Montant de(long unitesMineures, Currency devise) {
+        if (devise == null) {
+            throw new IllegalArgumentException("Devise obligatoire");
+        }
+        return unitesMineures == 0 && devise == EUR ? ZERO : new Montant(unitesMineures, devise);
+    }
+
+    /**
+     * Convertit une valeur décimale en euros (colonne DECIMAL, saisie), arrondie au centime
+     *
+     * @return Le montant, ou null si la valeur est null
+     */
+    public static Montant depuisDecimal(BigDecimal valeur) {
+        return depuisDecimal(valeur, EUR);
+    }
+
+    /**
+     * Convertit une valeur décimale dans une devise, arrondie à l'unité mineure
+     *
+     * @return Le montant, ou null si la valeur est null
+     */
+    public static Montant depuisDecimal(BigDecimal valeur, Currency devise) {
+        if (valeur == null) {
+            return null;
+        }
+        int decimales = Math.max(0, devise.getDefaultFractionDigits());
+        return de(valeur.setScale(decimales, RoundingMode.HALF_UP).movePointRight(decimales).longValueExact(), devise);
+    }
+
+    public long getUnitesMineures() {
+        return unitesMineures;
+    }
+
+    public Currency getDevise() {
+        return devise;
+    }
+
+    public Montant plus(Montant autre) {
+        verifierDevise(autre);
+        if (autre.unitesMineures == 0) {
+            return this;
+        }
+        return de(Math.addExact(unitesMineures, autre.unitesMineures), devise);
+    }
+
+    public Montant moins(Montant autre) {
+        verifierDevise(autre);
+        if (autre.unitesMineures == 0) {
+            return this;
+        }
+        return de(Math.subtractExact(unitesMineures, autre.unitesMineures), devise);
+    }
+
+    public Montant fois(int quantite) {
+        if (quantite == 1) {
+            return this;
+        }
+        return de(Math.multiplyExact(unitesMineures, (long) quantite), devise);
+    }
+
+    public boolean estNul() {
+        return unitesMineures == 0;
+    }
+
+    public boolean estPositif() {
+        return unitesMineures > 0;
+    }
+
+    /**
+     * Valeur décimale, pour les colonnes DECIMAL et l'affichage
+     */
+    public BigDecimal versDecimal() {
+        return BigDecimal.valueOf(unitesMineures, Math.max(0, devise.getDefaultFractionDigits()));
+    }
+
+    /**
+     * Montant formaté pour l'affichage, par exemple « 12,50 € »
+     */
+    public String formater() {
+        String symbole = devise == EUR ? "€" : devise.getCurrencyCode();
+        return String.format("%.2f %s", versDecimal(), symbole);
+    }
+
+    @Override
+    public int compareTo(Montant autre) {
+        verifierDevise(autre);
+        return Long.compare(unitesMineures, autre.unitesMineures);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Montant autre)) {
+            return false;
+        }
+        return unitesMineures == autre.unitesMineures && devise.equals(autre.devise);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(unitesMineures) + devise.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return versDecimal().toPlainString() + " " + devise.getCurrencyCode();
+    }
+
+    private void verifierDevise(Montant autre) {
+        if (!devise.equals(autre.devise)) {
+            throw new IllegalArgumentException("Devises incompatibles: " + devise + " et " + autre.devise);
+        }
+    }
+}
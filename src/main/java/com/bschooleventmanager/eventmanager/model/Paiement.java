@@ -2,7 +2,6 @@ package com.bschooleventmanager.eventmanager.model;
 
 import com.bschooleventmanager.eventmanager.model.enums.StatutPaiement;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -11,7 +10,7 @@ import java.time.LocalDateTime;
 public class Paiement {
     private int idPaiement;
     private int idReservation;
-    private BigDecimal montant;
+    private Montant montant;
     private LocalDateTime datePaiement;
     private StatutPaiement statut;
     private String methodePaiement;
@@ -20,7 +19,7 @@ public class Paiement {
     // Constructeurs
     public Paiement() {}
 
-    public Paiement(int idReservation, BigDecimal montant, StatutPaiement statut, String methodePaiement) {
+    public Paiement(int idReservation, Montant montant, StatutPaiement statut, String methodePaiement) {
         this.idReservation = idReservation;
         this.montant = montant;
         this.datePaiement = LocalDateTime.now();
@@ -28,7 +27,7 @@ public class Paiement {
         this.methodePaiement = methodePaiement;
     }
 
-    public Paiement(int idPaiement, int idReservation, BigDecimal montant, LocalDateTime datePaiement, 
+    public Paiement(int idPaiement, int idReservation, Montant montant, LocalDateTime datePaiement, 
                    StatutPaiement statut, String methodePaiement, String numeroTransaction) {
         this.idPaiement = idPaiement;
         this.idReservation = idReservation;
@@ -56,11 +55,11 @@ public class Paiement {
         this.idReservation = idReservation;
     }
 
-    public BigDecimal getMontant() {
+    public Montant getMontant() {
         return montant;
     }
 
-    public void setMontant(BigDecimal montant) {
+    public void setMontant(Montant montant) {
         this.montant = montant;
     }
 
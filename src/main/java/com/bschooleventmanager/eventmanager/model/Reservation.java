@@ -11,11 +11,15 @@ public class Reservation {
     private int idReservation;
     private int clientId;
     private int idEvenement;
-    private String dateReservation;
+    private LocalDateTime dateReservation;
     private StatutReservation statut;
-    private double totalPaye;
+    private Montant totalPaye;
     private List<ReservationDetail> details;
     private LocalDateTime dateAnnulation;
+    // Fin du blocage des places pour une réservation en attente de paiement
+    private LocalDateTime dateExpiration;
+    // Jeton du formulaire de réservation, pour ignorer les soumissions en double
+    private String cleIdempotence;
 
     // Constructeur vide
     public Reservation() {
@@ -23,7 +27,7 @@ public class Reservation {
 
     // Constructeur complet
     public Reservation(int idReservation, int clientId, int idEvenement,
-                       String dateReservation, StatutReservation statut, double totalPaye, List<ReservationDetail> details, LocalDateTime dateAnnulation) {
+                       LocalDateTime dateReservation, StatutReservation statut, Montant totalPaye, List<ReservationDetail> details, LocalDateTime dateAnnulation) {
         this.idReservation = idReservation;
         this.clientId = clientId;
         this.idEvenement = idEvenement;
@@ -37,7 +41,7 @@ public class Reservation {
 
     // Constructeur pour création
     public Reservation(int clientId, int idEvenement,
-                       String dateReservation, StatutReservation statut, double totalPaye) {
+                       LocalDateTime dateReservation, StatutReservation statut, Montant totalPaye) {
         this.clientId = clientId;
         this.idEvenement = idEvenement;
         this.dateReservation = dateReservation;
@@ -55,14 +59,14 @@ public class Reservation {
     public int getIdEvenement() { return idEvenement; }
     public void setIdEvenement(int idEvenement) { this.idEvenement = idEvenement; }
 
-    public String getDateReservation() { return dateReservation; }
-    public void setDateReservation(String dateReservation) { this.dateReservation = dateReservation; }
+    public LocalDateTime getDateReservation() { return dateReservation; }
+    public void setDateReservation(LocalDateTime dateReservation) { this.dateReservation = dateReservation; }
 
     public StatutReservation getStatut() { return statut; }
     public void setStatut(StatutReservation statut) { this.statut = statut; }
 
-    public double getTotalPaye() { return totalPaye; }
-    public void setTotalPaye(double totalPaye) { this.totalPaye = totalPaye; }
+    public Montant getTotalPaye() { return totalPaye; }
+    public void setTotalPaye(Montant totalPaye) { this.totalPaye = totalPaye; }
 
     public List<ReservationDetail> getDetails() { return details; }
     public void setDetails(List<ReservationDetail> details) { this.details = details; }
@@ -70,6 +74,19 @@ public class Reservation {
     public LocalDateTime getDateAnnulation() { return dateAnnulation; }
     public void setDateAnnulation(LocalDateTime dateAnnulation) { this.dateAnnulation = dateAnnulation; }
 
+    public LocalDateTime getDateExpiration() { return dateExpiration; }
+    public void setDateExpiration(LocalDateTime dateExpiration) { this.dateExpiration = dateExpiration; }
+
+    public String getCleIdempotence() { return cleIdempotence; }
+    public void setCleIdempotence(String cleIdempotence) { this.cleIdempotence = cleIdempotence; }
+
+    // Une réservation en attente dont le délai de paiement est dépassé
+    public boolean isDelaiPaiementDepasse() {
+        return statut == StatutReservation.EN_ATTENTE
+                && dateExpiration != null
+                && LocalDateTime.now().isAfter(dateExpiration);
+    }
+
     // Méthode toString
     @Override
     public String toString() {
@@ -11,8 +11,8 @@ public class ReservationDetail {
     private int idReservation;
     private CategorieTicket categoriePlace;
     private int nombreTickets;
-    private double prixUnitaire;
-    private double sousTotal;
+    private Montant prixUnitaire;
+    private Montant sousTotal;
 
 
     // Constructeur vide
@@ -21,7 +21,7 @@ public class ReservationDetail {
 
     // Constructeur complet
     public ReservationDetail(int idDetail, int idReservation, CategorieTicket categoriePlace,
-                             int nombreTickets, double prixUnitaire, double sousTotal) {
+                             int nombreTickets, Montant prixUnitaire, Montant sousTotal) {
         this.idDetail = idDetail;
         this.idReservation = idReservation;
         this.categoriePlace = categoriePlace;
@@ -32,12 +32,12 @@ public class ReservationDetail {
 
     // Constructeur pour création
     public ReservationDetail(int idReservation, CategorieTicket categoriePlace,
-                             int nombreTickets, double prixUnitaire) {
+                             int nombreTickets, Montant prixUnitaire) {
         this.idReservation = idReservation;
         this.categoriePlace = categoriePlace;
         this.nombreTickets = nombreTickets;
         this.prixUnitaire = prixUnitaire;
-        this.sousTotal = prixUnitaire * nombreTickets;
+        this.sousTotal = prixUnitaire.fois(nombreTickets);
     }
 
     // Getters et Setters
@@ -53,11 +53,11 @@ public class ReservationDetail {
     public int getNombreTickets() { return nombreTickets; }
     public void setNombreTickets(int nombreTickets) { this.nombreTickets = nombreTickets; }
 
-    public double getPrixUnitaire() { return prixUnitaire; }
-    public void setPrixUnitaire(double prixUnitaire) { this.prixUnitaire = prixUnitaire; }
+    public Montant getPrixUnitaire() { return prixUnitaire; }
+    public void setPrixUnitaire(Montant prixUnitaire) { this.prixUnitaire = prixUnitaire; }
 
-    public double getSousTotal() { return sousTotal; }
-    public void setSousTotal(double sousTotal) { this.sousTotal = sousTotal; }
+    public Montant getSousTotal() { return sousTotal; }
+    public void setSousTotal(Montant sousTotal) { this.sousTotal = sousTotal; }
 
     // Méthode toString
     @Override
@@ -1,11 +1,13 @@
 package com.bschooleventmanager.eventmanager.model;
 
+import com.bschooleventmanager.eventmanager.model.enums.ChampEvenement;
 import com.bschooleventmanager.eventmanager.model.enums.StatutEvenement;
 import com.bschooleventmanager.eventmanager.model.enums.TypeEvenement;
 import com.bschooleventmanager.eventmanager.model.enums.TypeSpectacle;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 
 /**
  * Classe représentant un spectacle, qui est un type spécifique d'événement.
@@ -69,6 +71,7 @@ public class Spectacle extends Evenement {
     }
 
     public void setTypeSpectacle(TypeSpectacle typeSpectacle) {
+        marquerModifie(ChampEvenement.TYPE_SPECTACLE, this.typeSpectacle, typeSpectacle);
         this.typeSpectacle = typeSpectacle;
     }
 
@@ -77,6 +80,7 @@ public class Spectacle extends Evenement {
     }
 
     public void setTroupe_artistes(String troupe_artistes) {
+        marquerModifie(ChampEvenement.ARTISTE_GROUPE, this.troupe_artistes, troupe_artistes);
         this.troupe_artistes = troupe_artistes;
     }
 
@@ -85,11 +89,19 @@ public class Spectacle extends Evenement {
     }
 
     public void setAgeMin(Integer ageMin) {
+        marquerModifie(ChampEvenement.AGE_MIN, this.ageMin, ageMin);
         this.ageMin = ageMin;
     }
 
     
 
+    @Override
+    protected EnumSet<ChampEvenement> getChampsPersistants() {
+        EnumSet<ChampEvenement> champs = super.getChampsPersistants();
+        champs.addAll(EnumSet.of(ChampEvenement.ARTISTE_GROUPE, ChampEvenement.AGE_MIN, ChampEvenement.TYPE_SPECTACLE));
+        return champs;
+    }
+
     // Implémentation des méthodes abstraites
     @Override
     public String getCategorie() {
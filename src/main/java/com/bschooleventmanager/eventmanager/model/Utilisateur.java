@@ -1,8 +1,12 @@
 package com.bschooleventmanager.eventmanager.model;
 
+import com.bschooleventmanager.eventmanager.model.enums.ChampUtilisateur;
 import com.bschooleventmanager.eventmanager.model.enums.TypeUtilisateur;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Classe abstraite représentant un utilisateur du système de gestion d'événements.
@@ -15,6 +19,8 @@ public abstract class Utilisateur {
     protected String motDePasse;
     protected TypeUtilisateur typeUtilisateur;
     protected LocalDateTime dateCreation;
+    // Champs modifiés depuis le chargement (null : suivi non démarré)
+    private EnumSet<ChampUtilisateur> champsModifies;
 
     // Constructeur vide
     protected Utilisateur() {
@@ -42,10 +48,16 @@ public abstract class Utilisateur {
     public void setIdUtilisateur(int id) { this.idUtilisateur = id; }
 
     public String getNom() { return nom; }
-    public void setNom(String nom) { this.nom = nom; }
+    public void setNom(String nom) {
+        marquerModifie(ChampUtilisateur.NOM, this.nom, nom);
+        this.nom = nom;
+    }
 
     public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
+    public void setEmail(String email) {
+        marquerModifie(ChampUtilisateur.EMAIL, this.email, email);
+        this.email = email;
+    }
 
     public String getMotDePasse() { return motDePasse; }
     public void setMotDePasse(String mdp) { this.motDePasse = mdp; }
@@ -56,6 +68,29 @@ public abstract class Utilisateur {
     public LocalDateTime getDateCreation() { return dateCreation; }
     public void setDateCreation(LocalDateTime date) { this.dateCreation = date; }
 
+    // Suivi des modifications
+
+    private void marquerModifie(ChampUtilisateur champ, Object ancienneValeur, Object nouvelleValeur) {
+        if (champsModifies != null && !Objects.equals(ancienneValeur, nouvelleValeur)) {
+            champsModifies.add(champ);
+        }
+    }
+
+    /**
+     * Retourne les champs modifiés depuis le chargement ou le dernier enregistrement.
+     * Un utilisateur dont le suivi n'a pas démarré (créé en mémoire) retourne tous ses champs.
+     */
+    public Set<ChampUtilisateur> getChampsModifies() {
+        return champsModifies == null ? EnumSet.allOf(ChampUtilisateur.class) : EnumSet.copyOf(champsModifies);
+    }
+
+    /**
+     * Démarre le suivi des modifications à partir de l'état courant (appelé par les DAO)
+     */
+    public void reinitialiserChampsModifies() {
+        champsModifies = EnumSet.noneOf(ChampUtilisateur.class);
+    }
+
     // Méthodes abstraites à implémenter par les classes filles
     public abstract String getRole();
     public abstract void afficherInformations();
@@ -0,0 +1,37 @@
+package com.bschooleventmanager.eventmanager.model;
+
+import java.time.LocalDateTime;
+
+// Ventes (réservations confirmées) sur une période [debut, fin[, pour les rapports et statistiques
+public class VentesPeriode {
+
+    private final LocalDateTime debut;
+    private final LocalDateTime fin;
+    private final int nombreReservations;
+    private final Montant montantTotal;
+
+    public VentesPeriode(LocalDateTime debut, LocalDateTime fin, int nombreReservations, Montant montantTotal) {
+        this.debut = debut;
+        this.fin = fin;
+        this.nombreReservations = nombreReservations;
+        this.montantTotal = montantTotal;
+    }
+
+    public LocalDateTime getDebut() { return debut; }
+
+    public LocalDateTime getFin() { return fin; }
+
+    public int getNombreReservations() { return nombreReservations; }
+
+    public Montant getMontantTotal() { return montantTotal; }
+
+    @Override
+    public String toString() {
+        return "VentesPeriode{" +
+                "debut=" + debut +
+                ", fin=" + fin +
+                ", nombreReservations=" + nombreReservations +
+                ", montantTotal=" + montantTotal +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+package com.bschooleventmanager.eventmanager.model.enums;
+
+/**
+ * Enumération des champs modifiables d'un événement, avec leur colonne dans la table evenements.
+ * Sert au suivi des modifications : seules les colonnes des champs modifiés sont mises à jour.
+ * Les places vendues et la version ne sont pas suivies, elles ont leurs propres mises à jour.
+ */
+public enum ChampEvenement {
+    ORGANISATEUR_ID("organisateur_id"),
+    NOM("nom"),
+    DATE_EVENEMENT("date_evenement"),
+    LIEU("lieu"),
+    TYPE_EVENEMENT("type_evenement"),
+    DESCRIPTION("description"),
+    PLACES_STANDARD("places_standard_disponibles"),
+    PLACES_VIP("places_vip_disponibles"),
+    PLACES_PREMIUM("places_premium_disponibles"),
+    PRIX_STANDARD("prix_standard"),
+    PRIX_VIP("prix_vip"),
+    PRIX_PREMIUM("prix_premium"),
+    STATUT("statut"),
+    ETAT_EVENT("etat_event"),
+    ARTISTE_GROUPE("artiste_groupe"),
+    AGE_MIN("age_min"),
+    TYPE_CONCERT("type_concert"),
+    TYPE_SPECTACLE("type_spectacle"),
+    DOMAINE("domaine"),
+    INTERVENANT("intervenant"),
+    NIVEAU_EXPERTISE("niveau_expertise");
+
+    private final String colonne;
+
+    ChampEvenement(String colonne) {
+        this.colonne = colonne;
+    }
+
+    public String getColonne() {
+        return colonne;
+    }
+}
@@ -0,0 +1,20 @@
+package com.bschooleventmanager.eventmanager.model.enums;
+
+/**
+ * Enumération des champs modifiables d'un utilisateur, avec leur colonne dans la table utilisateurs.
+ * Le mot de passe n'en fait pas partie : il a sa propre mise à jour.
+ */
+public enum ChampUtilisateur {
+    NOM("nom"),
+    EMAIL("email");
+
+    private final String colonne;
+
+    ChampUtilisateur(String colonne) {
+        this.colonne = colonne;
+    }
+
+    public String getColonne() {
+        return colonne;
+    }
+}
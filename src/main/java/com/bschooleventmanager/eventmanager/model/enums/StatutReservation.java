@@ -3,7 +3,8 @@ package com.bschooleventmanager.eventmanager.model.enums;
 public enum StatutReservation {
     CONFIRMEE("Confirmée"),
     ANNULEE("Annulée"),
-    EN_ATTENTE("En attente");
+    EN_ATTENTE("En attente"),
+    EXPIREE("Expirée");
 
     private final String label;
 
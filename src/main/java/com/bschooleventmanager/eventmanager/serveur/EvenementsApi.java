@@ -0,0 +1,151 @@
+package com.bschooleventmanager.eventmanager.serveur;
+
+import com.bschooleventmanager.eventmanager.model.Concert;
+import com.bschooleventmanager.eventmanager.model.Conference;
+import com.bschooleventmanager.eventmanager.model.Evenement;
+import com.bschooleventmanager.eventmanager.model.Spectacle;
+import com.bschooleventmanager.eventmanager.service.CatalogueEvenementsService;
+import com.bschooleventmanager.eventmanager.service.EvenementService;
+import com.bschooleventmanager.eventmanager.service.FileAttenteService;
+import com.bschooleventmanager.eventmanager.util.AppConfig;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ressource /api/evenements : catalogue, détail d'un événement et file d'attente.
+ *
+ * <ul>
+ *   <li>GET /api/evenements - événements actifs, lus dans le catalogue synchronisé au plus
+ *       toutes les {@code serveur.catalogue.fraicheur.ms} (défaut 1000)</li>
+ *   <li>GET /api/evenements/{id} - détail d'un événement actif, relu en base</li>
+ *   <li>POST /api/evenements/{id}/file-attente - rejoint la file d'attente (authentifié)</li>
+ *   <li>GET /api/evenements/{id}/file-attente - position dans la file (authentifié)</li>
+ *   <li>DELETE /api/evenements/{id}/file-attente - quitte la file (authentifié)</li>
+ * </ul>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class EvenementsApi extends GestionnaireApi {
+
+    private final EvenementService evenementService = new EvenementService();
+    private final CatalogueEvenementsService catalogue = CatalogueEvenementsService.getInstance();
+    private final FileAttenteService fileAttente = FileAttenteService.getInstance();
+    private final long fraicheurCatalogueMillis;
+
+    public EvenementsApi(SessionsServeur sessions) {
+        super(sessions);
+        this.fraicheurCatalogueMillis = Math.max(0, AppConfig.getInt("serveur.catalogue.fraicheur.ms", 1000));
+    }
+
+    @Override
+    protected Reponse traiter(Requete requete) throws Exception {
+        switch (requete.nombreSegments()) {
+            case 0:
+                exigerMethode(requete, "GET");
+                List<Map<String, Object>> evenements = new ArrayList<>();
+                for (Evenement evenement : catalogue.getEvenementsActifs(fraicheurCatalogueMillis)) {
+                    evenements.add(evenementEnJson(evenement));
+                }
+                return Reponse.ok(evenements);
+            case 1:
+                exigerMethode(requete, "GET");
+                Evenement evenement = evenementService.getEvenement(requete.identifiant(0));
+                if (!evenement.isEtatEvent()) {
+                    throw ErreurApi.introuvable();
+                }
+                return Reponse.ok(evenementEnJson(evenement));
+            case 2:
+                if (!"file-attente".equals(requete.segment(1))) {
+                    throw ErreurApi.introuvable();
+                }
+                return traiterFileAttente(requete, requete.identifiant(0));
+            default:
+                throw ErreurApi.introuvable();
+        }
+    }
+
+    private Reponse traiterFileAttente(Requete requete, int idEvenement) {
+        int idUtilisateur = requete.utilisateur().getIdUtilisateur();
+        FileAttenteService.PositionFile position;
+        switch (requete.getMethode()) {
+            case "POST":
+                position = fileAttente.rejoindre(idEvenement, idUtilisateur);
+                break;
+            case "GET":
+                position = fileAttente.consulter(idEvenement, idUtilisateur);
+                if (position == null) {
+                    throw new ErreurApi(404, "Vous n'êtes pas dans la file d'attente de cet événement");
+                }
+                break;
+            case "DELETE":
+                fileAttente.quitter(idEvenement, idUtilisateur);
+                return Reponse.vide();
+            default:
+                throw ErreurApi.methodeNonAutorisee();
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("position", position.getPosition());
+        json.put("secondesRestantes", position.getSecondesRestantes());
+        json.put("admis", position.isAdmis());
+        return Reponse.ok(json);
+    }
+
+    private static void exigerMethode(Requete requete, String methode) {
+        if (!methode.equals(requete.getMethode())) {
+            throw ErreurApi.methodeNonAutorisee();
+        }
+    }
+
+    /**
+     * Représentation JSON d'un événement, avec ses places restantes et ses champs propres au type
+     */
+    static Map<String, Object> evenementEnJson(Evenement evenement) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", evenement.getIdEvenement());
+        json.put("organisateurId", evenement.getOrganisateurId());
+        json.put("nom", evenement.getNom());
+        json.put("type", evenement.getTypeEvenement());
+        json.put("date", evenement.getDateEvenement());
+        json.put("lieu", evenement.getLieu());
+        json.put("description", evenement.getDescription());
+        json.put("statut", evenement.getStatut());
+        json.put("version", evenement.getVersion());
+
+        Map<String, Object> places = new LinkedHashMap<>();
+        places.put("standard", categorieEnJson(evenement.getPrixStandard(),
+                evenement.getPlacesStandardDisponibles(), evenement.getPlacesStandardRestantes()));
+        places.put("vip", categorieEnJson(evenement.getPrixVip(),
+                evenement.getPlacesVipDisponibles(), evenement.getPlacesVipRestantes()));
+        places.put("premium", categorieEnJson(evenement.getPrixPremium(),
+                evenement.getPlacesPremiumDisponibles(), evenement.getPlacesPremiumRestantes()));
+        json.put("places", places);
+
+        if (evenement instanceof Concert concert) {
+            json.put("artiste", concert.getArtiste_groupe());
+            json.put("typeConcert", concert.getType());
+            json.put("ageMin", concert.getAgeMin());
+        } else if (evenement instanceof Conference conference) {
+            json.put("intervenants", conference.getIntervenants());
+            json.put("domaine", conference.getDomaine());
+            json.put("niveauExpertise", conference.getNiveauExpertise());
+        } else if (evenement instanceof Spectacle spectacle) {
+            json.put("troupe", spectacle.getTroupe_artistes());
+            json.put("typeSpectacle", spectacle.getTypeSpectacle());
+            json.put("ageMin", spectacle.getAgeMin());
+        }
+        return json;
+    }
+
+    private static Map<String, Object> categorieEnJson(Object prix, int capacite, int restantes) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("prix", prix);
+        json.put("capacite", capacite);
+        json.put("restantes", restantes);
+        return json;
+    }
+}
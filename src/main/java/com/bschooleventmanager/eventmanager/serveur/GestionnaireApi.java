@@ -0,0 +1,300 @@
+package com.bschooleventmanager.eventmanager.serveur;
+
+import com.bschooleventmanager.eventmanager.dao.DatabaseConnection;
+import com.bschooleventmanager.eventmanager.exception.AnnulationTardiveException;
+import com.bschooleventmanager.eventmanager.exception.BusinessException;
+import com.bschooleventmanager.eventmanager.exception.ModificationConcurrenteException;
+import com.bschooleventmanager.eventmanager.exception.PaiementInvalideException;
+import com.bschooleventmanager.eventmanager.exception.PlacesInsuffisantesException;
+import com.bschooleventmanager.eventmanager.model.Utilisateur;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base des ressources de l'API : découpage du chemin, lecture du corps JSON, authentification
+ * par jeton et traduction des exceptions métier en codes HTTP.
+ *
+ * <p>Une ressource reçoit la méthode HTTP et les segments du chemin situés après son contexte
+ * (par exemple {@code ["12", "annulation"]} pour {@code POST /api/reservations/12/annulation})
+ * et retourne une {@link Reponse} sérialisée en JSON. Les erreurs sont renvoyées sous la forme
+ * {@code {"erreur": "..."}} :</p>
+ * <ul>
+ *   <li>400 - corps ou paramètre invalide</li>
+ *   <li>401 - jeton absent ou expiré</li>
+ *   <li>404 - ressource inconnue</li>
+ *   <li>405 - méthode non prise en charge par la ressource</li>
+ *   <li>409 - places insuffisantes, annulation tardive, modification concurrente</li>
+ *   <li>413 - corps de requête trop volumineux</li>
+ *   <li>422 - règle métier refusée (BusinessException, paiement invalide)</li>
+ *   <li>500 - erreur inattendue</li>
+ * </ul>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public abstract class GestionnaireApi implements HttpHandler {
+    private static final Logger logger = LoggerFactory.getLogger(GestionnaireApi.class);
+
+    /** Taille maximale d'un corps de requête */
+    private static final int CORPS_MAX_OCTETS = 64 * 1024;
+
+    protected final SessionsServeur sessions;
+
+    protected GestionnaireApi(SessionsServeur sessions) {
+        this.sessions = sessions;
+    }
+
+    /**
+     * Traite une requête adressée à la ressource
+     *
+     * @throws ErreurApi Pour répondre directement avec un code d'erreur
+     */
+    protected abstract Reponse traiter(Requete requete) throws Exception;
+
+    @Override
+    public void handle(HttpExchange echange) throws IOException {
+        int statut;
+        Object corps;
+        try {
+            Reponse reponse = traiter(new Requete(echange));
+            statut = reponse.statut;
+            corps = reponse.corps;
+        } catch (ErreurApi e) {
+            statut = e.statut;
+            corps = Map.of("erreur", e.getMessage());
+        } catch (PlacesInsuffisantesException | AnnulationTardiveException | ModificationConcurrenteException e) {
+            statut = 409;
+            corps = Map.of("erreur", e.getMessage());
+        } catch (BusinessException | PaiementInvalideException e) {
+            statut = 422;
+            corps = Map.of("erreur", e.getMessage());
+        } catch (Exception e) {
+            logger.error("Erreur inattendue sur {} {}", echange.getRequestMethod(), echange.getRequestURI(), e);
+            statut = 500;
+            corps = Map.of("erreur", "Erreur interne du serveur");
+        } finally {
+            DatabaseConnection.getInstance().definirContexte(null);
+        }
+        envoyer(echange, statut, corps);
+    }
+
+    private static void envoyer(HttpExchange echange, int statut, Object corps) throws IOException {
+        try (echange) {
+            byte[] octets = corps == null ? new byte[0] : Json.ecrire(corps).getBytes(StandardCharsets.UTF_8);
+            echange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            echange.sendResponseHeaders(statut, octets.length == 0 ? -1 : octets.length);
+            if (octets.length > 0) {
+                try (OutputStream sortie = echange.getResponseBody()) {
+                    sortie.write(octets);
+                }
+            }
+        }
+    }
+
+    /**
+     * Réponse d'une ressource : code HTTP et corps à sérialiser en JSON
+     */
+    protected static final class Reponse {
+        private final int statut;
+        private final Object corps;
+
+        private Reponse(int statut, Object corps) {
+            this.statut = statut;
+            this.corps = corps;
+        }
+
+        public static Reponse ok(Object corps) {
+            return new Reponse(200, corps);
+        }
+
+        public static Reponse cree(Object corps) {
+            return new Reponse(201, corps);
+        }
+
+        public static Reponse vide() {
+            return new Reponse(204, null);
+        }
+
+        public static Reponse avecStatut(int statut, Object corps) {
+            return new Reponse(statut, corps);
+        }
+    }
+
+    /**
+     * Erreur renvoyée telle quelle au client avec son code HTTP
+     */
+    protected static final class ErreurApi extends RuntimeException {
+        private final int statut;
+
+        public ErreurApi(int statut, String message) {
+            super(message);
+            this.statut = statut;
+        }
+
+        public static ErreurApi introuvable() {
+            return new ErreurApi(404, "Ressource introuvable");
+        }
+
+        public static ErreurApi methodeNonAutorisee() {
+            return new ErreurApi(405, "Méthode non autorisée");
+        }
+    }
+
+    /**
+     * Requête reçue par une ressource
+     */
+    protected final class Requete {
+        private final HttpExchange echange;
+        private final String methode;
+        private final List<String> segments;
+        private Map<String, Object> corps;
+
+        private Requete(HttpExchange echange) {
+            this.echange = echange;
+            this.methode = echange.getRequestMethod().toUpperCase();
+
+            String chemin = echange.getRequestURI().getPath();
+            String contexte = echange.getHttpContext().getPath();
+            List<String> decoupe = new ArrayList<>();
+            for (String segment : chemin.substring(Math.min(contexte.length(), chemin.length())).split("/")) {
+                if (!segment.isEmpty()) {
+                    decoupe.add(segment);
+                }
+            }
+            this.segments = decoupe;
+        }
+
+        public String getMethode() {
+            return methode;
+        }
+
+        /** Nombre de segments du chemin après le contexte de la ressource */
+        public int nombreSegments() {
+            return segments.size();
+        }
+
+        public String segment(int index) {
+            return segments.get(index);
+        }
+
+        /** Segment du chemin interprété comme un identifiant */
+        public int identifiant(int index) {
+            try {
+                return Integer.parseInt(segments.get(index));
+            } catch (NumberFormatException e) {
+                throw ErreurApi.introuvable();
+            }
+        }
+
+        /** Adresse de l'appelant, utilisée comme clé du limiteur de connexions */
+        public String adresseClient() {
+            return echange.getRemoteAddress().getAddress().getHostAddress();
+        }
+
+        /**
+         * Retourne l'utilisateur du jeton présenté dans l'en-tête {@code Authorization: Bearer ...}
+         *
+         * @throws ErreurApi 401 si le jeton est absent ou expiré
+         */
+        public Utilisateur utilisateur() {
+            Utilisateur utilisateur = sessions.utilisateur(jeton());
+            if (utilisateur == null) {
+                throw new ErreurApi(401, "Authentification requise");
+            }
+            // Après une réservation, cet utilisateur relit ses données sur la base principale
+            DatabaseConnection.getInstance().definirContexte(utilisateur.getIdUtilisateur());
+            return utilisateur;
+        }
+
+        public String jeton() {
+            String entete = echange.getRequestHeaders().getFirst("Authorization");
+            if (entete == null || !entete.regionMatches(true, 0, "Bearer ", 0, 7)) {
+                return null;
+            }
+            return entete.substring(7).trim();
+        }
+
+        public String chaine(String nom) {
+            Object valeur = corps().get(nom);
+            if (valeur == null) {
+                throw new ErreurApi(400, "Paramètre manquant: " + nom);
+            }
+            return valeur.toString();
+        }
+
+        public String chaineOu(String nom, String parDefaut) {
+            Object valeur = corps().get(nom);
+            return valeur == null ? parDefaut : valeur.toString();
+        }
+
+        public int entier(String nom) {
+            Object valeur = corps().get(nom);
+            if (valeur == null) {
+                throw new ErreurApi(400, "Paramètre manquant: " + nom);
+            }
+            return versEntier(nom, valeur);
+        }
+
+        public int entierOu(String nom, int parDefaut) {
+            Object valeur = corps().get(nom);
+            return valeur == null ? parDefaut : versEntier(nom, valeur);
+        }
+
+        public boolean booleenOu(String nom, boolean parDefaut) {
+            Object valeur = corps().get(nom);
+            if (valeur == null) {
+                return parDefaut;
+            }
+            if (!(valeur instanceof Boolean)) {
+                throw new ErreurApi(400, "Booléen attendu: " + nom);
+            }
+            return (Boolean) valeur;
+        }
+
+        private int versEntier(String nom, Object valeur) {
+            if (valeur instanceof BigDecimal nombre) {
+                try {
+                    return nombre.intValueExact();
+                } catch (ArithmeticException e) {
+                    // Nombre décimal ou hors limites : traité comme invalide ci-dessous
+                }
+            }
+            throw new ErreurApi(400, "Entier attendu: " + nom);
+        }
+
+        /** Corps JSON de la requête, lu au premier accès (objet vide si absent) */
+        private Map<String, Object> corps() {
+            if (corps == null) {
+                corps = lireCorps();
+            }
+            return corps;
+        }
+
+        private Map<String, Object> lireCorps() {
+            try (InputStream entree = echange.getRequestBody()) {
+                byte[] octets = entree.readNBytes(CORPS_MAX_OCTETS + 1);
+                if (octets.length > CORPS_MAX_OCTETS) {
+                    throw new ErreurApi(413, "Corps de requête trop volumineux");
+                }
+                String texte = new String(octets, StandardCharsets.UTF_8);
+                return texte.isBlank() ? Map.of() : Json.lireObjet(texte);
+            } catch (IllegalArgumentException e) {
+                throw new ErreurApi(400, e.getMessage());
+            } catch (IOException e) {
+                throw new ErreurApi(400, "Lecture du corps de requête impossible");
+            }
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.bschooleventmanager.eventmanager.serveur;
+
+import java.math.BigDecimal;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lecture et écriture JSON minimales pour l'API du serveur.
+ *
+ * <p>L'écriture accepte les Map, collections, chaînes, nombres, booléens, énumérations (écrites
+ * par leur nom) et dates java.time (écrites au format ISO-8601). La lecture produit des
+ * LinkedHashMap, ArrayList, String, BigDecimal, Boolean et null.</p>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public final class Json {
+
+    // Constructeur privé pour empêcher l'instanciation
+    private Json() {
+        throw new UnsupportedOperationException("Classe utilitaire - ne peut pas être instanciée");
+    }
+
+    /**
+     * Écrit une valeur en JSON
+     *
+     * @throws IllegalArgumentException Si la valeur contient un type non pris en charge
+     */
+    public static String ecrire(Object valeur) {
+        StringBuilder sortie = new StringBuilder(256);
+        ecrire(valeur, sortie);
+        return sortie.toString();
+    }
+
+    /**
+     * Lit un objet JSON
+     *
+     * @throws IllegalArgumentException Si le texte n'est pas un objet JSON valide
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> lireObjet(String texte) {
+        Object valeur = new Lecteur(texte).lireDocument();
+        if (!(valeur instanceof Map)) {
+            throw new IllegalArgumentException("Un objet JSON est attendu");
+        }
+        return (Map<String, Object>) valeur;
+    }
+
+    private static void ecrire(Object valeur, StringBuilder sortie) {
+        if (valeur == null) {
+            sortie.append("null");
+        } else if (valeur instanceof String chaine) {
+            ecrireChaine(chaine, sortie);
+        } else if (valeur instanceof BigDecimal decimal) {
+            sortie.append(decimal.toPlainString());
+        } else if (valeur instanceof Double || valeur instanceof Float) {
+            double nombre = ((Number) valeur).doubleValue();
+            if (Double.isNaN(nombre) || Double.isInfinite(nombre)) {
+                sortie.append("null");
+            } else {
+                sortie.append(BigDecimal.valueOf(nombre).toPlainString());
+            }
+        } else if (valeur instanceof Number || valeur instanceof Boolean) {
+            sortie.append(valeur);
+        } else if (valeur instanceof Enum<?> constante) {
+            ecrireChaine(constante.name(), sortie);
+        } else if (valeur instanceof TemporalAccessor) {
+            ecrireChaine(valeur.toString(), sortie);
+        } else if (valeur instanceof Map<?, ?> map) {
+            sortie.append('{');
+            boolean premier = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!premier) {
+                    sortie.append(',');
+                }
+                premier = false;
+                ecrireChaine(String.valueOf(entry.getKey()), sortie);
+                sortie.append(':');
+                ecrire(entry.getValue(), sortie);
+            }
+            sortie.append('}');
+        } else if (valeur instanceof Collection<?> collection) {
+            sortie.append('[');
+            boolean premier = true;
+            for (Object element : collection) {
+                if (!premier) {
+                    sortie.append(',');
+                }
+                premier = false;
+                ecrire(element, sortie);
+            }
+            sortie.append(']');
+        } else {
+            throw new IllegalArgumentException("Type non sérialisable en JSON: " + valeur.getClass().getName());
+        }
+    }
+
+    private static void ecrireChaine(String chaine, StringBuilder sortie) {
+        sortie.append('"');
+        for (int i = 0; i < chaine.length(); i++) {
+            char c = chaine.charAt(i);
+            switch (c) {
+                case '"' -> sortie.append("\\\"");
+                case '\\' -> sortie.append("\\\\");
+                case '\n' -> sortie.append("\\n");
+                case '\r' -> sortie.append("\\r");
+                case '\t' -> sortie.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sortie.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sortie.append(c);
+                    }
+                }
+            }
+        }
+        sortie.append('"');
+    }
+
+    /**
+     * Analyseur récursif d'un document JSON
+     */
+    private static final class Lecteur {
+        /** Profondeur d'imbrication maximale, pour qu'un corps malveillant n'épuise pas la pile */
+        private static final int PROFONDEUR_MAX = 32;
+
+        private final String texte;
+        private int position;
+        private int profondeur;
+
+        private Lecteur(String texte) {
+            this.texte = texte == null ? "" : texte;
+        }
+
+        private Object lireDocument() {
+            Object valeur = lireValeur();
+            ignorerEspaces();
+            if (position != texte.length()) {
+                throw erreur("contenu inattendu après la valeur");
+            }
+            return valeur;
+        }
+
+        private Object lireValeur() {
+            ignorerEspaces();
+            if (position >= texte.length()) {
+                throw erreur("fin de document inattendue");
+            }
+            char c = texte.charAt(position);
+            switch (c) {
+                case '{':
+                    return lireObjet();
+                case '[':
+                    return lireTableau();
+                case '"':
+                    return lireChaine();
+                case 't':
+                    return lireMot("true", Boolean.TRUE);
+                case 'f':
+                    return lireMot("false", Boolean.FALSE);
+                case 'n':
+                    return lireMot("null", null);
+                default:
+                    if (c == '-' || (c >= '0' && c <= '9')) {
+                        return lireNombre();
+                    }
+                    throw erreur("caractère inattendu '" + c + "'");
+            }
+        }
+
+        private Map<String, Object> lireObjet() {
+            entrer();
+            Map<String, Object> objet = new LinkedHashMap<>();
+            position++;
+            ignorerEspaces();
+            if (suivantEst('}')) {
+                position++;
+                profondeur--;
+                return objet;
+            }
+            while (true) {
+                ignorerEspaces();
+                if (!suivantEst('"')) {
+                    throw erreur("nom de propriété attendu");
+                }
+                String cle = lireChaine();
+                ignorerEspaces();
+                attendre(':');
+                objet.put(cle, lireValeur());
+                ignorerEspaces();
+                if (suivantEst(',')) {
+                    position++;
+                } else {
+                    attendre('}');
+                    profondeur--;
+                    return objet;
+                }
+            }
+        }
+
+        private List<Object> lireTableau() {
+            entrer();
+            List<Object> tableau = new ArrayList<>();
+            position++;
+            ignorerEspaces();
+            if (suivantEst(']')) {
+                position++;
+                profondeur--;
+                return tableau;
+            }
+            while (true) {
+                tableau.add(lireValeur());
+                ignorerEspaces();
+                if (suivantEst(',')) {
+                    position++;
+                } else {
+                    attendre(']');
+                    profondeur--;
+                    return tableau;
+                }
+            }
+        }
+
+        private String lireChaine() {
+            position++;
+            StringBuilder chaine = new StringBuilder();
+            while (position < texte.length()) {
+                char c = texte.charAt(position++);
+                if (c == '"') {
+                    return chaine.toString();
+                }
+                if (c != '\\') {
+                    chaine.append(c);
+                    continue;
+                }
+                if (position >= texte.length()) {
+                    break;
+                }
+                char echappe = texte.charAt(position++);
+                switch (echappe) {
+                    case '"', '\\', '/' -> chaine.append(echappe);
+                    case 'b' -> chaine.append('\b');
+                    case 'f' -> chaine.append('\f');
+                    case 'n' -> chaine.append('\n');
+                    case 'r' -> chaine.append('\r');
+                    case 't' -> chaine.append('\t');
+                    case 'u' -> {
+                        if (position + 4 > texte.length()) {
+                            throw erreur("séquence unicode incomplète");
+                        }
+                        try {
+                            chaine.append((char) Integer.parseInt(texte.substring(position, position + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw erreur("séquence unicode invalide");
+                        }
+                        position += 4;
+                    }
+                    default -> throw erreur("échappement invalide '\\" + echappe + "'");
+                }
+            }
+            throw erreur("chaîne non terminée");
+        }
+
+        private BigDecimal lireNombre() {
+            int debut = position;
+            while (position < texte.length() && "+-0123456789.eE".indexOf(texte.charAt(position)) >= 0) {
+                position++;
+            }
+            try {
+                return new BigDecimal(texte.substring(debut, position));
+            } catch (NumberFormatException e) {
+                throw erreur("nombre invalide");
+            }
+        }
+
+        private Object lireMot(String mot, Object valeur) {
+            if (!texte.startsWith(mot, position)) {
+                throw erreur("valeur inconnue");
+            }
+            position += mot.length();
+            return valeur;
+        }
+
+        private void entrer() {
+            if (++profondeur > PROFONDEUR_MAX) {
+                throw erreur("imbrication trop profonde");
+            }
+        }
+
+        private void attendre(char attendu) {
+            if (!suivantEst(attendu)) {
+                throw erreur("'" + attendu + "' attendu");
+            }
+            position++;
+        }
+
+        private boolean suivantEst(char c) {
+            return position < texte.length() && texte.charAt(position) == c;
+        }
+
+        private void ignorerEspaces() {
+            while (position < texte.length() && Character.isWhitespace(texte.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException erreur(String message) {
+            return new IllegalArgumentException("JSON invalide à la position " + position + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.bschooleventmanager.eventmanager.serveur;
+
+import com.bschooleventmanager.eventmanager.model.Evenement;
+import com.bschooleventmanager.eventmanager.model.Paiement;
+import com.bschooleventmanager.eventmanager.model.Reservation;
+import com.bschooleventmanager.eventmanager.model.ReservationDetail;
+import com.bschooleventmanager.eventmanager.model.Utilisateur;
+import com.bschooleventmanager.eventmanager.model.enums.MethodePaiement;
+import com.bschooleventmanager.eventmanager.service.EvenementService;
+import com.bschooleventmanager.eventmanager.service.PaiementService;
+import com.bschooleventmanager.eventmanager.service.ReservationService;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ressource /api/reservations : historique, réservation, annulation et paiement.
+ * Toutes les requêtes sont authentifiées et limitées aux réservations de l'utilisateur du jeton.
+ *
+ * <ul>
+ *   <li>GET /api/reservations - historique du client, avec les événements concernés</li>
+ *   <li>POST /api/reservations {"idEvenement", "standard", "vip", "premium", "payerMaintenant",
+ *       "cleIdempotence"} - crée une réservation (le client doit avoir été admis par la file d'attente)</li>
+ *   <li>GET /api/reservations/{id} - détail d'une réservation</li>
+ *   <li>POST /api/reservations/{id}/annulation - annule une réservation</li>
+ *   <li>POST /api/reservations/{id}/paiement {"nomPorteur", "numeroCarte", "cvv", "moisExpiration",
+ *       "anneeExpiration", "methode"} - paie une réservation en attente</li>
+ * </ul>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class ReservationsApi extends GestionnaireApi {
+
+    private final ReservationService reservationService = new ReservationService();
+    private final EvenementService evenementService = new EvenementService();
+    private final PaiementService paiementService = new PaiementService();
+
+    public ReservationsApi(SessionsServeur sessions) {
+        super(sessions);
+    }
+
+    @Override
+    protected Reponse traiter(Requete requete) throws Exception {
+        Utilisateur utilisateur = requete.utilisateur();
+        String methode = requete.getMethode();
+
+        if (requete.nombreSegments() == 0) {
+            if ("GET".equals(methode)) {
+                return Reponse.ok(historique(utilisateur));
+            }
+            if ("POST".equals(methode)) {
+                return Reponse.cree(reserver(requete, utilisateur));
+            }
+            throw ErreurApi.methodeNonAutorisee();
+        }
+
+        int idReservation = requete.identifiant(0);
+        if (requete.nombreSegments() == 1) {
+            if (!"GET".equals(methode)) {
+                throw ErreurApi.methodeNonAutorisee();
+            }
+            return Reponse.ok(reservationEnJson(
+                    reservationService.getReservationClient(idReservation, utilisateur.getIdUtilisateur()), null));
+        }
+        if (requete.nombreSegments() == 2 && "POST".equals(methode)) {
+            switch (requete.segment(1)) {
+                case "annulation":
+                    reservationService.annulerReservation(idReservation, utilisateur);
+                    return Reponse.ok(reservationEnJson(
+                            reservationService.getReservationClient(idReservation, utilisateur.getIdUtilisateur()), null));
+                case "paiement":
+                    return Reponse.ok(payer(requete, utilisateur, idReservation));
+                default:
+                    break;
+            }
+        }
+        throw ErreurApi.introuvable();
+    }
+
+    private List<Map<String, Object>> historique(Utilisateur utilisateur) throws Exception {
+        ReservationService.HistoriqueClient historique =
+                reservationService.getHistoriqueClient(utilisateur.getIdUtilisateur());
+        List<Map<String, Object>> reservations = new ArrayList<>();
+        for (Reservation reservation : historique.getReservations()) {
+            reservations.add(reservationEnJson(reservation, historique.getEvenement(reservation.getIdEvenement())));
+        }
+        return reservations;
+    }
+
+    private Map<String, Object> reserver(Requete requete, Utilisateur utilisateur) throws Exception {
+        Evenement evenement = evenementService.getEvenement(requete.entier("idEvenement"));
+        Reservation reservation = reservationService.creerReservation(utilisateur, evenement,
+                requete.entierOu("standard", 0), requete.entierOu("vip", 0), requete.entierOu("premium", 0),
+                requete.booleenOu("payerMaintenant", false), requete.chaineOu("cleIdempotence", null));
+        return reservationEnJson(reservation, null);
+    }
+
+    private Map<String, Object> payer(Requete requete, Utilisateur utilisateur, int idReservation) throws Exception {
+        // Vérifie que la réservation appartient à l'utilisateur avant tout appel à la passerelle
+        reservationService.getReservationClient(idReservation, utilisateur.getIdUtilisateur());
+
+        MethodePaiement methode;
+        try {
+            methode = MethodePaiement.valueOf(requete.chaineOu("methode", MethodePaiement.CARTE_CREDIT.name()));
+        } catch (IllegalArgumentException e) {
+            throw new ErreurApi(400, "Méthode de paiement inconnue");
+        }
+        Paiement paiement = paiementService.traiterPaiement(idReservation,
+                requete.chaine("nomPorteur"), requete.chaine("numeroCarte"), requete.chaine("cvv"),
+                requete.chaine("moisExpiration"), requete.chaine("anneeExpiration"), methode);
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", paiement.getIdPaiement());
+        json.put("idReservation", paiement.getIdReservation());
+        json.put("montant", paiement.getMontant().versDecimal());
+        json.put("date", paiement.getDatePaiement());
+        json.put("statut", paiement.getStatut());
+        json.put("methode", paiement.getMethodePaiement());
+        json.put("numeroTransaction", paiement.getNumeroTransaction());
+        return json;
+    }
+
+    private static Map<String, Object> reservationEnJson(Reservation reservation, Evenement evenement) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", reservation.getIdReservation());
+        json.put("idEvenement", reservation.getIdEvenement());
+        json.put("date", reservation.getDateReservation());
+        json.put("statut", reservation.getStatut());
+        json.put("total", reservation.getTotalPaye().versDecimal());
+        json.put("dateExpiration", reservation.getDateExpiration());
+        json.put("dateAnnulation", reservation.getDateAnnulation());
+
+        List<Map<String, Object>> details = new ArrayList<>();
+        if (reservation.getDetails() != null) {
+            for (ReservationDetail detail : reservation.getDetails()) {
+                Map<String, Object> ligne = new LinkedHashMap<>();
+                ligne.put("categorie", detail.getCategoriePlace());
+                ligne.put("nombre", detail.getNombreTickets());
+                ligne.put("prixUnitaire", detail.getPrixUnitaire().versDecimal());
+                ligne.put("sousTotal", detail.getSousTotal().versDecimal());
+                details.add(ligne);
+            }
+        }
+        json.put("details", details);
+        if (evenement != null) {
+            json.put("evenement", EvenementsApi.evenementEnJson(evenement));
+        }
+        return json;
+    }
+}
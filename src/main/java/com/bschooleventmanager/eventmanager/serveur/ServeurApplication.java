@@ -0,0 +1,129 @@
+package com.bschooleventmanager.eventmanager.serveur;
+
+import com.bschooleventmanager.eventmanager.dao.DatabaseConnection;
+import com.bschooleventmanager.eventmanager.dao.RepriseSql;
+import com.bschooleventmanager.eventmanager.service.EvenementService;
+import com.bschooleventmanager.eventmanager.service.DisponibilitePlacesService;
+import com.bschooleventmanager.eventmanager.service.ExpirationReservationService;
+import com.bschooleventmanager.eventmanager.service.HachageMotDePasseService;
+import com.bschooleventmanager.eventmanager.service.InventairePlacesService;
+import com.bschooleventmanager.eventmanager.service.JournalReservationsService;
+import com.bschooleventmanager.eventmanager.service.StripePaymentService;
+import com.bschooleventmanager.eventmanager.util.AppConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point d'entrée du mode serveur, sans interface graphique.
+ *
+ * <p>Expose les services métier (catalogue, réservations, paiements) sous forme d'API JSON sur
+ * le serveur HTTP du JDK. Chaque requête est traitée sur son propre thread virtuel ; l'accès à
+ * la base reste borné par le pool de {@link DatabaseConnection}. Plusieurs postes clients
+ * partagent ainsi un seul processus, son pool de connexions et ses caches (catalogue,
+ * inventaire des places, file d'attente) au lieu d'ouvrir chacun leurs connexions MySQL.</p>
+ *
+ * <p>Le serveur écoute par défaut sur l'interface locale uniquement. Ressources exposées :</p>
+ * <ul>
+ *   <li>/api/sante - état du serveur, des disjoncteurs, compteurs de reprises SQL et journal
+ *       (503 si la base ou Stripe est indisponible)</li>
+ *   <li>/api/sessions - voir {@link SessionsApi}</li>
+ *   <li>/api/evenements - voir {@link EvenementsApi}</li>
+ *   <li>/api/reservations - voir {@link ReservationsApi}</li>
+ * </ul>
+ *
+ * <p>Paramètres (application.properties) :</p>
+ * <ul>
+ *   <li>serveur.adresse - adresse d'écoute (défaut 127.0.0.1)</li>
+ *   <li>serveur.port - port d'écoute (défaut 8080, remplaçable par le premier argument)</li>
+ *   <li>serveur.file.connexions - connexions TCP en attente d'acceptation (défaut 256)</li>
+ * </ul>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class ServeurApplication {
+    private static final Logger logger = LoggerFactory.getLogger(ServeurApplication.class);
+
+    // Constructeur privé pour empêcher l'instanciation
+    private ServeurApplication() {
+        throw new UnsupportedOperationException("Classe utilitaire - ne peut pas être instanciée");
+    }
+
+    public static void main(String[] args) throws IOException {
+        String adresse = AppConfig.getString("serveur.adresse", "127.0.0.1");
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : AppConfig.getInt("serveur.port", 8080);
+        int file = Math.max(0, AppConfig.getInt("serveur.file.connexions", 256));
+
+        logger.info("Démarrage du serveur EventManager v{}", AppConfig.getAppVersion());
+        HttpServer serveur = HttpServer.create(new InetSocketAddress(adresse, port), file);
+        ExecutorService executeur = Executors.newVirtualThreadPerTaskExecutor();
+        serveur.setExecutor(executeur);
+
+        SessionsServeur sessions = new SessionsServeur();
+        serveur.createContext("/api/sante", new GestionnaireApi(sessions) {
+            @Override
+            protected Reponse traiter(Requete requete) {
+                DatabaseConnection base = DatabaseConnection.getInstance();
+                boolean degrade = !base.estDisponible() || StripePaymentService.estIndisponible();
+                Map<String, Object> etat = new LinkedHashMap<>();
+                etat.put("statut", degrade ? "degrade" : "ok");
+                etat.put("version", AppConfig.getAppVersion());
+                etat.put("disjoncteurs", Map.of("bases", base.etatDisjoncteurs(),
+                        "stripe", StripePaymentService.etatDisjoncteur()));
+                etat.put("repriseSql", RepriseSql.statistiques());
+                etat.put("journal", JournalReservationsService.getInstance().statistiques());
+                // 503 tant qu'une dépendance est coupée, pour les sondes de supervision
+                return degrade ? Reponse.avecStatut(503, etat) : Reponse.ok(etat);
+            }
+        });
+        serveur.createContext("/api/sessions", new SessionsApi(sessions));
+        serveur.createContext("/api/evenements", new EvenementsApi(sessions));
+        serveur.createContext("/api/reservations", new ReservationsApi(sessions));
+
+        // Seul processus à vendre des places : l'inventaire peut refuser en mémoire
+        InventairePlacesService.getInstance().activerModeExclusif();
+
+        // Compteurs des événements vérifiés par le journal avant d'accepter des réservations
+        JournalReservationsService.getInstance().verifierAuDemarrage();
+
+        // Libération automatique des places des réservations non payées
+        ExpirationReservationService.getInstance().demarrer();
+
+        // Reprise des annulations d'événements interrompues par un arrêt ou des échecs de remboursement
+        new EvenementService().planifierRepriseAnnulations(null);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> arreter(serveur, executeur), "arret-serveur"));
+
+        serveur.start();
+        logger.info("✓ Serveur à l'écoute sur http://{}:{}/api", adresse, port);
+    }
+
+    /**
+     * Laisse une seconde aux requêtes en cours, puis arrête les services d'arrière-plan
+     */
+    private static void arreter(HttpServer serveur, ExecutorService executeur) {
+        logger.info("Arrêt du serveur...");
+        serveur.stop(1);
+        executeur.shutdown();
+        try {
+            executeur.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ExpirationReservationService.getInstance().arreter();
+        JournalReservationsService.getInstance().arreter();
+        HachageMotDePasseService.getInstance().arreter();
+        DisponibilitePlacesService.getInstance().arreter();
+        DatabaseConnection.getInstance().closeConnection();
+        logger.info("Serveur arrêté");
+    }
+}
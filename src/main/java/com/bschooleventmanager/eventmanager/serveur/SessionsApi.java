@@ -0,0 +1,61 @@
+package com.bschooleventmanager.eventmanager.serveur;
+
+import com.bschooleventmanager.eventmanager.model.Utilisateur;
+import com.bschooleventmanager.eventmanager.service.UtilisateurService;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ressource /api/sessions : connexion et déconnexion.
+ *
+ * <ul>
+ *   <li>POST /api/sessions {"email", "motDePasse"} - ouvre une session et retourne son jeton</li>
+ *   <li>DELETE /api/sessions - ferme la session du jeton présenté</li>
+ * </ul>
+ *
+ * <p>Les tentatives passent par le limiteur de connexions, avec l'adresse de l'appelant comme
+ * clé cliente.</p>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class SessionsApi extends GestionnaireApi {
+
+    private final UtilisateurService utilisateurService = new UtilisateurService();
+
+    public SessionsApi(SessionsServeur sessions) {
+        super(sessions);
+    }
+
+    @Override
+    protected Reponse traiter(Requete requete) throws Exception {
+        if (requete.nombreSegments() != 0) {
+            throw ErreurApi.introuvable();
+        }
+        switch (requete.getMethode()) {
+            case "POST":
+                Utilisateur utilisateur = utilisateurService.authentifier(
+                        requete.chaine("email"), requete.chaine("motDePasse"), requete.adresseClient());
+                Map<String, Object> corps = new LinkedHashMap<>();
+                corps.put("jeton", sessions.ouvrir(utilisateur));
+                corps.put("utilisateur", utilisateurEnJson(utilisateur));
+                return Reponse.cree(corps);
+            case "DELETE":
+                sessions.fermer(requete.jeton());
+                return Reponse.vide();
+            default:
+                throw ErreurApi.methodeNonAutorisee();
+        }
+    }
+
+    private static Map<String, Object> utilisateurEnJson(Utilisateur utilisateur) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", utilisateur.getIdUtilisateur());
+        json.put("nom", utilisateur.getNom());
+        json.put("email", utilisateur.getEmail());
+        json.put("type", utilisateur.getTypeUtilisateur());
+        return json;
+    }
+}
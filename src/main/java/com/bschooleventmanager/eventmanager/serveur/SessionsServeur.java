@@ -0,0 +1,114 @@
+package com.bschooleventmanager.eventmanager.serveur;
+
+import com.bschooleventmanager.eventmanager.model.Utilisateur;
+import com.bschooleventmanager.eventmanager.util.AppConfig;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sessions des clients connectés au serveur, identifiées par un jeton opaque.
+ *
+ * <p>Remplace le {@link com.bschooleventmanager.eventmanager.util.SessionManager} de
+ * l'application de bureau, qui ne connaît qu'un seul utilisateur par processus. Un jeton est
+ * valable pendant une durée d'inactivité donnée, prolongée à chaque requête ; les sessions
+ * expirées sont purgées au fil des créations.</p>
+ *
+ * <p>Paramètres (application.properties) :</p>
+ * <ul>
+ *   <li>serveur.session.minutes - durée d'inactivité avant expiration d'un jeton (défaut 60)</li>
+ * </ul>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class SessionsServeur {
+
+    /** Une purge des sessions expirées est faite toutes les N créations */
+    private static final int PERIODE_PURGE = 128;
+
+    private final SecureRandom aleatoire = new SecureRandom();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger compteurPurge = new AtomicInteger();
+    private final long dureeNanos;
+
+    public SessionsServeur() {
+        this.dureeNanos = TimeUnit.MINUTES.toNanos(Math.max(1, AppConfig.getInt("serveur.session.minutes", 60)));
+    }
+
+    /**
+     * Ouvre une session pour un utilisateur authentifié
+     *
+     * @return Le jeton à présenter dans l'en-tête Authorization
+     */
+    public String ouvrir(Utilisateur utilisateur) {
+        if (compteurPurge.incrementAndGet() % PERIODE_PURGE == 0) {
+            purger();
+        }
+        byte[] octets = new byte[32];
+        aleatoire.nextBytes(octets);
+        String jeton = Base64.getUrlEncoder().withoutPadding().encodeToString(octets);
+        sessions.put(jeton, new Session(utilisateur, System.nanoTime() + dureeNanos));
+        return jeton;
+    }
+
+    /**
+     * Retourne l'utilisateur d'un jeton valide et prolonge sa session
+     *
+     * @return L'utilisateur, ou null si le jeton est inconnu ou expiré
+     */
+    public Utilisateur utilisateur(String jeton) {
+        if (jeton == null) {
+            return null;
+        }
+        Session session = sessions.get(jeton);
+        if (session == null) {
+            return null;
+        }
+        long maintenant = System.nanoTime();
+        if (session.expiration - maintenant <= 0) {
+            sessions.remove(jeton, session);
+            return null;
+        }
+        session.expiration = maintenant + dureeNanos;
+        return session.utilisateur;
+    }
+
+    /**
+     * Ferme une session (déconnexion)
+     */
+    public void fermer(String jeton) {
+        if (jeton != null) {
+            sessions.remove(jeton);
+        }
+    }
+
+    private void purger() {
+        long maintenant = System.nanoTime();
+        Iterator<Session> it = sessions.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiration - maintenant <= 0) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Utilisateur connecté et échéance de sa session
+     */
+    private static final class Session {
+        private final Utilisateur utilisateur;
+        private volatile long expiration;
+
+        private Session(Utilisateur utilisateur, long expiration) {
+            this.utilisateur = utilisateur;
+            this.expiration = expiration;
+        }
+    }
+}
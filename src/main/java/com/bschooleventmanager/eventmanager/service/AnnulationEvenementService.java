@@ -0,0 +1,366 @@
+package com.bschooleventmanager.eventmanager.service;
+
+import com.bschooleventmanager.eventmanager.dao.PaiementDAO;
+import com.bschooleventmanager.eventmanager.dao.ReservationDAO;
+import com.bschooleventmanager.eventmanager.exception.BusinessException;
+import com.bschooleventmanager.eventmanager.exception.DatabaseException;
+import com.bschooleventmanager.eventmanager.model.Paiement;
+import com.bschooleventmanager.eventmanager.model.Reservation;
+import com.bschooleventmanager.eventmanager.util.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Service de traitement en masse des réservations d'un événement annulé.
+ *
+ * <p>Les réservations de l'événement sont parcourues par pages (pagination par clé sur
+ * l'ID de réservation). Pour chaque page, les paiements réussis sont remboursés via
+ * Stripe avec un parallélisme borné et un débit limité, puis les réservations
+ * remboursées sont passées à ANNULEE et les paiements à REMBOURSE en requêtes groupées.</p>
+ *
+ * <p>Le traitement est reprenable : une réservation n'est annulée qu'une fois tous ses
+ * paiements remboursés, et un paiement remboursé n'est plus sélectionné. Relancer
+ * le traitement après une interruption ou des échecs reprend donc là où il s'était arrêté.
+ * {@link #reprendreInterrompues(Integer)} relance les événements annulés qui ont encore des
+ * réservations confirmées ou en attente (au démarrage du serveur et à la connexion d'un
+ * organisateur). Deux processus qui reprennent le même événement ne remboursent pas deux fois :
+ * la clé d'idempotence Stripe est propre au paiement et l'annulation par lot ne touche que
+ * les réservations encore confirmées ou en attente.</p>
+ *
+ * <p>Les traitements s'exécutent un par un sur le thread « annulation-evenements », jamais
+ * sur le pool commun : ils bloquent sur la base et sur Stripe.</p>
+ *
+ * <p>Paramètres (application.properties) :</p>
+ * <ul>
+ *   <li>annulation.taille.page - réservations traitées par page (défaut 200)</li>
+ *   <li>annulation.remboursements.paralleles - appels Stripe simultanés (défaut 4)</li>
+ *   <li>annulation.remboursements.par.seconde - débit maximal vers Stripe (défaut 20)</li>
+ * </ul>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class AnnulationEvenementService {
+    private static final Logger logger = LoggerFactory.getLogger(AnnulationEvenementService.class);
+
+    /** Traitements en cours ou terminés, par ID d'événement */
+    private static final Map<Integer, ProgressionAnnulation> progressions = new ConcurrentHashMap<>();
+
+    /** Exécute les traitements lancés en arrière-plan, l'un après l'autre */
+    private static final ExecutorService traitements = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "annulation-evenements");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ReservationDAO reservationDAO;
+    private final PaiementDAO paiementDAO;
+    private final StripePaymentService stripeService;
+    private final JournalReservationsService journal;
+
+    private final int taillePage;
+    private final int remboursementsParalleles;
+    private final LimiteurDebit limiteur;
+
+    public AnnulationEvenementService() {
+        this.reservationDAO = new ReservationDAO();
+        this.paiementDAO = new PaiementDAO();
+        this.stripeService = new StripePaymentService();
+        this.journal = JournalReservationsService.getInstance();
+        this.taillePage = Math.max(1, AppConfig.getInt("annulation.taille.page", 200));
+        this.remboursementsParalleles = Math.max(1, AppConfig.getInt("annulation.remboursements.paralleles", 4));
+        this.limiteur = new LimiteurDebit(Math.max(1, AppConfig.getInt("annulation.remboursements.par.seconde", 20)));
+    }
+
+    /**
+     * Lance le traitement en arrière-plan.
+     * Si un traitement est déjà en cours pour cet événement, sa progression est retournée.
+     *
+     * @param idEvenement L'événement annulé
+     * @param listener Notifié après chaque page traitée (peut être null)
+     * @return Future complété avec la progression finale
+     */
+    public CompletableFuture<ProgressionAnnulation> lancer(int idEvenement, Consumer<ProgressionAnnulation> listener) {
+        ProgressionAnnulation progression = new ProgressionAnnulation(idEvenement);
+        ProgressionAnnulation enregistree = enregistrer(progression);
+        if (enregistree != progression) {
+            logger.warn("Annulation des réservations de l'événement {} déjà en cours", idEvenement);
+            return CompletableFuture.completedFuture(enregistree);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return executer(progression, listener);
+            } catch (BusinessException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }, traitements);
+    }
+
+    /**
+     * Relance le traitement des événements annulés qui ont encore des réservations confirmées
+     * ou en attente (traitement interrompu par un arrêt, ou terminé avec des échecs)
+     *
+     * @param organisateurId Restreint aux événements de cet organisateur, ou null pour tous
+     * @return Le nombre de traitements relancés
+     * @throws BusinessException En cas d'erreur de base de données
+     */
+    public int reprendreInterrompues(Integer organisateurId) throws BusinessException {
+        List<Integer> evenements;
+        try {
+            evenements = reservationDAO.getEvenementsAnnulesAvecReservationsActives(organisateurId);
+        } catch (DatabaseException e) {
+            throw new BusinessException("Erreur lors de la recherche des annulations interrompues", e);
+        }
+        for (int idEvenement : evenements) {
+            logger.info("Reprise de l'annulation des réservations de l'événement {}", idEvenement);
+            lancer(idEvenement, null);
+        }
+        return evenements.size();
+    }
+
+    /**
+     * Recherche et relance les annulations interrompues en arrière-plan, sans bloquer l'appelant
+     *
+     * @param organisateurId Restreint aux événements de cet organisateur, ou null pour tous
+     */
+    public void planifierReprise(Integer organisateurId) {
+        traitements.execute(() -> {
+            try {
+                int reprises = reprendreInterrompues(organisateurId);
+                if (reprises > 0) {
+                    logger.info("{} annulation(s) d'événement relancée(s)", reprises);
+                }
+            } catch (BusinessException e) {
+                logger.warn("Reprise des annulations d'événements impossible: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Retourne la progression du dernier traitement lancé pour un événement, ou null
+     */
+    public static ProgressionAnnulation getProgression(int idEvenement) {
+        return progressions.get(idEvenement);
+    }
+
+    /**
+     * Traite toutes les réservations confirmées ou en attente d'un événement (appel bloquant).
+     *
+     * @param idEvenement L'événement annulé
+     * @param listener Notifié après chaque page traitée (peut être null)
+     * @return La progression finale
+     * @throws BusinessException En cas d'erreur de base de données
+     */
+    public ProgressionAnnulation traiter(int idEvenement, Consumer<ProgressionAnnulation> listener) throws BusinessException {
+        ProgressionAnnulation progression = new ProgressionAnnulation(idEvenement);
+        if (enregistrer(progression) != progression) {
+            throw new BusinessException("L'annulation des réservations de cet événement est déjà en cours");
+        }
+        return executer(progression, listener);
+    }
+
+    /**
+     * Enregistre une progression, sauf si un traitement est déjà en cours pour l'événement
+     *
+     * @return La progression enregistrée, ou celle du traitement déjà en cours
+     */
+    private static ProgressionAnnulation enregistrer(ProgressionAnnulation progression) {
+        return progressions.compute(progression.getIdEvenement(),
+                (id, existante) -> existante != null && !existante.isTerminee() ? existante : progression);
+    }
+
+    /**
+     * Parcourt les réservations de l'événement pour une progression déjà enregistrée
+     */
+    private ProgressionAnnulation executer(ProgressionAnnulation progression, Consumer<ProgressionAnnulation> listener)
+            throws BusinessException {
+        int idEvenement = progression.getIdEvenement();
+        ExecutorService executor = Executors.newFixedThreadPool(remboursementsParalleles);
+        try {
+            progression.total = reservationDAO.compterReservationsActivesParEvenement(idEvenement);
+            logger.info("Annulation de {} réservations pour l'événement {}", progression.total, idEvenement);
+
+            int dernierId = 0;
+            List<Reservation> page;
+            do {
+                page = reservationDAO.getReservationsActivesParEvenement(idEvenement, dernierId, taillePage);
+                if (page.isEmpty()) {
+                    break;
+                }
+                traiterPage(page, executor, progression);
+                dernierId = page.get(page.size() - 1).getIdReservation();
+
+                if (listener != null) {
+                    listener.accept(progression);
+                }
+            } while (page.size() == taillePage);
+
+            logger.info("✓ Annulation événement {} terminée - Annulées: {}, Remboursements: {}, Échecs: {}",
+                    idEvenement, progression.getAnnulees(), progression.getRemboursements(), progression.getEchecs());
+            return progression;
+
+        } catch (DatabaseException e) {
+            logger.error("Erreur lors de l'annulation des réservations de l'événement {}", idEvenement, e);
+            throw new BusinessException("Erreur lors de l'annulation des réservations. Relancez le traitement pour reprendre.", e);
+        } finally {
+            progression.terminee = true;
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Rembourse en parallèle les paiements d'une page puis met à jour la base par lots
+     */
+    private void traiterPage(List<Reservation> page, ExecutorService executor, ProgressionAnnulation progression)
+            throws DatabaseException {
+        List<Integer> idsReservation = new ArrayList<>(page.size());
+        for (Reservation reservation : page) {
+            idsReservation.add(reservation.getIdReservation());
+        }
+        Map<Integer, List<Paiement>> paiementsParReservation = paiementDAO.trouverReussisParReservations(idsReservation);
+
+        List<CompletableFuture<ResultatRemboursement>> futures = new ArrayList<>(page.size());
+        for (Reservation reservation : page) {
+            List<Paiement> paiements = paiementsParReservation.getOrDefault(reservation.getIdReservation(), List.of());
+            futures.add(CompletableFuture.supplyAsync(() -> rembourserReservation(reservation, paiements), executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        List<Integer> aAnnuler = new ArrayList<>();
+        List<Integer> paiementsRembourses = new ArrayList<>();
+        for (CompletableFuture<ResultatRemboursement> future : futures) {
+            ResultatRemboursement resultat = future.join();
+            paiementsRembourses.addAll(resultat.paiementsRembourses);
+            if (resultat.complet) {
+                aAnnuler.add(resultat.idReservation);
+            } else {
+                progression.echecs.incrementAndGet();
+            }
+        }
+
+        // Les paiements remboursés sont enregistrés même si la réservation a échoué,
+        // pour ne jamais les rembourser deux fois lors d'une reprise
+        paiementDAO.marquerRembourses(paiementsRembourses);
+        int annulees = reservationDAO.annulerParLot(aAnnuler, LocalDateTime.now());
+        for (Reservation reservation : page) {
+            if (aAnnuler.contains(reservation.getIdReservation())) {
+                journal.annulation(reservation.getIdReservation(), reservation.getIdEvenement());
+            }
+        }
+
+        progression.remboursements.addAndGet(paiementsRembourses.size());
+        progression.annulees.addAndGet(annulees);
+        progression.traitees.addAndGet(page.size());
+    }
+
+    /**
+     * Rembourse tous les paiements réussis d'une réservation (exécuté dans le pool)
+     */
+    private ResultatRemboursement rembourserReservation(Reservation reservation, List<Paiement> paiements) {
+        ResultatRemboursement resultat = new ResultatRemboursement(reservation.getIdReservation());
+        for (Paiement paiement : paiements) {
+            try {
+                limiteur.acquerir();
+                StripePaymentService.PaymentResult result = stripeService.rembourser(
+                        paiement.getNumeroTransaction(),
+                        paiement.getMontant(),
+                        "refund-paiement-" + paiement.getIdPaiement());
+                if (result.isSuccess()) {
+                    resultat.paiementsRembourses.add(paiement.getIdPaiement());
+                    journal.remboursement(reservation.getIdReservation(), reservation.getIdEvenement(), paiement.getMontant());
+                } else {
+                    logger.warn("Remboursement refusé pour le paiement {}: {}", paiement.getIdPaiement(), result.getMessage());
+                    resultat.complet = false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                resultat.complet = false;
+                break;
+            } catch (Exception e) {
+                logger.error("Échec du remboursement du paiement {}", paiement.getIdPaiement(), e);
+                resultat.complet = false;
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Résultat du remboursement d'une réservation
+     */
+    private static class ResultatRemboursement {
+        private final int idReservation;
+        private final List<Integer> paiementsRembourses = new ArrayList<>();
+        private boolean complet = true;
+
+        private ResultatRemboursement(int idReservation) {
+            this.idReservation = idReservation;
+        }
+    }
+
+    /**
+     * Limiteur de débit : espace les appels d'au moins 1/débit seconde, tous threads confondus
+     */
+    private static class LimiteurDebit {
+        private final long intervalleNanos;
+        private long prochainCreneau = System.nanoTime();
+
+        private LimiteurDebit(int appelsParSeconde) {
+            this.intervalleNanos = TimeUnit.SECONDS.toNanos(1) / appelsParSeconde;
+        }
+
+        private void acquerir() throws InterruptedException {
+            long attente;
+            synchronized (this) {
+                long maintenant = System.nanoTime();
+                long creneau = Math.max(prochainCreneau, maintenant);
+                prochainCreneau = creneau + intervalleNanos;
+                attente = creneau - maintenant;
+            }
+            if (attente > 0) {
+                TimeUnit.NANOSECONDS.sleep(attente);
+            }
+        }
+    }
+
+    /**
+     * Progression d'un traitement d'annulation, lisible depuis n'importe quel thread
+     */
+    public static class ProgressionAnnulation {
+        private final int idEvenement;
+        private volatile int total;
+        private final AtomicInteger traitees = new AtomicInteger();
+        private final AtomicInteger annulees = new AtomicInteger();
+        private final AtomicInteger remboursements = new AtomicInteger();
+        private final AtomicInteger echecs = new AtomicInteger();
+        private volatile boolean terminee;
+
+        public ProgressionAnnulation(int idEvenement) {
+            this.idEvenement = idEvenement;
+        }
+
+        public int getIdEvenement() { return idEvenement; }
+        public int getTotal() { return total; }
+        public int getTraitees() { return traitees.get(); }
+        public int getAnnulees() { return annulees.get(); }
+        public int getRemboursements() { return remboursements.get(); }
+        public int getEchecs() { return echecs.get(); }
+        public boolean isTerminee() { return terminee; }
+
+        public double getPourcentage() {
+            return total == 0 ? 100.0 : Math.min(100.0, getTraitees() * 100.0 / total);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.bschooleventmanager.eventmanager.service;
+
+import com.bschooleventmanager.eventmanager.dao.DatabaseConnection;
+import com.bschooleventmanager.eventmanager.dao.EvenementDAO;
+import com.bschooleventmanager.eventmanager.exception.BusinessException;
+import com.bschooleventmanager.eventmanager.exception.DatabaseException;
+import com.bschooleventmanager.eventmanager.model.Evenement;
+import com.bschooleventmanager.eventmanager.util.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Catalogue local des événements, synchronisé de façon incrémentale avec la base.
+ *
+ * <p>Chaque ligne de la table evenements porte un horodatage de dernière modification (colonne
+ * maj_le) mis à jour par la base. Le catalogue retient le plus grand horodatage reçu et, à chaque
+ * lecture, ne demande que les lignes modifiées depuis : un rafraîchissement coûte le nombre de
+ * lignes changées, pas la taille du catalogue. Le premier accès charge la table entière.</p>
+ *
+ * <p>Les événements supprimés logiquement (etat_event = SUPPRIME) sont reçus comme les autres
+ * lignes modifiées et conservés comme pierres tombales : ils disparaissent de la liste des
+ * événements actifs et ne peuvent pas être réintroduits par une synchronisation ultérieure.
+ * Les écrans organisateur, qui affichent aussi les événements supprimés, les lisent toujours.</p>
+ *
+ * <p>Une transaction validée après une lecture peut porter un horodatage antérieur au dernier
+ * reçu. Chaque synchronisation relit donc une marge de quelques secondes avant le filigrane ;
+ * les lignes relues remplacent simplement leur version locale.</p>
+ *
+ * <p>Mode dégradé : si la base est déclarée indisponible par son disjoncteur alors que le
+ * catalogue a déjà été chargé, la synchronisation est abandonnée et le dernier état connu est
+ * servi, pour que le catalogue reste consultable pendant la panne.</p>
+ *
+ * <p>Démarrage à froid : après chaque synchronisation qui apporte des lignes, le catalogue et son
+ * filigrane sont enregistrés dans un instantané binaire local, en arrière-plan. Au lancement suivant,
+ * {@link #getEvenementsConnus()} relit cet instantané (fichier projeté en mémoire) sans accès à la
+ * base, pour afficher la liste immédiatement ; la première synchronisation part ensuite du
+ * filigrane de l'instantané et ne relit que les lignes modifiées depuis.</p>
+ *
+ * <p>Paramètres (application.properties) :</p>
+ * <ul>
+ *   <li>catalogue.synchronisation.marge.secondes - marge relue avant le filigrane (défaut 5)</li>
+ *   <li>catalogue.instantane.actif - enregistrement et relecture de l'instantané (défaut true)</li>
+ *   <li>catalogue.instantane.fichier - chemin de l'instantané (défaut ~/.eventmanager/catalogue.bin)</li>
+ * </ul>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class CatalogueEvenementsService {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogueEvenementsService.class);
+
+    private static final Comparator<Evenement> PAR_DATE = Comparator.comparing(Evenement::getDateEvenement);
+
+    private static CatalogueEvenementsService instance;
+
+    /** Événements connus, pierres tombales comprises */
+    private final Map<Integer, Evenement> evenements = new HashMap<>();
+    private final int margeSecondes;
+
+    /** Plus grand horodatage maj_le reçu (null : catalogue jamais chargé) */
+    private LocalDateTime filigrane;
+    /** Instant (System.nanoTime) de la dernière synchronisation réussie */
+    private long derniereSynchronisation;
+
+    /** Fichier de l'instantané local, null si l'instantané est désactivé */
+    private final Path fichierInstantane;
+    /** Base d'origine des données, enregistrée dans l'instantané */
+    private final String base;
+    /** Verrou de la relecture de l'instantané, distinct de celui du catalogue pour ne jamais attendre la base */
+    private final Object verrouInstantane = new Object();
+    /** Instantané relu mais pas encore fusionné dans le catalogue */
+    private InstantaneCatalogue.Contenu instantane;
+    private boolean instantaneLu;
+    /** Derniers événements actifs servis, lisibles sans verrou */
+    private volatile List<Evenement> derniersActifs;
+
+    /** Prochain contenu à enregistrer : un seul enregistrement en attente, le plus récent */
+    private final AtomicReference<Runnable> enregistrementEnAttente = new AtomicReference<>();
+    private final ExecutorService enregistreur;
+
+    private CatalogueEvenementsService() {
+        this.margeSecondes = Math.max(0, AppConfig.getInt("catalogue.synchronisation.marge.secondes", 5));
+        this.base = AppConfig.getString("db.url", "");
+        if (Boolean.parseBoolean(AppConfig.getString("catalogue.instantane.actif", "true"))) {
+            this.fichierInstantane = Path.of(AppConfig.getString("catalogue.instantane.fichier",
+                    Path.of(System.getProperty("user.home"), ".eventmanager", "catalogue.bin").toString()));
+            this.enregistreur = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "catalogue-instantane");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.fichierInstantane = null;
+            this.enregistreur = null;
+        }
+    }
+
+    public static synchronized CatalogueEvenementsService getInstance() {
+        if (instance == null) {
+            instance = new CatalogueEvenementsService();
+        }
+        return instance;
+    }
+
+    /**
+     * Synchronise le catalogue puis retourne les événements actifs, triés par date
+     *
+     * @throws BusinessException Si la synchronisation échoue
+     */
+    public synchronized List<Evenement> getEvenementsActifs() throws BusinessException {
+        return getEvenementsActifs(0);
+    }
+
+    /**
+     * Retourne les événements actifs, triés par date, en ne synchronisant le catalogue que si la
+     * dernière synchronisation date de plus de {@code fraicheurMaxMillis}. Destiné aux appelants
+     * très fréquents (serveur), pour lesquels une seconde de retard est acceptable.
+     *
+     * @throws BusinessException Si la synchronisation échoue
+     */
+    public synchronized List<Evenement> getEvenementsActifs(long fraicheurMaxMillis) throws BusinessException {
+        long age = System.nanoTime() - derniereSynchronisation;
+        if (filigrane == null || age >= TimeUnit.MILLISECONDS.toNanos(fraicheurMaxMillis)) {
+            synchroniser();
+        }
+        List<Evenement> actifs = new ArrayList<>();
+        for (Evenement evenement : evenements.values()) {
+            if (evenement.isEtatEvent()) {
+                actifs.add(evenement);
+            }
+        }
+        actifs.sort(PAR_DATE);
+        derniersActifs = List.copyOf(actifs);
+        return actifs;
+    }
+
+    /**
+     * Retourne sans accès à la base les derniers événements actifs connus, triés par date : ceux
+     * de la dernière synchronisation, ou à défaut ceux de l'instantané local. Ne bloque pas
+     * pendant une synchronisation en cours ; destiné à l'affichage immédiat au lancement.
+     *
+     * @return Les événements connus (liste vide si aucun n'est encore connu), non modifiable
+     */
+    public List<Evenement> getEvenementsConnus() {
+        List<Evenement> connus = derniersActifs;
+        if (connus != null) {
+            return connus;
+        }
+        synchronized (verrouInstantane) {
+            InstantaneCatalogue.Contenu contenu = lireInstantane();
+            if (derniersActifs == null && contenu != null) {
+                List<Evenement> actifs = new ArrayList<>();
+                for (Evenement evenement : contenu.getEvenements()) {
+                    if (evenement.isEtatEvent()) {
+                        actifs.add(evenement);
+                    }
+                }
+                actifs.sort(PAR_DATE);
+                derniersActifs = List.copyOf(actifs);
+            }
+        }
+        connus = derniersActifs;
+        return connus != null ? connus : List.of();
+    }
+
+    /**
+     * Synchronise le catalogue puis retourne tous les événements d'un organisateur,
+     * supprimés compris, triés par date
+     *
+     * @throws BusinessException Si la synchronisation échoue
+     */
+    public synchronized List<Evenement> getEvenementsParOrganisateur(int organisateurId) throws BusinessException {
+        synchroniser();
+        List<Evenement> resultat = new ArrayList<>();
+        for (Evenement evenement : evenements.values()) {
+            if (evenement.getOrganisateurId() == organisateurId) {
+                resultat.add(evenement);
+            }
+        }
+        resultat.sort(PAR_DATE);
+        return resultat;
+    }
+
+    /**
+     * Indique si le catalogue est servi en mode dégradé (base de données indisponible)
+     */
+    public boolean estDegrade() {
+        return !DatabaseConnection.getInstance().estDisponible();
+    }
+
+    /**
+     * Oublie le catalogue local. Il sera rechargé en entier au prochain accès.
+     */
+    public synchronized void vider() {
+        evenements.clear();
+        filigrane = null;
+        derniersActifs = null;
+    }
+
+    /**
+     * Lit les lignes modifiées depuis le filigrane (moins la marge) et les fusionne dans le catalogue
+     */
+    private void synchroniser() throws BusinessException {
+        if (filigrane == null && evenements.isEmpty()) {
+            fusionnerInstantane();
+        }
+        LocalDateTime depuis = filigrane == null ? null : filigrane.minusSeconds(margeSecondes);
+        List<Evenement> modifies;
+        try {
+            modifies = EvenementDAO.getEvenementsModifiesDepuis(depuis);
+        } catch (DatabaseException e) {
+            if (filigrane != null && !DatabaseConnection.getInstance().estDisponible()) {
+                logger.warn("Base de données indisponible, catalogue servi depuis le dernier état connu ({})", filigrane);
+                return;
+            }
+            logger.error("Erreur de synchronisation du catalogue des événements", e);
+            throw new BusinessException("Erreur de synchronisation du catalogue des événements", e);
+        }
+
+        int pierresTombales = 0;
+        for (Evenement evenement : modifies) {
+            evenements.put(evenement.getIdEvenement(), evenement);
+            if (!evenement.isEtatEvent()) {
+                pierresTombales++;
+            }
+            LocalDateTime majLe = evenement.getMajLe();
+            if (majLe != null && (filigrane == null || majLe.isAfter(filigrane))) {
+                filigrane = majLe;
+            }
+        }
+        derniereSynchronisation = System.nanoTime();
+        logger.debug("Catalogue synchronisé depuis {}: {} lignes reçues dont {} supprimées, {} événements connus",
+                depuis, modifies.size(), pierresTombales, evenements.size());
+        if (!modifies.isEmpty()) {
+            planifierEnregistrement();
+        }
+    }
+
+    /**
+     * Relit l'instantané local une seule fois par processus
+     *
+     * @return L'instantané, ou null s'il est absent, invalide ou déjà fusionné
+     */
+    private InstantaneCatalogue.Contenu lireInstantane() {
+        synchronized (verrouInstantane) {
+            if (!instantaneLu && fichierInstantane != null) {
+                instantaneLu = true;
+                long debut = System.nanoTime();
+                try {
+                    instantane = InstantaneCatalogue.lire(fichierInstantane, base);
+                    if (instantane != null) {
+                        logger.info("✓ Instantané du catalogue relu: {} événements, filigrane {} ({} ms)",
+                                instantane.getEvenements().size(), instantane.getFiligrane(),
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - debut));
+                    }
+                } catch (IOException e) {
+                    logger.warn("Instantané du catalogue illisible: {}", e.getMessage());
+                }
+            }
+            return instantane;
+        }
+    }
+
+    /**
+     * Reprend le catalogue et le filigrane de l'instantané, pour que la première synchronisation
+     * ne relise que les lignes modifiées depuis
+     */
+    private void fusionnerInstantane() {
+        InstantaneCatalogue.Contenu contenu = lireInstantane();
+        if (contenu == null) {
+            return;
+        }
+        synchronized (verrouInstantane) {
+            instantane = null;
+        }
+        for (Evenement evenement : contenu.getEvenements()) {
+            evenements.put(evenement.getIdEvenement(), evenement);
+        }
+        filigrane = contenu.getFiligrane();
+    }
+
+    /**
+     * Enregistre l'état courant du catalogue dans l'instantané, en arrière-plan. Si un
+     * enregistrement attend déjà, il est remplacé par celui-ci.
+     */
+    private void planifierEnregistrement() {
+        if (enregistreur == null) {
+            return;
+        }
+        List<Evenement> copie = new ArrayList<>(evenements.values());
+        LocalDateTime filigraneCopie = filigrane;
+        Runnable enregistrement = () -> {
+            try {
+                InstantaneCatalogue.ecrire(fichierInstantane, base, filigraneCopie, copie);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Enregistrement de l'instantané du catalogue impossible: {}", e.getMessage());
+            }
+        };
+        if (enregistrementEnAttente.getAndSet(enregistrement) == null) {
+            enregistreur.execute(() -> {
+                Runnable aExecuter = enregistrementEnAttente.getAndSet(null);
+                if (aExecuter != null) {
+                    aExecuter.run();
+                }
+            });
+        }
+    }
+}
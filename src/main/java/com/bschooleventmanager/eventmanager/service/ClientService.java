@@ -4,7 +4,6 @@ import com.bschooleventmanager.eventmanager.dao.ClientDAO;
 import com.bschooleventmanager.eventmanager.model.Client;
 import com.bschooleventmanager.eventmanager.exception.BusinessException;
 import com.bschooleventmanager.eventmanager.exception.DatabaseException;
-import com.bschooleventmanager.eventmanager.util.PasswordUtils;
 import com.bschooleventmanager.eventmanager.util.ValidationUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,7 +60,7 @@ public class ClientService {
 
             // Créer le client
             Client client = new Client(nom, email);
-            client.setMotDePasse(PasswordUtils.hashPassword(motDePasse));
+            client.setMotDePasse(HachageMotDePasseService.getInstance().hacher(motDePasse));
 
             Client result = clientDAO.creer(client);
             logger.info("✓ Inscription client réussie: {}", email);
@@ -97,7 +96,7 @@ public class ClientService {
                 throw new BusinessException("Mot de passe ou email incorrect");
             }
 
-            if (!PasswordUtils.verifyPassword(motDePasse, client.getMotDePasse())) {
+            if (!HachageMotDePasseService.getInstance().verifier(motDePasse, client.getMotDePasse())) {
                 throw new BusinessException("Mot de passe ou email incorrect");
             }
 
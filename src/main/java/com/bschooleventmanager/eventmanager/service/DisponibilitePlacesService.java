@@ -0,0 +1,173 @@
+package com.bschooleventmanager.eventmanager.service;
+
+import com.bschooleventmanager.eventmanager.dao.EvenementDAO;
+import com.bschooleventmanager.eventmanager.exception.DatabaseException;
+import com.bschooleventmanager.eventmanager.model.DisponibilitePlaces;
+import com.bschooleventmanager.eventmanager.util.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Suivi en direct des places disponibles des événements affichés.
+ *
+ * <p>Les écrans qui montrent des compteurs de places s'abonnent à un événement. Un seul thread
+ * interroge périodiquement la base pour tous les événements suivis, en une requête qui ne lit
+ * que les compteurs et les colonnes version / version_places. Un abonné n'est notifié que si
+ * l'une des deux versions a changé depuis la lecture précédente : hors ventes, aucun écran
+ * n'est rafraîchi.</p>
+ *
+ * <p>Les notifications sont émises depuis le thread de suivi (ou depuis le thread appelant lors
+ * de l'abonnement). Les contrôleurs JavaFX doivent repasser sur le thread JavaFX.</p>
+ *
+ * <p>Paramètres (application.properties) :</p>
+ * <ul>
+ *   <li>disponibilite.intervalle.ms - période d'interrogation (défaut 2000)</li>
+ * </ul>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class DisponibilitePlacesService {
+    private static final Logger logger = LoggerFactory.getLogger(DisponibilitePlacesService.class);
+
+    private static DisponibilitePlacesService instance;
+
+    /** Événements suivis, avec leurs abonnés et la dernière disponibilité lue */
+    private final Map<Integer, Suivi> suivis = new ConcurrentHashMap<>();
+    private final long intervalleMillis;
+    private ScheduledExecutorService planificateur;
+
+    private DisponibilitePlacesService() {
+        this.intervalleMillis = Math.max(200, AppConfig.getInt("disponibilite.intervalle.ms", 2000));
+    }
+
+    public static synchronized DisponibilitePlacesService getInstance() {
+        if (instance == null) {
+            instance = new DisponibilitePlacesService();
+        }
+        return instance;
+    }
+
+    /**
+     * Abonne un écran aux changements de places d'un événement.
+     * Si l'événement est déjà suivi, l'abonné reçoit immédiatement la dernière disponibilité lue.
+     *
+     * @param idEvenement L'événement affiché
+     * @param ecouteur Appelé à chaque changement de places ou de capacités
+     * @return L'abonnement, à annuler quand l'écran est fermé
+     */
+    public Abonnement abonner(int idEvenement, Consumer<DisponibilitePlaces> ecouteur) {
+        Suivi suivi = suivis.compute(idEvenement, (id, existant) -> {
+            Suivi s = existant != null ? existant : new Suivi();
+            s.ecouteurs.add(ecouteur);
+            return s;
+        });
+        demarrer();
+
+        DisponibilitePlaces derniere = suivi.derniere;
+        if (derniere != null) {
+            ecouteur.accept(derniere);
+        }
+        return new Abonnement(idEvenement, ecouteur);
+    }
+
+    /**
+     * Arrête l'interrogation périodique
+     */
+    public synchronized void arreter() {
+        if (planificateur != null) {
+            planificateur.shutdownNow();
+            planificateur = null;
+        }
+    }
+
+    private synchronized void demarrer() {
+        if (planificateur != null) {
+            return;
+        }
+        planificateur = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "disponibilite-places");
+            thread.setDaemon(true);
+            return thread;
+        });
+        planificateur.scheduleWithFixedDelay(this::interroger, 0, intervalleMillis, TimeUnit.MILLISECONDS);
+        logger.info("✓ Suivi des disponibilités démarré (toutes les {} ms)", intervalleMillis);
+    }
+
+    private void desabonner(int idEvenement, Consumer<DisponibilitePlaces> ecouteur) {
+        suivis.computeIfPresent(idEvenement, (id, suivi) -> {
+            suivi.ecouteurs.remove(ecouteur);
+            return suivi.ecouteurs.isEmpty() ? null : suivi;
+        });
+    }
+
+    /**
+     * Lit les disponibilités de tous les événements suivis et notifie les abonnés des événements modifiés
+     */
+    private void interroger() {
+        if (suivis.isEmpty()) {
+            return;
+        }
+        try {
+            List<Integer> ids = new ArrayList<>(suivis.keySet());
+            Map<Integer, DisponibilitePlaces> disponibilites = EvenementDAO.getDisponibilites(ids);
+
+            for (DisponibilitePlaces disponibilite : disponibilites.values()) {
+                Suivi suivi = suivis.get(disponibilite.getIdEvenement());
+                if (suivi == null || disponibilite.memeVersion(suivi.derniere)) {
+                    continue;
+                }
+                suivi.derniere = disponibilite;
+                for (Consumer<DisponibilitePlaces> ecouteur : suivi.ecouteurs) {
+                    try {
+                        ecouteur.accept(disponibilite);
+                    } catch (RuntimeException e) {
+                        logger.warn("Erreur d'un abonné aux disponibilités de l'événement {}", disponibilite.getIdEvenement(), e);
+                    }
+                }
+            }
+        } catch (DatabaseException e) {
+            logger.warn("Lecture des disponibilités impossible, nouvelle tentative au prochain cycle: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            // Une exception non capturée annulerait les interrogations planifiées suivantes
+            logger.error("Erreur inattendue lors du suivi des disponibilités", e);
+        }
+    }
+
+    /**
+     * Abonnés d'un événement et dernière disponibilité qui leur a été notifiée
+     */
+    private static class Suivi {
+        private final List<Consumer<DisponibilitePlaces>> ecouteurs = new CopyOnWriteArrayList<>();
+        private volatile DisponibilitePlaces derniere;
+    }
+
+    /**
+     * Abonnement d'un écran à un événement
+     */
+    public class Abonnement {
+        private final int idEvenement;
+        private final Consumer<DisponibilitePlaces> ecouteur;
+
+        private Abonnement(int idEvenement, Consumer<DisponibilitePlaces> ecouteur) {
+            this.idEvenement = idEvenement;
+            this.ecouteur = ecouteur;
+        }
+
+        /** Arrête les notifications (sans effet si déjà annulé) */
+        public void annuler() {
+            desabonner(idEvenement, ecouteur);
+        }
+    }
+}
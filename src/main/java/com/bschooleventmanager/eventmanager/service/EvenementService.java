@@ -35,6 +35,8 @@ public class EvenementService {
     private static final ConcertDAO concertDAO = new ConcertDAO();
     private static final SpectacleDAO spectacleDao = new SpectacleDAO();
     private static final ConferenceDAO conferenceDAO = new ConferenceDAO();
+    private static final AnnulationEvenementService annulationService = new AnnulationEvenementService();
+    private static final InventairePlacesService inventaire = InventairePlacesService.getInstance();
 
     /**
      * Récupère tous les événements triés par date.
@@ -44,7 +46,7 @@ public class EvenementService {
     public List<Evenement> getAllEvents() {
         logger.info("Service: Fetching all events...");
         List<Evenement> list = evenementDAO.getAllEvents();
-        logger.info("Service: {} events retrieved : " + list.size());
+        logger.info("Service: {} events retrieved", list.size());
         return list;
     }
 
@@ -101,6 +103,8 @@ public class EvenementService {
             // Validation des données
             validerDonneesEvenement(concert.getNom(), concert.getDateEvenement(), concert.getLieu(), concert.getPlacesStandardDisponibles(), concert.getPlacesVipDisponibles(), concert.getPlacesPremiumDisponibles());
             Concert result = concertDAO.mettreAJour(concert);
+            // Les capacités ont pu changer : l'inventaire en mémoire sera rechargé
+            inventaire.invalider(concert.getIdEvenement());
 
             logger.info("✓ Concert modifé: {}", concert.getNom());
             return result;
@@ -120,6 +124,7 @@ public class EvenementService {
             // Validation des données
             validerDonneesEvenement(conference.getNom(), conference.getDateEvenement(), conference.getLieu(), conference.getPlacesStandardDisponibles(), conference.getPlacesVipDisponibles(), conference.getPlacesPremiumDisponibles());
             Conference result = conferenceDAO.mettreAJour(conference);
+            inventaire.invalider(conference.getIdEvenement());
 
             logger.info("✓ Concert modifé: {}", conference.getNom());
             return result;
@@ -139,6 +144,7 @@ public class EvenementService {
             // Validation des données
             validerDonneesEvenement(spectacle.getNom(), spectacle.getDateEvenement(), spectacle.getLieu(), spectacle.getPlacesStandardDisponibles(), spectacle.getPlacesVipDisponibles(), spectacle.getPlacesPremiumDisponibles());
             Spectacle result = spectacleDao.mettreAJour(spectacle);
+            inventaire.invalider(spectacle.getIdEvenement());
 
             logger.info("✓ Concert modifé: {}", spectacle.getNom());
             return result;
@@ -252,6 +258,8 @@ public class EvenementService {
 
     /**
      * Annuler un événement
+     * Les réservations sont ensuite annulées et remboursées en arrière-plan
+     * @see AnnulationEvenementService
      */
     public void annulerEvenement(int idEvenement) throws BusinessException {
         try {
@@ -266,6 +274,8 @@ public class EvenementService {
             
             logger.info("✓ Événement annulé: {}", evenement.getNom());
 
+            lancerAnnulation(idEvenement);
+
         } catch (DatabaseException e) {
             logger.error("Erreur annulation événement", e);
             throw new BusinessException("Erreur lors de l'annulation", e);
@@ -275,6 +285,44 @@ public class EvenementService {
         }
     }
 
+    /**
+     * Relance l'annulation des réservations d'un événement déjà annulé, par exemple après un
+     * arrêt de l'application ou des remboursements en échec. Le traitement reprend là où il
+     * s'était arrêté.
+     *
+     * @throws BusinessException Si l'événement n'est pas annulé
+     */
+    public void relancerAnnulation(int idEvenement) throws BusinessException {
+        Evenement evenement = getEvenement(idEvenement);
+        if (evenement.getStatut() != StatutEvenement.ANNULE) {
+            throw new BusinessException("Seul un événement annulé peut voir son annulation relancée");
+        }
+        lancerAnnulation(idEvenement);
+    }
+
+    /**
+     * Relance les annulations d'événements interrompues (réservations encore confirmées ou en attente)
+     *
+     * @param organisateurId Restreint aux événements de cet organisateur, ou null pour tous
+     * @return Le nombre de traitements relancés
+     */
+    public int reprendreAnnulationsInterrompues(Integer organisateurId) throws BusinessException {
+        return annulationService.reprendreInterrompues(organisateurId);
+    }
+
+    /**
+     * Comme {@link #reprendreAnnulationsInterrompues(Integer)}, en arrière-plan
+     */
+    public void planifierRepriseAnnulations(Integer organisateurId) {
+        annulationService.planifierReprise(organisateurId);
+    }
+
+    private void lancerAnnulation(int idEvenement) {
+        annulationService.lancer(idEvenement, progression ->
+                logger.info("Annulation événement {}: {}/{} réservations traitées",
+                        idEvenement, progression.getTraitees(), progression.getTotal()));
+    }
+
     /**
      * Modifier un événement
      */
@@ -285,6 +333,7 @@ public class EvenementService {
             }
 
         Evenement evenementModifie =    evenementDAO.mettreAJour(evenement);
+            inventaire.invalider(evenement.getIdEvenement());
           logger.info("✓ Événement modifié: {}", evenement.getNom());
             return evenementModifie != null;
            
@@ -0,0 +1,120 @@
+package com.bschooleventmanager.eventmanager.service;
+
+import com.bschooleventmanager.eventmanager.dao.ReservationDAO;
+import com.bschooleventmanager.eventmanager.exception.DatabaseException;
+import com.bschooleventmanager.eventmanager.util.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balayeur des réservations en attente de paiement dont le blocage des places a expiré.
+ *
+ * <p>Une réservation EN_ATTENTE bloque ses places jusqu'à sa date d'expiration. Le balayeur
+ * s'exécute périodiquement en arrière-plan, sélectionne les réservations expirées par lots
+ * et, pour chaque lot, les passe à EXPIREE et rend leurs places aux événements dans une
+ * même transaction. La capacité est ainsi recyclée sans intervention manuelle.</p>
+ *
+ * <p>Paramètres (application.properties) :</p>
+ * <ul>
+ *   <li>reservation.expiration.intervalle.secondes - période du balayage (défaut 30)</li>
+ *   <li>reservation.expiration.taille.lot - réservations expirées par transaction (défaut 100)</li>
+ * </ul>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class ExpirationReservationService {
+    private static final Logger logger = LoggerFactory.getLogger(ExpirationReservationService.class);
+
+    private static ExpirationReservationService instance;
+
+    private final ReservationDAO reservationDAO;
+    private final InventairePlacesService inventaire;
+    private final int intervalleSecondes;
+    private final int tailleLot;
+    private ScheduledExecutorService planificateur;
+
+    private ExpirationReservationService() {
+        this.reservationDAO = new ReservationDAO();
+        this.inventaire = InventairePlacesService.getInstance();
+        this.intervalleSecondes = Math.max(1, AppConfig.getInt("reservation.expiration.intervalle.secondes", 30));
+        this.tailleLot = Math.max(1, AppConfig.getInt("reservation.expiration.taille.lot", 100));
+    }
+
+    public static synchronized ExpirationReservationService getInstance() {
+        if (instance == null) {
+            instance = new ExpirationReservationService();
+        }
+        return instance;
+    }
+
+    /**
+     * Démarre le balayage périodique (sans effet s'il est déjà démarré)
+     */
+    public synchronized void demarrer() {
+        if (planificateur != null) {
+            return;
+        }
+        planificateur = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "expiration-reservations");
+            thread.setDaemon(true);
+            return thread;
+        });
+        planificateur.scheduleWithFixedDelay(this::balayer, intervalleSecondes, intervalleSecondes, TimeUnit.SECONDS);
+        logger.info("✓ Balayeur d'expiration des réservations démarré (toutes les {}s)", intervalleSecondes);
+    }
+
+    /**
+     * Arrête le balayage périodique
+     */
+    public synchronized void arreter() {
+        if (planificateur == null) {
+            return;
+        }
+        planificateur.shutdownNow();
+        planificateur = null;
+        logger.info("Balayeur d'expiration des réservations arrêté");
+    }
+
+    /**
+     * Expire toutes les réservations dont le délai est dépassé, lot par lot.
+     * Les erreurs sont journalisées sans interrompre les balayages suivants.
+     *
+     * @return Le nombre de places libérées
+     */
+    public int balayer() {
+        int total = 0;
+        try {
+            List<Integer> lot;
+            do {
+                lot = reservationDAO.getIdsReservationsExpirees(LocalDateTime.now(), tailleLot);
+                Map<Integer, int[]> placesLiberees = reservationDAO.expirerParLot(lot);
+                for (Map.Entry<Integer, int[]> entry : placesLiberees.entrySet()) {
+                    // Les compteurs en base sont déjà à jour, seul l'inventaire en mémoire est ajusté
+                    inventaire.restituer(entry.getKey(), entry.getValue());
+                    for (int places : entry.getValue()) {
+                        total += places;
+                    }
+                }
+            } while (lot.size() == tailleLot && !Thread.currentThread().isInterrupted());
+
+            if (total > 0) {
+                logger.info("✓ {} places libérées par expiration de réservations", total);
+            }
+        } catch (DatabaseException e) {
+            logger.error("Erreur lors du balayage des réservations expirées", e);
+        } catch (RuntimeException e) {
+            // Une exception non capturée annulerait les exécutions planifiées suivantes
+            logger.error("Erreur inattendue lors du balayage des réservations expirées", e);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,246 @@
+package com.bschooleventmanager.eventmanager.service;
+
+import com.bschooleventmanager.eventmanager.exception.BusinessException;
+import com.bschooleventmanager.eventmanager.util.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Salle d'attente virtuelle : contrôle d'admission des réservations par événement.
+ *
+ * <p>Chaque client qui veut réserver prend un numéro dans la file de l'événement. Les numéros
+ * sont admis dans l'ordre d'arrivée (FIFO) au rythme d'un seau à jetons : les jetons se
+ * rechargent à débit constant, jusqu'à une rafale maximale. Hors affluence, un client est
+ * donc admis immédiatement ; lors d'une mise en vente très demandée, les créations de
+ * réservation arrivent à la base à un débit régulier au lieu de se disputer la même ligne
+ * de l'événement.</p>
+ *
+ * <p>Une admission est valable pendant un délai limité. Un client admis qui ne réserve pas
+ * à temps doit reprendre un numéro. Un client qui abandonne la file consomme simplement
+ * un jeton quand son tour arrive.</p>
+ *
+ * <p>Les files sont tenues en mémoire, dans un seul processus. En mode serveur, tous les
+ * clients passent par la même file. En mode bureau, chaque poste a sa propre file : elle
+ * n'ordonne que les demandes de ce poste et ne limite en rien la concurrence entre postes
+ * sur la base partagée, qui reste protégée par la vérification des places à la réservation.</p>
+ *
+ * <p>Paramètres (application.properties) :</p>
+ * <ul>
+ *   <li>file.attente.admissions.par.seconde - débit d'admission par événement (défaut 5)</li>
+ *   <li>file.attente.rafale - admissions immédiates possibles hors affluence (défaut 10)</li>
+ *   <li>file.attente.validite.secondes - durée de validité d'une admission (défaut 120)</li>
+ * </ul>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class FileAttenteService {
+    private static final Logger logger = LoggerFactory.getLogger(FileAttenteService.class);
+
+    private static FileAttenteService instance;
+
+    private final Map<Integer, FileEvenement> files = new ConcurrentHashMap<>();
+    private final double admissionsParSeconde;
+    private final int rafale;
+    private final long validiteNanos;
+
+    private FileAttenteService() {
+        this(AppConfig.getInt("file.attente.admissions.par.seconde", 5),
+                AppConfig.getInt("file.attente.rafale", 10),
+                AppConfig.getInt("file.attente.validite.secondes", 120));
+    }
+
+    /**
+     * File d'attente paramétrée directement, sans lecture de la configuration
+     */
+    FileAttenteService(double admissionsParSeconde, int rafale, int validiteSecondes) {
+        this.admissionsParSeconde = Math.max(0.1, admissionsParSeconde);
+        this.rafale = Math.max(1, rafale);
+        this.validiteNanos = TimeUnit.SECONDS.toNanos(Math.max(1, validiteSecondes));
+    }
+
+    public static synchronized FileAttenteService getInstance() {
+        if (instance == null) {
+            instance = new FileAttenteService();
+        }
+        return instance;
+    }
+
+    /**
+     * Place le client dans la file de l'événement, ou retourne sa place actuelle s'il y est déjà
+     *
+     * @return La position du client (0 si admis)
+     */
+    public PositionFile rejoindre(int idEvenement, int idUtilisateur) {
+        return rejoindre(idEvenement, idUtilisateur, System.nanoTime());
+    }
+
+    /**
+     * Place le client dans la file à un instant donné (System.nanoTime)
+     */
+    PositionFile rejoindre(int idEvenement, int idUtilisateur, long maintenant) {
+        return files.computeIfAbsent(idEvenement, id -> new FileEvenement(maintenant)).rejoindre(idUtilisateur, maintenant);
+    }
+
+    /**
+     * Retourne la position actuelle du client, ou null s'il n'est pas dans la file
+     */
+    public PositionFile consulter(int idEvenement, int idUtilisateur) {
+        return consulter(idEvenement, idUtilisateur, System.nanoTime());
+    }
+
+    /**
+     * Retourne la position du client à un instant donné (System.nanoTime)
+     */
+    PositionFile consulter(int idEvenement, int idUtilisateur, long maintenant) {
+        FileEvenement file = files.get(idEvenement);
+        return file == null ? null : file.consulter(idUtilisateur, maintenant);
+    }
+
+    /**
+     * Vérifie que le client a été admis pour réserver sur cet événement
+     *
+     * @throws BusinessException Si le client n'est pas admis ou si son admission a expiré
+     */
+    public void verifierAdmission(int idEvenement, int idUtilisateur) throws BusinessException {
+        PositionFile position = consulter(idEvenement, idUtilisateur);
+        if (position == null || !position.isAdmis()) {
+            throw new BusinessException("Votre tour n'est pas encore arrivé, veuillez patienter dans la file d'attente");
+        }
+    }
+
+    /**
+     * Retire le client de la file (réservation effectuée ou abandon)
+     */
+    public void quitter(int idEvenement, int idUtilisateur) {
+        FileEvenement file = files.get(idEvenement);
+        if (file != null) {
+            file.quitter(idUtilisateur);
+        }
+    }
+
+    /**
+     * File d'un événement. Les accès sont synchronisés par événement, les files
+     * de deux événements différents ne se bloquent pas entre elles.
+     */
+    private class FileEvenement {
+        /** Numéro attribué à chaque client présent dans la file */
+        private final Map<Integer, Ticket> tickets = new HashMap<>();
+        private long prochainNumero = 1;
+        private long dernierAdmis = 0;
+        private double jetons = rafale;
+        private long dernierRemplissage;
+
+        private FileEvenement(long creation) {
+            this.dernierRemplissage = creation;
+        }
+
+        private synchronized PositionFile rejoindre(int idUtilisateur, long maintenant) {
+            admettre(maintenant);
+
+            Ticket ticket = tickets.get(idUtilisateur);
+            if (ticket == null || ticket.estExpire(maintenant)) {
+                ticket = new Ticket(prochainNumero++);
+                tickets.put(idUtilisateur, ticket);
+                logger.debug("Client {} entre dans la file (n°{})", idUtilisateur, ticket.numero);
+                admettre(maintenant);
+            }
+            return position(ticket, maintenant);
+        }
+
+        private synchronized PositionFile consulter(int idUtilisateur, long maintenant) {
+            admettre(maintenant);
+
+            Ticket ticket = tickets.get(idUtilisateur);
+            if (ticket == null || ticket.estExpire(maintenant)) {
+                return null;
+            }
+            return position(ticket, maintenant);
+        }
+
+        private synchronized void quitter(int idUtilisateur) {
+            tickets.remove(idUtilisateur);
+        }
+
+        /**
+         * Recharge les jetons selon le temps écoulé et admet les numéros suivants
+         */
+        private void admettre(long maintenant) {
+            double ecouleSecondes = (maintenant - dernierRemplissage) / 1e9;
+            jetons = Math.min(rafale, jetons + ecouleSecondes * admissionsParSeconde);
+            dernierRemplissage = maintenant;
+
+            long dernierAttribue = prochainNumero - 1;
+            if (dernierAdmis < dernierAttribue && jetons >= 1) {
+                long admissibles = Math.min((long) jetons, dernierAttribue - dernierAdmis);
+                dernierAdmis += admissibles;
+                jetons -= admissibles;
+            }
+
+            // Purge des admissions expirées pour borner la mémoire
+            Iterator<Ticket> it = tickets.values().iterator();
+            while (it.hasNext()) {
+                Ticket ticket = it.next();
+                if (ticket.numero <= dernierAdmis && ticket.admisLe == 0) {
+                    ticket.admisLe = maintenant;
+                }
+                if (ticket.estExpire(maintenant)) {
+                    it.remove();
+                }
+            }
+        }
+
+        private PositionFile position(Ticket ticket, long maintenant) {
+            if (ticket.admisLe != 0) {
+                long restant = ticket.admisLe + validiteNanos - maintenant;
+                return new PositionFile(0, TimeUnit.NANOSECONDS.toSeconds(restant));
+            }
+            long devant = ticket.numero - dernierAdmis;
+            return new PositionFile(devant, 0);
+        }
+    }
+
+    /**
+     * Numéro d'un client dans la file
+     */
+    private class Ticket {
+        private final long numero;
+        private long admisLe;
+
+        private Ticket(long numero) {
+            this.numero = numero;
+        }
+
+        private boolean estExpire(long maintenant) {
+            return admisLe != 0 && maintenant - admisLe > validiteNanos;
+        }
+    }
+
+    /**
+     * Position d'un client dans la file à un instant donné
+     */
+    public static class PositionFile {
+        private final long position;
+        private final long secondesRestantes;
+
+        public PositionFile(long position, long secondesRestantes) {
+            this.position = position;
+            this.secondesRestantes = secondesRestantes;
+        }
+
+        /** Nombre de clients à admettre avant celui-ci (0 si admis) */
+        public long getPosition() { return position; }
+
+        /** Temps restant pour réserver une fois admis */
+        public long getSecondesRestantes() { return secondesRestantes; }
+
+        public boolean isAdmis() { return position == 0; }
+    }
+}
@@ -0,0 +1,190 @@
+package com.bschooleventmanager.eventmanager.service;
+
+import com.bschooleventmanager.eventmanager.exception.BusinessException;
+import com.bschooleventmanager.eventmanager.util.AppConfig;
+import com.bschooleventmanager.eventmanager.util.PasswordUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Service de hachage et de vérification des mots de passe (BCrypt) hors du thread JavaFX.
+ *
+ * <p>Les calculs BCrypt sont exécutés par un pool de threads dédié, de taille fixe, précédé
+ * d'une file bornée. Une rafale de connexions ou d'inscriptions ne peut donc pas occuper
+ * tous les cœurs : au-delà de la file, les demandes sont refusées avec un message invitant
+ * à réessayer.</p>
+ *
+ * <p>Le coût BCrypt est calibré au démarrage sur le processeur courant : c'est le plus grand
+ * coût dont le hachage reste sous la latence cible, dans les bornes configurées, sans jamais
+ * descendre sous {@link PasswordUtils#COUT_PAR_DEFAUT}. Un hash stocké avec un coût inférieur
+ * est recalculé à la connexion suivante ; un hash plus coûteux est conservé, pour qu'un poste
+ * plus lent ou chargé n'affaiblisse pas les hashs existants
+ * (voir {@link #necessiteRehachage(String)}).</p>
+ *
+ * <p>Paramètres (application.properties) :</p>
+ * <ul>
+ *   <li>motdepasse.hachage.threads - threads de hachage (défaut : moitié des cœurs, au moins 1)</li>
+ *   <li>motdepasse.hachage.file.max - demandes en attente au-delà desquelles on refuse (défaut 32)</li>
+ *   <li>motdepasse.hachage.cible.ms - latence visée pour un hachage (défaut 250)</li>
+ *   <li>motdepasse.cout.min / motdepasse.cout.max - bornes du coût calibré (défaut 12 / 14,
+ *       le minimum ne descend pas sous {@link PasswordUtils#COUT_PAR_DEFAUT})</li>
+ * </ul>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class HachageMotDePasseService {
+    private static final Logger logger = LoggerFactory.getLogger(HachageMotDePasseService.class);
+
+    /** Mesures effectuées lors de la calibration (la médiane est retenue) */
+    private static final int MESURES_CALIBRATION = 3;
+
+    private static HachageMotDePasseService instance;
+
+    private final ThreadPoolExecutor executeur;
+    private final long cibleMillis;
+    private final int coutMin;
+    private final int coutMax;
+    private volatile int cout;
+
+    private HachageMotDePasseService() {
+        int threadsParDefaut = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int threads = Math.max(1, AppConfig.getInt("motdepasse.hachage.threads", threadsParDefaut));
+        int fileMax = Math.max(1, AppConfig.getInt("motdepasse.hachage.file.max", 32));
+        this.cibleMillis = Math.max(1, AppConfig.getInt("motdepasse.hachage.cible.ms", 250));
+        this.coutMin = Math.max(PasswordUtils.COUT_PAR_DEFAUT,
+                AppConfig.getInt("motdepasse.cout.min", PasswordUtils.COUT_PAR_DEFAUT));
+        this.coutMax = Math.max(coutMin, Math.min(31, AppConfig.getInt("motdepasse.cout.max", 14)));
+        this.cout = Math.max(coutMin, Math.min(coutMax, PasswordUtils.COUT_PAR_DEFAUT));
+
+        AtomicInteger compteur = new AtomicInteger();
+        this.executeur = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fileMax), runnable -> {
+                    Thread thread = new Thread(runnable, "hachage-mdp-" + compteur.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        // Calibration en arrière-plan : les premiers hachages utilisent le coût par défaut
+        executeur.execute(this::calibrer);
+    }
+
+    public static synchronized HachageMotDePasseService getInstance() {
+        if (instance == null) {
+            instance = new HachageMotDePasseService();
+        }
+        return instance;
+    }
+
+    /**
+     * Hache un mot de passe dans le pool dédié, avec le coût calibré
+     */
+    public CompletableFuture<String> hacherAsync(String motDePasse) {
+        return soumettre(() -> PasswordUtils.hashPassword(motDePasse, cout));
+    }
+
+    /**
+     * Vérifie un mot de passe contre un hash dans le pool dédié
+     */
+    public CompletableFuture<Boolean> verifierAsync(String motDePasse, String hash) {
+        return soumettre(() -> PasswordUtils.verifyPassword(motDePasse, hash));
+    }
+
+    /**
+     * Hache un mot de passe et attend le résultat (à appeler hors du thread JavaFX)
+     *
+     * @throws BusinessException Si le service est saturé ou si le hachage échoue
+     */
+    public String hacher(String motDePasse) throws BusinessException {
+        return attendre(hacherAsync(motDePasse), "Erreur lors du hachage du mot de passe");
+    }
+
+    /**
+     * Vérifie un mot de passe et attend le résultat (à appeler hors du thread JavaFX)
+     *
+     * @throws BusinessException Si le service est saturé ou si le hash stocké est invalide
+     */
+    public boolean verifier(String motDePasse, String hash) throws BusinessException {
+        return attendre(verifierAsync(motDePasse, hash), "Erreur lors de la vérification du mot de passe");
+    }
+
+    /**
+     * Indique si un hash stocké a été calculé avec un coût inférieur au coût courant
+     * (un hash plus coûteux n'est jamais remplacé par un hash plus faible)
+     */
+    public boolean necessiteRehachage(String hash) {
+        int coutHash = PasswordUtils.getCout(hash);
+        return coutHash > 0 && coutHash < cout;
+    }
+
+    public int getCout() {
+        return cout;
+    }
+
+    /**
+     * Arrête le pool de hachage (les demandes en cours sont abandonnées)
+     */
+    public void arreter() {
+        executeur.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> soumettre(Supplier<T> tache) {
+        try {
+            return CompletableFuture.supplyAsync(tache, executeur);
+        } catch (RejectedExecutionException e) {
+            logger.warn("File de hachage des mots de passe pleine ({} en attente), demande refusée",
+                    executeur.getQueue().size());
+            return CompletableFuture.failedFuture(
+                    new BusinessException("Trop de demandes en cours, veuillez réessayer dans un instant"));
+        }
+    }
+
+    private <T> T attendre(CompletableFuture<T> future, String messageErreur) throws BusinessException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(messageErreur, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BusinessException) {
+                throw (BusinessException) e.getCause();
+            }
+            logger.error(messageErreur, e.getCause());
+            throw new BusinessException(messageErreur, e.getCause());
+        }
+    }
+
+    /**
+     * Mesure le temps d'un hachage au coût minimal et en déduit le plus grand coût
+     * sous la latence cible (chaque incrément de coût double le temps de calcul)
+     */
+    private void calibrer() {
+        long[] mesures = new long[MESURES_CALIBRATION];
+        for (int i = 0; i < mesures.length; i++) {
+            long debut = System.nanoTime();
+            PasswordUtils.hashPassword("calibration-" + i, coutMin);
+            mesures[i] = System.nanoTime() - debut;
+        }
+        Arrays.sort(mesures);
+        double millisCoutMin = Math.max(0.001, mesures[mesures.length / 2] / 1_000_000.0);
+
+        int coutCalibre = coutMin;
+        while (coutCalibre < coutMax && millisCoutMin * (1L << (coutCalibre + 1 - coutMin)) <= cibleMillis) {
+            coutCalibre++;
+        }
+        cout = coutCalibre;
+        logger.info("✓ Coût BCrypt calibré à {} ({} ms au coût {}, cible {} ms)",
+                coutCalibre, Math.round(millisCoutMin), coutMin, cibleMillis);
+    }
+}
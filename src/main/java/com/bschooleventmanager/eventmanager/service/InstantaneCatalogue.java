@@ -0,0 +1,297 @@
+package com.bschooleventmanager.eventmanager.service;
+
+import com.bschooleventmanager.eventmanager.model.Concert;
+import com.bschooleventmanager.eventmanager.model.Conference;
+import com.bschooleventmanager.eventmanager.model.Evenement;
+import com.bschooleventmanager.eventmanager.model.Spectacle;
+import com.bschooleventmanager.eventmanager.model.enums.NiveauExpertise;
+import com.bschooleventmanager.eventmanager.model.enums.StatutEvenement;
+import com.bschooleventmanager.eventmanager.model.enums.TypeConcert;
+import com.bschooleventmanager.eventmanager.model.enums.TypeEvenement;
+import com.bschooleventmanager.eventmanager.model.enums.TypeSpectacle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Format binaire de l'instantané local du catalogue des événements.
+ *
+ * <p>Le fichier contient un en-tête (signature, version du format, base d'origine, filigrane de
+ * synchronisation), les événements connus, pierres tombales comprises, puis une somme de contrôle
+ * CRC32 de tout ce qui précède. Il est écrit dans un fichier temporaire puis renommé, et relu en
+ * le projetant en mémoire. Un fichier tronqué, corrompu, d'une autre version ou d'une autre base
+ * est ignoré. Les énumérations sont enregistrées par leur rang : toute modification de leur ordre
+ * ou du contenu d'un enregistrement impose d'incrémenter la version du format.</p>
+ */
+final class InstantaneCatalogue {
+
+    private static final int SIGNATURE = 0x454D4341;
+    private static final int VERSION_FORMAT = 2;
+
+    /**
+     * Contenu relu d'un instantané
+     */
+    static final class Contenu {
+        private final LocalDateTime filigrane;
+        private final List<Evenement> evenements;
+
+        private Contenu(LocalDateTime filigrane, List<Evenement> evenements) {
+            this.filigrane = filigrane;
+            this.evenements = evenements;
+        }
+
+        LocalDateTime getFiligrane() { return filigrane; }
+
+        List<Evenement> getEvenements() { return evenements; }
+    }
+
+    // Constructeur privé pour empêcher l'instanciation
+    private InstantaneCatalogue() {
+        throw new UnsupportedOperationException("Classe utilitaire - ne peut pas être instanciée");
+    }
+
+    /**
+     * Écrit l'instantané en remplaçant atomiquement le fichier existant
+     *
+     * @param base Identifiant de la base d'origine (URL de connexion)
+     */
+    static void ecrire(Path fichier, String base, LocalDateTime filigrane, Collection<Evenement> evenements)
+            throws IOException {
+        ByteArrayOutputStream octets = new ByteArrayOutputStream(256 + evenements.size() * 256);
+        DataOutputStream sortie = new DataOutputStream(octets);
+        sortie.writeInt(SIGNATURE);
+        sortie.writeInt(VERSION_FORMAT);
+        ecrireChaine(sortie, base);
+        ecrireDate(sortie, filigrane);
+        sortie.writeInt(evenements.size());
+        for (Evenement evenement : evenements) {
+            ecrireEvenement(sortie, evenement);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(octets.toByteArray());
+        sortie.writeLong(crc.getValue());
+        sortie.flush();
+
+        Path dossier = fichier.toAbsolutePath().getParent();
+        Files.createDirectories(dossier);
+        Path temporaire = dossier.resolve(fichier.getFileName() + ".tmp");
+        Files.write(temporaire, octets.toByteArray());
+        Files.move(temporaire, fichier, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Relit un instantané en le projetant en mémoire
+     *
+     * @param base Identifiant de la base attendue
+     * @return Le contenu, ou null si le fichier est absent, invalide ou issu d'une autre base
+     */
+    static Contenu lire(Path fichier, String base) throws IOException {
+        if (!Files.isRegularFile(fichier)) {
+            return null;
+        }
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            if (taille < 16 || taille > Integer.MAX_VALUE) {
+                return null;
+            }
+            ByteBuffer tampon = canal.map(FileChannel.MapMode.READ_ONLY, 0, taille);
+
+            CRC32 crc = new CRC32();
+            crc.update(tampon.slice(0, (int) taille - Long.BYTES));
+            if (crc.getValue() != tampon.getLong((int) taille - Long.BYTES)) {
+                return null;
+            }
+            tampon.limit((int) taille - Long.BYTES);
+            if (tampon.getInt() != SIGNATURE || tampon.getInt() != VERSION_FORMAT
+                    || !base.equals(lireChaine(tampon))) {
+                return null;
+            }
+            LocalDateTime filigrane = lireDate(tampon);
+            int nombre = tampon.getInt();
+            List<Evenement> evenements = new ArrayList<>(nombre);
+            for (int i = 0; i < nombre; i++) {
+                evenements.add(lireEvenement(tampon));
+            }
+            return new Contenu(filigrane, evenements);
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            // Contenu incohérent malgré la somme de contrôle (format modifié sans changer de version)
+            return null;
+        }
+    }
+
+    private static void ecrireEvenement(DataOutputStream sortie, Evenement evenement) throws IOException {
+        sortie.writeByte(evenement.getTypeEvenement().ordinal());
+        sortie.writeInt(evenement.getIdEvenement());
+        sortie.writeInt(evenement.getOrganisateurId());
+        ecrireChaine(sortie, evenement.getNom());
+        ecrireDate(sortie, evenement.getDateEvenement());
+        ecrireChaine(sortie, evenement.getLieu());
+        ecrireChaine(sortie, evenement.getDescription());
+        sortie.writeInt(evenement.getPlacesStandardDisponibles());
+        sortie.writeInt(evenement.getPlacesVipDisponibles());
+        sortie.writeInt(evenement.getPlacesPremiumDisponibles());
+        ecrirePrix(sortie, evenement.getPrixStandard());
+        ecrirePrix(sortie, evenement.getPrixVip());
+        ecrirePrix(sortie, evenement.getPrixPremium());
+        ecrireDate(sortie, evenement.getDateCreation());
+        sortie.writeByte(evenement.getStatut() != null ? evenement.getStatut().ordinal() : -1);
+        sortie.writeInt(evenement.getPlaceStandardVendues());
+        sortie.writeInt(evenement.getPlaceVipVendues());
+        sortie.writeInt(evenement.getPlacePremiumVendues());
+        sortie.writeBoolean(evenement.isEtatEvent());
+        sortie.writeInt(evenement.getVersion());
+        ecrireDate(sortie, evenement.getMajLe());
+
+        if (evenement instanceof Concert concert) {
+            ecrireChaine(sortie, concert.getArtiste_groupe());
+            ecrireChaine(sortie, concert.getType() != null ? concert.getType().getLabel() : null);
+            ecrireEntier(sortie, concert.getAgeMin());
+        } else if (evenement instanceof Conference conference) {
+            ecrireChaine(sortie, conference.getIntervenants());
+            ecrireChaine(sortie, conference.getDomaine());
+            ecrireChaine(sortie, conference.getNiveauExpertise() != null ? conference.getNiveauExpertise().getLabel() : null);
+        } else if (evenement instanceof Spectacle spectacle) {
+            ecrireChaine(sortie, spectacle.getTroupe_artistes());
+            ecrireChaine(sortie, spectacle.getTypeSpectacle() != null ? spectacle.getTypeSpectacle().getLabel() : null);
+            ecrireEntier(sortie, spectacle.getAgeMin());
+        }
+    }
+
+    private static Evenement lireEvenement(ByteBuffer tampon) {
+        TypeEvenement type = TypeEvenement.values()[tampon.get()];
+        Evenement evenement = switch (type) {
+            case CONCERT -> new Concert();
+            case CONFERENCE -> new Conference();
+            case SPECTACLE -> new Spectacle();
+        };
+        evenement.setIdEvenement(tampon.getInt());
+        evenement.setOrganisateurId(tampon.getInt());
+        evenement.setNom(lireChaine(tampon));
+        evenement.setDateEvenement(lireDate(tampon));
+        evenement.setLieu(lireChaine(tampon));
+        evenement.setTypeEvenement(type);
+        evenement.setDescription(lireChaine(tampon));
+        evenement.setPlacesStandardDisponibles(tampon.getInt());
+        evenement.setPlacesVipDisponibles(tampon.getInt());
+        evenement.setPlacesPremiumDisponibles(tampon.getInt());
+        evenement.setPrixStandard(lirePrix(tampon));
+        evenement.setPrixVip(lirePrix(tampon));
+        evenement.setPrixPremium(lirePrix(tampon));
+        evenement.setDateCreation(lireDate(tampon));
+        byte statut = tampon.get();
+        evenement.setStatut(statut >= 0 ? StatutEvenement.values()[statut] : StatutEvenement.A_VENIR);
+        evenement.setPlaceStandardVendues(tampon.getInt());
+        evenement.setPlaceVipVendues(tampon.getInt());
+        evenement.setPlacePremiumVendues(tampon.getInt());
+        evenement.setEtatEvent(tampon.get() != 0);
+        evenement.setVersion(tampon.getInt());
+        evenement.setMajLe(lireDate(tampon));
+
+        if (evenement instanceof Concert concert) {
+            concert.setArtiste_groupe(lireChaine(tampon));
+            TypeConcert typeConcert = TypeConcert.fromLabel(lireChaine(tampon));
+            if (typeConcert != null) {
+                concert.setType(typeConcert);
+            }
+            concert.setAgeMin(lireEntier(tampon));
+        } else if (evenement instanceof Conference conference) {
+            conference.setIntervenants(lireChaine(tampon));
+            conference.setDomaine(lireChaine(tampon));
+            conference.setNiveauExpertise(NiveauExpertise.fromLabel(lireChaine(tampon)));
+        } else if (evenement instanceof Spectacle spectacle) {
+            spectacle.setTroupe_artistes(lireChaine(tampon));
+            spectacle.setTypeSpectacle(TypeSpectacle.fromLabel(lireChaine(tampon)));
+            spectacle.setAgeMin(lireEntier(tampon));
+        }
+
+        // Comme après un chargement depuis la base
+        evenement.reinitialiserChampsModifies();
+        return evenement;
+    }
+
+    private static void ecrireChaine(DataOutputStream sortie, String valeur) throws IOException {
+        if (valeur == null) {
+            sortie.writeInt(-1);
+            return;
+        }
+        byte[] octets = valeur.getBytes(StandardCharsets.UTF_8);
+        sortie.writeInt(octets.length);
+        sortie.write(octets);
+    }
+
+    private static String lireChaine(ByteBuffer tampon) {
+        int longueur = tampon.getInt();
+        if (longueur < 0) {
+            return null;
+        }
+        byte[] octets = new byte[longueur];
+        tampon.get(octets);
+        return new String(octets, StandardCharsets.UTF_8);
+    }
+
+    /** Entier facultatif (null : pas de valeur en base) */
+    private static void ecrireEntier(DataOutputStream sortie, Integer valeur) throws IOException {
+        sortie.writeBoolean(valeur != null);
+        if (valeur != null) {
+            sortie.writeInt(valeur);
+        }
+    }
+
+    private static Integer lireEntier(ByteBuffer tampon) {
+        return tampon.get() != 0 ? tampon.getInt() : null;
+    }
+
+    /** Date sans fuseau : secondes et nanosecondes de la date locale lue comme UTC */
+    private static void ecrireDate(DataOutputStream sortie, LocalDateTime date) throws IOException {
+        sortie.writeBoolean(date != null);
+        if (date != null) {
+            sortie.writeLong(date.toEpochSecond(ZoneOffset.UTC));
+            sortie.writeInt(date.getNano());
+        }
+    }
+
+    private static LocalDateTime lireDate(ByteBuffer tampon) {
+        if (tampon.get() == 0) {
+            return null;
+        }
+        long secondes = tampon.getLong();
+        return LocalDateTime.ofEpochSecond(secondes, tampon.getInt(), ZoneOffset.UTC);
+    }
+
+    private static void ecrirePrix(DataOutputStream sortie, BigDecimal prix) throws IOException {
+        sortie.writeBoolean(prix != null);
+        if (prix != null) {
+            byte[] valeur = prix.unscaledValue().toByteArray();
+            sortie.writeInt(prix.scale());
+            sortie.writeByte(valeur.length);
+            sortie.write(valeur);
+        }
+    }
+
+    private static BigDecimal lirePrix(ByteBuffer tampon) {
+        if (tampon.get() == 0) {
+            return null;
+        }
+        int echelle = tampon.getInt();
+        byte[] valeur = new byte[tampon.get() & 0xFF];
+        tampon.get(valeur);
+        return new BigDecimal(new BigInteger(valeur), echelle);
+    }
+}
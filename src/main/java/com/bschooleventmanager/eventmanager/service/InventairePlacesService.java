@@ -0,0 +1,289 @@
+package com.bschooleventmanager.eventmanager.service;
+
+import com.bschooleventmanager.eventmanager.dao.EvenementDAO;
+import com.bschooleventmanager.eventmanager.dao.ReservationDAO;
+import com.bschooleventmanager.eventmanager.exception.DatabaseException;
+import com.bschooleventmanager.eventmanager.exception.PlacesInsuffisantesException;
+import com.bschooleventmanager.eventmanager.model.DisponibilitePlaces;
+import com.bschooleventmanager.eventmanager.model.Evenement;
+import com.bschooleventmanager.eventmanager.model.enums.CategorieTicket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Inventaire des places : prise et restitution des places vendues des événements.
+ *
+ * <p>La base est l'autorité. Une prise de places est une mise à jour conditionnelle des
+ * compteurs ({@code SET vendues = vendues + ? WHERE vendues + ? <= capacite}) : si aucune ligne
+ * n'est modifiée, les places manquent. Prises et restitutions s'exécutent dans la transaction de
+ * l'appelant (création ou annulation de la réservation), de sorte que les compteurs et les
+ * réservations sont validés ou annulés ensemble. Plusieurs postes qui partagent la base ne
+ * peuvent donc pas vendre les mêmes places. Les compteurs ne sont jamais réécrits en valeur
+ * absolue : un écart avec la table des réservations est seulement signalé.</p>
+ *
+ * <p>Mode exclusif : quand un seul processus écrit dans la base (le serveur,
+ * {@link #activerModeExclusif()}), les places restantes de chaque {@link CategorieTicket} sont
+ * aussi tenues en mémoire dans des compteurs atomiques. Une demande qui dépasse les places
+ * restantes est alors refusée par compare-and-set, sans accès à la base ; une demande acceptée
+ * passe quand même par la mise à jour conditionnelle. Si la base refuse une prise acceptée en
+ * mémoire, l'inventaire de l'événement est rechargé au prochain accès. En mode bureau,
+ * d'autres postes vendent les mêmes places : aucun compteur en mémoire n'est utilisé.</p>
+ *
+ * <p>Chaque chargement et chaque restitution par le balayeur d'expiration sont aussi ajoutés au
+ * {@link JournalReservationsService}, qui permet de recalculer les compteurs par relecture. Les
+ * prises et restitutions faites dans la transaction d'un appelant sont journalisées par celui-ci,
+ * après la validation : un mouvement annulé avec sa transaction ne doit pas figurer au journal.</p>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class InventairePlacesService {
+    private static final Logger logger = LoggerFactory.getLogger(InventairePlacesService.class);
+
+    private static final CategorieTicket[] CATEGORIES = CategorieTicket.values();
+
+    private static InventairePlacesService instance;
+
+    /**
+     * Événements déjà chargés, avec leurs places restantes indexées par CategorieTicket.getOrdre()
+     * (tenues à jour en mode exclusif seulement)
+     */
+    private final Map<Integer, AtomicIntegerArray> placesRestantes = new ConcurrentHashMap<>();
+
+    private final ReservationDAO reservationDAO;
+    private final JournalReservationsService journal;
+    private volatile boolean exclusif;
+
+    private InventairePlacesService() {
+        this.reservationDAO = new ReservationDAO();
+        this.journal = JournalReservationsService.getInstance();
+    }
+
+    public static synchronized InventairePlacesService getInstance() {
+        if (instance == null) {
+            instance = new InventairePlacesService();
+        }
+        return instance;
+    }
+
+    /**
+     * Active les compteurs en mémoire. À n'appeler que dans un processus qui est le seul à
+     * vendre des places sur la base (serveur).
+     */
+    public void activerModeExclusif() {
+        placesRestantes.clear();
+        exclusif = true;
+        logger.info("✓ Inventaire des places en mode exclusif (compteurs en mémoire)");
+    }
+
+    /**
+     * Indique si ce processus est le seul à vendre des places sur la base
+     */
+    public boolean estExclusif() {
+        return exclusif;
+    }
+
+    /**
+     * Prend des places d'un événement. Tout ou rien : si une catégorie est insuffisante,
+     * aucune place n'est prise.
+     *
+     * <p>Doit être appelée dans la transaction qui crée la réservation. Si cette transaction est
+     * annulée, l'appelant le signale avec {@link #annulerPrise(int, int, int, int)} ; si elle est
+     * validée, c'est lui qui ajoute la prise au journal.</p>
+     *
+     * @param evenement L'événement, relu en base (capacités utilisées au premier chargement)
+     * @throws PlacesInsuffisantesException Si une catégorie n'a pas assez de places
+     * @throws DatabaseException En cas d'erreur de base de données
+     */
+    public void reserver(Evenement evenement, int quantiteStandard, int quantiteVip, int quantitePremium)
+            throws DatabaseException {
+        int idEvenement = evenement.getIdEvenement();
+        int[] demandees = {quantiteStandard, quantiteVip, quantitePremium};
+        AtomicIntegerArray restantes = charger(evenement);
+
+        if (exclusif) {
+            for (int i = 0; i < demandees.length; i++) {
+                if (demandees[i] > 0 && !prendre(restantes, i, demandees[i])) {
+                    // Rendre les catégories déjà prises
+                    for (int j = 0; j < i; j++) {
+                        restantes.addAndGet(j, demandees[j]);
+                    }
+                    throw insuffisantes(i, Math.max(0, restantes.get(i)), demandees[i]);
+                }
+            }
+        }
+
+        boolean prises;
+        try {
+            prises = EvenementDAO.prendrePlaces(idEvenement, quantiteStandard, quantiteVip, quantitePremium);
+        } catch (DatabaseException | RuntimeException e) {
+            rendreEnMemoire(idEvenement, demandees);
+            throw e;
+        }
+        if (!prises) {
+            if (exclusif) {
+                // La mémoire acceptait la prise : elle a divergé de la base
+                placesRestantes.remove(idEvenement);
+            }
+            throw placesManquantes(idEvenement, demandees);
+        }
+    }
+
+    /**
+     * Signale qu'une prise de places a été annulée avec la transaction qui la contenait
+     * (les compteurs en base sont revenus à leur valeur d'avant la prise)
+     */
+    public void annulerPrise(int idEvenement, int quantiteStandard, int quantiteVip, int quantitePremium) {
+        rendreEnMemoire(idEvenement, new int[]{quantiteStandard, quantiteVip, quantitePremium});
+    }
+
+    /**
+     * Rend des places à un événement (annulation d'une réservation). Les compteurs en base sont
+     * diminués immédiatement ; à appeler dans la transaction qui annule la réservation, qui ajoute
+     * la restitution au journal une fois validée.
+     *
+     * @throws DatabaseException En cas d'erreur de base de données
+     */
+    public void liberer(int idEvenement, int quantiteStandard, int quantiteVip, int quantitePremium)
+            throws DatabaseException {
+        EvenementDAO.rendrePlaces(idEvenement, quantiteStandard, quantiteVip, quantitePremium);
+        rendreEnMemoire(idEvenement, new int[]{quantiteStandard, quantiteVip, quantitePremium});
+    }
+
+    /**
+     * Rend en mémoire des places déjà rendues en base (par exemple par le balayeur d'expiration)
+     *
+     * @param places [standard, vip, premium]
+     */
+    public void restituer(int idEvenement, int[] places) {
+        rendreEnMemoire(idEvenement, places);
+        journal.placesRendues(idEvenement, places[0], places[1], places[2]);
+    }
+
+    /**
+     * Retourne les places restantes connues en mémoire, ou null si l'événement n'est pas chargé
+     * ou que l'inventaire n'est pas en mode exclusif
+     *
+     * @return [standard, vip, premium]
+     */
+    public int[] getPlacesRestantes(int idEvenement) {
+        AtomicIntegerArray restantes = exclusif ? placesRestantes.get(idEvenement) : null;
+        if (restantes == null) {
+            return null;
+        }
+        return new int[]{restantes.get(0), restantes.get(1), restantes.get(2)};
+    }
+
+    /**
+     * Oublie l'inventaire d'un événement (par exemple après modification de ses capacités).
+     * Il sera rechargé depuis la base au prochain accès.
+     */
+    public void invalider(int idEvenement) {
+        placesRestantes.remove(idEvenement);
+    }
+
+    /**
+     * Prend des places d'une catégorie par compare-and-set
+     */
+    private boolean prendre(AtomicIntegerArray restantes, int categorie, int quantite) {
+        while (true) {
+            int actuel = restantes.get(categorie);
+            if (actuel < quantite) {
+                return false;
+            }
+            if (restantes.compareAndSet(categorie, actuel, actuel - quantite)) {
+                return true;
+            }
+        }
+    }
+
+    private void rendreEnMemoire(int idEvenement, int[] places) {
+        AtomicIntegerArray restantes = exclusif ? placesRestantes.get(idEvenement) : null;
+        if (restantes != null) {
+            for (int i = 0; i < places.length; i++) {
+                restantes.addAndGet(i, places[i]);
+            }
+        }
+    }
+
+    /**
+     * Construit l'exception des places manquantes à partir des compteurs actuels en base
+     */
+    private PlacesInsuffisantesException placesManquantes(int idEvenement, int[] demandees) throws DatabaseException {
+        DisponibilitePlaces disponibilite = EvenementDAO.getDisponibilites(List.of(idEvenement)).get(idEvenement);
+        if (disponibilite == null) {
+            throw new DatabaseException("Aucun événement trouvé avec l'ID: " + idEvenement);
+        }
+        int[] restantes = {
+                disponibilite.getPlacesStandardRestantes(),
+                disponibilite.getPlacesVipRestantes(),
+                disponibilite.getPlacesPremiumRestantes()
+        };
+        for (int i = 0; i < demandees.length; i++) {
+            if (demandees[i] > restantes[i]) {
+                return insuffisantes(i, Math.max(0, restantes[i]), demandees[i]);
+            }
+        }
+        return new PlacesInsuffisantesException("Places insuffisantes");
+    }
+
+    private static PlacesInsuffisantesException insuffisantes(int categorie, int disponibles, int demandees) {
+        return new PlacesInsuffisantesException(String.format(
+                "Places %s insuffisantes. Disponibles: %d, Demandées: %d",
+                CATEGORIES[categorie].getLabel(), disponibles, demandees));
+    }
+
+    /**
+     * Charge l'inventaire d'un événement au premier accès, à partir de la table des réservations.
+     * Un écart entre les compteurs de l'événement et les réservations est signalé sans être
+     * corrigé : d'autres processus peuvent avoir des réservations en cours de création.
+     */
+    private AtomicIntegerArray charger(Evenement evenement) throws DatabaseException {
+        AtomicIntegerArray restantes = placesRestantes.get(evenement.getIdEvenement());
+        if (restantes != null) {
+            return restantes;
+        }
+
+        synchronized (this) {
+            restantes = placesRestantes.get(evenement.getIdEvenement());
+            if (restantes != null) {
+                return restantes;
+            }
+
+            int[] occupees = reservationDAO.compterPlacesOccupeesParEvenement(evenement.getIdEvenement());
+            int[] vendues = {
+                    evenement.getPlaceStandardVendues(),
+                    evenement.getPlaceVipVendues(),
+                    evenement.getPlacePremiumVendues()
+            };
+            int[] capacites = {
+                    evenement.getPlacesStandardDisponibles(),
+                    evenement.getPlacesVipDisponibles(),
+                    evenement.getPlacesPremiumDisponibles()
+            };
+            journal.situation(evenement.getIdEvenement(), occupees[0], occupees[1], occupees[2]);
+            // Les compteurs de la base font foi, c'est eux que vérifie la mise à jour conditionnelle
+            restantes = new AtomicIntegerArray(3);
+            for (int i = 0; i < 3; i++) {
+                restantes.set(i, Math.max(0, capacites[i] - vendues[i]));
+            }
+
+            if (occupees[0] != vendues[0] || occupees[1] != vendues[1] || occupees[2] != vendues[2]) {
+                logger.warn("Compteurs de places de l'événement {} différents des réservations: " +
+                                "Standard {}/{}, VIP {}/{}, Premium {}/{}", evenement.getIdEvenement(),
+                        vendues[0], occupees[0], vendues[1], occupees[1], vendues[2], occupees[2]);
+            }
+
+            placesRestantes.put(evenement.getIdEvenement(), restantes);
+            logger.info("✓ Inventaire chargé pour l'événement {}: Standard={}, VIP={}, Premium={}",
+                    evenement.getIdEvenement(), restantes.get(0), restantes.get(1), restantes.get(2));
+            return restantes;
+        }
+    }
+}
@@ -0,0 +1,664 @@
+package com.bschooleventmanager.eventmanager.service;
+
+import com.bschooleventmanager.eventmanager.dao.EvenementDAO;
+import com.bschooleventmanager.eventmanager.exception.DatabaseException;
+import com.bschooleventmanager.eventmanager.model.Evenement;
+import com.bschooleventmanager.eventmanager.model.Montant;
+import com.bschooleventmanager.eventmanager.util.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Journal des mouvements de réservation, en ajout seul, sur des segments de fichier projetés en mémoire.
+ *
+ * <p>Chaque action qui touche l'inventaire des places est ajoutée au journal sous la forme d'un
+ * enregistrement binaire de taille fixe ({@value #TAILLE_ENREGISTREMENT} octets) : réservation
+ * créée, places prises ou rendues, paiement, annulation, remboursement. Un mouvement fait en base
+ * n'est ajouté qu'après la validation de sa transaction : le journal ne garde pas de prise ou de
+ * restitution annulée avec la transaction qui la contenait. Un ajout est une simple
+ * copie dans le segment courant, projeté en mémoire ({@link MappedByteBuffer}) : il ne coûte ni
+ * appel système ni aller-retour avec la base. Le segment est forcé sur disque périodiquement par
+ * un thread d'arrière-plan ; un arrêt du processus ne perd rien (les pages restent dans le cache
+ * du système), une panne de la machine perd au plus l'intervalle de synchronisation.</p>
+ *
+ * <p>Les segments ont une taille fixe, préallouée, et sont nommés d'après la séquence de leur
+ * premier enregistrement. Quand le segment courant est plein, il est synchronisé puis un nouveau
+ * segment est ouvert ; au-delà du nombre maximal de segments, les plus anciens sont supprimés.
+ * Chaque enregistrement porte une séquence et une somme de contrôle CRC32 : la relecture s'arrête
+ * au premier enregistrement vide, corrompu ou hors séquence, ce qui écarte une fin d'écriture
+ * interrompue par une panne. À l'ouverture, l'écriture reprend après le dernier enregistrement valide.</p>
+ *
+ * <p>Chaque chargement de l'inventaire d'un événement écrit un enregistrement {@link TypeMouvement#SITUATION}
+ * avec ses places vendues. En rejouant le journal à partir de cette situation et des places
+ * prises et rendues ensuite, {@link #reconstruirePlacesVendues()} recalcule les compteurs des
+ * événements, et {@link #verifierCompteurs(boolean)} les compare à ceux de la table evenements
+ * (et peut les corriger), par exemple après une modification manuelle de la base. La correction
+ * remplace les compteurs en valeur absolue : elle n'est appliquée que par le serveur, seul à vendre
+ * des places ({@link InventairePlacesService#estExclusif()}) ; ailleurs, les écarts sont seulement
+ * signalés, car les ventes des autres postes seraient effacées.</p>
+ *
+ * <p>Un seul processus écrit dans un répertoire de journal : l'ouverture prend un verrou sur le
+ * fichier {@value #FICHIER_VERROU} du répertoire. Si un autre processus le détient déjà (deuxième
+ * poste lancé sur la même session, serveur et poste sur la même machine), le journal est désactivé
+ * pour ce processus au lieu d'écrire dans les mêmes segments.</p>
+ *
+ * <p>Une erreur d'écriture du journal est journalisée mais n'interrompt jamais une réservation :
+ * le journal est une trace d'audit, la base reste la référence.</p>
+ *
+ * <p>Paramètres (application.properties) :</p>
+ * <ul>
+ *   <li>journal.actif - active le journal (défaut true)</li>
+ *   <li>journal.repertoire - répertoire des segments (défaut ~/.eventmanager/journal)</li>
+ *   <li>journal.segment.taille.ko - taille d'un segment (défaut 8192)</li>
+ *   <li>journal.segments.max - segments conservés (défaut 32)</li>
+ *   <li>journal.synchronisation.intervalle.ms - période de synchronisation sur disque (défaut 200)</li>
+ *   <li>journal.verification.demarrage - non, rapport ou correction : vérification des compteurs
+ *       des événements au démarrage (défaut non ; correction appliquée par le serveur seulement)</li>
+ * </ul>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class JournalReservationsService {
+    private static final Logger logger = LoggerFactory.getLogger(JournalReservationsService.class);
+
+    /**
+     * Taille d'un enregistrement : crc (4), type (4), séquence (8), horodatage (8), événement (4),
+     * réservation (4), places standard, VIP et premium (3 x 4), montant en centimes (8)
+     */
+    public static final int TAILLE_ENREGISTREMENT = 52;
+
+    private static final String PREFIXE_SEGMENT = "journal-";
+    private static final String SUFFIXE_SEGMENT = ".seg";
+    private static final String FICHIER_VERROU = "journal.lock";
+
+    /** Enregistrements lus par appel système lors d'une relecture */
+    private static final int ENREGISTREMENTS_PAR_LECTURE = 1024;
+
+    /**
+     * Nature d'un enregistrement du journal
+     */
+    public enum TypeMouvement {
+        /** Places vendues d'un événement au chargement de son inventaire (valeurs absolues) */
+        SITUATION(1),
+        /** Réservation créée, avec ses places et son total */
+        RESERVATION_CREEE(2),
+        /** Places prises dans l'inventaire d'un événement */
+        PLACES_PRISES(3),
+        /** Places rendues à un événement (annulation, expiration, échec de création) */
+        PLACES_RENDUES(4),
+        /** Paiement encaissé pour une réservation */
+        PAIEMENT(5),
+        /** Réservation annulée */
+        ANNULATION(6),
+        /** Paiement remboursé */
+        REMBOURSEMENT(7);
+
+        private final int code;
+
+        TypeMouvement(int code) {
+            this.code = code;
+        }
+
+        private static TypeMouvement depuisCode(int code) {
+            for (TypeMouvement type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Enregistrement relu depuis le journal
+     */
+    public static final class Enregistrement {
+        private final long sequence;
+        private final long horodatage;
+        private final TypeMouvement type;
+        private final int idEvenement;
+        private final int idReservation;
+        private final int standard;
+        private final int vip;
+        private final int premium;
+        private final long montantCentimes;
+
+        private Enregistrement(long sequence, long horodatage, TypeMouvement type, int idEvenement, int idReservation,
+                               int standard, int vip, int premium, long montantCentimes) {
+            this.sequence = sequence;
+            this.horodatage = horodatage;
+            this.type = type;
+            this.idEvenement = idEvenement;
+            this.idReservation = idReservation;
+            this.standard = standard;
+            this.vip = vip;
+            this.premium = premium;
+            this.montantCentimes = montantCentimes;
+        }
+
+        public long getSequence() { return sequence; }
+
+        /** Instant de l'ajout, en millisecondes depuis l'époque Unix */
+        public long getHorodatage() { return horodatage; }
+
+        public TypeMouvement getType() { return type; }
+
+        public int getIdEvenement() { return idEvenement; }
+
+        /** Réservation concernée, 0 si le mouvement porte sur plusieurs réservations */
+        public int getIdReservation() { return idReservation; }
+
+        public int getStandard() { return standard; }
+
+        public int getVip() { return vip; }
+
+        public int getPremium() { return premium; }
+
+        public Montant getMontant() { return Montant.centimes(montantCentimes); }
+    }
+
+    private static JournalReservationsService instance;
+
+    private final Path repertoire;
+    private final int tailleSegment;
+    private final int segmentsMax;
+    private final ScheduledExecutorService synchroniseur;
+
+    /** Enregistrement en cours de construction, réutilisé sous le verrou de l'instance */
+    private final byte[] tampon = new byte[TAILLE_ENREGISTREMENT];
+    private final ByteBuffer tamponEcriture = ByteBuffer.wrap(tampon);
+    private final CRC32 crc = new CRC32();
+
+    /** Segment courant, null si le journal est désactivé ou n'a pas pu être ouvert */
+    private MappedByteBuffer segment;
+    private FileChannel canal;
+    /** Verrou du répertoire, détenu tant que le journal est ouvert */
+    private FileLock verrou;
+    private int position;
+    private long prochaineSequence;
+    private long enregistrementsEcrits;
+    /** Vrai si le segment courant a reçu des écritures depuis la dernière synchronisation */
+    private boolean aSynchroniser;
+
+    private JournalReservationsService() {
+        this(Boolean.parseBoolean(AppConfig.getString("journal.actif", "true")),
+                Path.of(AppConfig.getString("journal.repertoire",
+                        Path.of(System.getProperty("user.home"), ".eventmanager", "journal").toString())),
+                AppConfig.getInt("journal.segment.taille.ko", 8192),
+                AppConfig.getInt("journal.segments.max", 32),
+                AppConfig.getInt("journal.synchronisation.intervalle.ms", 200));
+    }
+
+    /**
+     * Journal paramétré directement, sans lecture de la configuration
+     */
+    JournalReservationsService(boolean actif, Path repertoire, int segmentTailleKo, int segmentsMax,
+                               int synchronisationMillis) {
+        this.repertoire = repertoire;
+        int enregistrementsParSegment = Math.max(1, segmentTailleKo * 1024 / TAILLE_ENREGISTREMENT);
+        this.tailleSegment = enregistrementsParSegment * TAILLE_ENREGISTREMENT;
+        this.segmentsMax = Math.max(2, segmentsMax);
+
+        if (!actif) {
+            logger.info("Journal des réservations désactivé");
+            this.synchroniseur = null;
+            return;
+        }
+        boolean verrouille;
+        try {
+            verrouille = verrouiller();
+            if (verrouille) {
+                ouvrir();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Journal des réservations indisponible ({}), les mouvements ne seront pas journalisés", repertoire, e);
+            this.segment = null;
+            liberer();
+            this.synchroniseur = null;
+            return;
+        }
+        if (!verrouille) {
+            logger.warn("Journal des réservations {} déjà utilisé par un autre processus, " +
+                    "les mouvements de ce processus ne seront pas journalisés", repertoire);
+            this.synchroniseur = null;
+            return;
+        }
+
+        long intervalle = Math.max(10, synchronisationMillis);
+        this.synchroniseur = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-synchronisation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.synchroniseur.scheduleWithFixedDelay(this::synchroniser, intervalle, intervalle, TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized JournalReservationsService getInstance() {
+        if (instance == null) {
+            instance = new JournalReservationsService();
+        }
+        return instance;
+    }
+
+    // ==================== AJOUTS ====================
+
+    /**
+     * Places vendues d'un événement au moment où son inventaire est chargé
+     */
+    public void situation(int idEvenement, int standard, int vip, int premium) {
+        ajouter(TypeMouvement.SITUATION, idEvenement, 0, standard, vip, premium, 0);
+    }
+
+    public void reservationCreee(int idReservation, int idEvenement, int standard, int vip, int premium, Montant total) {
+        ajouter(TypeMouvement.RESERVATION_CREEE, idEvenement, idReservation, standard, vip, premium, centimes(total));
+    }
+
+    public void placesPrises(int idEvenement, int standard, int vip, int premium) {
+        ajouter(TypeMouvement.PLACES_PRISES, idEvenement, 0, standard, vip, premium, 0);
+    }
+
+    public void placesRendues(int idEvenement, int standard, int vip, int premium) {
+        ajouter(TypeMouvement.PLACES_RENDUES, idEvenement, 0, standard, vip, premium, 0);
+    }
+
+    public void paiement(int idReservation, int idEvenement, Montant montant) {
+        ajouter(TypeMouvement.PAIEMENT, idEvenement, idReservation, 0, 0, 0, centimes(montant));
+    }
+
+    public void annulation(int idReservation, int idEvenement) {
+        ajouter(TypeMouvement.ANNULATION, idEvenement, idReservation, 0, 0, 0, 0);
+    }
+
+    public void remboursement(int idReservation, int idEvenement, Montant montant) {
+        ajouter(TypeMouvement.REMBOURSEMENT, idEvenement, idReservation, 0, 0, 0, centimes(montant));
+    }
+
+    private static long centimes(Montant montant) {
+        return montant != null ? montant.getUnitesMineures() : 0;
+    }
+
+    private synchronized void ajouter(TypeMouvement type, int idEvenement, int idReservation,
+                                      int standard, int vip, int premium, long montantCentimes) {
+        if (segment == null) {
+            return;
+        }
+        try {
+            if (position + TAILLE_ENREGISTREMENT > segment.capacity()) {
+                rouler();
+            }
+            tamponEcriture.clear();
+            tamponEcriture.putInt(0)
+                    .putInt(type.code)
+                    .putLong(prochaineSequence)
+                    .putLong(System.currentTimeMillis())
+                    .putInt(idEvenement)
+                    .putInt(idReservation)
+                    .putInt(standard)
+                    .putInt(vip)
+                    .putInt(premium)
+                    .putLong(montantCentimes);
+            crc.reset();
+            crc.update(tampon, 4, TAILLE_ENREGISTREMENT - 4);
+            tamponEcriture.putInt(0, (int) crc.getValue());
+
+            segment.put(position, tampon);
+            position += TAILLE_ENREGISTREMENT;
+            prochaineSequence++;
+            enregistrementsEcrits++;
+            aSynchroniser = true;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Écriture du mouvement {} dans le journal des réservations impossible", type, e);
+        }
+    }
+
+    // ==================== SEGMENTS ====================
+
+    /**
+     * Prend le verrou du répertoire du journal
+     *
+     * @return false si un autre processus le détient
+     */
+    private boolean verrouiller() throws IOException {
+        Files.createDirectories(repertoire);
+        FileChannel canalVerrou = FileChannel.open(repertoire.resolve(FICHIER_VERROU),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            verrou = canalVerrou.tryLock();
+        } catch (OverlappingFileLockException e) {
+            verrou = null;
+        }
+        if (verrou == null) {
+            canalVerrou.close();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Rend le verrou du répertoire du journal
+     */
+    private void liberer() {
+        if (verrou == null) {
+            return;
+        }
+        try {
+            verrou.release();
+            verrou.channel().close();
+        } catch (IOException e) {
+            logger.debug("Libération du verrou du journal: {}", e.getMessage());
+        }
+        verrou = null;
+    }
+
+    /**
+     * Ouvre le dernier segment et place l'écriture après son dernier enregistrement valide
+     */
+    private void ouvrir() throws IOException {
+        List<Path> segments = listerSegments();
+        if (segments.isEmpty()) {
+            projeter(cheminSegment(0));
+            prochaineSequence = 0;
+            position = 0;
+            logger.info("✓ Journal des réservations créé dans {}", repertoire);
+            return;
+        }
+
+        Path dernier = segments.get(segments.size() - 1);
+        projeter(dernier);
+        long sequence = premiereSequence(dernier);
+        int fin = 0;
+        while (fin + TAILLE_ENREGISTREMENT <= segment.capacity()
+                && lire(segment, fin, sequence) != null) {
+            fin += TAILLE_ENREGISTREMENT;
+            sequence++;
+        }
+        // Efface une éventuelle fin d'écriture interrompue, pour qu'elle ne soit jamais relue
+        for (int i = fin; i < segment.capacity(); i++) {
+            if (segment.get(i) != 0) {
+                segment.put(i, (byte) 0);
+            }
+        }
+        position = fin;
+        prochaineSequence = sequence;
+        logger.info("✓ Journal des réservations ouvert: {} segments, prochaine séquence {}",
+                segments.size(), prochaineSequence);
+    }
+
+    /**
+     * Synchronise et ferme le segment plein, en ouvre un nouveau et supprime les plus anciens
+     */
+    private void rouler() throws IOException {
+        segment.force();
+        canal.close();
+        projeter(cheminSegment(prochaineSequence));
+        position = 0;
+        aSynchroniser = false;
+
+        List<Path> segments = listerSegments();
+        for (int i = 0; i < segments.size() - segmentsMax; i++) {
+            try {
+                Files.deleteIfExists(segments.get(i));
+            } catch (IOException e) {
+                // Segment encore projeté (Windows) : il sera supprimé au prochain roulement
+                logger.debug("Suppression du segment {} reportée: {}", segments.get(i), e.getMessage());
+            }
+        }
+        logger.info("Journal des réservations: nouveau segment à partir de la séquence {}", prochaineSequence);
+    }
+
+    private void projeter(Path chemin) throws IOException {
+        canal = FileChannel.open(chemin, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = canal.map(FileChannel.MapMode.READ_WRITE, 0, tailleSegment);
+    }
+
+    private Path cheminSegment(long premiereSequence) {
+        return repertoire.resolve(String.format("%s%020d%s", PREFIXE_SEGMENT, premiereSequence, SUFFIXE_SEGMENT));
+    }
+
+    private static long premiereSequence(Path segment) {
+        String nom = segment.getFileName().toString();
+        return Long.parseLong(nom.substring(PREFIXE_SEGMENT.length(), nom.length() - SUFFIXE_SEGMENT.length()));
+    }
+
+    /**
+     * Segments du répertoire, du plus ancien au plus récent
+     */
+    private List<Path> listerSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> flux = Files.newDirectoryStream(repertoire, PREFIXE_SEGMENT + "*" + SUFFIXE_SEGMENT)) {
+            for (Path chemin : flux) {
+                segments.add(chemin);
+            }
+        }
+        // Séquences sur 20 chiffres : l'ordre des noms est celui des séquences
+        Collections.sort(segments);
+        return segments;
+    }
+
+    /**
+     * Force sur disque les écritures du segment courant (appelé périodiquement)
+     */
+    private void synchroniser() {
+        MappedByteBuffer aForcer;
+        synchronized (this) {
+            if (!aSynchroniser || segment == null) {
+                return;
+            }
+            aSynchroniser = false;
+            aForcer = segment;
+        }
+        try {
+            aForcer.force();
+        } catch (RuntimeException e) {
+            logger.error("Synchronisation du journal des réservations en échec", e);
+        }
+    }
+
+    /**
+     * Synchronise le journal sur disque et arrête la synchronisation périodique
+     */
+    public synchronized void arreter() {
+        if (synchroniseur != null) {
+            synchroniseur.shutdown();
+        }
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.force();
+            canal.close();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Fermeture du journal des réservations: {}", e.getMessage());
+        }
+        segment = null;
+        liberer();
+    }
+
+    // ==================== RELECTURE ====================
+
+    /**
+     * Relit tous les enregistrements valides, du plus ancien au plus récent.
+     * Les segments sont lus par blocs, sans projection, et peuvent être relus pendant les écritures.
+     */
+    public void rejouer(Consumer<Enregistrement> lecteur) throws IOException {
+        ByteBuffer bloc = ByteBuffer.allocate(ENREGISTREMENTS_PAR_LECTURE * TAILLE_ENREGISTREMENT);
+        List<Path> segments;
+        synchronized (this) {
+            segments = Files.isDirectory(repertoire) ? listerSegments() : List.of();
+        }
+        for (Path chemin : segments) {
+            long sequence = premiereSequence(chemin);
+            try (FileChannel lecture = FileChannel.open(chemin, StandardOpenOption.READ)) {
+                boolean finSegment = false;
+                while (!finSegment) {
+                    bloc.clear();
+                    while (bloc.hasRemaining() && lecture.read(bloc) > 0) {
+                        // lecture jusqu'à remplir le bloc ou atteindre la fin du fichier
+                    }
+                    bloc.flip();
+                    finSegment = bloc.remaining() < bloc.capacity();
+                    for (int pos = 0; pos + TAILLE_ENREGISTREMENT <= bloc.limit(); pos += TAILLE_ENREGISTREMENT) {
+                        Enregistrement enregistrement = lire(bloc, pos, sequence);
+                        if (enregistrement == null) {
+                            finSegment = true;
+                            break;
+                        }
+                        lecteur.accept(enregistrement);
+                        sequence++;
+                    }
+                }
+            } catch (IOException e) {
+                // Segment supprimé par un roulement pendant la relecture
+                logger.warn("Segment {} illisible: {}", chemin.getFileName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Décode l'enregistrement situé à une position
+     *
+     * @return L'enregistrement, ou null s'il est vide, corrompu ou n'a pas la séquence attendue
+     */
+    private static Enregistrement lire(ByteBuffer source, int pos, long sequenceAttendue) {
+        TypeMouvement type = TypeMouvement.depuisCode(source.getInt(pos + 4));
+        if (type == null || source.getLong(pos + 8) != sequenceAttendue) {
+            return null;
+        }
+        CRC32 controle = new CRC32();
+        controle.update(source.slice(pos + 4, TAILLE_ENREGISTREMENT - 4));
+        if ((int) controle.getValue() != source.getInt(pos)) {
+            return null;
+        }
+        return new Enregistrement(sequenceAttendue, source.getLong(pos + 16), type,
+                source.getInt(pos + 24), source.getInt(pos + 28),
+                source.getInt(pos + 32), source.getInt(pos + 36), source.getInt(pos + 40),
+                source.getLong(pos + 44));
+    }
+
+    /**
+     * Recalcule les places vendues des événements en rejouant le journal : chaque situation fixe
+     * les compteurs d'un événement, les places prises et rendues ensuite les font varier.
+     * Les événements sans situation dans le journal (segments supprimés) sont ignorés.
+     *
+     * @return Places vendues [standard, vip, premium] par ID d'événement
+     */
+    public Map<Integer, int[]> reconstruirePlacesVendues() throws IOException {
+        Map<Integer, int[]> placesVendues = new HashMap<>();
+        rejouer(enregistrement -> {
+            int[] places = placesVendues.get(enregistrement.getIdEvenement());
+            switch (enregistrement.getType()) {
+                case SITUATION -> placesVendues.put(enregistrement.getIdEvenement(),
+                        new int[]{enregistrement.getStandard(), enregistrement.getVip(), enregistrement.getPremium()});
+                case PLACES_PRISES, PLACES_RENDUES -> {
+                    if (places != null) {
+                        int signe = enregistrement.getType() == TypeMouvement.PLACES_PRISES ? 1 : -1;
+                        places[0] += signe * enregistrement.getStandard();
+                        places[1] += signe * enregistrement.getVip();
+                        places[2] += signe * enregistrement.getPremium();
+                    }
+                }
+                default -> {
+                    // Mouvements sans effet sur les compteurs de places
+                }
+            }
+        });
+        return placesVendues;
+    }
+
+    /**
+     * Compare les places vendues reconstruites depuis le journal aux compteurs de la table evenements.
+     *
+     * <p>À exécuter quand aucune réservation n'est en cours (au démarrage) : les places prises par
+     * une transaction pas encore validée apparaîtraient comme des écarts.</p>
+     *
+     * @param corriger Si vrai, les compteurs divergents sont remplacés par ceux du journal
+     *                 (serveur seulement : ignoré hors du mode exclusif de l'inventaire)
+     * @return Le nombre d'événements dont les compteurs divergent
+     */
+    public int verifierCompteurs(boolean corriger) throws IOException, DatabaseException {
+        if (corriger && !InventairePlacesService.getInstance().estExclusif()) {
+            // D'autres postes vendent sur la même base : leurs ventes n'apparaissent pas dans ce journal
+            logger.warn("Correction des compteurs par le journal réservée au serveur, rapport seulement");
+            corriger = false;
+        }
+        Map<Integer, int[]> placesVendues = reconstruirePlacesVendues();
+        Map<Integer, Evenement> evenements = EvenementDAO.getEventsByIds(placesVendues.keySet());
+
+        int divergents = 0;
+        for (Map.Entry<Integer, int[]> entry : placesVendues.entrySet()) {
+            Evenement evenement = evenements.get(entry.getKey());
+            if (evenement == null) {
+                continue;
+            }
+            int[] places = entry.getValue();
+            if (places[0] == evenement.getPlaceStandardVendues()
+                    && places[1] == evenement.getPlaceVipVendues()
+                    && places[2] == evenement.getPlacePremiumVendues()) {
+                continue;
+            }
+            divergents++;
+            logger.warn("Compteurs de l'événement {} différents du journal: Standard {}/{}, VIP {}/{}, Premium {}/{}",
+                    entry.getKey(), evenement.getPlaceStandardVendues(), places[0],
+                    evenement.getPlaceVipVendues(), places[1], evenement.getPlacePremiumVendues(), places[2]);
+            if (corriger) {
+                EvenementDAO.mettreAJourPlacesVendues(entry.getKey(),
+                        Math.max(0, places[0]), Math.max(0, places[1]), Math.max(0, places[2]));
+                InventairePlacesService.getInstance().invalider(entry.getKey());
+            }
+        }
+        logger.info("✓ Vérification des compteurs par le journal: {} événements, {} divergents{}",
+                placesVendues.size(), divergents, corriger && divergents > 0 ? " (corrigés)" : "");
+        return divergents;
+    }
+
+    /**
+     * Vérifie (et corrige si configuré) les compteurs des événements selon journal.verification.demarrage.
+     * Les erreurs sont seulement journalisées.
+     */
+    public void verifierAuDemarrage() {
+        String mode = AppConfig.getString("journal.verification.demarrage", "non");
+        if (segment == null || !(mode.equals("rapport") || mode.equals("correction"))) {
+            return;
+        }
+        try {
+            verifierCompteurs(mode.equals("correction"));
+        } catch (IOException | DatabaseException e) {
+            logger.error("Vérification des compteurs par le journal impossible", e);
+        }
+    }
+
+    /**
+     * État du journal, pour la supervision
+     */
+    public synchronized Map<String, Object> statistiques() {
+        Map<String, Object> statistiques = new LinkedHashMap<>();
+        statistiques.put("actif", segment != null);
+        statistiques.put("prochaineSequence", prochaineSequence);
+        statistiques.put("enregistrementsEcrits", enregistrementsEcrits);
+        return statistiques;
+    }
+}
@@ -0,0 +1,236 @@
+package com.bschooleventmanager.eventmanager.service;
+
+import com.bschooleventmanager.eventmanager.exception.BusinessException;
+import com.bschooleventmanager.eventmanager.util.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Limiteur des tentatives de connexion, consulté avant tout accès à la base ou calcul BCrypt.
+ *
+ * <p>Chaque clé (adresse email, instance cliente) dispose d'un seau à jetons : une tentative
+ * consomme un jeton, les jetons se rechargent à intervalle régulier jusqu'à la capacité du seau.
+ * Quand le seau est vide, la clé est verrouillée pour une durée qui double à chaque nouveau
+ * verrouillage, dans la limite d'un maximum. Une connexion réussie efface l'historique de l'email.</p>
+ *
+ * <p>L'état d'une clé est immuable et remplacé par compare-and-set : aucun verrou n'est pris,
+ * une tentative refusée ne coûte que quelques lectures en mémoire. Les clés inactives sont
+ * purgées et leur nombre est borné, une rafale d'emails différents ne peut donc pas faire
+ * grossir la mémoire indéfiniment.</p>
+ *
+ * <p>Paramètres (application.properties) :</p>
+ * <ul>
+ *   <li>max.tentatives.connexion - tentatives consécutives par email (défaut 3)</li>
+ *   <li>connexion.recharge.secondes - délai de récupération d'une tentative par email (défaut 60)</li>
+ *   <li>connexion.instance.tentatives.max - tentatives consécutives par instance cliente (défaut 20)</li>
+ *   <li>connexion.instance.recharge.secondes - délai de récupération d'une tentative par instance (défaut 3)</li>
+ *   <li>connexion.verrouillage.base.secondes - premier verrouillage (défaut 30)</li>
+ *   <li>connexion.verrouillage.max.secondes - verrouillage maximal (défaut 900)</li>
+ *   <li>connexion.limiteur.entrees.max - nombre maximal de clés suivies (défaut 10000)</li>
+ * </ul>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class LimiteurConnexionService {
+    private static final Logger logger = LoggerFactory.getLogger(LimiteurConnexionService.class);
+
+    /** Identifiant de cette instance de l'application, utilisé comme clé cliente par défaut */
+    public static final String INSTANCE_LOCALE = UUID.randomUUID().toString();
+
+    /** Une purge des clés inactives est tentée toutes les N tentatives */
+    private static final int PERIODE_PURGE = 256;
+
+    private static LimiteurConnexionService instance;
+
+    private final Map<String, AtomicReference<Etat>> etats = new ConcurrentHashMap<>();
+    private final AtomicInteger compteurPurge = new AtomicInteger();
+
+    private final Seau seauEmail;
+    private final Seau seauInstance;
+    private final long verrouillageBaseNanos;
+    private final long verrouillageMaxNanos;
+    private final int entreesMax;
+
+    private LimiteurConnexionService() {
+        this(AppConfig.getInt("max.tentatives.connexion", 3),
+                AppConfig.getInt("connexion.recharge.secondes", 60),
+                AppConfig.getInt("connexion.instance.tentatives.max", 20),
+                AppConfig.getInt("connexion.instance.recharge.secondes", 3),
+                AppConfig.getInt("connexion.verrouillage.base.secondes", 30),
+                AppConfig.getInt("connexion.verrouillage.max.secondes", 900),
+                AppConfig.getInt("connexion.limiteur.entrees.max", 10000));
+    }
+
+    /**
+     * Limiteur paramétré directement, sans lecture de la configuration
+     */
+    LimiteurConnexionService(int tentativesEmail, int rechargeEmailSecondes,
+                             int tentativesInstance, int rechargeInstanceSecondes,
+                             int verrouillageBaseSecondes, int verrouillageMaxSecondes, int entreesMax) {
+        this.seauEmail = new Seau(Math.max(1, tentativesEmail),
+                TimeUnit.SECONDS.toNanos(Math.max(1, rechargeEmailSecondes)));
+        this.seauInstance = new Seau(Math.max(1, tentativesInstance),
+                TimeUnit.SECONDS.toNanos(Math.max(1, rechargeInstanceSecondes)));
+        this.verrouillageBaseNanos = TimeUnit.SECONDS.toNanos(Math.max(1, verrouillageBaseSecondes));
+        this.verrouillageMaxNanos = Math.max(verrouillageBaseNanos, TimeUnit.SECONDS.toNanos(verrouillageMaxSecondes));
+        this.entreesMax = Math.max(100, entreesMax);
+    }
+
+    public static synchronized LimiteurConnexionService getInstance() {
+        if (instance == null) {
+            instance = new LimiteurConnexionService();
+        }
+        return instance;
+    }
+
+    /**
+     * Enregistre une tentative de connexion pour un email et une instance cliente.
+     * L'instance est contrôlée en premier pour qu'une rafale sur des emails différents
+     * soit arrêtée sans créer une entrée par email.
+     *
+     * @param email L'email saisi
+     * @param idClient Identifiant de l'instance cliente (par exemple {@link #INSTANCE_LOCALE})
+     * @throws BusinessException Si l'email ou l'instance est verrouillé
+     */
+    public void verifierTentative(String email, String idClient) throws BusinessException {
+        verifierTentative(email, idClient, System.nanoTime());
+    }
+
+    /**
+     * Enregistre une tentative de connexion à un instant donné (System.nanoTime)
+     */
+    void verifierTentative(String email, String idClient, long maintenant) throws BusinessException {
+        purgerSiNecessaire(maintenant);
+
+        long attente = consommer("instance:" + idClient, seauInstance, maintenant);
+        if (attente == 0) {
+            attente = consommer("email:" + normaliser(email), seauEmail, maintenant);
+        }
+        if (attente > 0) {
+            long secondes = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(attente));
+            throw new BusinessException("Trop de tentatives de connexion. Réessayez dans " + secondes + " secondes");
+        }
+    }
+
+    /**
+     * Efface l'historique d'un email après une connexion réussie
+     */
+    public void enregistrerSucces(String email) {
+        etats.remove("email:" + normaliser(email));
+    }
+
+    /**
+     * Consomme un jeton pour une clé
+     *
+     * @return 0 si la tentative est autorisée, sinon la durée restante du verrouillage en nanosecondes
+     */
+    private long consommer(String cle, Seau seau, long maintenant) {
+        AtomicReference<Etat> reference = etats.get(cle);
+        if (reference == null) {
+            if (etats.size() >= entreesMax) {
+                // Mémoire pleine malgré la purge : la clé n'est pas suivie, le seau de l'instance reste actif
+                return 0;
+            }
+            reference = etats.computeIfAbsent(cle, c -> new AtomicReference<>(new Etat(seau.capacite, maintenant, 0, false, 0)));
+        }
+
+        while (true) {
+            Etat actuel = reference.get();
+            if (actuel.verrouille && actuel.verrouilleJusqua - maintenant > 0) {
+                return actuel.verrouilleJusqua - maintenant;
+            }
+
+            double jetons = Math.min(seau.capacite,
+                    actuel.jetons + (double) (maintenant - actuel.derniereRecharge) / seau.rechargeNanos);
+            if (actuel.verrouille) {
+                // Fin de verrouillage : au moins une tentative est rendue
+                jetons = Math.max(jetons, 1);
+            }
+            Etat suivant;
+            if (jetons >= 1) {
+                suivant = new Etat(jetons - 1, maintenant, actuel.verrouillages, false, 0);
+            } else {
+                int verrouillages = actuel.verrouillages + 1;
+                long duree = Math.min(verrouillageMaxNanos, verrouillageBaseNanos << Math.min(verrouillages - 1, 20));
+                suivant = new Etat(jetons, maintenant, verrouillages, true, maintenant + duree);
+            }
+
+            if (reference.compareAndSet(actuel, suivant)) {
+                if (suivant.verrouille) {
+                    logger.warn("Connexions verrouillées pour {} pendant {}s (verrouillage n°{})",
+                            cle.startsWith("email:") ? "un email" : "l'instance", TimeUnit.NANOSECONDS.toSeconds(
+                                    suivant.verrouilleJusqua - maintenant), suivant.verrouillages);
+                    return suivant.verrouilleJusqua - maintenant;
+                }
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Retire les clés inactives depuis assez longtemps pour avoir rechargé tout leur seau
+     * et dépassé tout verrouillage. Une purge complète est aussi faite quand la table est pleine.
+     */
+    private void purgerSiNecessaire(long maintenant) {
+        if (compteurPurge.incrementAndGet() % PERIODE_PURGE != 0 && etats.size() < entreesMax) {
+            return;
+        }
+        Iterator<Map.Entry<String, AtomicReference<Etat>>> it = etats.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, AtomicReference<Etat>> entry = it.next();
+            Seau seau = entry.getKey().startsWith("email:") ? seauEmail : seauInstance;
+            Etat etat = entry.getValue().get();
+            long inactivite = maintenant - (etat.verrouille ? etat.verrouilleJusqua : etat.derniereRecharge);
+            if (inactivite > seau.capacite * seau.rechargeNanos + verrouillageMaxNanos) {
+                it.remove();
+            }
+        }
+    }
+
+    private static String normaliser(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Paramètres d'un seau à jetons
+     */
+    private static final class Seau {
+        private final int capacite;
+        private final long rechargeNanos;
+
+        private Seau(int capacite, long rechargeNanos) {
+            this.capacite = capacite;
+            this.rechargeNanos = rechargeNanos;
+        }
+    }
+
+    /**
+     * État immuable d'une clé, remplacé par compare-and-set
+     */
+    private static final class Etat {
+        private final double jetons;
+        private final long derniereRecharge;
+        private final int verrouillages;
+        private final boolean verrouille;
+        private final long verrouilleJusqua;
+
+        private Etat(double jetons, long derniereRecharge, int verrouillages, boolean verrouille, long verrouilleJusqua) {
+            this.jetons = jetons;
+            this.derniereRecharge = derniereRecharge;
+            this.verrouillages = verrouillages;
+            this.verrouille = verrouille;
+            this.verrouilleJusqua = verrouilleJusqua;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import com.bschooleventmanager.eventmanager.dao.OrganisateurDAO;
 import com.bschooleventmanager.eventmanager.model.Organisateur;
 import com.bschooleventmanager.eventmanager.exception.BusinessException;
 import com.bschooleventmanager.eventmanager.exception.DatabaseException;
-import com.bschooleventmanager.eventmanager.util.PasswordUtils;
 import com.bschooleventmanager.eventmanager.util.ValidationUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,7 +55,7 @@ public class OrganisateurService {
 
             // Créer l'organisateur
             Organisateur organisateur = new Organisateur(nom, email);
-            organisateur.setMotDePasse(PasswordUtils.hashPassword(motDePasse));
+            organisateur.setMotDePasse(HachageMotDePasseService.getInstance().hacher(motDePasse));
 
             Organisateur result = organisateurDAO.creer(organisateur);
             logger.info("✓ Inscription organisateur réussie: {}", email);
@@ -88,7 +87,7 @@ public class OrganisateurService {
                 throw new BusinessException("Organisateur non trouvé");
             }
 
-            if (!PasswordUtils.verifyPassword(motDePasse, organisateur.getMotDePasse())) {
+            if (!HachageMotDePasseService.getInstance().verifier(motDePasse, organisateur.getMotDePasse())) {
                 throw new BusinessException("Mot de passe ou email incorrect");
             }
 
@@ -5,6 +5,7 @@ import com.bschooleventmanager.eventmanager.dao.ReservationDAO;
 import com.bschooleventmanager.eventmanager.exception.BusinessException;
 import com.bschooleventmanager.eventmanager.exception.DatabaseException;
 import com.bschooleventmanager.eventmanager.exception.PaiementInvalideException;
+import com.bschooleventmanager.eventmanager.model.Montant;
 import com.bschooleventmanager.eventmanager.model.Paiement;
 import com.bschooleventmanager.eventmanager.model.Reservation;
 import com.bschooleventmanager.eventmanager.model.enums.MethodePaiement;
@@ -14,7 +15,6 @@ import com.bschooleventmanager.eventmanager.service.StripePaymentService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -36,6 +36,7 @@ public class PaiementService {
     private final PaiementDAO paiementDAO;
     private final ReservationDAO reservationDAO;
     private final StripePaymentService stripeService;
+    private final JournalReservationsService journal;
 
     // Patterns de validation
     private static final Pattern CARD_NUMBER_PATTERN = Pattern.compile("^\\d{13,19}$");
@@ -45,6 +46,7 @@ public class PaiementService {
         this.paiementDAO = new PaiementDAO();
         this.reservationDAO = new ReservationDAO();
         this.stripeService = new StripePaymentService();
+        this.journal = JournalReservationsService.getInstance();
     }
 
     /**
@@ -77,11 +79,16 @@ public class PaiementService {
             }
 
             // 3. Vérifier si la réservation nécessite un paiement
-            BigDecimal totalAPayerReservation = BigDecimal.valueOf(reservation.getTotalPaye());
-            if (totalAPayerReservation.compareTo(BigDecimal.ZERO) == 0) {
+            Montant totalAPayerReservation = reservation.getTotalPaye();
+            if (totalAPayerReservation.estNul()) {
                 throw new BusinessException("Cette réservation ne nécessite pas de paiement");
             }
 
+            // 3b. Vérifier que les places sont toujours bloquées pour cette réservation
+            if (reservation.getStatut() == StatutReservation.EXPIREE || reservation.isDelaiPaiementDepasse()) {
+                throw new BusinessException("Le délai de paiement de cette réservation est dépassé, les places ont été libérées");
+            }
+
             // 4. Vérifier si la réservation n'est pas déjà payée
             // BigDecimal montantDejaPaye = paiementDAO.calculerMontantTotalPaye(idReservation);
             // BigDecimal montantRestant = totalPayeReservation.subtract(montantDejaPaye);
@@ -130,12 +137,19 @@ public class PaiementService {
             Paiement paiementCree = paiementDAO.creer(paiement);
 
             // 10. Mettre à jour le statut de la réservation 
+            // La confirmation est conditionnelle : si la réservation a expiré pendant
+            // le paiement, ses places ont été rendues et le paiement est remboursé
             if (paiement.getStatut() == StatutPaiement.REUSSI) {
-             
+                if (reservation.getStatut() == StatutReservation.CONFIRMEE
+                        || reservationDAO.confirmerSiEnAttente(idReservation)) {
                     reservation.setStatut(StatutReservation.CONFIRMEE);
-                    reservationDAO.mettreAJour(reservation);
+                    journal.paiement(idReservation, reservation.getIdEvenement(), paiementCree.getMontant());
                     logger.info("✓ Réservation {} confirmée après paiement complet", idReservation);
-                
+                } else {
+                    rembourserPaiementExpire(paiementCree, reservation.getIdEvenement());
+                    throw new BusinessException("Le délai de paiement de cette réservation a expiré. " +
+                            "Le paiement a été remboursé.");
+                }
             }
 
             logger.info("✓ Paiement traité avec succès - Transaction: {}", numeroTransaction);
@@ -147,6 +161,24 @@ public class PaiementService {
         }
     }
 
+    /**
+     * Rembourse un paiement encaissé pour une réservation expirée entre-temps
+     */
+    private void rembourserPaiementExpire(Paiement paiement, int idEvenement) throws DatabaseException {
+        logger.warn("Réservation {} expirée pendant le paiement, remboursement de la transaction {}",
+                paiement.getIdReservation(), paiement.getNumeroTransaction());
+        StripePaymentService.PaymentResult result = stripeService.rembourser(
+                paiement.getNumeroTransaction(),
+                paiement.getMontant(),
+                "refund-paiement-" + paiement.getIdPaiement());
+        if (result.isSuccess()) {
+            paiementDAO.marquerRembourses(List.of(paiement.getIdPaiement()));
+            journal.remboursement(paiement.getIdReservation(), idEvenement, paiement.getMontant());
+        } else {
+            logger.error("❌ Remboursement impossible pour le paiement {}: {}", paiement.getIdPaiement(), result.getMessage());
+        }
+    }
+
     /**
      * Valide les données de paiement
      */
@@ -203,7 +235,7 @@ public class PaiementService {
     /**
      * Traite un paiement Stripe avec l'API réelle
      */
-    private String traiterPaiementStripe(String numeroCarteTest, BigDecimal montant) throws Exception {
+    private String traiterPaiementStripe(String numeroCarteTest, Montant montant) throws Exception {
         logger.info("Traitement paiement Stripe - Carte test: {}, Montant: {}", 
                    numeroCarteTest.substring(0, 4) + "****", montant);
         
@@ -235,7 +267,7 @@ public class PaiementService {
     /**
      * Simule le traitement d'un paiement carte classique
      */
-    private String traiterPaiementCarte(String numeroCarteChiffre, String cvv, String mois, String annee, BigDecimal montant) throws Exception {
+    private String traiterPaiementCarte(String numeroCarteChiffre, String cvv, String mois, String annee, Montant montant) throws Exception {
         logger.info("Traitement paiement carte - Montant: {}", montant);
         
         // Simulation d'un appel à un processeur de paiement
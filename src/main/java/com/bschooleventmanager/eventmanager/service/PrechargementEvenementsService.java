@@ -0,0 +1,211 @@
+package com.bschooleventmanager.eventmanager.service;
+
+import com.bschooleventmanager.eventmanager.dao.DatabaseConnection;
+import com.bschooleventmanager.eventmanager.dao.EvenementDAO;
+import com.bschooleventmanager.eventmanager.exception.DatabaseException;
+import com.bschooleventmanager.eventmanager.model.Evenement;
+import com.bschooleventmanager.eventmanager.util.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Préchargement des détails d'un événement survolé ou sélectionné dans le catalogue client.
+ *
+ * <p>Quand le pointeur s'arrête sur une ligne, l'événement complet (description, champs propres
+ * au type, compteurs de places à jour) est relu en arrière-plan et conservé quelques secondes :
+ * l'ouverture des détails le reprend avec {@link #prendre(int)} sans attendre la base.</p>
+ *
+ * <p>Le préchargement est borné pour qu'un défilement rapide n'inonde pas la base :</p>
+ * <ul>
+ *   <li>une demande n'est traitée que si aucune autre ne la remplace pendant le délai de
+ *       stabilisation ; seule la dernière ligne survolée est lue</li>
+ *   <li>un seul thread lit la base, avec un intervalle minimal entre deux lectures</li>
+ *   <li>un événement déjà préchargé et encore frais n'est pas relu</li>
+ *   <li>rien n'est lu quand la base est signalée indisponible par son disjoncteur</li>
+ * </ul>
+ *
+ * <p>Un événement préchargé est retiré du cache quand il est pris : l'écran de détails qui le
+ * reçoit peut le modifier (mise à jour des places) sans affecter d'autre écran.</p>
+ *
+ * <p>Paramètres (application.properties) :</p>
+ * <ul>
+ *   <li>prechargement.actif - active le préchargement (défaut true)</li>
+ *   <li>prechargement.delai.ms - délai de stabilisation avant lecture (défaut 150)</li>
+ *   <li>prechargement.intervalle.ms - intervalle minimal entre deux lectures (défaut 250)</li>
+ *   <li>prechargement.fraicheur.ms - durée de validité d'un événement préchargé (défaut 5000)</li>
+ *   <li>prechargement.cache.taille - événements préchargés conservés au maximum (défaut 32)</li>
+ * </ul>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class PrechargementEvenementsService {
+    private static final Logger logger = LoggerFactory.getLogger(PrechargementEvenementsService.class);
+
+    /** Aucune demande en attente */
+    private static final int AUCUNE = -1;
+
+    private static PrechargementEvenementsService instance;
+
+    private final boolean actif;
+    private final long delaiMillis;
+    private final long intervalleNanos;
+    private final long fraicheurNanos;
+
+    /** Événements préchargés, du moins au plus récemment utilisé */
+    private final Map<Integer, Precharge> precharges;
+
+    /** Dernier événement demandé, pas encore lu */
+    private final AtomicInteger enAttente = new AtomicInteger(AUCUNE);
+    private final ScheduledExecutorService lecteur;
+    private ScheduledFuture<?> lecturePlanifiee;
+    /** Instant (System.nanoTime) à partir duquel une nouvelle lecture est permise, thread de lecture seulement */
+    private long prochaineLecture = System.nanoTime();
+
+    private PrechargementEvenementsService() {
+        this.actif = Boolean.parseBoolean(AppConfig.getString("prechargement.actif", "true"));
+        this.delaiMillis = Math.max(0, AppConfig.getInt("prechargement.delai.ms", 150));
+        this.intervalleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, AppConfig.getInt("prechargement.intervalle.ms", 250)));
+        this.fraicheurNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, AppConfig.getInt("prechargement.fraicheur.ms", 5000)));
+        int taille = Math.max(1, AppConfig.getInt("prechargement.cache.taille", 32));
+        this.precharges = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Precharge> plusAncien) {
+                return size() > taille;
+            }
+        };
+        this.lecteur = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "prechargement-evenements");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized PrechargementEvenementsService getInstance() {
+        if (instance == null) {
+            instance = new PrechargementEvenementsService();
+        }
+        return instance;
+    }
+
+    /**
+     * Demande le préchargement d'un événement (ligne survolée ou sélectionnée).
+     * Retourne immédiatement ; une demande plus récente remplace celle-ci.
+     *
+     * @param idEvenement L'événement à précharger
+     */
+    public void demander(int idEvenement) {
+        if (!actif || estFrais(idEvenement)) {
+            return;
+        }
+        enAttente.set(idEvenement);
+        planifier(TimeUnit.MILLISECONDS.toNanos(delaiMillis));
+    }
+
+    /**
+     * Retire et retourne l'événement préchargé s'il est encore frais
+     *
+     * @return L'événement complet relu en base, ou null s'il n'a pas été préchargé à temps
+     */
+    public Evenement prendre(int idEvenement) {
+        Precharge precharge;
+        synchronized (precharges) {
+            precharge = precharges.remove(idEvenement);
+        }
+        if (precharge == null || !precharge.estFrais(fraicheurNanos)) {
+            return null;
+        }
+        return precharge.evenement;
+    }
+
+    /**
+     * Oublie les événements préchargés et la demande en attente
+     */
+    public void vider() {
+        enAttente.set(AUCUNE);
+        synchronized (precharges) {
+            precharges.clear();
+        }
+    }
+
+    private boolean estFrais(int idEvenement) {
+        synchronized (precharges) {
+            Precharge precharge = precharges.get(idEvenement);
+            return precharge != null && precharge.estFrais(fraicheurNanos);
+        }
+    }
+
+    /**
+     * (Re)planifie la lecture, en annulant celle qui n'a pas encore commencé
+     */
+    private synchronized void planifier(long delaiNanos) {
+        if (lecturePlanifiee != null) {
+            lecturePlanifiee.cancel(false);
+        }
+        lecturePlanifiee = lecteur.schedule(this::lire, delaiNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Lit en base le dernier événement demandé (thread de préchargement)
+     */
+    private void lire() {
+        int idEvenement = enAttente.getAndSet(AUCUNE);
+        if (idEvenement == AUCUNE || estFrais(idEvenement)) {
+            return;
+        }
+        long attente = prochaineLecture - System.nanoTime();
+        if (attente > 0) {
+            // Intervalle minimal non écoulé : reporter, sauf si une demande plus récente est arrivée
+            if (enAttente.compareAndSet(AUCUNE, idEvenement)) {
+                planifier(attente);
+            }
+            return;
+        }
+        if (!DatabaseConnection.getInstance().estDisponible()) {
+            return;
+        }
+
+        prochaineLecture = System.nanoTime() + intervalleNanos;
+        try {
+            long debut = System.nanoTime();
+            Evenement evenement = EvenementDAO.getEventById(idEvenement);
+            if (evenement != null) {
+                synchronized (precharges) {
+                    precharges.put(idEvenement, new Precharge(evenement, System.nanoTime()));
+                }
+                logger.debug("Événement {} préchargé ({} ms)", idEvenement, (System.nanoTime() - debut) / 1_000_000);
+            }
+        } catch (DatabaseException e) {
+            // Les détails seront affichés avec les données du catalogue
+            logger.debug("Préchargement de l'événement {} impossible: {}", idEvenement, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.warn("Erreur inattendue lors du préchargement de l'événement {}", idEvenement, e);
+        }
+    }
+
+    /**
+     * Événement préchargé et instant de sa lecture
+     */
+    private static final class Precharge {
+        private final Evenement evenement;
+        private final long lecture;
+
+        private Precharge(Evenement evenement, long lecture) {
+            this.evenement = evenement;
+            this.lecture = lecture;
+        }
+
+        private boolean estFrais(long fraicheurNanos) {
+            return System.nanoTime() - lecture < fraicheurNanos;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.bschooleventmanager.eventmanager.service;
 
+import com.bschooleventmanager.eventmanager.dao.DatabaseConnection;
 import com.bschooleventmanager.eventmanager.dao.EvenementDAO;
+import com.bschooleventmanager.eventmanager.dao.RepriseSql;
 import com.bschooleventmanager.eventmanager.dao.ReservationDAO;
 import com.bschooleventmanager.eventmanager.dao.ReservationDetailsDAO;
 import com.bschooleventmanager.eventmanager.exception.AnnulationTardiveException;
@@ -8,17 +10,26 @@ import com.bschooleventmanager.eventmanager.exception.BusinessException;
 import com.bschooleventmanager.eventmanager.exception.DatabaseException;
 import com.bschooleventmanager.eventmanager.exception.PlacesInsuffisantesException;
 import com.bschooleventmanager.eventmanager.model.Evenement;
+import com.bschooleventmanager.eventmanager.model.Montant;
 import com.bschooleventmanager.eventmanager.model.Reservation;
 import com.bschooleventmanager.eventmanager.model.ReservationDetail;
 import com.bschooleventmanager.eventmanager.model.Utilisateur;
+import com.bschooleventmanager.eventmanager.model.VentesPeriode;
 import com.bschooleventmanager.eventmanager.model.enums.CategorieTicket;
 import com.bschooleventmanager.eventmanager.model.enums.StatutReservation;
+import com.bschooleventmanager.eventmanager.util.AppConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service pour la gestion des réservations
@@ -30,11 +41,17 @@ public class ReservationService {
     private final ReservationDAO reservationDAO;
     private final ReservationDetailsDAO detailsDAO;
     private final EvenementDAO evenementDAO;
+    private final FileAttenteService fileAttente;
+    private final InventairePlacesService inventaire;
+    private final JournalReservationsService journal;
     
     public ReservationService() {
         this.reservationDAO = new ReservationDAO();
         this.detailsDAO = new ReservationDetailsDAO();
         this.evenementDAO = new EvenementDAO();
+        this.fileAttente = FileAttenteService.getInstance();
+        this.inventaire = InventairePlacesService.getInstance();
+        this.journal = JournalReservationsService.getInstance();
     }
 
     /**
@@ -47,16 +64,41 @@ public class ReservationService {
      * @param payerMaintenant Si le paiement est immédiat
      * @return La réservation créée
      * @throws PlacesInsuffisantesException Si pas assez de places disponibles
-     * @throws BusinessException Pour les autres erreurs métier
+     * @throws BusinessException Si le client n'a pas été admis par la file d'attente, ou autre erreur métier
      */
     public Reservation creerReservation(Utilisateur utilisateur, Evenement evenement,
                                       int quantiteStandard, int quantiteVip, int quantitePremium,
                                       boolean payerMaintenant) 
             throws PlacesInsuffisantesException, BusinessException {
+        return creerReservation(utilisateur, evenement, quantiteStandard, quantiteVip, quantitePremium,
+                                payerMaintenant, null);
+    }
+
+    /**
+     * Crée une nouvelle réservation de façon idempotente.
+     * Une soumission répétée avec la même clé (double clic, nouvel essai après une réponse lente)
+     * retourne la réservation d'origine sans reprendre de places.
+     * @param cleIdempotence Jeton unique du formulaire de réservation (null : pas de dédoublonnage)
+     * @see #creerReservation(Utilisateur, Evenement, int, int, int, boolean)
+     */
+    public Reservation creerReservation(Utilisateur utilisateur, Evenement evenement,
+                                      int quantiteStandard, int quantiteVip, int quantitePremium,
+                                      boolean payerMaintenant, String cleIdempotence) 
+            throws PlacesInsuffisantesException, BusinessException {
         
         logger.info("Création réservation pour utilisateur {} sur événement {}", 
                    utilisateur.getIdUtilisateur(), evenement.getIdEvenement());
         
+        // Soumission déjà traitée : retourner la réservation d'origine
+        Reservation existante = chercherParCleIdempotence(cleIdempotence, utilisateur);
+        if (existante != null) {
+            logger.info("Soumission en double ignorée, réservation d'origine: ID {}", existante.getIdReservation());
+            return existante;
+        }
+        
+        // 0. Le client doit avoir été admis par la file d'attente de l'événement
+        fileAttente.verifierAdmission(evenement.getIdEvenement(), utilisateur.getIdUtilisateur());
+        
         try {
             // 1. Validations métier
             validateReservationRequest(utilisateur, evenement, quantiteStandard, quantiteVip, quantitePremium);
@@ -67,46 +109,65 @@ public class ReservationService {
                 throw new BusinessException("Événement introuvable");
             }
             
-            validateDisponibilite(evenementActuel, quantiteStandard, quantiteVip, quantitePremium);
-            
             // 3. Calculer le total
-            double total = calculerTotal(evenementActuel, quantiteStandard, quantiteVip, quantitePremium);
+            Montant total = calculerTotal(evenementActuel, quantiteStandard, quantiteVip, quantitePremium);
             
             // 4. Créer la réservation
-            StatutReservation statut = total <= 0.0? StatutReservation.CONFIRMEE : StatutReservation.EN_ATTENTE;
+            StatutReservation statut = total.estPositif() ? StatutReservation.EN_ATTENTE : StatutReservation.CONFIRMEE;
             
             Reservation reservation = new Reservation(
                 utilisateur.getIdUtilisateur(),
                 evenement.getIdEvenement(),
-                LocalDateTime.now().toString(),
+                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS),
                 statut,
                 total
             );
+            reservation.setCleIdempotence(cleIdempotence);
             
-            // 5. Transaction : créer réservation + détails + mettre à jour places
-      reservation = reservationDAO.creer(reservation);
-            
-            // 6. Créer les détails
-       List<ReservationDetail> details =     creerDetailsReservation(reservation.getIdReservation(), evenementActuel,
-                                  quantiteStandard, quantiteVip, quantitePremium);
-
+            // Les places d'une réservation non payée ne sont bloquées que jusqu'à l'expiration
+            if (statut == StatutReservation.EN_ATTENTE) {
+                reservation.setDateExpiration(calculerDateExpiration(evenementActuel, payerMaintenant));
+            }
             
-            // 7. Mettre à jour les places vendues
-            mettreAJourPlacesVendues(evenementActuel, quantiteStandard, quantiteVip, quantitePremium);
+            // 5. Prendre les places et créer la réservation avec ses détails dans une seule
+            //    transaction, rejouée en entier sur interblocage ou attente de verrou
+            List<ReservationDetail> details;
+            try {
+                details = RepriseSql.executer("création réservation et prise de places",
+                        () -> prendrePlacesEtCreer(reservation, evenementActuel,
+                                                   quantiteStandard, quantiteVip, quantitePremium));
+            } catch (DatabaseException | SQLException e) {
+                // Soumission concurrente avec la même clé : la contrainte d'unicité a refusé le doublon
+                if (cleIdempotence != null && e.getCause() instanceof SQLIntegrityConstraintViolationException) {
+                    Reservation originale = reservationDAO.chercherParCleIdempotence(cleIdempotence);
+                    if (originale != null) {
+                        logger.info("Soumission concurrente ignorée, réservation d'origine: ID {}", originale.getIdReservation());
+                        return originale;
+                    }
+                }
+                throw e;
+            }
             
-            logger.info("✓ Réservation créée avec succès: ID {}, Total: {}€", 
+            logger.info("✓ Réservation créée avec succès: ID {}, Total: {}", 
                        reservation.getIdReservation(), total);
+            // Journalisés après la validation seulement
+            journal.placesPrises(evenementActuel.getIdEvenement(), quantiteStandard, quantiteVip, quantitePremium);
+            journal.reservationCreee(reservation.getIdReservation(), evenementActuel.getIdEvenement(),
+                    quantiteStandard, quantiteVip, quantitePremium, total);
              
-            // 8. Ajouter les détails à la réservation avant de retourner
+            // 7. Ajouter les détails à la réservation avant de retourner
             reservation.setDetails(details);
 
+            // 8. Libérer la place dans la file d'attente
+            fileAttente.quitter(evenement.getIdEvenement(), utilisateur.getIdUtilisateur());
+
             
             return reservation;
             
         } catch (PlacesInsuffisantesException e) {
             logger.warn("Places insuffisantes pour la réservation: {}", e.getMessage());
             throw e; // Re-throw exception métier
-        } catch (DatabaseException e) {
+        } catch (DatabaseException | SQLException e) {
             logger.error("Erreur base de données lors de la création de réservation", e);
             throw new BusinessException("Erreur technique lors de la réservation. Veuillez réessayer.", e);
         } catch (Exception e) {
@@ -127,6 +188,43 @@ public class ReservationService {
         }
     }
 
+    /**
+     * Récupère une réservation d'un client, avec ses détails
+     *
+     * @throws BusinessException Si la réservation n'existe pas ou appartient à un autre client
+     */
+    public Reservation getReservationClient(int reservationId, int clientId) throws BusinessException {
+        try {
+            Reservation reservation = reservationDAO.chercher(reservationId);
+            if (reservation == null || reservation.getClientId() != clientId) {
+                throw new BusinessException("Réservation introuvable");
+            }
+            return reservation;
+        } catch (DatabaseException e) {
+            logger.error("Erreur récupération réservation {}", reservationId, e);
+            throw new BusinessException("Erreur lors de la récupération de la réservation", e);
+        }
+    }
+
+    /**
+     * Récupère l'historique complet d'un client en trois requêtes, quel que soit le nombre
+     * de réservations : les réservations, leurs détails, puis les événements concernés.
+     */
+    public HistoriqueClient getHistoriqueClient(int clientId) throws BusinessException {
+        try {
+            List<Reservation> reservations = reservationDAO.getReservationsParClient(clientId);
+            List<Integer> idsEvenement = new ArrayList<>(reservations.size());
+            for (Reservation reservation : reservations) {
+                idsEvenement.add(reservation.getIdEvenement());
+            }
+            Map<Integer, Evenement> evenements = EvenementDAO.getEventsByIds(idsEvenement);
+            return new HistoriqueClient(reservations, evenements);
+        } catch (DatabaseException e) {
+            logger.error("Erreur récupération historique client {}", clientId, e);
+            throw new BusinessException("Erreur lors de la récupération de l'historique des réservations", e);
+        }
+    }
+
     /**
      * Récupère les détails d'une réservation
      */
@@ -139,6 +237,45 @@ public class ReservationService {
         }
     }
 
+    /**
+     * Récupère les réservations d'un événement passées entre deux instants (début inclus, fin exclue)
+     */
+    public List<Reservation> getReservationsEvenementEntre(int eventId, LocalDateTime debut, LocalDateTime fin)
+            throws BusinessException {
+        if (debut == null || fin == null || !debut.isBefore(fin)) {
+            throw new BusinessException("Période invalide");
+        }
+        try {
+            return reservationDAO.getReservationsParEvenementEntre(eventId, debut, fin);
+        } catch (DatabaseException e) {
+            logger.error("Erreur récupération réservations de l'événement {} sur la période", eventId, e);
+            throw new BusinessException("Erreur lors de la récupération des réservations de la période", e);
+        }
+    }
+
+    /**
+     * Ventes du jour (réservations confirmées depuis minuit, heure locale)
+     */
+    public VentesPeriode getVentesDuJour() throws BusinessException {
+        LocalDateTime minuit = LocalDate.now().atStartOfDay();
+        return getVentesEntre(minuit, minuit.plusDays(1));
+    }
+
+    /**
+     * Ventes passées entre deux instants (début inclus, fin exclue)
+     */
+    public VentesPeriode getVentesEntre(LocalDateTime debut, LocalDateTime fin) throws BusinessException {
+        if (debut == null || fin == null || !debut.isBefore(fin)) {
+            throw new BusinessException("Période invalide");
+        }
+        try {
+            return reservationDAO.totaliserVentes(debut, fin);
+        } catch (DatabaseException e) {
+            logger.error("Erreur totalisation des ventes entre {} et {}", debut, fin, e);
+            throw new BusinessException("Erreur lors du calcul des ventes", e);
+        }
+    }
+
     /**
      * Annule une réservation avec vérification des délais
      */
@@ -159,6 +296,9 @@ public class ReservationService {
             if (reservation.getStatut() == StatutReservation.ANNULEE) {
                 throw new BusinessException("Cette réservation est déjà annulée");
             }
+            if (reservation.getStatut() == StatutReservation.EXPIREE) {
+                throw new BusinessException("Cette réservation a expiré, ses places ont déjà été libérées");
+            }
             
             // Récupérer l'événement pour vérifier la date
             Evenement evenement = evenementDAO.chercher(reservation.getIdEvenement());
@@ -190,48 +330,176 @@ public class ReservationService {
         }
     }
 
+    /**
+     * Prend les places et crée la réservation avec ses détails dans une seule transaction :
+     * la prise est une mise à jour conditionnelle des places vendues, annulée avec le reste si
+     * une insertion échoue. Unité de travail rejouable : tout est annulé en cas d'échec.
+     *
+     * @return Les détails créés
+     */
+    private List<ReservationDetail> prendrePlacesEtCreer(Reservation reservation, Evenement evenement,
+                                                         int quantiteStandard, int quantiteVip, int quantitePremium)
+            throws SQLException, DatabaseException {
+        boolean placesPrises = false;
+        Connection transaction = DatabaseConnection.getInstance().getConnection();
+        try {
+            transaction.setAutoCommit(false);
+            inventaire.reserver(evenement, quantiteStandard, quantiteVip, quantitePremium);
+            placesPrises = true;
+            reservationDAO.creer(reservation);
+            List<ReservationDetail> details = creerDetailsReservation(reservation.getIdReservation(), evenement,
+                                                                      quantiteStandard, quantiteVip, quantitePremium);
+            transaction.commit();
+            return details;
+        } catch (DatabaseException | SQLException | RuntimeException e) {
+            annulerTransaction(transaction);
+            if (placesPrises) {
+                inventaire.annulerPrise(evenement.getIdEvenement(), quantiteStandard, quantiteVip, quantitePremium);
+            }
+            throw e;
+        } finally {
+            fermerTransaction(transaction);
+        }
+    }
+
     /**
      * Effectue l'annulation de la réservation (logique commune)
      */
-    private void performCancellation(Reservation reservation, Evenement evenement) throws DatabaseException {
-        // Mettre à jour le statut
+    private void performCancellation(Reservation reservation, Evenement evenement)
+            throws DatabaseException, BusinessException {
+        // Statut et places rendues sont validés ensemble, la transaction est rejouée en entier
+        // sur interblocage ou attente de verrou
+        LocalDateTime dateAnnulation = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        int[] places;
+        try {
+            places = RepriseSql.executer("annulation réservation et restitution de places",
+                    () -> annulerEtRendrePlaces(reservation, evenement.getIdEvenement(), dateAnnulation));
+        } catch (SQLException e) {
+            throw new DatabaseException("Erreur lors de l'annulation de la réservation", e);
+        }
+        if (places == null) {
+            throw new BusinessException("Cette réservation a changé de statut entre-temps (expirée ou déjà annulée)");
+        }
+
         reservation.setStatut(StatutReservation.ANNULEE);
-        reservation.setDateAnnulation(LocalDateTime.now());
-        
-        reservationDAO.mettreAJour(reservation);
-        
-        // Remettre les places disponibles dans l'événement
-        List<ReservationDetail> details = detailsDAO.getDetailsParReservation(reservation.getIdReservation());
-        
-        int nouvellesPlacesStandard = evenement.getPlaceStandardVendues();
-        int nouvellesPlacesVip = evenement.getPlaceVipVendues();
-        int nouvellesPlacesPremium = evenement.getPlacePremiumVendues();
+        reservation.setDateAnnulation(dateAnnulation);
+        reservation.setDateExpiration(null);
+        // Journalisés après la validation seulement
+        journal.placesRendues(evenement.getIdEvenement(), places[0], places[1], places[2]);
+        journal.annulation(reservation.getIdReservation(), evenement.getIdEvenement());
         
-        for (ReservationDetail detail : details) {
-            // Réduire le nombre de places vendues selon la catégorie
-            switch (detail.getCategoriePlace()) {
-                case STANDARD:
-                    nouvellesPlacesStandard = Math.max(0, nouvellesPlacesStandard - detail.getNombreTickets());
-                    break;
-                case VIP:
-                    nouvellesPlacesVip = Math.max(0, nouvellesPlacesVip - detail.getNombreTickets());
-                    break;
-                case PREMIUM:
-                    nouvellesPlacesPremium = Math.max(0, nouvellesPlacesPremium - detail.getNombreTickets());
-                    break;
+        logger.info("✓ Réservation {} annulée - Places restituées: Standard={}, VIP={}, Premium={}", 
+                   reservation.getIdReservation(), places[0], places[1], places[2]);
+    }
+
+    /**
+     * Passe la réservation à ANNULEE et rend ses places dans une seule transaction.
+     * Unité de travail rejouable : tout est annulé en cas d'échec.
+     *
+     * @return Les places rendues [standard, vip, premium], ou null si la réservation
+     *         a changé de statut depuis sa lecture
+     */
+    private int[] annulerEtRendrePlaces(Reservation reservation, int idEvenement, LocalDateTime dateAnnulation)
+            throws SQLException, DatabaseException {
+        Connection transaction = DatabaseConnection.getInstance().getConnection();
+        try {
+            transaction.setAutoCommit(false);
+
+            // Passer à ANNULEE seulement depuis le statut lu : si le balayeur d'expiration ou un autre
+            // poste a changé la réservation entre-temps, ses places ont déjà été rendues
+            if (!reservationDAO.annulerSiStatut(reservation.getIdReservation(), reservation.getStatut(), dateAnnulation)) {
+                transaction.rollback();
+                return null;
+            }
+
+            // Remettre les places disponibles dans l'inventaire de l'événement
+            int[] places = new int[3];
+            for (ReservationDetail detail : detailsDAO.getDetailsParReservation(reservation.getIdReservation())) {
+                switch (detail.getCategoriePlace()) {
+                    case STANDARD:
+                        places[0] += detail.getNombreTickets();
+                        break;
+                    case VIP:
+                        places[1] += detail.getNombreTickets();
+                        break;
+                    case PREMIUM:
+                        places[2] += detail.getNombreTickets();
+                        break;
+                }
             }
+
+            inventaire.liberer(idEvenement, places[0], places[1], places[2]);
+            transaction.commit();
+            return places;
+        } catch (DatabaseException | SQLException | RuntimeException e) {
+            annulerTransaction(transaction);
+            // Les places ont pu être rendues en mémoire avant l'échec
+            inventaire.invalider(idEvenement);
+            throw e;
+        } finally {
+            fermerTransaction(transaction);
         }
-        
-        // Mettre à jour l'événement avec les nouvelles quantités
-        EvenementDAO.mettreAJourPlacesVendues(
-            evenement.getIdEvenement(),
-            nouvellesPlacesStandard,
-            nouvellesPlacesVip,
-            nouvellesPlacesPremium
-        );
-        
-        logger.info("✓ Réservation {} annulée - Places restituées: Standard={}, VIP={}, Premium={}", 
-                   reservation.getIdReservation(), nouvellesPlacesStandard, nouvellesPlacesVip, nouvellesPlacesPremium);
+    }
+
+    /**
+     * Annule la transaction en cours, sans masquer l'erreur qui l'a interrompue
+     */
+    private void annulerTransaction(Connection transaction) {
+        try {
+            transaction.rollback();
+        } catch (SQLException e) {
+            logger.warn("Échec de l'annulation de la transaction", e);
+        }
+    }
+
+    /**
+     * Rétablit la validation automatique et rend la connexion de la transaction
+     */
+    private void fermerTransaction(Connection transaction) {
+        try (transaction) {
+            transaction.setAutoCommit(true);
+        } catch (SQLException e) {
+            logger.warn("Erreur à la fermeture de la transaction", e);
+        }
+    }
+
+    /**
+     * Retourne la réservation déjà créée avec cette clé par ce client, ou null
+     */
+    private Reservation chercherParCleIdempotence(String cleIdempotence, Utilisateur utilisateur)
+            throws BusinessException {
+        if (cleIdempotence == null) {
+            return null;
+        }
+        try {
+            Reservation reservation = reservationDAO.chercherParCleIdempotence(cleIdempotence);
+            if (reservation != null && reservation.getClientId() != utilisateur.getIdUtilisateur()) {
+                throw new BusinessException("Clé de réservation invalide");
+            }
+            return reservation;
+        } catch (DatabaseException e) {
+            logger.error("Erreur recherche réservation par clé d'idempotence", e);
+            throw new BusinessException("Erreur technique lors de la réservation. Veuillez réessayer.", e);
+        }
+    }
+
+    /**
+     * Calcule la fin du blocage des places d'une réservation en attente de paiement.
+     * Paiement immédiat : reservation.blocage.minutes (défaut 15).
+     * Paiement différé : reservation.blocage.differe.heures (défaut 24).
+     * Le blocage ne dépasse jamais le début de l'événement.
+     */
+    private LocalDateTime calculerDateExpiration(Evenement evenement, boolean payerMaintenant) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiration = payerMaintenant
+                ? now.plusMinutes(AppConfig.getInt("reservation.blocage.minutes", 15))
+                : now.plusHours(AppConfig.getInt("reservation.blocage.differe.heures", 24));
+
+        LocalDateTime debutEvenement = evenement.getDateEvenement();
+        if (debutEvenement != null && expiration.isAfter(debutEvenement)) {
+            expiration = debutEvenement.isAfter(now) ? debutEvenement : now;
+        }
+        return expiration;
     }
 
     // === MÉTHODES PRIVÉES DE VALIDATION ===
@@ -269,43 +537,20 @@ public class ReservationService {
         }
     }
 
-    private void validateDisponibilite(Evenement evenement, int quantiteStandard, 
-                                     int quantiteVip, int quantitePremium) 
-            throws PlacesInsuffisantesException {
-        
-        if (quantiteStandard > evenement.getPlacesStandardRestantes()) {
-            throw new PlacesInsuffisantesException(
-                String.format("Places Standard insuffisantes. Disponibles: %d, Demandées: %d", 
-                            evenement.getPlacesStandardRestantes(), quantiteStandard));
-        }
-        
-        if (quantiteVip > evenement.getPlacesVipRestantes()) {
-            throw new PlacesInsuffisantesException(
-                String.format("Places VIP insuffisantes. Disponibles: %d, Demandées: %d",
-                            evenement.getPlacesVipRestantes(), quantiteVip));
-        }
-        
-        if (quantitePremium > evenement.getPlacesPremiumRestantes()) {
-            throw new PlacesInsuffisantesException(
-                String.format("Places Premium insuffisantes. Disponibles: %d, Demandées: %d",
-                            evenement.getPlacesPremiumRestantes(), quantitePremium));
-        }
-    }
-
-    private double calculerTotal(Evenement evenement, int quantiteStandard, 
+    private Montant calculerTotal(Evenement evenement, int quantiteStandard, 
                                int quantiteVip, int quantitePremium) {
-        double total = 0.0;
+        Montant total = Montant.ZERO;
         
-        if (quantiteStandard > 0 && evenement.getPrixStandard() != null) {
-            total += quantiteStandard * evenement.getPrixStandard().doubleValue();
+        if (quantiteStandard > 0 && evenement.getTarif(CategorieTicket.STANDARD) != null) {
+            total = total.plus(evenement.getTarif(CategorieTicket.STANDARD).fois(quantiteStandard));
         }
         
-        if (quantiteVip > 0 && evenement.getPrixVip() != null) {
-            total += quantiteVip * evenement.getPrixVip().doubleValue();
+        if (quantiteVip > 0 && evenement.getTarif(CategorieTicket.VIP) != null) {
+            total = total.plus(evenement.getTarif(CategorieTicket.VIP).fois(quantiteVip));
         }
         
-        if (quantitePremium > 0 && evenement.getPrixPremium() != null) {
-            total += quantitePremium * evenement.getPrixPremium().doubleValue();
+        if (quantitePremium > 0 && evenement.getTarif(CategorieTicket.PREMIUM) != null) {
+            total = total.plus(evenement.getTarif(CategorieTicket.PREMIUM).fois(quantitePremium));
         }
         
         return total;
@@ -321,7 +566,7 @@ public class ReservationService {
                 reservationId,
                 CategorieTicket.STANDARD,
                 quantiteStandard,
-                evenement.getPrixStandard().doubleValue()
+                evenement.getTarif(CategorieTicket.STANDARD)
             );
        ReservationDetail  standardDetail =  detailsDAO.creer(detail);
             details.add(standardDetail);
@@ -332,7 +577,7 @@ public class ReservationService {
                 reservationId,
                 CategorieTicket.VIP,
                 quantiteVip,
-                evenement.getPrixVip().doubleValue()
+                evenement.getTarif(CategorieTicket.VIP)
             );
          ReservationDetail vipDetail = detailsDAO.creer(detail);
             details.add(vipDetail);
@@ -345,7 +590,7 @@ public class ReservationService {
                 reservationId,
                 CategorieTicket.PREMIUM,
                 quantitePremium,
-                evenement.getPrixPremium().doubleValue()
+                evenement.getTarif(CategorieTicket.PREMIUM)
             );
             ReservationDetail premiumDetail = detailsDAO.creer(detail);
             details.add(premiumDetail);
@@ -354,15 +599,21 @@ public class ReservationService {
         return details;
     }
 
-    private void mettreAJourPlacesVendues(Evenement evenement, int quantiteStandard, 
-                                        int quantiteVip, int quantitePremium) 
-            throws DatabaseException {
-        
-        EvenementDAO.mettreAJourPlacesVendues(
-            evenement.getIdEvenement(),
-            evenement.getPlaceStandardVendues() + quantiteStandard,
-            evenement.getPlaceVipVendues() + quantiteVip,
-            evenement.getPlacePremiumVendues() + quantitePremium
-        );
+    /**
+     * Historique d'un client : réservations avec leurs détails et événements associés
+     */
+    public static class HistoriqueClient {
+        private final List<Reservation> reservations;
+        private final Map<Integer, Evenement> evenements;
+
+        public HistoriqueClient(List<Reservation> reservations, Map<Integer, Evenement> evenements) {
+            this.reservations = reservations;
+            this.evenements = evenements;
+        }
+
+        public List<Reservation> getReservations() { return reservations; }
+
+        /** Retourne l'événement d'une réservation, ou null s'il n'existe plus */
+        public Evenement getEvenement(int idEvenement) { return evenements.get(idEvenement); }
     }
-}
\ No newline at end of file
+}
@@ -2,25 +2,46 @@ package com.bschooleventmanager.eventmanager.service;
 
 import com.bschooleventmanager.eventmanager.config.StripeConfig;
 import com.bschooleventmanager.eventmanager.exception.PaiementInvalideException;
+import com.bschooleventmanager.eventmanager.model.Montant;
+import com.bschooleventmanager.eventmanager.util.AppConfig;
+import com.bschooleventmanager.eventmanager.util.Disjoncteur;
 import com.stripe.Stripe;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.ApiException;
+import com.stripe.exception.RateLimitException;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
 import com.stripe.model.PaymentMethod;
+import com.stripe.model.Refund;
+import com.stripe.net.RequestOptions;
 import com.stripe.param.PaymentIntentCreateParams;
 import com.stripe.param.PaymentMethodCreateParams;
+import com.stripe.param.RefundCreateParams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Service d'intégration avec l'API Stripe
  * Gère les paiements via Stripe en mode test
+ *
+ * <p>Les appels à Stripe ont des délais de connexion et de lecture bornés et passent par un
+ * {@link Disjoncteur} commun à toutes les instances : quand Stripe est injoignable ou répond en
+ * erreur serveur, les paiements suivants sont refusés immédiatement, avec un message invitant à
+ * réessayer, au lieu d'attendre chacun le délai réseau.</p>
+ *
+ * <p>Paramètres (application.properties) :</p>
+ * <ul>
+ *   <li>stripe.timeout.connexion.ms - délai de connexion à l'API Stripe (défaut 5000)</li>
+ *   <li>stripe.timeout.lecture.ms - délai de réponse de l'API Stripe (défaut 20000)</li>
+ *   <li>disjoncteur.stripe.* - voir {@link Disjoncteur}</li>
+ * </ul>
  */
 public class StripePaymentService {
     private static final Logger logger = LoggerFactory.getLogger(StripePaymentService.class);
+
+    private static final Disjoncteur disjoncteur = new Disjoncteur("stripe");
     
     private final StripeConfig config;
     private boolean initialized = false;
@@ -37,6 +58,8 @@ public class StripePaymentService {
         try {
             if (config.isConfigured()) {
                 Stripe.apiKey = config.getSecretKey();
+                Stripe.setConnectTimeout(AppConfig.getInt("stripe.timeout.connexion.ms", 5000));
+                Stripe.setReadTimeout(AppConfig.getInt("stripe.timeout.lecture.ms", 20000));
                 initialized = true;
                 logger.info("✓ Stripe initialisé en mode {}", config.isTestMode() ? "TEST" : "PRODUCTION");
             } else {
@@ -49,12 +72,11 @@ public class StripePaymentService {
     
     /**
      * Crée un PaymentIntent Stripe
-     * @param montant Montant en euros
-     * @param currency Devise (EUR par défaut)
+     * @param montant Montant et devise du paiement
      * @param description Description du paiement
      * @return L'ID du PaymentIntent ou un ID simulé
      */
-    public String creerPaymentIntent(BigDecimal montant, String currency, String description) 
+    public String creerPaymentIntent(Montant montant, String description) 
             throws PaiementInvalideException {
         
         if (!initialized) {
@@ -63,19 +85,19 @@ public class StripePaymentService {
         }
         
         try {
-            // Convertir le montant en centimes (Stripe utilise les centimes)
-            long montantEnCentimes = montant.multiply(BigDecimal.valueOf(100)).longValue();
+            // Stripe attend le montant en unités mineures de la devise (centimes)
+            long montantEnCentimes = montant.getUnitesMineures();
             
             PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
                 .setAmount(montantEnCentimes)
-                .setCurrency(currency.toLowerCase())
+                .setCurrency(devise(montant))
                 .setDescription(description)
                 .setConfirmationMethod(PaymentIntentCreateParams.ConfirmationMethod.MANUAL)
                 .setConfirm(true)
                 .setReturnUrl("https://votre-site.com/return") // URL de retour (optionnel en test)
                 .build();
             
-            PaymentIntent intent = PaymentIntent.create(params);
+            PaymentIntent intent = appelerStripe(() -> PaymentIntent.create(params));
             
             logger.info("✓ PaymentIntent créé: {} pour {} centimes", intent.getId(), montantEnCentimes);
             return intent.getId();
@@ -101,7 +123,7 @@ public class StripePaymentService {
         }
         
         try {
-            PaymentIntent intent = PaymentIntent.retrieve(paymentIntentId);
+            PaymentIntent intent = appelerStripe(() -> PaymentIntent.retrieve(paymentIntentId));
             
             if ("succeeded".equals(intent.getStatus())) {
                 return new PaymentResult(true, intent.getId(), "Payment succeeded");
@@ -123,7 +145,7 @@ public class StripePaymentService {
      * Traite un paiement complet avec une carte de test Stripe
      * Utilise des tokens de test Stripe au lieu de numéros de carte bruts
      */
-    public PaymentResult traiterPaiementComplet(BigDecimal montant, String nomPorteur, 
+    public PaymentResult traiterPaiementComplet(Montant montant, String nomPorteur, 
                                                String numeroCarteTest, String description) 
             throws PaiementInvalideException {
         
@@ -133,8 +155,8 @@ public class StripePaymentService {
         }
         
         try {
-            // Convertir le montant en centimes
-            long montantEnCentimes = montant.multiply(BigDecimal.valueOf(100)).longValue();
+            // Stripe attend le montant en unités mineures de la devise (centimes)
+            long montantEnCentimes = montant.getUnitesMineures();
             
             // Obtenir le token de test correspondant à la carte
             String testToken = getTestTokenForCard(numeroCarteTest);
@@ -143,7 +165,7 @@ public class StripePaymentService {
                 // Utiliser un token de test prédéfini
                 PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
                     .setAmount(montantEnCentimes)
-                    .setCurrency("eur")
+                    .setCurrency(devise(montant))
                     .setDescription(description)
                     .setPaymentMethod(testToken)
                     .setConfirm(true)
@@ -155,7 +177,7 @@ public class StripePaymentService {
                     )
                     .build();
                 
-                PaymentIntent intent = PaymentIntent.create(params);
+                PaymentIntent intent = appelerStripe(() -> PaymentIntent.create(params));
                 
                 // Vérifier le statut
                 String status = intent.getStatus();
@@ -167,7 +189,7 @@ public class StripePaymentService {
                     default -> "Payment status: " + status;
                 };
                 
-                logger.info("✓ Paiement Stripe avec token: {} € - Status: {} - Transaction: {}", 
+                logger.info("✓ Paiement Stripe avec token: {} - Status: {} - Transaction: {}", 
                            montant, status, intent.getId());
                 
                 return new PaymentResult(success, intent.getId(), message);
@@ -175,7 +197,7 @@ public class StripePaymentService {
                 // Créer un PaymentIntent simple et simuler le résultat
                 PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
                     .setAmount(montantEnCentimes)
-                    .setCurrency("eur")
+                    .setCurrency(devise(montant))
                     .setDescription(description)
                     .setAutomaticPaymentMethods(
                         PaymentIntentCreateParams.AutomaticPaymentMethods.builder()
@@ -185,13 +207,13 @@ public class StripePaymentService {
                     )
                     .build();
                 
-                PaymentIntent intent = PaymentIntent.create(params);
+                PaymentIntent intent = appelerStripe(() -> PaymentIntent.create(params));
                 
                 // Simuler le résultat basé sur le numéro de carte
                 boolean success = !numeroCarteTest.startsWith("4000000000000002");
                 String message = success ? "Payment succeeded (simulated with test card)" : "Card declined (test)";
                 
-                logger.info("✓ Paiement Stripe simulé: {} € - Transaction: {}", montant, intent.getId());
+                logger.info("✓ Paiement Stripe simulé: {} - Transaction: {}", montant, intent.getId());
                 
                 return new PaymentResult(success, intent.getId(), message);
             }
@@ -208,6 +230,124 @@ public class StripePaymentService {
         }
     }
     
+    /**
+     * Rembourse un paiement Stripe
+     * Les transactions simulées (carte, simulation Stripe) sont remboursées en simulation
+     * @param transactionId ID du PaymentIntent (ou de la transaction simulée)
+     * @param montant Montant à rembourser
+     * @param cleIdempotence Clé transmise à Stripe pour qu'un nouvel essai ne rembourse pas deux fois
+     * @return Le résultat du remboursement
+     */
+    public PaymentResult rembourser(String transactionId, Montant montant, String cleIdempotence)
+            throws PaiementInvalideException {
+        if (!initialized || !estPaymentIntentStripe(transactionId)) {
+            String simulatedId = "re_sim_" + System.nanoTime();
+            logger.info("🎭 Remboursement simulé: {} pour {} - Transaction: {}", simulatedId, montant, transactionId);
+            return new PaymentResult(true, simulatedId, "Simulated refund succeeded");
+        }
+
+        try {
+            long montantEnCentimes = montant.getUnitesMineures();
+
+            RefundCreateParams params = RefundCreateParams.builder()
+                .setPaymentIntent(transactionId)
+                .setAmount(montantEnCentimes)
+                .setReason(RefundCreateParams.Reason.REQUESTED_BY_CUSTOMER)
+                .build();
+
+            RequestOptions options = RequestOptions.builder()
+                .setIdempotencyKey(cleIdempotence)
+                .build();
+
+            Refund refund = appelerStripe(() -> Refund.create(params, options));
+            boolean success = "succeeded".equals(refund.getStatus()) || "pending".equals(refund.getStatus());
+
+            logger.info("✓ Remboursement Stripe: {} - Status: {} - Refund: {}", montant, refund.getStatus(), refund.getId());
+            return new PaymentResult(success, refund.getId(), "Refund status: " + refund.getStatus());
+
+        } catch (StripeException e) {
+            logger.error("❌ Erreur lors du remboursement Stripe de {}: {}", transactionId, e.getMessage());
+            throw new PaiementInvalideException("Erreur de remboursement Stripe: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Exécute un appel à l'API Stripe à travers le disjoncteur
+     *
+     * @throws PaiementInvalideException Si Stripe est considéré indisponible (aucun appel n'est fait)
+     */
+    private <T> T appelerStripe(AppelStripe<T> appel) throws StripeException {
+        if (!disjoncteur.autoriser()) {
+            logger.warn("⚠️ Appel Stripe refusé, service de paiement indisponible");
+            throw new PaiementInvalideException(
+                    "Le service de paiement est momentanément indisponible. Veuillez réessayer dans quelques instants.");
+        }
+        try {
+            T resultat = appel.executer();
+            disjoncteur.succes();
+            return resultat;
+        } catch (StripeException e) {
+            // Un refus métier (carte refusée, requête invalide) prouve que Stripe répond
+            if (estDefaillance(e)) {
+                disjoncteur.echec();
+            } else {
+                disjoncteur.succes();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            disjoncteur.echec();
+            throw e;
+        }
+    }
+
+    /**
+     * Indique si une erreur Stripe traduit une indisponibilité du service plutôt qu'un refus
+     */
+    private static boolean estDefaillance(StripeException e) {
+        if (e instanceof ApiConnectionException || e instanceof RateLimitException) {
+            return true;
+        }
+        Integer statut = e.getStatusCode();
+        return e instanceof ApiException || (statut != null && statut >= 500);
+    }
+
+    /**
+     * Indique si Stripe est actuellement considéré indisponible
+     */
+    public static boolean estIndisponible() {
+        return disjoncteur.estOuvert();
+    }
+
+    /**
+     * État du disjoncteur de Stripe, pour la supervision
+     */
+    public static Map<String, Object> etatDisjoncteur() {
+        return disjoncteur.statistiques();
+    }
+
+    /**
+     * Appel à l'API Stripe
+     */
+    @FunctionalInterface
+    private interface AppelStripe<T> {
+        T executer() throws StripeException;
+    }
+
+    /**
+     * Code de devise attendu par Stripe (ISO 4217 en minuscules)
+     */
+    private static String devise(Montant montant) {
+        return montant.getDevise().getCurrencyCode().toLowerCase();
+    }
+
+    /**
+     * Indique si un numéro de transaction correspond à un vrai PaymentIntent Stripe
+     */
+    private boolean estPaymentIntentStripe(String transactionId) {
+        return transactionId != null && transactionId.startsWith("pi_")
+                && !transactionId.startsWith("pi_sim_") && !transactionId.startsWith("pi_test_");
+    }
+
     /**
      * Retourne un token de test Stripe prédéfini selon la carte utilisée
      * En production, ces tokens seraient générés côté client avec Stripe.js
@@ -226,9 +366,9 @@ public class StripePaymentService {
     /**
      * Simule un PaymentIntent quand Stripe n'est pas configuré
      */
-    private String simulatePaymentIntent(BigDecimal montant, String description) {
+    private String simulatePaymentIntent(Montant montant, String description) {
         String simulatedId = "pi_test_" + System.currentTimeMillis();
-        logger.info("🎭 PaymentIntent simulé: {} pour {} € - {}", simulatedId, montant, description);
+        logger.info("🎭 PaymentIntent simulé: {} pour {} - {}", simulatedId, montant, description);
         return simulatedId;
     }
     
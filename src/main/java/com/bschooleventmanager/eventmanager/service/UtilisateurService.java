@@ -7,7 +7,6 @@ import com.bschooleventmanager.eventmanager.model.Organisateur;
 import com.bschooleventmanager.eventmanager.model.enums.TypeUtilisateur;
 import com.bschooleventmanager.eventmanager.exception.BusinessException;
 import com.bschooleventmanager.eventmanager.exception.DatabaseException;
-import com.bschooleventmanager.eventmanager.util.PasswordUtils;
 import com.bschooleventmanager.eventmanager.util.SessionManager;
 import com.bschooleventmanager.eventmanager.util.ValidationUtils;
 import com.mysql.cj.Session;
@@ -28,6 +27,8 @@ import org.slf4j.LoggerFactory;
 public class UtilisateurService {
     private static final Logger logger = LoggerFactory.getLogger(UtilisateurService.class);
     private final UtilisateurDAO utilisateurDAO = new UtilisateurDAO();
+    private final HachageMotDePasseService hachage = HachageMotDePasseService.getInstance();
+    private final LimiteurConnexionService limiteur = LimiteurConnexionService.getInstance();
 
     /**
      * Inscrit un nouvel utilisateur avec validation complète.
@@ -71,7 +72,7 @@ public class UtilisateurService {
                 user = new Organisateur(nom, email);
             }
             
-            user.setMotDePasse(PasswordUtils.hashPassword(motDePasse));
+            user.setMotDePasse(hachage.hacher(motDePasse));
 
             Utilisateur result = utilisateurDAO.creer(user);
             logger.info("✓ Inscription réussie: {}", email);
@@ -93,21 +94,40 @@ public class UtilisateurService {
      */
     public Utilisateur authentifier(String email, String motDePasse)
             throws BusinessException {
+        return authentifier(email, motDePasse, LimiteurConnexionService.INSTANCE_LOCALE);
+    }
+
+    /**
+     * Authentifie un utilisateur en limitant les tentatives par email et par client.
+     * Une tentative refusée par le limiteur n'accède ni à la base ni à BCrypt.
+     *
+     * @param idClient Identifiant du client à l'origine de la tentative
+     * @throws BusinessException Si authentification échoue ou si les tentatives sont épuisées
+     */
+    public Utilisateur authentifier(String email, String motDePasse, String idClient)
+            throws BusinessException {
         try {
             if (!ValidationUtils.isEmailValid(email)) {
                 throw new BusinessException("Email invalide");
             }
 
+            limiteur.verifierTentative(email, idClient);
+
             Utilisateur user = utilisateurDAO.chercherParEmail(email);
 
             if (user == null) {
                 throw new BusinessException("Mot de passe ou email incorrect");
             }
 
-            if (!PasswordUtils.verifyPassword(motDePasse, user.getMotDePasse())) {
+            if (!hachage.verifier(motDePasse, user.getMotDePasse())) {
                 throw new BusinessException("Mot de passe ou email incorrect");
             }
 
+            if (hachage.necessiteRehachage(user.getMotDePasse())) {
+                rehacherEnArrierePlan(user, motDePasse);
+            }
+
+            limiteur.enregistrerSucces(email);
             logger.info("✓ Authentification réussie: {}", email);
             return user;
 
@@ -117,6 +137,28 @@ public class UtilisateurService {
         }
     }
 
+    /**
+     * Recalcule le hash d'un mot de passe stocké avec un ancien coût BCrypt,
+     * sans retarder la connexion. Un échec est sans conséquence : le hash sera
+     * recalculé à la connexion suivante.
+     */
+    private void rehacherEnArrierePlan(Utilisateur user, String motDePasse) {
+        hachage.hacherAsync(motDePasse).thenAcceptAsync(hash -> {
+            try {
+                if (utilisateurDAO.changerMotDePasse(user.getIdUtilisateur(), hash)) {
+                    user.setMotDePasse(hash);
+                    logger.info("✓ Hash du mot de passe mis à jour au coût {} pour l'utilisateur ID: {}",
+                            hachage.getCout(), user.getIdUtilisateur());
+                }
+            } catch (DatabaseException e) {
+                logger.warn("Mise à jour du hash impossible pour l'utilisateur ID: {}", user.getIdUtilisateur(), e);
+            }
+        }).exceptionally(e -> {
+            logger.warn("Recalcul du hash impossible pour l'utilisateur ID: {}", user.getIdUtilisateur(), e);
+            return null;
+        });
+    }
+
     /**
      * Récupère un utilisateur par son identifiant.
      * 
@@ -186,7 +228,7 @@ public class UtilisateurService {
             }
 
             // Hasher le nouveau mot de passe
-            String hashedPassword = PasswordUtils.hashPassword(nouveauMotDePasse);
+            String hashedPassword = hachage.hacher(nouveauMotDePasse);
             
             // Mettre à jour en base
             boolean success = utilisateurDAO.changerMotDePasse(userId, hashedPassword);
@@ -219,9 +261,9 @@ public class UtilisateurService {
                 return false;
             }
 
-            return PasswordUtils.verifyPassword(motDePasse, user.getMotDePasse());
+            return hachage.verifier(motDePasse, user.getMotDePasse());
 
-        } catch (DatabaseException e) {
+        } catch (DatabaseException | BusinessException e) {
             logger.error("Erreur lors de la vérification du mot de passe", e);
             return false;
         }
@@ -0,0 +1,227 @@
+package com.bschooleventmanager.eventmanager.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Disjoncteur protégeant les appels vers une dépendance externe (base de données, Stripe).
+ *
+ * <p>Les résultats des appels sont comptés dans une fenêtre glissante découpée en tranches
+ * d'une seconde. Quand la fenêtre contient assez d'appels et que leur taux d'échec dépasse le
+ * seuil, le disjoncteur s'ouvre : {@link #autoriser()} refuse alors tout appel, sans attendre la
+ * dépendance, pendant la durée d'ouverture. Passé ce délai, le disjoncteur est demi-ouvert : un
+ * nombre limité d'appels d'essai est autorisé ; un essai réussi referme le disjoncteur, un essai
+ * en échec le rouvre pour une nouvelle durée.</p>
+ *
+ * <p>L'appelant demande l'autorisation avant l'appel, puis signale son résultat avec
+ * {@link #succes()} ou {@link #echec()}. Seules les défaillances de la dépendance (injoignable,
+ * délai dépassé, erreur serveur) sont des échecs : un refus métier (carte refusée) est un succès.</p>
+ *
+ * <p>Paramètres (application.properties), où {@code <nom>} est le nom du disjoncteur :</p>
+ * <ul>
+ *   <li>disjoncteur.&lt;nom&gt;.fenetre.secondes - durée de la fenêtre glissante (défaut 30)</li>
+ *   <li>disjoncteur.&lt;nom&gt;.appels.min - appels minimum dans la fenêtre avant ouverture (défaut 5)</li>
+ *   <li>disjoncteur.&lt;nom&gt;.taux.echec.pourcentage - taux d'échec déclenchant l'ouverture (défaut 50)</li>
+ *   <li>disjoncteur.&lt;nom&gt;.ouverture.ms - durée d'ouverture avant un essai (défaut 10000)</li>
+ *   <li>disjoncteur.&lt;nom&gt;.essais - appels d'essai simultanés à l'état demi-ouvert (défaut 1)</li>
+ * </ul>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class Disjoncteur {
+    private static final Logger logger = LoggerFactory.getLogger(Disjoncteur.class);
+
+    private static final long TRANCHE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * État du disjoncteur
+     */
+    public enum Etat {
+        /** Appels autorisés, résultats comptés dans la fenêtre */
+        FERME,
+        /** Appels refusés jusqu'à la fin de la durée d'ouverture */
+        OUVERT,
+        /** Quelques appels d'essai autorisés pour tester la dépendance */
+        DEMI_OUVERT
+    }
+
+    private final String nom;
+    private final int appelsMin;
+    private final int tauxEchecPourcentage;
+    private final long ouvertureNanos;
+    private final int essaisMax;
+    /** Origine des numéros de tranche (System.nanoTime à la création) */
+    private final long origine = System.nanoTime();
+
+    /** Fenêtre glissante : appels et échecs par tranche, indexés par numéro de tranche modulo la taille */
+    private final long[] numerosTranche;
+    private final int[] appels;
+    private final int[] echecs;
+
+    private Etat etat = Etat.FERME;
+    /** Instant (System.nanoTime) de la dernière ouverture */
+    private long ouvertDepuis;
+    private int essaisEnCours;
+
+    public Disjoncteur(String nom) {
+        this(nom,
+                AppConfig.getInt("disjoncteur." + nom + ".fenetre.secondes", 30),
+                AppConfig.getInt("disjoncteur." + nom + ".appels.min", 5),
+                AppConfig.getInt("disjoncteur." + nom + ".taux.echec.pourcentage", 50),
+                AppConfig.getInt("disjoncteur." + nom + ".ouverture.ms", 10000),
+                AppConfig.getInt("disjoncteur." + nom + ".essais", 1));
+    }
+
+    /**
+     * Disjoncteur paramétré directement, sans lecture de la configuration
+     */
+    Disjoncteur(String nom, int fenetreSecondes, int appelsMin, int tauxEchecPourcentage,
+                long ouvertureMillis, int essaisMax) {
+        this.nom = nom;
+        int tranches = Math.max(1, fenetreSecondes);
+        this.appelsMin = Math.max(1, appelsMin);
+        this.tauxEchecPourcentage = Math.min(100, Math.max(1, tauxEchecPourcentage));
+        this.ouvertureNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, ouvertureMillis));
+        this.essaisMax = Math.max(1, essaisMax);
+        this.numerosTranche = new long[tranches];
+        this.appels = new int[tranches];
+        this.echecs = new int[tranches];
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    /**
+     * Indique si un appel peut être tenté. Un appel autorisé doit ensuite être suivi
+     * de {@link #succes()} ou {@link #echec()}.
+     *
+     * @return false si le disjoncteur est ouvert, ou demi-ouvert avec tous ses essais en cours
+     */
+    public synchronized boolean autoriser() {
+        if (etat == Etat.OUVERT) {
+            if (System.nanoTime() - ouvertDepuis < ouvertureNanos) {
+                return false;
+            }
+            etat = Etat.DEMI_OUVERT;
+            essaisEnCours = 0;
+            logger.info("Disjoncteur {} demi-ouvert, essai de la dépendance", nom);
+        }
+        if (etat == Etat.DEMI_OUVERT) {
+            if (essaisEnCours >= essaisMax) {
+                return false;
+            }
+            essaisEnCours++;
+        }
+        return true;
+    }
+
+    /**
+     * Signale un appel réussi
+     */
+    public synchronized void succes() {
+        if (etat == Etat.DEMI_OUVERT) {
+            etat = Etat.FERME;
+            viderFenetre();
+            logger.info("✓ Disjoncteur {} refermé, dépendance rétablie", nom);
+            return;
+        }
+        compter(false);
+    }
+
+    /**
+     * Signale un appel en échec (dépendance injoignable, délai dépassé, erreur serveur)
+     */
+    public synchronized void echec() {
+        if (etat == Etat.DEMI_OUVERT) {
+            ouvrir("essai en échec");
+            return;
+        }
+        if (etat == Etat.OUVERT) {
+            return;
+        }
+        compter(true);
+        int[] totaux = totauxFenetre();
+        if (totaux[0] >= appelsMin && totaux[1] * 100 >= tauxEchecPourcentage * totaux[0]) {
+            ouvrir(totaux[1] + " échecs sur " + totaux[0] + " appels");
+        }
+    }
+
+    /**
+     * Indique si le disjoncteur refuse actuellement les appels (dépendance considérée indisponible)
+     */
+    public synchronized boolean estOuvert() {
+        return etat == Etat.OUVERT && System.nanoTime() - ouvertDepuis < ouvertureNanos;
+    }
+
+    public synchronized Etat getEtat() {
+        return etat;
+    }
+
+    /**
+     * État et taux d'échec courant, pour la supervision
+     */
+    public synchronized Map<String, Object> statistiques() {
+        int[] totaux = totauxFenetre();
+        Map<String, Object> statistiques = new LinkedHashMap<>();
+        statistiques.put("etat", etat);
+        statistiques.put("appels", totaux[0]);
+        statistiques.put("echecs", totaux[1]);
+        return statistiques;
+    }
+
+    private void ouvrir(String raison) {
+        etat = Etat.OUVERT;
+        ouvertDepuis = System.nanoTime();
+        essaisEnCours = 0;
+        viderFenetre();
+        logger.warn("⚠️ Disjoncteur {} ouvert ({}), appels refusés pendant {} ms",
+                nom, raison, TimeUnit.NANOSECONDS.toMillis(ouvertureNanos));
+    }
+
+    private void compter(boolean enEchec) {
+        long tranche = trancheCourante();
+        int index = (int) (tranche % numerosTranche.length);
+        if (numerosTranche[index] != tranche) {
+            numerosTranche[index] = tranche;
+            appels[index] = 0;
+            echecs[index] = 0;
+        }
+        appels[index]++;
+        if (enEchec) {
+            echecs[index]++;
+        }
+    }
+
+    /**
+     * Appels et échecs des tranches encore dans la fenêtre : [appels, échecs]
+     */
+    private int[] totauxFenetre() {
+        int[] totaux = new int[2];
+        long tranche = trancheCourante();
+        for (int i = 0; i < numerosTranche.length; i++) {
+            if (tranche - numerosTranche[i] < numerosTranche.length) {
+                totaux[0] += appels[i];
+                totaux[1] += echecs[i];
+            }
+        }
+        return totaux;
+    }
+
+    private void viderFenetre() {
+        for (int i = 0; i < numerosTranche.length; i++) {
+            appels[i] = 0;
+            echecs[i] = 0;
+        }
+    }
+
+    private long trancheCourante() {
+        return (System.nanoTime() - origine) / TRANCHE_NANOS;
+    }
+}
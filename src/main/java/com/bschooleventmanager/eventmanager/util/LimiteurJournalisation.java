@@ -0,0 +1,133 @@
+package com.bschooleventmanager.eventmanager.util;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Filtre logback limitant le débit des journaux des chemins bavards (listes, recherches,
+ * relectures fréquentes), déclaré dans {@code logback.xml}.
+ *
+ * <p>Chaque préfixe de logger configuré dispose d'un budget de messages par seconde. Au-delà,
+ * un message sur {@code echantillon} est encore émis (aucun si 0) et les autres sont écartés
+ * avant toute mise en forme. Le nombre de messages écartés est signalé par un avertissement au
+ * premier message de la seconde suivante. Les avertissements et les erreurs ne sont jamais
+ * limités, et les simples tests de niveau ({@code isDebugEnabled()}) ne consomment pas de budget.</p>
+ *
+ * <p>Exemple :</p>
+ * <pre>
+ * &lt;turboFilter class="com.bschooleventmanager.eventmanager.util.LimiteurJournalisation"&gt;
+ *     &lt;logger&gt;com.bschooleventmanager.eventmanager.controller.client&lt;/logger&gt;
+ *     &lt;parSeconde&gt;10&lt;/parSeconde&gt;
+ *     &lt;echantillon&gt;100&lt;/echantillon&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ *
+ * @author Équipe EventManager
+ * @version 1.0
+ * @since 1.0
+ */
+public class LimiteurJournalisation extends TurboFilter {
+    private static final org.slf4j.Logger logger = LoggerFactory.getLogger(LimiteurJournalisation.class);
+
+    private final List<Compteur> compteurs = new ArrayList<>();
+    private int parSeconde = 20;
+    private int echantillon = 0;
+
+    /** Ajoute un préfixe de logger à limiter (élément {@code <logger>}, répétable) */
+    public void addLogger(String prefixe) {
+        if (prefixe != null && !prefixe.isBlank()) {
+            compteurs.add(new Compteur(prefixe.trim()));
+        }
+    }
+
+    /** Messages émis par seconde et par préfixe avant limitation */
+    public void setParSeconde(int parSeconde) {
+        this.parSeconde = Math.max(0, parSeconde);
+    }
+
+    /** Au-delà du budget, émet un message sur {@code echantillon} (0 : aucun) */
+    public void setEchantillon(int echantillon) {
+        this.echantillon = Math.max(0, echantillon);
+    }
+
+    @Override
+    public void start() {
+        if (compteurs.isEmpty()) {
+            addError("Aucun <logger> configuré pour " + getName());
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger journal, Level level, String format, Object[] params, Throwable t) {
+        // Test de niveau sans message, ou message qui ne serait de toute façon pas émis
+        if (!isStarted() || format == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(journal.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Compteur compteur = compteur(journal.getName());
+        if (compteur == null) {
+            return FilterReply.NEUTRAL;
+        }
+
+        long seconde = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        if (seconde != compteur.seconde) {
+            compteur.nouvelleSeconde(seconde);
+        }
+        int rang = compteur.emis.incrementAndGet();
+        if (rang <= parSeconde || (echantillon > 0 && (rang - parSeconde) % echantillon == 0)) {
+            return FilterReply.NEUTRAL;
+        }
+        compteur.ecartes.incrementAndGet();
+        return FilterReply.DENY;
+    }
+
+    private Compteur compteur(String nom) {
+        for (Compteur compteur : compteurs) {
+            if (nom.startsWith(compteur.prefixe)) {
+                return compteur;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Messages émis et écartés dans la seconde courante pour un préfixe
+     */
+    private static final class Compteur {
+        private final String prefixe;
+        private final AtomicInteger emis = new AtomicInteger();
+        private final AtomicInteger ecartes = new AtomicInteger();
+        private volatile long seconde = Long.MIN_VALUE;
+
+        private Compteur(String prefixe) {
+            this.prefixe = prefixe;
+        }
+
+        private void nouvelleSeconde(long nouvelle) {
+            int perdus;
+            synchronized (this) {
+                if (seconde == nouvelle) {
+                    return;
+                }
+                seconde = nouvelle;
+                emis.set(0);
+                perdus = ecartes.getAndSet(0);
+            }
+            if (perdus > 0) {
+                // Niveau WARN : jamais limité, pas de réentrée dans le budget
+                logger.warn("{} message(s) de {} écarté(s) par la limitation de débit", perdus, prefixe);
+            }
+        }
+    }
+}
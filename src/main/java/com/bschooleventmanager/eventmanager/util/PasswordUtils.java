@@ -4,11 +4,21 @@ import org.mindrot.jbcrypt.BCrypt;
 
 public class PasswordUtils {
 
+    /** Coût BCrypt par défaut, utilisé tant qu'aucun coût calibré n'est fourni */
+    public static final int COUT_PAR_DEFAUT = 12;
+
     /**
      * Hasher un mot de passe
      */
     public static String hashPassword(String password) {
-        return BCrypt.hashpw(password, BCrypt.gensalt(12));
+        return hashPassword(password, COUT_PAR_DEFAUT);
+    }
+
+    /**
+     * Hasher un mot de passe avec un coût BCrypt donné
+     */
+    public static String hashPassword(String password, int cout) {
+        return BCrypt.hashpw(password, BCrypt.gensalt(cout));
     }
 
     /**
@@ -17,4 +27,18 @@ public class PasswordUtils {
     public static boolean verifyPassword(String password, String hash) {
         return BCrypt.checkpw(password, hash);
     }
+
+    /**
+     * Lire le coût d'un hash BCrypt ("$2a$12$..."), ou -1 si le format n'est pas reconnu
+     */
+    public static int getCout(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
 }
@@ -0,0 +1,131 @@
+package com.bschooleventmanager.eventmanager.util;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registre des vues FXML des dashboards : chaque vue est chargée une seule fois par session,
+ * puis sa racine et son contrôleur sont réutilisés à chaque changement d'onglet.
+ *
+ * <p>Les vues principales peuvent être préchargées après la connexion. Le préchargement se fait
+ * vue par vue, chacune dans sa propre impulsion du thread JavaFX, pour que l'interface reste
+ * réactive entre deux chargements. Quand une vue déjà affichée est redemandée, son contrôleur
+ * est rafraîchi s'il implémente {@link VueReutilisable}.</p>
+ *
+ * <p>Toutes les méthodes doivent être appelées depuis le thread JavaFX. Le registre est vidé
+ * à la déconnexion, les vues d'un utilisateur ne sont jamais montrées au suivant.</p>
+ */
+public class RegistreVues {
+    private static final Logger logger = LoggerFactory.getLogger(RegistreVues.class);
+
+    private static final Map<String, Vue<?>> vues = new HashMap<>();
+    private static final Deque<String> prechargements = new ArrayDeque<>();
+
+    // Constructeur privé pour empêcher l'instanciation
+    private RegistreVues() {
+        throw new UnsupportedOperationException("Classe utilitaire - ne peut pas être instanciée");
+    }
+
+    /**
+     * Retourne la vue du fichier FXML, chargée au premier appel.
+     * Une vue déjà affichée auparavant est rafraîchie avant d'être retournée.
+     *
+     * @param chemin Chemin du FXML dans les ressources (ex. "/fxml/shared/profile.fxml")
+     * @throws IOException Si le FXML ne peut pas être chargé
+     */
+    @SuppressWarnings("unchecked")
+    public static <C> Vue<C> obtenir(String chemin) throws IOException {
+        Vue<C> vue = (Vue<C>) vues.get(chemin);
+        if (vue == null) {
+            vue = charger(chemin);
+            vues.put(chemin, vue);
+        } else if (vue.affichee && vue.controleur instanceof VueReutilisable) {
+            ((VueReutilisable) vue.controleur).rafraichir();
+        }
+        vue.affichee = true;
+        return vue;
+    }
+
+    /**
+     * Planifie le chargement des vues qui ne sont pas encore dans le registre
+     */
+    public static void precharger(List<String> chemins) {
+        boolean enCours = !prechargements.isEmpty();
+        for (String chemin : chemins) {
+            if (!vues.containsKey(chemin) && !prechargements.contains(chemin)) {
+                prechargements.add(chemin);
+            }
+        }
+        if (!enCours && !prechargements.isEmpty()) {
+            Platform.runLater(RegistreVues::prechargerSuivante);
+        }
+    }
+
+    /**
+     * Retire toutes les vues du registre et libère leurs contrôleurs
+     */
+    public static void vider() {
+        prechargements.clear();
+        for (Vue<?> vue : vues.values()) {
+            if (vue.controleur instanceof VueReutilisable) {
+                ((VueReutilisable) vue.controleur).liberer();
+            }
+        }
+        vues.clear();
+        logger.info("Registre des vues vidé");
+    }
+
+    private static void prechargerSuivante() {
+        String chemin = prechargements.poll();
+        if (chemin == null) {
+            return;
+        }
+        if (!vues.containsKey(chemin)) {
+            try {
+                long debut = System.nanoTime();
+                vues.put(chemin, charger(chemin));
+                logger.debug("Vue préchargée: {} ({} ms)", chemin, (System.nanoTime() - debut) / 1_000_000);
+            } catch (IOException | RuntimeException e) {
+                // La vue sera chargée normalement à sa première demande
+                logger.warn("Préchargement impossible pour {}", chemin, e);
+            }
+        }
+        if (!prechargements.isEmpty()) {
+            Platform.runLater(RegistreVues::prechargerSuivante);
+        }
+    }
+
+    private static <C> Vue<C> charger(String chemin) throws IOException {
+        FXMLLoader loader = new FXMLLoader(RegistreVues.class.getResource(chemin));
+        Parent racine = loader.load();
+        return new Vue<>(racine, loader.getController());
+    }
+
+    /**
+     * Vue chargée : racine du graphe de scène et contrôleur associé
+     */
+    public static class Vue<C> {
+        private final Parent racine;
+        private final C controleur;
+        private boolean affichee;
+
+        private Vue(Parent racine, C controleur) {
+            this.racine = racine;
+            this.controleur = controleur;
+        }
+
+        public Parent getRacine() { return racine; }
+
+        public C getControleur() { return controleur; }
+    }
+}
@@ -0,0 +1,21 @@
+package com.bschooleventmanager.eventmanager.util;
+
+/**
+ * Cycle de vie d'un contrôleur dont la vue est conservée par {@link RegistreVues}.
+ *
+ * <p>Une vue réutilisée n'est pas rechargée depuis son FXML : son contrôleur est prévenu
+ * à chaque réaffichage pour actualiser ses données ou remettre son formulaire à zéro.</p>
+ */
+public interface VueReutilisable {
+
+    /**
+     * Appelée (sur le thread JavaFX) quand une vue déjà affichée est affichée à nouveau
+     */
+    void rafraichir();
+
+    /**
+     * Appelée quand la vue est retirée du registre, par exemple à la déconnexion
+     */
+    default void liberer() {
+    }
+}
@@ -3,6 +3,7 @@ module com.bschooleventmanager.eventmanager {
     requires javafx.fxml;
     requires javafx.web;
     requires java.sql;
+    requires jdk.httpserver;
     requires mysql.connector.j;
 
 
@@ -13,6 +14,8 @@ module com.bschooleventmanager.eventmanager {
     requires org.kordamp.bootstrapfx.core;
     requires eu.hansolo.tilesfx;
     requires org.slf4j;
+    requires ch.qos.logback.classic;
+    requires ch.qos.logback.core;
     requires jbcrypt;
     requires java.desktop;
     requires stripe.java;
@@ -27,6 +30,8 @@ module com.bschooleventmanager.eventmanager {
     exports com.bschooleventmanager.eventmanager.service;
     exports com.bschooleventmanager.eventmanager.exception;
     exports com.bschooleventmanager.eventmanager.config;
+    // Filtres de journalisation instanciés par logback.xml
+    exports com.bschooleventmanager.eventmanager.util to ch.qos.logback.core;
 
     // Opens pour permettre la réflexion JavaFX
     opens com.bschooleventmanager.eventmanager.model to javafx.base;
@@ -0,0 +1,3 @@
+-- Parcours paginé des réservations d'un événement (annulation en masse)
+CREATE INDEX idx_reservations_evenement_id
+    ON reservations (id_evenement, id_reservation);
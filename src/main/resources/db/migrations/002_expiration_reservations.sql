@@ -0,0 +1,10 @@
+-- Fin du blocage des places pour les réservations en attente de paiement
+ALTER TABLE reservations ADD COLUMN date_expiration DATETIME NULL AFTER date_annulation;
+
+-- Sélection des réservations expirées par le balayeur
+CREATE INDEX idx_reservations_statut_expiration ON reservations (statut, date_expiration);
+
+-- Nouveau statut EXPIREE. La colonne est redéfinie avec la liste complète des statuts, qu'elle
+-- soit un ENUM (sans EXPIREE, toute mise à jour du balayeur échouerait) ou un VARCHAR (les valeurs
+-- existantes font toutes partie de la liste).
+ALTER TABLE reservations MODIFY statut ENUM('CONFIRMEE', 'ANNULEE', 'EN_ATTENTE', 'EXPIREE') NOT NULL DEFAULT 'EN_ATTENTE';
@@ -0,0 +1,4 @@
+-- Jeton du formulaire de réservation : une soumission en double ne crée pas de seconde réservation
+ALTER TABLE reservations ADD COLUMN cle_idempotence VARCHAR(64) NULL;
+
+CREATE UNIQUE INDEX uk_reservations_cle_idempotence ON reservations (cle_idempotence);
@@ -0,0 +1,2 @@
+-- Contrôle de concurrence optimiste : incrémentée à chaque modification d'un événement par son organisateur
+ALTER TABLE evenements ADD COLUMN version INT NOT NULL DEFAULT 0;
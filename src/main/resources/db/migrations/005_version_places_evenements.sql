@@ -0,0 +1,2 @@
+-- Incrémentée à chaque écriture des places vendues : le suivi des disponibilités ne notifie que les événements modifiés
+ALTER TABLE evenements ADD COLUMN version_places INT NOT NULL DEFAULT 0;
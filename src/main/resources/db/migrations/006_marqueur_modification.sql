@@ -0,0 +1,6 @@
+-- Horodatage de la dernière modification d'une ligne, mis à jour par la base : la synchronisation du catalogue ne relit que les lignes modifiées
+ALTER TABLE evenements ADD COLUMN maj_le TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+CREATE INDEX idx_evenements_maj_le ON evenements (maj_le);
+
+ALTER TABLE reservations ADD COLUMN maj_le TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+CREATE INDEX idx_reservations_maj_le ON reservations (maj_le);
@@ -0,0 +1,27 @@
+-- date_reservation était écrite sous forme de texte (LocalDateTime.toString(), par exemple 2025-01-15T14:30:12.345678) :
+-- passage à un vrai DATETIME pour trier et filtrer par période à l'aide d'index
+ALTER TABLE reservations ADD COLUMN date_reservation_dt DATETIME NULL AFTER date_reservation;
+
+-- Conversion des valeurs existantes (secondes conservées, fractions ignorées). Seules les
+-- valeurs au format attendu sont converties : un CAST sur un texte mal formé échoue en mode
+-- strict et interromprait la migration ; les autres restent NULL
+UPDATE reservations
+SET date_reservation_dt = CASE
+    WHEN date_reservation REGEXP '^[0-9]{4}-(0[1-9]|1[0-2])-(0[1-9]|[12][0-9]|3[01])[ T]([01][0-9]|2[0-3]):[0-5][0-9]:[0-5][0-9]'
+        THEN CAST(REPLACE(LEFT(date_reservation, 19), 'T', ' ') AS DATETIME)
+    ELSE NULL
+END;
+
+-- Valeurs absentes ou mal formées : date de dernière modification de la ligne
+UPDATE reservations SET date_reservation_dt = maj_le WHERE date_reservation_dt IS NULL;
+
+ALTER TABLE reservations
+    DROP COLUMN date_reservation,
+    CHANGE COLUMN date_reservation_dt date_reservation DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- Réservations d'un événement sur une période, historique d'un client trié par date
+CREATE INDEX idx_reservations_evenement_date ON reservations (id_evenement, date_reservation);
+CREATE INDEX idx_reservations_client_date ON reservations (client_id, date_reservation);
+
+-- Ventes d'une période : index couvrant (la table n'est pas lue)
+CREATE INDEX idx_reservations_date_ventes ON reservations (date_reservation, statut, total_paye);
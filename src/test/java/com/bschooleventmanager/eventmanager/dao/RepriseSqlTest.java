@@ -0,0 +1,152 @@
+package com.bschooleventmanager.eventmanager.dao;
+
+import com.bschooleventmanager.eventmanager.dao.RepriseSql.NatureErreur;
+import com.bschooleventmanager.eventmanager.exception.DatabaseException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepriseSqlTest {
+
+    private static SQLException interblocage() {
+        return new SQLException("Deadlock found when trying to get lock", "40001", 1213);
+    }
+
+    private static SQLException attenteVerrou() {
+        return new SQLException("Lock wait timeout exceeded", "HY000", 1205);
+    }
+
+    @Test
+    void classer_codesMySqlDeContention() {
+        assertEquals(NatureErreur.INTERBLOCAGE, RepriseSql.classer(interblocage()));
+        assertEquals(NatureErreur.ATTENTE_VERROU, RepriseSql.classer(attenteVerrou()));
+    }
+
+    @Test
+    void classer_classeSqlState40_estUnInterblocage() {
+        assertEquals(NatureErreur.INTERBLOCAGE, RepriseSql.classer(new SQLException("rollback", "40001")));
+        assertEquals(NatureErreur.INTERBLOCAGE, RepriseSql.classer(new SQLTransactionRollbackException("rollback")));
+    }
+
+    @Test
+    void classer_parcourtLesErreursChainees() {
+        BatchUpdateException lot = new BatchUpdateException("lot", new int[0]);
+        lot.setNextException(interblocage());
+        assertEquals(NatureErreur.INTERBLOCAGE, RepriseSql.classer(lot));
+
+        SQLException enveloppe = new SQLException("enveloppe", attenteVerrou());
+        assertEquals(NatureErreur.ATTENTE_VERROU, RepriseSql.classer(enveloppe));
+    }
+
+    @Test
+    void classer_erreursDefinitives() {
+        assertEquals(NatureErreur.DEFINITIVE,
+                RepriseSql.classer(new SQLIntegrityConstraintViolationException("Duplicate entry", "23000", 1062)));
+        assertEquals(NatureErreur.DEFINITIVE,
+                RepriseSql.classer(new SQLException("Communications link failure", "08S01")));
+        assertEquals(NatureErreur.DEFINITIVE, RepriseSql.classer(new SQLException("syntaxe", "42000", 1064)));
+    }
+
+    @Test
+    void executer_erreurDefinitive_nonReprise() {
+        AtomicInteger appels = new AtomicInteger();
+        SQLException erreur = new SQLIntegrityConstraintViolationException("Duplicate entry", "23000", 1062);
+
+        SQLException levee = assertThrows(SQLException.class, () -> RepriseSql.executer("test", () -> {
+            appels.incrementAndGet();
+            throw erreur;
+        }));
+
+        assertSame(erreur, levee);
+        assertEquals(1, appels.get());
+    }
+
+    @Test
+    void executer_erreurTransitoire_repriseJusquAReussite() throws Exception {
+        recharger();
+        long reussites = RepriseSql.statistiques().get("reussitesApresReprise");
+        AtomicInteger appels = new AtomicInteger();
+
+        String resultat = RepriseSql.executer("test", () -> {
+            if (appels.incrementAndGet() < 3) {
+                throw interblocage();
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", resultat);
+        assertEquals(3, appels.get());
+        assertEquals(reussites + 1, RepriseSql.statistiques().get("reussitesApresReprise"));
+    }
+
+    @Test
+    void executer_tentativesEpuisees_relanceLaDerniereErreur() {
+        recharger();
+        AtomicInteger appels = new AtomicInteger();
+
+        SQLException levee = assertThrows(SQLException.class, () -> RepriseSql.executer("test", () -> {
+            appels.incrementAndGet();
+            throw attenteVerrou();
+        }));
+
+        assertEquals(1205, levee.getErrorCode());
+        assertEquals(3, appels.get(), "db.reprise.tentatives");
+    }
+
+    @Test
+    void executer_erreurEncapsuleeParUnDao_reprise() throws Exception {
+        recharger();
+        AtomicInteger appels = new AtomicInteger();
+
+        String resultat = RepriseSql.executer("test", () -> {
+            if (appels.incrementAndGet() < 2) {
+                throw new DatabaseException("Erreur lors de la prise de places", interblocage());
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", resultat);
+        assertEquals(2, appels.get());
+
+        appels.set(0);
+        DatabaseException definitive = new DatabaseException("Aucun événement trouvé avec l'ID: 1");
+        assertSame(definitive, assertThrows(DatabaseException.class, () -> RepriseSql.executer("test", () -> {
+            appels.incrementAndGet();
+            throw definitive;
+        })));
+        assertEquals(1, appels.get());
+    }
+
+    @Test
+    void executer_budgetEpuise_plusDeReprise() {
+        long refusees = RepriseSql.statistiques().get("reprisesRefusees");
+        AtomicInteger appels = new AtomicInteger();
+
+        // Chaque exécution en échec consomme deux jetons et n'en crédite qu'une fraction
+        for (int i = 0; i < 50 && RepriseSql.statistiques().get("reprisesRefusees") == refusees; i++) {
+            appels.set(0);
+            assertThrows(SQLException.class, () -> RepriseSql.executer("test", () -> {
+                appels.incrementAndGet();
+                throw interblocage();
+            }));
+        }
+
+        assertTrue(RepriseSql.statistiques().get("reprisesRefusees") > refusees);
+        assertTrue(appels.get() < 3, "la dernière exécution n'a pas été reprise jusqu'au bout");
+    }
+
+    /**
+     * Remplit le budget de reprises : chaque exécution en crédite une fraction
+     */
+    private static void recharger() {
+        for (int i = 0; i < 100; i++) {
+            assertDoesNotThrow(() -> RepriseSql.executer("recharge", () -> null));
+        }
+    }
+}
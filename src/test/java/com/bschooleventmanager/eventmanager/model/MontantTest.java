@@ -0,0 +1,92 @@
+package com.bschooleventmanager.eventmanager.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MontantTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    @Test
+    void depuisDecimal_arrondiAuCentimeLePlusProche_moitieVersLeHaut() {
+        assertEquals(1235, Montant.depuisDecimal(new BigDecimal("12.345")).getUnitesMineures());
+        assertEquals(1234, Montant.depuisDecimal(new BigDecimal("12.3449")).getUnitesMineures());
+        assertEquals(-1235, Montant.depuisDecimal(new BigDecimal("-12.345")).getUnitesMineures());
+        assertEquals(1200, Montant.depuisDecimal(new BigDecimal("12")).getUnitesMineures());
+    }
+
+    @Test
+    void depuisDecimal_utiliseLesDecimalesDeLaDevise() {
+        assertEquals(1235, Montant.depuisDecimal(new BigDecimal("1234.5"), JPY).getUnitesMineures());
+        assertEquals(123450, Montant.depuisDecimal(new BigDecimal("1234.5"), USD).getUnitesMineures());
+    }
+
+    @Test
+    void depuisDecimal_null_retourneNull() {
+        assertNull(Montant.depuisDecimal(null));
+    }
+
+    @Test
+    void versDecimal_restitueLaValeurExacte() {
+        assertEquals(new BigDecimal("0.10"), Montant.centimes(10).versDecimal());
+        assertEquals(new BigDecimal("1234"), Montant.de(1234, JPY).versDecimal());
+        assertEquals(new BigDecimal("19.99"), Montant.depuisDecimal(new BigDecimal("19.99")).versDecimal());
+    }
+
+    @Test
+    void operations_enUnitesMineures_sansErreurDArrondi() {
+        Montant dixCentimes = Montant.centimes(10);
+        Montant total = Montant.ZERO;
+        for (int i = 0; i < 10; i++) {
+            total = total.plus(dixCentimes);
+        }
+        assertEquals(Montant.centimes(100), total);
+        assertEquals(Montant.centimes(2997), Montant.centimes(999).fois(3));
+        assertEquals(Montant.centimes(-50), Montant.centimes(150).moins(Montant.centimes(200)));
+    }
+
+    @Test
+    void centimesZero_estLaConstanteZero() {
+        assertSame(Montant.ZERO, Montant.centimes(0));
+        assertSame(Montant.ZERO, Montant.de(0, Montant.EUR));
+        assertTrue(Montant.ZERO.estNul());
+        assertFalse(Montant.ZERO.estPositif());
+    }
+
+    @Test
+    void devisesDifferentes_refusees() {
+        Montant euros = Montant.centimes(100);
+        Montant dollars = Montant.de(100, USD);
+
+        assertThrows(IllegalArgumentException.class, () -> euros.plus(dollars));
+        assertThrows(IllegalArgumentException.class, () -> euros.moins(dollars));
+        assertThrows(IllegalArgumentException.class, () -> euros.compareTo(dollars));
+        assertNotEquals(euros, dollars);
+    }
+
+    @Test
+    void depassementDeCapacite_leveArithmeticException() {
+        Montant maximum = Montant.centimes(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> maximum.plus(Montant.centimes(1)));
+        assertThrows(ArithmeticException.class, () -> maximum.fois(2));
+        assertThrows(ArithmeticException.class, () -> Montant.centimes(Long.MIN_VALUE).moins(Montant.centimes(1)));
+    }
+
+    @Test
+    void de_sansDevise_refuse() {
+        assertThrows(IllegalArgumentException.class, () -> Montant.de(100, null));
+    }
+
+    @Test
+    void egaliteEtOrdre_surValeurEtDevise() {
+        assertEquals(Montant.centimes(250), Montant.depuisDecimal(new BigDecimal("2.50")));
+        assertEquals(Montant.centimes(250).hashCode(), Montant.depuisDecimal(new BigDecimal("2.5")).hashCode());
+        assertTrue(Montant.centimes(100).compareTo(Montant.centimes(200)) < 0);
+    }
+}
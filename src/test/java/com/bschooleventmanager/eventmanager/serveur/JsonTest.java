@@ -0,0 +1,110 @@
+package com.bschooleventmanager.eventmanager.serveur;
+
+import com.bschooleventmanager.eventmanager.model.enums.StatutReservation;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonTest {
+
+    @Test
+    void lireObjet_typesDeValeurs() {
+        Map<String, Object> objet = Json.lireObjet(
+                "{ \"texte\": \"abc\", \"entier\": 12, \"decimal\": -3.50, \"exposant\": 1e3,"
+                        + " \"vrai\": true, \"faux\": false, \"rien\": null, \"liste\": [1, \"deux\", []], \"objet\": {} }");
+
+        assertEquals("abc", objet.get("texte"));
+        assertEquals(new BigDecimal("12"), objet.get("entier"));
+        assertEquals(new BigDecimal("-3.50"), objet.get("decimal"));
+        assertEquals(0, new BigDecimal("1000").compareTo((BigDecimal) objet.get("exposant")));
+        assertEquals(Boolean.TRUE, objet.get("vrai"));
+        assertEquals(Boolean.FALSE, objet.get("faux"));
+        assertTrue(objet.containsKey("rien"));
+        assertNull(objet.get("rien"));
+        assertEquals(List.of(new BigDecimal("1"), "deux", List.of()), objet.get("liste"));
+        assertEquals(Map.of(), objet.get("objet"));
+    }
+
+    @Test
+    void lireObjet_conserveLOrdreDesProprietes() {
+        Map<String, Object> objet = Json.lireObjet("{\"b\":1,\"a\":2,\"c\":3}");
+        assertEquals(List.of("b", "a", "c"), List.copyOf(objet.keySet()));
+    }
+
+    @Test
+    void lireObjet_echappements() {
+        Map<String, Object> objet = Json.lireObjet("{\"s\":\"a\\\"b\\\\c\\/d\\n\\t\\u00e9\\u20ac\"}");
+        assertEquals("a\"b\\c/d\n\té€", objet.get("s"));
+    }
+
+    @Test
+    void lireObjet_refuseUnDocumentQuiNEstPasUnObjet() {
+        assertThrows(IllegalArgumentException.class, () -> Json.lireObjet("[1, 2]"));
+        assertThrows(IllegalArgumentException.class, () -> Json.lireObjet("\"texte\""));
+        assertThrows(IllegalArgumentException.class, () -> Json.lireObjet(""));
+        assertThrows(IllegalArgumentException.class, () -> Json.lireObjet(null));
+    }
+
+    @Test
+    void lireObjet_refuseLeJsonInvalide() {
+        for (String invalide : new String[]{
+                "{", "{\"a\":}", "{\"a\" 1}", "{a:1}", "{\"a\":1,}", "{\"a\":1} x", "{\"a\":tru}",
+                "{\"a\":\"non terminée}", "{\"a\":\"\\x\"}", "{\"a\":\"\\u12\"}", "{\"a\":1.2.3}", "{\"a\":[1 2]}"}) {
+            IllegalArgumentException erreur = assertThrows(IllegalArgumentException.class,
+                    () -> Json.lireObjet(invalide), invalide);
+            assertTrue(erreur.getMessage().startsWith("JSON invalide à la position"), erreur.getMessage());
+        }
+    }
+
+    @Test
+    void lireObjet_limiteLaProfondeur() {
+        String profond = "{\"a\":" + "[".repeat(40) + "]".repeat(40) + "}";
+        assertThrows(IllegalArgumentException.class, () -> Json.lireObjet(profond));
+
+        String admis = "{\"a\":" + "[".repeat(20) + "]".repeat(20) + "}";
+        assertNotNull(Json.lireObjet(admis));
+    }
+
+    @Test
+    void ecrire_typesPrisEnCharge() {
+        Map<String, Object> objet = new LinkedHashMap<>();
+        objet.put("texte", "a\"b\\c\n\u0001");
+        objet.put("entier", 12);
+        objet.put("decimal", new BigDecimal("19.90"));
+        objet.put("double", 0.1);
+        objet.put("infini", Double.POSITIVE_INFINITY);
+        objet.put("booleen", true);
+        objet.put("rien", null);
+        objet.put("statut", StatutReservation.CONFIRMEE);
+        objet.put("date", LocalDateTime.of(2025, 1, 15, 14, 30, 12));
+        objet.put("liste", Arrays.asList(1, "x", null));
+
+        assertEquals("{\"texte\":\"a\\\"b\\\\c\\n\\u0001\",\"entier\":12,\"decimal\":19.90,\"double\":0.1,"
+                        + "\"infini\":null,\"booleen\":true,\"rien\":null,\"statut\":\"CONFIRMEE\","
+                        + "\"date\":\"2025-01-15T14:30:12\",\"liste\":[1,\"x\",null]}",
+                Json.ecrire(objet));
+    }
+
+    @Test
+    void ecrire_refuseUnTypeNonPrisEnCharge() {
+        assertThrows(IllegalArgumentException.class, () -> Json.ecrire(Map.of("objet", new Object())));
+    }
+
+    @Test
+    void allerRetour() {
+        Map<String, Object> objet = new LinkedHashMap<>();
+        objet.put("nom", "Concert d'été \"live\"");
+        objet.put("prix", new BigDecimal("25.00"));
+        objet.put("places", List.of(new BigDecimal("1"), new BigDecimal("2")));
+        objet.put("actif", Boolean.TRUE);
+
+        assertEquals(objet, Json.lireObjet(Json.ecrire(objet)));
+    }
+}
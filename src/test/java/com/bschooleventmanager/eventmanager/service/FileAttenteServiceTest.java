@@ -0,0 +1,129 @@
+package com.bschooleventmanager.eventmanager.service;
+
+import com.bschooleventmanager.eventmanager.exception.BusinessException;
+import com.bschooleventmanager.eventmanager.service.FileAttenteService.PositionFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileAttenteServiceTest {
+
+    private static final int EVENEMENT = 42;
+
+    private FileAttenteService file;
+    /** Horloge du test (System.nanoTime simulé) */
+    private long maintenant;
+
+    @BeforeEach
+    void setUp() {
+        // Une admission par seconde, deux immédiates, admission valable une minute
+        file = new FileAttenteService(1, 2, 60);
+        maintenant = TimeUnit.DAYS.toNanos(1);
+    }
+
+    private PositionFile rejoindre(int client) {
+        return file.rejoindre(EVENEMENT, client, maintenant);
+    }
+
+    private PositionFile consulter(int client) {
+        return file.consulter(EVENEMENT, client, maintenant);
+    }
+
+    private void avancer(long millis) {
+        maintenant += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    void horsAffluence_admissionImmediate_dansLaLimiteDeLaRafale() {
+        assertTrue(rejoindre(1).isAdmis());
+        assertTrue(rejoindre(2).isAdmis());
+
+        PositionFile troisieme = rejoindre(3);
+        assertFalse(troisieme.isAdmis());
+        assertEquals(1, troisieme.getPosition());
+        assertEquals(2, rejoindre(4).getPosition());
+    }
+
+    @Test
+    void admissionDansLOrdreDArrivee_auRythmeDesJetons() {
+        for (int client = 1; client <= 5; client++) {
+            rejoindre(client);
+        }
+
+        avancer(1000);
+        assertTrue(consulter(3).isAdmis());
+        assertFalse(consulter(4).isAdmis());
+        assertEquals(1, consulter(4).getPosition());
+        assertEquals(2, consulter(5).getPosition());
+
+        avancer(1000);
+        assertTrue(consulter(4).isAdmis());
+        assertFalse(consulter(5).isAdmis());
+
+        avancer(1000);
+        assertTrue(consulter(5).isAdmis());
+    }
+
+    @Test
+    void rejoindreDeNouveau_conserveLeNumero() {
+        rejoindre(1);
+        rejoindre(2);
+        rejoindre(3);
+        rejoindre(4);
+
+        assertEquals(2, rejoindre(4).getPosition());
+        assertEquals(1, rejoindre(3).getPosition());
+    }
+
+    @Test
+    void abandon_consommeUnJetonQuandSonTourArrive() {
+        rejoindre(1);
+        rejoindre(2);
+        rejoindre(3);
+        rejoindre(4);
+        file.quitter(EVENEMENT, 3);
+
+        assertNull(consulter(3));
+        avancer(1000);
+        assertFalse(consulter(4).isAdmis(), "le jeton de la seconde est allé au numéro abandonné");
+        avancer(1000);
+        assertTrue(consulter(4).isAdmis());
+    }
+
+    @Test
+    void admissionExpiree_leClientDoitReprendreUnNumero() {
+        assertTrue(rejoindre(1).isAdmis());
+        assertEquals(60, consulter(1).getSecondesRestantes());
+
+        avancer(61_000);
+        assertNull(consulter(1));
+
+        // Les jetons rechargés admettent les deux suivants, le client expiré repasse derrière eux
+        assertTrue(rejoindre(2).isAdmis());
+        assertTrue(rejoindre(3).isAdmis());
+        assertEquals(1, rejoindre(1).getPosition());
+    }
+
+    @Test
+    void filesIndependantesParEvenement() {
+        rejoindre(1);
+        rejoindre(2);
+        assertFalse(rejoindre(3).isAdmis());
+
+        assertTrue(file.rejoindre(EVENEMENT + 1, 3, maintenant).isAdmis());
+    }
+
+    @Test
+    void verifierAdmission_refuseUnClientNonAdmis() throws BusinessException {
+        FileAttenteService fileReelle = new FileAttenteService(1, 1, 60);
+        fileReelle.rejoindre(EVENEMENT, 1);
+        fileReelle.rejoindre(EVENEMENT, 2);
+
+        fileReelle.verifierAdmission(EVENEMENT, 1);
+        assertThrows(BusinessException.class, () -> fileReelle.verifierAdmission(EVENEMENT, 2));
+        assertThrows(BusinessException.class, () -> fileReelle.verifierAdmission(EVENEMENT, 3));
+    }
+}
@@ -0,0 +1,203 @@
+package com.bschooleventmanager.eventmanager.service;
+
+import com.bschooleventmanager.eventmanager.model.Concert;
+import com.bschooleventmanager.eventmanager.model.Conference;
+import com.bschooleventmanager.eventmanager.model.Evenement;
+import com.bschooleventmanager.eventmanager.model.Spectacle;
+import com.bschooleventmanager.eventmanager.model.enums.NiveauExpertise;
+import com.bschooleventmanager.eventmanager.model.enums.StatutEvenement;
+import com.bschooleventmanager.eventmanager.model.enums.TypeConcert;
+import com.bschooleventmanager.eventmanager.model.enums.TypeSpectacle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstantaneCatalogueTest {
+
+    private static final String BASE = "jdbc:mysql://localhost:3306/eventmanager";
+    private static final LocalDateTime FILIGRANE = LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_456_000);
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    void allerRetour_conserveLesEvenementsEtLeFiligrane() throws IOException {
+        Path fichier = dossier.resolve("catalogue.bin");
+        InstantaneCatalogue.ecrire(fichier, BASE, FILIGRANE, List.of(concert(), conference(), spectacle()));
+
+        InstantaneCatalogue.Contenu contenu = InstantaneCatalogue.lire(fichier, BASE);
+
+        assertNotNull(contenu);
+        assertEquals(FILIGRANE, contenu.getFiligrane());
+        assertEquals(3, contenu.getEvenements().size());
+
+        Concert concert = assertInstanceOf(Concert.class, contenu.getEvenements().get(0));
+        assertEquals(1, concert.getIdEvenement());
+        assertEquals(7, concert.getOrganisateurId());
+        assertEquals("Nuit du jazz é€", concert.getNom());
+        assertEquals(LocalDateTime.of(2025, 6, 21, 20, 0), concert.getDateEvenement());
+        assertEquals("Salle Pleyel", concert.getLieu());
+        assertNull(concert.getDescription());
+        assertEquals(100, concert.getPlacesStandardDisponibles());
+        assertEquals(20, concert.getPlacesVipDisponibles());
+        assertEquals(5, concert.getPlacesPremiumDisponibles());
+        assertEquals(new BigDecimal("25.50"), concert.getPrixStandard());
+        assertEquals(new BigDecimal("80.00"), concert.getPrixVip());
+        assertNull(concert.getPrixPremium());
+        assertEquals(StatutEvenement.EN_COURS, concert.getStatut());
+        assertEquals(12, concert.getPlaceStandardVendues());
+        assertEquals(3, concert.getPlaceVipVendues());
+        assertEquals(1, concert.getPlacePremiumVendues());
+        assertTrue(concert.isEtatEvent());
+        assertEquals(4, concert.getVersion());
+        assertEquals("Quartet", concert.getArtiste_groupe());
+        assertEquals(TypeConcert.JAZZ, concert.getType());
+        assertEquals(16, concert.getAgeMin());
+
+        Conference conference = assertInstanceOf(Conference.class, contenu.getEvenements().get(1));
+        assertEquals("Alice, Bob", conference.getIntervenants());
+        assertEquals("Informatique", conference.getDomaine());
+        assertEquals(NiveauExpertise.EXPERT, conference.getNiveauExpertise());
+        assertFalse(conference.isEtatEvent());
+
+        Spectacle spectacle = assertInstanceOf(Spectacle.class, contenu.getEvenements().get(2));
+        assertEquals("Troupe du Soleil", spectacle.getTroupe_artistes());
+        assertEquals(TypeSpectacle.OPERA, spectacle.getTypeSpectacle());
+        assertEquals(StatutEvenement.ANNULE, spectacle.getStatut());
+    }
+
+    @Test
+    void allerRetour_ageMinimumAbsent_resteNull() throws IOException {
+        Path fichier = dossier.resolve("catalogue.bin");
+        Concert concert = concert();
+        concert.setAgeMin(null);
+        Spectacle spectacle = spectacle();
+        spectacle.setAgeMin(null);
+        InstantaneCatalogue.ecrire(fichier, BASE, FILIGRANE, List.of(concert, spectacle, spectacle()));
+
+        List<Evenement> evenements = InstantaneCatalogue.lire(fichier, BASE).getEvenements();
+
+        assertNull(assertInstanceOf(Concert.class, evenements.get(0)).getAgeMin());
+        assertNull(assertInstanceOf(Spectacle.class, evenements.get(1)).getAgeMin());
+        assertEquals(0, assertInstanceOf(Spectacle.class, evenements.get(2)).getAgeMin());
+    }
+
+    @Test
+    void lire_fichierAbsent_retourneNull() throws IOException {
+        assertNull(InstantaneCatalogue.lire(dossier.resolve("absent.bin"), BASE));
+    }
+
+    @Test
+    void lire_autreBase_retourneNull() throws IOException {
+        Path fichier = dossier.resolve("catalogue.bin");
+        InstantaneCatalogue.ecrire(fichier, BASE, FILIGRANE, List.of(concert()));
+
+        assertNull(InstantaneCatalogue.lire(fichier, "jdbc:mysql://autre:3306/eventmanager"));
+    }
+
+    @Test
+    void lire_octetCorrompu_rejeteParLaSommeDeControle() throws IOException {
+        Path fichier = dossier.resolve("catalogue.bin");
+        InstantaneCatalogue.ecrire(fichier, BASE, FILIGRANE, List.of(concert(), spectacle()));
+        byte[] octets = Files.readAllBytes(fichier);
+
+        for (int position : new int[]{0, 9, octets.length / 2, octets.length - 9, octets.length - 1}) {
+            byte[] corrompu = octets.clone();
+            corrompu[position] ^= 0x01;
+            Files.write(fichier, corrompu);
+            assertNull(InstantaneCatalogue.lire(fichier, BASE), "octet " + position);
+        }
+    }
+
+    @Test
+    void lire_fichierTronque_retourneNull() throws IOException {
+        Path fichier = dossier.resolve("catalogue.bin");
+        InstantaneCatalogue.ecrire(fichier, BASE, FILIGRANE, List.of(concert()));
+        byte[] octets = Files.readAllBytes(fichier);
+
+        Files.write(fichier, Arrays.copyOf(octets, octets.length - 20));
+        assertNull(InstantaneCatalogue.lire(fichier, BASE));
+
+        Files.write(fichier, Arrays.copyOf(octets, 10));
+        assertNull(InstantaneCatalogue.lire(fichier, BASE));
+    }
+
+    @Test
+    void ecrire_remplaceLInstantanePrecedentSansFichierTemporaire() throws IOException {
+        Path fichier = dossier.resolve("catalogue.bin");
+        InstantaneCatalogue.ecrire(fichier, BASE, FILIGRANE, List.of(concert(), conference()));
+        InstantaneCatalogue.ecrire(fichier, BASE, FILIGRANE.plusMinutes(1), List.of(spectacle()));
+
+        InstantaneCatalogue.Contenu contenu = InstantaneCatalogue.lire(fichier, BASE);
+        assertEquals(FILIGRANE.plusMinutes(1), contenu.getFiligrane());
+        assertEquals(1, contenu.getEvenements().size());
+        try (var fichiers = Files.list(dossier)) {
+            assertEquals(List.of(fichier), fichiers.toList());
+        }
+    }
+
+    private static Concert concert() {
+        Concert concert = new Concert();
+        remplir(concert, 1);
+        concert.setNom("Nuit du jazz é€");
+        concert.setDescription(null);
+        concert.setPrixPremium(null);
+        concert.setStatut(StatutEvenement.EN_COURS);
+        concert.setArtiste_groupe("Quartet");
+        concert.setType(TypeConcert.JAZZ);
+        concert.setAgeMin(16);
+        return concert;
+    }
+
+    private static Conference conference() {
+        Conference conference = new Conference();
+        remplir(conference, 2);
+        conference.setEtatEvent(false);
+        conference.setIntervenants("Alice, Bob");
+        conference.setDomaine("Informatique");
+        conference.setNiveauExpertise(NiveauExpertise.EXPERT);
+        return conference;
+    }
+
+    private static Spectacle spectacle() {
+        Spectacle spectacle = new Spectacle();
+        remplir(spectacle, 3);
+        spectacle.setStatut(StatutEvenement.ANNULE);
+        spectacle.setTroupe_artistes("Troupe du Soleil");
+        spectacle.setTypeSpectacle(TypeSpectacle.OPERA);
+        spectacle.setAgeMin(0);
+        return spectacle;
+    }
+
+    private static void remplir(Evenement evenement, int id) {
+        evenement.setIdEvenement(id);
+        evenement.setOrganisateurId(7);
+        evenement.setNom("Événement " + id);
+        evenement.setDateEvenement(LocalDateTime.of(2025, 6, 21, 20, 0));
+        evenement.setLieu("Salle Pleyel");
+        evenement.setDescription("Description " + id);
+        evenement.setPlacesStandardDisponibles(100);
+        evenement.setPlacesVipDisponibles(20);
+        evenement.setPlacesPremiumDisponibles(5);
+        evenement.setPrixStandard(new BigDecimal("25.50"));
+        evenement.setPrixVip(new BigDecimal("80.00"));
+        evenement.setPrixPremium(new BigDecimal("150.00"));
+        evenement.setDateCreation(LocalDateTime.of(2025, 1, 2, 9, 0));
+        evenement.setStatut(StatutEvenement.A_VENIR);
+        evenement.setPlaceStandardVendues(12);
+        evenement.setPlaceVipVendues(3);
+        evenement.setPlacePremiumVendues(1);
+        evenement.setEtatEvent(true);
+        evenement.setVersion(4);
+        evenement.setMajLe(LocalDateTime.of(2025, 2, 1, 8, 30));
+    }
+}
@@ -0,0 +1,186 @@
+package com.bschooleventmanager.eventmanager.service;
+
+import com.bschooleventmanager.eventmanager.model.Montant;
+import com.bschooleventmanager.eventmanager.service.JournalReservationsService.Enregistrement;
+import com.bschooleventmanager.eventmanager.service.JournalReservationsService.TypeMouvement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalReservationsServiceTest {
+
+    /** Segments d'1 Ko : 19 enregistrements par segment */
+    private static final int PAR_SEGMENT = 1024 / JournalReservationsService.TAILLE_ENREGISTREMENT;
+
+    @TempDir
+    Path repertoire;
+
+    private final List<JournalReservationsService> ouverts = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        ouverts.forEach(JournalReservationsService::arreter);
+    }
+
+    private JournalReservationsService ouvrir() {
+        JournalReservationsService journal = new JournalReservationsService(true, repertoire, 1, 2, 1000);
+        ouverts.add(journal);
+        return journal;
+    }
+
+    private static List<Enregistrement> relire(JournalReservationsService journal) throws IOException {
+        List<Enregistrement> enregistrements = new ArrayList<>();
+        journal.rejouer(enregistrements::add);
+        return enregistrements;
+    }
+
+    @Test
+    void allerRetour_conserveLesChampsDesEnregistrements() throws IOException {
+        JournalReservationsService journal = ouvrir();
+        long avant = System.currentTimeMillis();
+        journal.reservationCreee(10, 3, 2, 1, 0, Montant.centimes(12_550));
+        journal.placesPrises(3, 2, 1, 0);
+        journal.paiement(10, 3, Montant.centimes(12_550));
+        journal.annulation(10, 3);
+        journal.remboursement(10, 3, Montant.centimes(-1));
+        journal.arreter();
+
+        List<Enregistrement> enregistrements = relire(ouvrir());
+
+        assertEquals(5, enregistrements.size());
+        Enregistrement creation = enregistrements.get(0);
+        assertEquals(0, creation.getSequence());
+        assertEquals(TypeMouvement.RESERVATION_CREEE, creation.getType());
+        assertEquals(3, creation.getIdEvenement());
+        assertEquals(10, creation.getIdReservation());
+        assertEquals(2, creation.getStandard());
+        assertEquals(1, creation.getVip());
+        assertEquals(0, creation.getPremium());
+        assertEquals(Montant.centimes(12_550), creation.getMontant());
+        assertTrue(creation.getHorodatage() >= avant);
+
+        assertEquals(List.of(TypeMouvement.RESERVATION_CREEE, TypeMouvement.PLACES_PRISES, TypeMouvement.PAIEMENT,
+                        TypeMouvement.ANNULATION, TypeMouvement.REMBOURSEMENT),
+                enregistrements.stream().map(Enregistrement::getType).toList());
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), enregistrements.stream().map(Enregistrement::getSequence).toList());
+        assertEquals(Montant.centimes(-1), enregistrements.get(4).getMontant());
+    }
+
+    @Test
+    void reouverture_reprendApresLeDernierEnregistrement() throws IOException {
+        JournalReservationsService journal = ouvrir();
+        journal.placesPrises(1, 1, 0, 0);
+        journal.placesPrises(1, 2, 0, 0);
+        journal.arreter();
+
+        JournalReservationsService suivant = ouvrir();
+        assertEquals(2L, suivant.statistiques().get("prochaineSequence"));
+        suivant.placesRendues(1, 1, 0, 0);
+
+        assertEquals(List.of(0L, 1L, 2L), relire(suivant).stream().map(Enregistrement::getSequence).toList());
+    }
+
+    @Test
+    void enregistrementCorrompu_arreteLaRelecture_etEstEcraseALaReouverture() throws IOException {
+        JournalReservationsService journal = ouvrir();
+        for (int i = 1; i <= 5; i++) {
+            journal.placesPrises(1, i, 0, 0);
+        }
+        journal.arreter();
+
+        // Un bit modifié dans les places du troisième enregistrement
+        Path segment = segments().get(0);
+        try (FileChannel canal = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer octet = ByteBuffer.allocate(1);
+            long position = 2L * JournalReservationsService.TAILLE_ENREGISTREMENT + 32;
+            canal.read(octet, position);
+            octet.put(0, (byte) (octet.get(0) ^ 0x01)).rewind();
+            canal.write(octet, position);
+        }
+
+        JournalReservationsService reouvert = ouvrir();
+        List<Enregistrement> valides = relire(reouvert);
+        assertEquals(List.of(1, 2), valides.stream().map(Enregistrement::getStandard).toList());
+
+        // L'écriture reprend à la place de l'enregistrement corrompu, la suite est effacée
+        reouvert.placesRendues(1, 9, 0, 0);
+        List<Enregistrement> apres = relire(reouvert);
+        assertEquals(3, apres.size());
+        assertEquals(TypeMouvement.PLACES_RENDUES, apres.get(2).getType());
+        assertEquals(2, apres.get(2).getSequence());
+    }
+
+    @Test
+    void roulement_ouvreDeNouveauxSegments_etSupprimeLesPlusAnciens() throws IOException {
+        JournalReservationsService journal = ouvrir();
+        int total = 3 * PAR_SEGMENT + 2;
+        for (int i = 0; i < total; i++) {
+            journal.placesPrises(1, 1, 0, 0);
+        }
+
+        assertEquals(2, segments().size(), "journal.segments.max");
+        List<Long> sequences = relire(journal).stream().map(Enregistrement::getSequence).toList();
+        assertEquals(2L * PAR_SEGMENT, sequences.get(0));
+        assertEquals(total - 1L, sequences.get(sequences.size() - 1));
+        assertEquals(PAR_SEGMENT + 2, sequences.size());
+    }
+
+    @Test
+    void reconstruirePlacesVendues_rejoueLesMouvementsDepuisLaSituation() throws IOException {
+        JournalReservationsService journal = ouvrir();
+        journal.placesPrises(1, 5, 5, 5);
+        journal.situation(1, 10, 2, 0);
+        journal.placesPrises(1, 3, 1, 1);
+        journal.placesRendues(1, 2, 0, 1);
+        journal.reservationCreee(99, 1, 100, 100, 100, Montant.ZERO);
+        journal.placesPrises(2, 4, 0, 0);
+
+        Map<Integer, int[]> places = journal.reconstruirePlacesVendues();
+
+        assertArrayEquals(new int[]{11, 3, 0}, places.get(1));
+        assertFalse(places.containsKey(2), "événement sans situation dans le journal");
+    }
+
+    @Test
+    void repertoireDejaVerrouille_journalDesactive() {
+        JournalReservationsService premier = ouvrir();
+        JournalReservationsService second = ouvrir();
+
+        assertEquals(true, premier.statistiques().get("actif"));
+        assertEquals(false, second.statistiques().get("actif"));
+
+        second.placesPrises(1, 1, 0, 0);
+        assertEquals(0L, second.statistiques().get("enregistrementsEcrits"));
+
+        premier.arreter();
+        assertEquals(true, ouvrir().statistiques().get("actif"), "verrou rendu à l'arrêt");
+    }
+
+    @Test
+    void journalInactif_nOuvreRien() throws IOException {
+        JournalReservationsService journal = new JournalReservationsService(false, repertoire.resolve("inactif"), 1, 2, 1000);
+        journal.placesPrises(1, 1, 0, 0);
+
+        assertEquals(false, journal.statistiques().get("actif"));
+        assertFalse(Files.exists(repertoire.resolve("inactif")));
+        assertTrue(relire(journal).isEmpty());
+    }
+
+    private List<Path> segments() throws IOException {
+        try (var fichiers = Files.list(repertoire)) {
+            return fichiers.filter(f -> f.getFileName().toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+}
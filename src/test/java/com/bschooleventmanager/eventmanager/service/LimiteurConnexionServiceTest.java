@@ -0,0 +1,127 @@
+package com.bschooleventmanager.eventmanager.service;
+
+import com.bschooleventmanager.eventmanager.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiteurConnexionServiceTest {
+
+    private static final String EMAIL = "client@example.com";
+    private static final String INSTANCE = "poste-1";
+
+    private LimiteurConnexionService limiteur;
+    /** Horloge du test (System.nanoTime simulé) */
+    private long maintenant;
+
+    @BeforeEach
+    void setUp() {
+        // 3 tentatives par email (une rendue par minute), 20 par instance (une toutes les 3 s),
+        // verrouillage de 30 s doublé à chaque fois, jusqu'à 120 s
+        limiteur = new LimiteurConnexionService(3, 60, 20, 3, 30, 120, 10000);
+        maintenant = TimeUnit.DAYS.toNanos(1);
+    }
+
+    private void tenter(String email, String instance) throws BusinessException {
+        limiteur.verifierTentative(email, instance, maintenant);
+    }
+
+    private void avancer(long secondes) {
+        maintenant += TimeUnit.SECONDS.toNanos(secondes);
+    }
+
+    private BusinessException refus(String email, String instance) {
+        return assertThrows(BusinessException.class, () -> tenter(email, instance));
+    }
+
+    @Test
+    void email_seauVide_verrouilleLaCle() throws BusinessException {
+        for (int i = 0; i < 3; i++) {
+            tenter(EMAIL, INSTANCE);
+        }
+
+        BusinessException erreur = refus(EMAIL, INSTANCE);
+        assertTrue(erreur.getMessage().contains("30 secondes"), erreur.getMessage());
+
+        avancer(10);
+        assertTrue(refus(EMAIL, INSTANCE).getMessage().contains("20 secondes"));
+    }
+
+    @Test
+    void email_verrouillageTermine_rendUneTentative_puisDoubleLaDuree() throws BusinessException {
+        for (int i = 0; i < 3; i++) {
+            tenter(EMAIL, INSTANCE);
+        }
+        refus(EMAIL, INSTANCE);
+
+        avancer(31);
+        tenter(EMAIL, INSTANCE);
+        assertTrue(refus(EMAIL, INSTANCE).getMessage().contains("60 secondes"));
+
+        avancer(61);
+        tenter(EMAIL, INSTANCE);
+        assertTrue(refus(EMAIL, INSTANCE).getMessage().contains("120 secondes"));
+
+        // Deux minutes de recharge pendant le verrouillage
+        avancer(121);
+        tenter(EMAIL, INSTANCE);
+        tenter(EMAIL, INSTANCE);
+        assertTrue(refus(EMAIL, INSTANCE).getMessage().contains("120 secondes"), "durée plafonnée");
+    }
+
+    @Test
+    void email_jetonsRecharges_avecLeTemps() throws BusinessException {
+        for (int i = 0; i < 3; i++) {
+            tenter(EMAIL, INSTANCE);
+        }
+
+        avancer(60);
+        tenter(EMAIL, INSTANCE);
+
+        avancer(120);
+        tenter(EMAIL, INSTANCE);
+        tenter(EMAIL, INSTANCE);
+        refus(EMAIL, INSTANCE);
+    }
+
+    @Test
+    void email_normalise() throws BusinessException {
+        tenter("Client@Example.com", INSTANCE);
+        tenter(" client@example.com ", INSTANCE);
+        tenter(EMAIL, INSTANCE);
+        refus("CLIENT@EXAMPLE.COM", INSTANCE);
+    }
+
+    @Test
+    void succes_effaceLHistoriqueDeLEmail() throws BusinessException {
+        tenter(EMAIL, INSTANCE);
+        tenter(EMAIL, INSTANCE);
+        limiteur.enregistrerSucces(EMAIL);
+
+        for (int i = 0; i < 3; i++) {
+            tenter(EMAIL, INSTANCE);
+        }
+    }
+
+    @Test
+    void emailsIndependants() throws BusinessException {
+        for (int i = 0; i < 3; i++) {
+            tenter(EMAIL, INSTANCE);
+        }
+        refus(EMAIL, INSTANCE);
+        tenter("autre@example.com", INSTANCE);
+    }
+
+    @Test
+    void instance_rafaleSurDesEmailsDifferents_verrouilleLInstance() throws BusinessException {
+        for (int i = 0; i < 20; i++) {
+            tenter("client" + i + "@example.com", INSTANCE);
+        }
+
+        refus("nouveau@example.com", INSTANCE);
+        tenter("nouveau@example.com", "poste-2");
+    }
+}
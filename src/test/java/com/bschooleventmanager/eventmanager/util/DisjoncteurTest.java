@@ -0,0 +1,107 @@
+package com.bschooleventmanager.eventmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DisjoncteurTest {
+
+    private static final long OUVERTURE_MS = 100;
+
+    private static Disjoncteur disjoncteur(int essais) {
+        return new Disjoncteur("test", 30, 4, 50, OUVERTURE_MS, essais);
+    }
+
+    @Test
+    void ferme_tantQueLeMinimumDAppelsNEstPasAtteint() {
+        Disjoncteur disjoncteur = disjoncteur(1);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(disjoncteur.autoriser());
+            disjoncteur.echec();
+        }
+        assertEquals(Disjoncteur.Etat.FERME, disjoncteur.getEtat());
+        assertFalse(disjoncteur.estOuvert());
+    }
+
+    @Test
+    void ferme_sousLeTauxDEchec() {
+        Disjoncteur disjoncteur = disjoncteur(1);
+        disjoncteur.succes();
+        disjoncteur.succes();
+        disjoncteur.succes();
+        disjoncteur.echec();
+        assertEquals(Disjoncteur.Etat.FERME, disjoncteur.getEtat());
+        assertEquals(4, disjoncteur.statistiques().get("appels"));
+        assertEquals(1, disjoncteur.statistiques().get("echecs"));
+    }
+
+    @Test
+    void ouvert_quandLeTauxDEchecEstAtteint_refuseLesAppels() {
+        Disjoncteur disjoncteur = disjoncteur(1);
+        disjoncteur.succes();
+        disjoncteur.succes();
+        disjoncteur.echec();
+        disjoncteur.echec();
+
+        assertEquals(Disjoncteur.Etat.OUVERT, disjoncteur.getEtat());
+        assertTrue(disjoncteur.estOuvert());
+        assertFalse(disjoncteur.autoriser());
+    }
+
+    @Test
+    void demiOuvert_apresLaDureeDOuverture_limiteLesEssais() throws InterruptedException {
+        Disjoncteur disjoncteur = ouvert(1);
+        Thread.sleep(OUVERTURE_MS + 50);
+
+        assertFalse(disjoncteur.estOuvert());
+        assertTrue(disjoncteur.autoriser());
+        assertEquals(Disjoncteur.Etat.DEMI_OUVERT, disjoncteur.getEtat());
+        assertFalse(disjoncteur.autoriser(), "un seul essai simultané");
+    }
+
+    @Test
+    void demiOuvert_essaiReussi_referme() throws InterruptedException {
+        Disjoncteur disjoncteur = ouvert(2);
+        Thread.sleep(OUVERTURE_MS + 50);
+
+        assertTrue(disjoncteur.autoriser());
+        assertTrue(disjoncteur.autoriser());
+        disjoncteur.succes();
+
+        assertEquals(Disjoncteur.Etat.FERME, disjoncteur.getEtat());
+        assertTrue(disjoncteur.autoriser());
+        assertEquals(0, disjoncteur.statistiques().get("appels"), "fenêtre vidée à la fermeture");
+    }
+
+    @Test
+    void demiOuvert_essaiEnEchec_rouvre() throws InterruptedException {
+        Disjoncteur disjoncteur = ouvert(1);
+        Thread.sleep(OUVERTURE_MS + 50);
+
+        assertTrue(disjoncteur.autoriser());
+        disjoncteur.echec();
+
+        assertEquals(Disjoncteur.Etat.OUVERT, disjoncteur.getEtat());
+        assertTrue(disjoncteur.estOuvert());
+        assertFalse(disjoncteur.autoriser());
+    }
+
+    @Test
+    void ouvert_ignoreLesResultatsTardifs() {
+        Disjoncteur disjoncteur = ouvert(1);
+        disjoncteur.echec();
+        disjoncteur.succes();
+
+        assertEquals(Disjoncteur.Etat.OUVERT, disjoncteur.getEtat());
+        assertEquals(0, disjoncteur.statistiques().get("echecs"));
+    }
+
+    private static Disjoncteur ouvert(int essais) {
+        Disjoncteur disjoncteur = disjoncteur(essais);
+        for (int i = 0; i < 4; i++) {
+            disjoncteur.echec();
+        }
+        assertEquals(Disjoncteur.Etat.OUVERT, disjoncteur.getEtat());
+        return disjoncteur;
+    }
+}